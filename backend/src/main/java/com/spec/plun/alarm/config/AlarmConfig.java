@@ -0,0 +1,29 @@
+package com.spec.plun.alarm.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AlarmConfig {
+
+	// 알림 WebSocket 전송 전용 스레드 풀 (요청 스레드와 분리)
+	@Bean(name = "alarmPublishExecutor")
+	ThreadPoolTaskExecutor alarmPublishExecutor(
+			@Value("${alarm.publish.pool-size:4}") int poolSize,
+			@Value("${alarm.publish.queue-capacity:10000}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("alarm-publish-");
+		// 큐가 가득 차면 호출 스레드에서 직접 전송 (알림 유실 방지)
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.initialize();
+		return executor;
+	}
+}
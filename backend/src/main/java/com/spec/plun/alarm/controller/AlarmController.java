@@ -1,7 +1,11 @@
 package com.spec.plun.alarm.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.spec.plun.alarm.entity.Alarm;
@@ -24,9 +29,33 @@ public class AlarmController {
 
     private final AlarmService alarmService;
 
+    // 알림함 (커서 기반 페이지)
+    // - before 없음 : 최신 limit 개
+    // - before=alarmNo&beforeDate=lastAlarmDate : 마지막으로 받은 알림 이전 limit 개 (beforeDate 생략 시 서버의 현재 값 사용)
     @GetMapping("/{userNo}")
-    public ResponseEntity<List<Alarm>> getAlarms(@PathVariable("userNo") Integer userNo) {
-        return ResponseEntity.ok(alarmService.getUserAlarms(userNo));
+    public ResponseEntity<List<Alarm>> getAlarms(@PathVariable("userNo") Integer userNo,
+            @RequestParam(value = "before", required = false) Integer before,
+            @RequestParam(value = "beforeDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime beforeDate,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(alarmService.getUserAlarms(userNo, beforeDate, before, limit));
+    }
+
+    @GetMapping("/{userNo}/unread-count")
+    public ResponseEntity<Map<String, Integer>> getUnreadCount(@PathVariable("userNo") Integer userNo) {
+        return ResponseEntity.ok(Map.of("unreadCount", alarmService.getUnreadCount(userNo)));
+    }
+
+    // 일괄 읽음 처리 : upTo(alarmNo) 이하, upToDate(lastAlarmDate) 이전, referenceNo, alarmTypes 로 범위 제한 (모두 생략 시 전체)
+    // - 화면에서 본 알림까지만 읽으려면 본 알림 중 가장 큰 alarmNo 와 가장 최근 lastAlarmDate 를 함께 보냄
+    //   (본 뒤에 합쳐져 다시 올라온 알림은 alarmNo 가 작아도 시각이 upToDate 보다 늦어 남음)
+    @PutMapping("/{userNo}/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllAsRead(@PathVariable("userNo") Integer userNo,
+            @RequestParam(value = "upTo", required = false) Integer upTo,
+            @RequestParam(value = "upToDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime upToDate,
+            @RequestParam(value = "referenceNo", required = false) Integer referenceNo,
+            @RequestParam(value = "alarmTypes", required = false) List<String> alarmTypes) {
+        int updated = alarmService.markAllAsRead(userNo, upTo, upToDate, referenceNo, alarmTypes);
+        return ResponseEntity.ok(Map.of("updated", updated, "unreadCount", alarmService.getUnreadCount(userNo)));
     }
 
     @PutMapping("/{alarmNo}/read")
@@ -1,5 +1,6 @@
 package com.spec.plun.alarm.dao;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
@@ -12,11 +13,40 @@ public interface AlarmDAO {
 
     void insertAlarm(Alarm alarm);
 
-    List<Alarm> selectAlarmsByUserNo(Integer userNo);
-    
-    String selectUserNameByUserNo(Integer userNo);
+    int insertAlarms(@Param("alarms") List<Alarm> alarms);
 
-    void updateAlarmIsRead(@Param("alarmNo") Integer alarmNo);
+    // 안 읽은 알림에 모인 알림 반영 (개수 증가, 내용/보낸 사람/마지막 시각 교체), 이미 읽었으면 0
+    int coalesceAlarm(@Param("alarmNo") Integer alarmNo,
+                      @Param("count") int count,
+                      @Param("senderNo") Integer senderNo,
+                      @Param("content") String content,
+                      @Param("updateDate") LocalDateTime updateDate);
+
+    // 알림함 커서 조회 ((beforeDate, before) 이전, 최근 알림 시각 순 limit 개)
+    List<Alarm> selectAlarmsByUserNo(@Param("userNo") Integer userNo,
+                                     @Param("beforeDate") LocalDateTime beforeDate,
+                                     @Param("before") Integer before,
+                                     @Param("limit") int limit);
+
+    // 읽지 않은 알림만 읽음 처리 (처리된 행 수)
+    int updateAlarmIsRead(@Param("alarmNo") Integer alarmNo);
+
+    // 조건에 맞는 안 읽은 알림을 한 번에 읽음 처리 (처리된 행 수)
+    int updateAlarmsIsRead(@Param("userNo") Integer userNo,
+                           @Param("upTo") Integer upTo,
+                           @Param("upToDate") LocalDateTime upToDate,
+                           @Param("referenceNo") Integer referenceNo,
+                           @Param("alarmTypes") List<String> alarmTypes);
+
+    // 안 읽은 수 카운터 증가 (수신자별로 묶어 한 문장)
+    int increaseUnreadCounts(@Param("alarms") List<Alarm> alarms);
+
+    int decreaseUnreadCount(@Param("userNo") Integer userNo, @Param("count") int count);
+
+    // 알림 번호로 수신자 카운터 감소
+    int decreaseUnreadCountByAlarmNo(@Param("alarmNo") Integer alarmNo);
+
+    Integer selectUnreadCount(@Param("userNo") Integer userNo);
 
     List<Integer> selectUserNosByTeamNo(Integer teamNo);
 }
@@ -19,5 +19,8 @@ public class Alarm {
     private Integer referenceNo; 
     private String content;
     private String isRead;        // "Y" or "N"
+    private Integer coalescedCount; // 합쳐진 알림 수 (채팅 알림)
     private LocalDateTime createDate;
+    private LocalDateTime updateDate; // 합쳐진 마지막 알림 시각
+    private LocalDateTime lastAlarmDate; // 알림함 정렬/커서 기준 (updateDate, 없으면 createDate)
 }
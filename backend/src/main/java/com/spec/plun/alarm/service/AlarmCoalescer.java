@@ -0,0 +1,240 @@
+package com.spec.plun.alarm.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spec.plun.alarm.dao.AlarmDAO;
+import com.spec.plun.alarm.entity.Alarm;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 채팅 알림 합치기 (수신자, 방, 종류) 단위
+ *
+ * - 묶음의 첫 알림은 바로 저장/전송하고, window 안에 이어지는 알림은 메모리에서 개수와 마지막 내용만 모아 둠.
+ * - 모인 알림은 window 마다 같은 행을 UPDATE 한 번(coalesced_count 증가, 내용/보낸 사람 교체)으로 반영하고 한 번만 다시 전송.
+ *   (50개 연속 메시지 → INSERT 1 + 몇 번의 UPDATE, 전송도 같은 횟수)
+ * - 그 사이 수신자가 읽었거나 지운 행이면 새 행으로 저장. (읽은 알림이 다시 안 읽음으로 바뀌지 않도록)
+ * - window 동안 알림이 없거나 max-age 가 지난 묶음은 닫고, 다음 알림부터 새 행을 만듦.
+ * - 상태는 노드 메모리에만 있으므로 노드가 여럿이면 같은 대화가 노드 수만큼의 행으로 나뉠 수 있음.
+ */
+@Slf4j
+@Component
+public class AlarmCoalescer {
+
+	@Autowired
+	private AlarmDAO alarmDAO;
+
+	@Autowired
+	private AlarmPublisher alarmPublisher;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${alarm.coalesce.window-ms:5000}")
+	private long windowMs;
+
+	@Value("${alarm.coalesce.max-age-ms:300000}")
+	private long maxAgeMs;
+
+	private final Map<Key, Group> groups = new ConcurrentHashMap<>();
+
+	private Thread flusher;
+	private volatile boolean running;
+
+	record Key(Integer userNo, Integer referenceNo, String alarmType) {
+	}
+
+	// 열려 있는 묶음 (compute 안에서만 변경)
+	private static final class Group {
+		Integer alarmNo;        // 첫 알림 저장 전이면 null
+		final long openedAt;
+		long lastOfferAt;
+		long lastFlushAt;
+		int total;              // 행에 반영된 알림 수
+		int pending;            // 아직 반영하지 않은 알림 수
+		Alarm latest;           // 마지막 알림 (내용/보낸 사람)
+
+		Group(long now) {
+			this.openedAt = now;
+			this.lastOfferAt = now;
+			this.lastFlushAt = now;
+		}
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		flusher = new Thread(this::runFlushLoop, "alarm-coalesce-flush");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		// 모아 둔 알림을 모두 반영한 뒤 종료
+		running = false;
+		flusher.interrupt();
+		flusher.join(TimeUnit.SECONDS.toMillis(10));
+		flush(true);
+	}
+
+	// 알림 하나 추가 : 새 묶음이면 바로 저장/전송, 열린 묶음이면 모아 둠
+	public void offer(Alarm alarm) {
+		Key key = new Key(alarm.getUserNo(), alarm.getReferenceNo(), alarm.getAlarmType());
+		long now = System.nanoTime();
+		Group[] opened = new Group[1];
+		groups.compute(key, (k, group) -> {
+			if (group == null || isExpired(group, now)) {
+				opened[0] = new Group(now);
+				opened[0].total = 1;
+				opened[0].latest = alarm;
+				return opened[0];
+			}
+			group.pending++;
+			group.latest = alarm;
+			group.lastOfferAt = now;
+			return group;
+		});
+		if (opened[0] == null) {
+			return;
+		}
+
+		alarm.setCoalescedCount(1);
+		try {
+			insert(alarm);
+		} catch (RuntimeException e) {
+			groups.remove(key, opened[0]);
+			throw e;
+		}
+		groups.computeIfPresent(key, (k, group) -> {
+			if (group == opened[0]) {
+				group.alarmNo = alarm.getAlarmNo();
+			}
+			return group;
+		});
+	}
+
+	// 열린 묶음 수
+	public int openGroups() {
+		return groups.size();
+	}
+
+	// 아직 행에 반영하지 않은 알림 수
+	public int pendingAlarms() {
+		int pending = 0;
+		for (Group group : groups.values()) {
+			pending += group.pending;
+		}
+		return pending;
+	}
+
+	private boolean isExpired(Group group, long now) {
+		return now - group.lastOfferAt >= TimeUnit.MILLISECONDS.toNanos(windowMs)
+				|| now - group.openedAt >= TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+	}
+
+	private void runFlushLoop() {
+		long interval = Math.max(100, Math.min(windowMs, 1000));
+		while (running) {
+			try {
+				Thread.sleep(interval);
+			} catch (InterruptedException e) {
+				return;
+			}
+			try {
+				flush(false);
+			} catch (RuntimeException e) {
+				log.warn("[AlarmCoalescer] 알림 반영 실패", e);
+			}
+		}
+	}
+
+	void flush(boolean force) {
+		long now = System.nanoTime();
+		long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+		for (Key key : groups.keySet()) {
+			Alarm[] latest = new Alarm[1];
+			int[] count = new int[1];
+			int[] total = new int[1];
+			Integer[] alarmNo = new Integer[1];
+			groups.computeIfPresent(key, (k, group) -> {
+				if (group.alarmNo == null) {
+					return group; // 첫 알림 저장 중
+				}
+				boolean expired = isExpired(group, now);
+				if (group.pending > 0 && (force || expired || now - group.lastFlushAt >= windowNanos)) {
+					latest[0] = group.latest;
+					count[0] = group.pending;
+					alarmNo[0] = group.alarmNo;
+					group.total += group.pending;
+					total[0] = group.total;
+					group.pending = 0;
+					group.lastFlushAt = now;
+				}
+				return force || expired ? null : group;
+			});
+			if (count[0] == 0) {
+				continue;
+			}
+
+			Alarm alarm = copyOf(latest[0]);
+			try {
+				LocalDateTime updateDate = AlarmService.now();
+				if (alarmDAO.coalesceAlarm(alarmNo[0], count[0], alarm.getSenderNo(), alarm.getContent(), updateDate) == 1) {
+					alarm.setAlarmNo(alarmNo[0]);
+					alarm.setCoalescedCount(total[0]);
+					alarm.setUpdateDate(updateDate);
+					alarm.setLastAlarmDate(updateDate);
+					alarmPublisher.publish(List.of(alarm));
+				} else {
+					// 이미 읽었거나 지운 알림 : 모은 알림을 새 행으로 저장하고 묶음도 새 행으로 옮김
+					alarm.setCoalescedCount(count[0]);
+					new TransactionTemplate(transactionManager).executeWithoutResult(status -> insert(alarm));
+					groups.computeIfPresent(key, (k, group) -> {
+						if (alarmNo[0].equals(group.alarmNo)) {
+							group.alarmNo = alarm.getAlarmNo();
+							group.total = count[0];
+						}
+						return group;
+					});
+				}
+			} catch (RuntimeException e) {
+				log.warn("[AlarmCoalescer] 알림 반영 실패 - userNo: {}, referenceNo: {}, count: {}",
+						key.userNo(), key.referenceNo(), count[0], e);
+			}
+		}
+	}
+
+	// 새 행 저장 + 안 읽은 수 증가 + 전송
+	private void insert(Alarm alarm) {
+		alarm.setIsRead("N");
+		AlarmService.stamp(alarm, AlarmService.now());
+		alarmDAO.insertAlarm(alarm);
+		alarmDAO.increaseUnreadCounts(List.of(alarm));
+		alarmPublisher.publish(List.of(alarm));
+	}
+
+	private static Alarm copyOf(Alarm source) {
+		Alarm alarm = new Alarm();
+		alarm.setUserNo(source.getUserNo());
+		alarm.setSenderNo(source.getSenderNo());
+		alarm.setSenderName(source.getSenderName());
+		alarm.setAlarmType(source.getAlarmType());
+		alarm.setReferenceNo(source.getReferenceNo());
+		alarm.setContent(source.getContent());
+		alarm.setIsRead("N");
+		return alarm;
+	}
+}
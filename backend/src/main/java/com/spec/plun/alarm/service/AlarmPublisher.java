@@ -0,0 +1,61 @@
+package com.spec.plun.alarm.service;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.spec.plun.alarm.entity.Alarm;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 저장된 알림을 /topic/notifications/{userNo} 로 비동기 병렬 전송
+ *
+ * 트랜잭션 안에서 호출되면 커밋 이후에 전송한다. (롤백된 알림이 나가지 않도록)
+ */
+@Slf4j
+@Component
+public class AlarmPublisher {
+
+	private final SimpMessagingTemplate messagingTemplate;
+	private final Executor executor;
+
+	public AlarmPublisher(SimpMessagingTemplate messagingTemplate,
+			@Qualifier("alarmPublishExecutor") Executor executor) {
+		this.messagingTemplate = messagingTemplate;
+		this.executor = executor;
+	}
+
+	public void publish(List<Alarm> alarms) {
+		if (alarms == null || alarms.isEmpty()) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					dispatch(alarms);
+				}
+			});
+		} else {
+			dispatch(alarms);
+		}
+	}
+
+	private void dispatch(List<Alarm> alarms) {
+		for (Alarm alarm : alarms) {
+			executor.execute(() -> {
+				try {
+					messagingTemplate.convertAndSend("/topic/notifications/" + alarm.getUserNo(), alarm);
+				} catch (RuntimeException e) {
+					log.warn("[AlarmPublisher] 알림 전송 실패 - userNo: {}, alarmNo: {}", alarm.getUserNo(), alarm.getAlarmNo(), e);
+				}
+			});
+		}
+	}
+}
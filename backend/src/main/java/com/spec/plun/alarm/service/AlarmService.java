@@ -1,22 +1,37 @@
 package com.spec.plun.alarm.service;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.spec.plun.alarm.dao.AlarmDAO;
 import com.spec.plun.alarm.entity.Alarm;
+import com.spec.plun.common.util.GeneratedKeys;
+import com.spec.plun.member.service.MemberDirectory;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AlarmService {
+    // 알림함 페이지 기본/최대 크기
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
 
     private final AlarmDAO alarmDAO;
     private final SimpMessagingTemplate messagingTemplate;
+    private final MemberDirectory memberDirectory;
+    private final AlarmPublisher alarmPublisher;
+    private final AlarmCoalescer alarmCoalescer;
 
+    @Transactional
     public void createChatAlarm(Integer senderNo, Integer userNo, Integer roomNo, String content) {
         Alarm alarm = new Alarm();
         alarm.setUserNo(userNo);
@@ -26,27 +41,50 @@ public class AlarmService {
         alarm.setContent(content);
         alarm.setIsRead("N");
 
-        String senderName = alarmDAO.selectUserNameByUserNo(senderNo);
-        System.out.println("[AlarmService] 사용자 이름: " + senderName);
+        String senderName = memberDirectory.getName(senderNo);
         alarm.setSenderName(senderName);
 
-        alarmDAO.insertAlarm(alarm);
-
-        System.out.println("[AlarmService] 알림 전송 전: " + alarm);
-        messagingTemplate.convertAndSend(
-            "/topic/notifications/" + userNo,
-            alarm
-        );
+        // 같은 방의 연속 메시지는 한 알림으로 합쳐 저장/전송
+        alarmCoalescer.offer(alarm);
+    }
+    // 알림함 커서 조회 - (beforeDate, before) 이전 알림을 최근 알림 시각 순으로 limit 개
+    // (합쳐진 채팅 알림은 alarm_no 는 그대로이고 마지막으로 합쳐진 시각에 맞춰 위로 올라감)
+    public List<Alarm> getUserAlarms(Integer userNo, LocalDateTime beforeDate, Integer before, Integer limit) {
+        int size = (limit == null || limit <= 0) ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        return alarmDAO.selectAlarmsByUserNo(userNo, beforeDate, before, size);
     }
-    public List<Alarm> getUserAlarms(Integer userNo) {
-        return alarmDAO.selectAlarmsByUserNo(userNo);
+    public int getUnreadCount(Integer userNo) {
+        Integer count = alarmDAO.selectUnreadCount(userNo);
+        return count != null ? count : 0;
     }
+    @Transactional
     public void markAsRead(Integer alarmNo) {
-        alarmDAO.updateAlarmIsRead(alarmNo);
+        // 이미 읽은 알림이면 카운터를 건드리지 않음
+        if (alarmDAO.updateAlarmIsRead(alarmNo) == 1) {
+            alarmDAO.decreaseUnreadCountByAlarmNo(alarmNo);
+        }
+    }
+    // 안 읽은 알림 일괄 읽음 처리 (upTo 이하 / upToDate 이전 / 특정 참조 번호 / 알림 종류로 제한 가능), 처리한 수 반환
+    @Transactional
+    public int markAllAsRead(Integer userNo, Integer upTo, LocalDateTime upToDate, Integer referenceNo,
+            List<String> alarmTypes) {
+        int updated = alarmDAO.updateAlarmsIsRead(userNo, upTo, upToDate, referenceNo, alarmTypes);
+        if (updated > 0) {
+            alarmDAO.decreaseUnreadCount(userNo, updated);
+        }
+        return updated;
     }
+    @Transactional
     public void insertAlarm(Alarm alarm) {
+        saveAlarm(alarm);
+    }
+    // 알림 저장 + 수신자 안 읽은 수 증가
+    private void saveAlarm(Alarm alarm) {
+        stamp(alarm, now());
         alarmDAO.insertAlarm(alarm);
+        alarmDAO.increaseUnreadCounts(List.of(alarm));
     }
+    @Transactional
     public void createMentionAlarm(Integer senderNo, Integer userNo, Integer roomNo, String content) {
         Alarm alarm = new Alarm();
         alarm.setUserNo(userNo);
@@ -56,73 +94,46 @@ public class AlarmService {
         alarm.setContent(content);
         alarm.setIsRead("N");
 
-        String senderName = alarmDAO.selectUserNameByUserNo(senderNo);
+        String senderName = memberDirectory.getName(senderNo);
         alarm.setSenderName(senderName);
 
-        alarmDAO.insertAlarm(alarm);
+        saveAlarm(alarm);
         messagingTemplate.convertAndSend("/topic/notifications/" + userNo, alarm);
     }
     
-    public void createCalendarInviteAlarm(Integer senderNo, Integer userNo, 
-            Integer calDetailNo, String content, 
-            String eventStartTime, Integer teamNo) {
-		
-		Alarm alarm = new Alarm();
-		alarm.setUserNo(userNo);
-		alarm.setSenderNo(senderNo);
-		alarm.setAlarmType("CALENDAR_INVITE");
-		alarm.setReferenceNo(calDetailNo);
-		alarm.setIsRead("N");
-		
-		// 초대한 사용자 이름 조회
-		String inviterName = alarmDAO.selectUserNameByUserNo(senderNo);
-		alarm.setSenderName(inviterName);
-		
-		// 초대한 사용자 이름 조회
-		String invitedName = alarmDAO.selectUserNameByUserNo(userNo);
-		alarm.setName(invitedName);
-		
-		// 알림 내용 생성
-		String calContent1 = inviterName + "님이 \"" + invitedName + "\"을 일정에 초대했습니다.";
-		alarm.setContent(calContent1);
-		
-		System.out.println("[AlarmService] 캘린더 초대 알림 생성: " + alarm);
-		alarmDAO.insertAlarm(alarm);
-		
-		messagingTemplate.convertAndSend("/topic/notifications/" + userNo, alarm);
-		System.out.println("[AlarmService] 캘린더 초대 알림 전송 완료 - userNo: " + userNo);
-	}
     public String getUserNameByUserNo(Integer userNo) {
-        return alarmDAO.selectUserNameByUserNo(userNo);
+        return memberDirectory.getName(userNo);
     }
+    @Transactional
     public void createCalendarAlarm(String type, Integer calDetailNo, String title, Integer teamNo, String senderName, Integer senderNo) {
         List<Integer> userNos = alarmDAO.selectUserNosByTeamNo(teamNo);
+        createCalendarAlarms(type, calDetailNo, title != null ? title : "일정 알림", userNos, senderName, senderNo);
+    }
+    
+    // 일정 참가자 전체에게 같은 캘린더 알림 생성 (수정/삭제 등)
+    @Transactional
+    public void createCalendarAlarms(String type, Integer calDetailNo, String content,
+            List<Integer> userNos, String senderName, Integer senderNo) {
+        List<Alarm> alarms = new ArrayList<>(userNos.size());
         for (Integer userNo : userNos) {
             Alarm alarm = new Alarm();
             alarm.setAlarmType(type);
             alarm.setReferenceNo(calDetailNo);
-            alarm.setContent(title != null ? title : "일정 알림");
+            alarm.setContent(content);
             alarm.setIsRead("N");
             alarm.setSenderName(senderName);
             alarm.setUserNo(userNo);
-            
             alarm.setSenderNo(senderNo);
-
-            alarmDAO.insertAlarm(alarm);
-            System.out.println("[AlarmService] DB 저장 후 alarmNo: " + alarm.getAlarmNo());
-            System.out.println("💡 생성된 alarmNo: " + alarm.getAlarmNo());
-            messagingTemplate.convertAndSend("/topic/notifications/" + userNo, alarm);
+            alarms.add(alarm);
         }
+        createAlarms(alarms);
     }
     
+    @Transactional
     public void createMeetingCompleteAlarm(Integer roomNo, 
             List<Integer> participantUserNos, String meetingTitle) {
         
-        System.out.println("[AlarmService] 회의록 완료 알림 생성 시작");
-        System.out.println("  - roomNo: " + roomNo);
-        System.out.println("  - 참가자 수: " + participantUserNos.size());
-        System.out.println("  - 회의 제목: " + meetingTitle);
-        
+        List<Alarm> alarms = new ArrayList<>(participantUserNos.size());
         for (Integer userNo : participantUserNos) {
             Alarm alarm = new Alarm();
             alarm.setUserNo(userNo);
@@ -130,18 +141,78 @@ public class AlarmService {
             alarm.setReferenceNo(roomNo);
             alarm.setContent("'" + meetingTitle + "' 회의록이 생성되었습니다.");
             alarm.setIsRead("N");
+            alarms.add(alarm);
+        }
+        createAlarms(alarms);
+        
+        log.debug("[AlarmService] 총 {}명에게 회의록 완료 알림 생성 (roomNo: {})", participantUserNos.size(), roomNo);
+    }
+    
+    // 여러 수신자에게 같은 채팅 알림 생성 (채팅방 초대 등)
+    @Transactional
+    public void createChatAlarms(Integer senderNo, List<Integer> userNos, Integer roomNo, String content) {
+        String senderName = memberDirectory.getName(senderNo);
+        List<Alarm> alarms = new ArrayList<>(userNos.size());
+        for (Integer userNo : userNos) {
+            Alarm alarm = new Alarm();
+            alarm.setUserNo(userNo);
+            alarm.setSenderNo(senderNo);
+            alarm.setSenderName(senderName);
+            alarm.setAlarmType("CHAT");
+            alarm.setReferenceNo(roomNo);
+            alarm.setContent(content);
+            alarm.setIsRead("N");
+            alarms.add(alarm);
+        }
+        createAlarms(alarms);
+    }
+    
+    // 여러 사용자를 일정에 초대하는 알림 생성
+    @Transactional
+    public void createCalendarInviteAlarms(Integer senderNo, List<Integer> userNos, Integer calDetailNo) {
+        String inviterName = memberDirectory.getName(senderNo);
+        List<Alarm> alarms = new ArrayList<>(userNos.size());
+        for (Integer userNo : userNos) {
+            String invitedName = memberDirectory.getName(userNo);
             
-            alarmDAO.insertAlarm(alarm);
-            
-            // WebSocket으로 실시간 전송
-            messagingTemplate.convertAndSend(
-                "/topic/notifications/" + userNo, 
-                alarm
-            );
-            
-            System.out.println("[AlarmService] 알림 전송 완료 - userNo: " + userNo);
+            Alarm alarm = new Alarm();
+            alarm.setUserNo(userNo);
+            alarm.setSenderNo(senderNo);
+            alarm.setSenderName(inviterName);
+            alarm.setName(invitedName);
+            alarm.setAlarmType("CALENDAR_INVITE");
+            alarm.setReferenceNo(calDetailNo);
+            alarm.setContent(inviterName + "님이 \"" + invitedName + "\"을 일정에 초대했습니다.");
+            alarm.setIsRead("N");
+            alarms.add(alarm);
+        }
+        createAlarms(alarms);
+    }
+    
+    // 알림 일괄 생성 : multi-row INSERT 1회로 저장하고 WebSocket 전송은 비동기 병렬 처리
+    // (같은 클래스 안에서 부르면 프록시를 거치지 않으므로, 호출하는 공개 메서드에도 @Transactional 을 붙여 둠)
+    @Transactional
+    public List<Alarm> createAlarms(List<Alarm> alarms) {
+        if (alarms == null || alarms.isEmpty()) {
+            return alarms;
         }
+        LocalDateTime now = now();
+        alarms.forEach(alarm -> stamp(alarm, now));
+        alarmDAO.insertAlarms(alarms);
+        GeneratedKeys.requireAll("insertAlarms", alarms, Alarm::getAlarmNo);
+        alarmDAO.increaseUnreadCounts(alarms);
         
-        System.out.println("[AlarmService] 총 " + participantUserNos.size() + "명에게 알림 전송 완료");
+        alarmPublisher.publish(alarms);
+        return alarms;
+    }
+
+    // 알림 시각 (DATETIME 열과 같은 초 단위로 잘라 행과 전송 값이 같게)
+    static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    static void stamp(Alarm alarm, LocalDateTime createDate) {
+        alarm.setCreateDate(createDate);
+        alarm.setLastAlarmDate(createDate);
     }
-}
\ No newline at end of file
+}
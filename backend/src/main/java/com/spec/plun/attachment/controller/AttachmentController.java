@@ -1,27 +1,38 @@
 package com.spec.plun.attachment.controller;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.spec.plun.attachment.dto.UploadInitRequest;
+import com.spec.plun.attachment.dto.UploadStatus;
 import com.spec.plun.attachment.entity.Attachment;
+import com.spec.plun.attachment.service.AttachmentFileSender;
 import com.spec.plun.attachment.service.AttachmentService;
+import com.spec.plun.attachment.service.ChunkedUploadService;
+import com.spec.plun.member.DTO.MemberDTO;
+import com.spec.plun.member.service.MemberService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/attachments")
@@ -30,6 +41,15 @@ public class AttachmentController {
 	@Autowired
 	private AttachmentService attachmentService;
 	
+	@Autowired
+	private AttachmentFileSender attachmentFileSender;
+	
+	@Autowired
+	private ChunkedUploadService chunkedUploadService;
+	
+	@Autowired
+	private MemberService memberService;
+	
 	// 파일 삭제
 	@DeleteMapping("/delete/{attachmentNo}")
 	public ResponseEntity<?> deleteAttachment(@PathVariable("attachmentNo") String attachmentNo){
@@ -47,47 +67,39 @@ public class AttachmentController {
 	}
 	
 	
-	// 파일 다운로드
+	// 파일 다운로드 (Range / ETag / 304 지원)
 	@GetMapping("/download/{attachmentNo}")
-	public ResponseEntity<Resource> downloadFile(@PathVariable("attachmentNo") String attachmentNo){
+	public void downloadFile(@PathVariable("attachmentNo") String attachmentNo,
+			HttpServletRequest request, HttpServletResponse response) throws IOException {
+		// 1. 첨부파일 정보를 DB에서 조회
+		Attachment attachment = attachmentService.getAttachmentById(attachmentNo);
+		
+		// 2. 첨부파일이 존재하지 않을 경우 404 응답 반환
+		if (attachment == null) {
+			System.out.println("첨부파일을 찾을 수 없습니다: " + attachmentNo);
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		// 3. 파일 경로 생성 (실제 파일 시스템 경로)
+		Path filePath = Paths.get(attachment.getPath());
+		
+		// 4. 파일이 실제 존재하지 않는 경우 404 응답 반환
+		if (!Files.isRegularFile(filePath) || !Files.isReadable(filePath)) {
+			System.out.println("리소스가 존재하지 않음: " + filePath.toAbsolutePath());
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		
+		// 5. 본문 전송 (조건부 요청이면 304, Range 요청이면 206)
 		try {
-			// 1. 첨부파일 정보를 DB에서 조회
-			Attachment attachment = attachmentService.getAttachmentById(attachmentNo);
-			
-			// 2. 첨부파일이 존재하지 않을 경우 404 응답 반환
-			if (attachment == null) {
-				System.out.println("첨부파일을 찾을 수 없습니다: " + attachmentNo);
-				return ResponseEntity.notFound().build();
+			attachmentFileSender.send(request, response, attachment, filePath);
+		} catch (IOException e) {
+			// 영상 탐색 등으로 클라이언트가 연결을 먼저 끊은 경우는 응답이 이미 시작된 상태
+			if (!response.isCommitted()) {
+				System.err.println("다운로드 중 예외 발생");
+				e.printStackTrace();
+				response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
 			}
-			// 3. 파일 경로 생성 (실제 파일 시스템 경로)
-	        Path filePath = Paths.get(attachment.getPath()); // 실제 경로에서 파일 가져오기
-	        System.out.println("파일 경로: " + filePath.toAbsolutePath());
-	        
-	        // 4. 파일 리소스 생성 (UrlResource를 통해 파일을 스트림 형태로 제공)
-	        Resource resource = new UrlResource(filePath.toUri());
-	        
-	        // 5. 파일이 실제 존재하지 않는 경우 404 응답 반환
-	        if(!resource.exists()) {
-	        	System.out.println("리소스가 존재하지 않음: " + resource.getFilename());
-	        	return ResponseEntity.notFound().build();   	
-	        }
-	        
-	        // 6. 다운로드 시 한글 파일명이 깨지지 않도록 URL 인코딩 처리
-	        String encodedFileName = URLEncoder.encode(attachment.getOriginalName(), StandardCharsets.UTF_8.toString())
-                    .replaceAll("\\+", "%20");
-	        
-	        // 7. ResponseEntity 생성 및 헤더 세팅
-	        // Content-Disposition 헤더에 인코딩된 파일명을 포함하여 첨부파일로 다운로드 되도록 설정
-	        return ResponseEntity.ok()
-	        		.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFileName)
-	                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-	                .body(resource);
-	        
-		}  catch  (Exception e) {
-			// 8. 예외 발생 시 로그 출력 및 500 서버 에러 응답 반환
-			System.err.println("다운로드 중 예외 발생");
-	        e.printStackTrace();
-	        return ResponseEntity.status(500).build();
 		}
 	}
 	
@@ -103,4 +115,52 @@ public class AttachmentController {
             return ResponseEntity.status(500).build();
         }
     }
-}
\ No newline at end of file
+	
+	// 청크 업로드 시작 (이어 올리기 지원)
+	@PostMapping("/uploads")
+	public ResponseEntity<UploadStatus> initUpload(@AuthenticationPrincipal String email,
+			@RequestBody UploadInitRequest request) throws IOException {
+		return ResponseEntity.status(HttpStatus.CREATED).body(chunkedUploadService.init(request, currentUserNo(email)));
+	}
+	
+	// 청크 업로드 진행 상태 (끊긴 뒤 이어 올릴 위치 확인)
+	@GetMapping("/uploads/{uploadId}")
+	public ResponseEntity<UploadStatus> getUploadStatus(@AuthenticationPrincipal String email,
+			@PathVariable("uploadId") String uploadId) {
+		return ResponseEntity.ok(chunkedUploadService.getStatus(uploadId, currentUserNo(email)));
+	}
+	
+	// 청크 전송 : 요청 본문(application/octet-stream)을 offset 위치에 바로 기록
+	@PutMapping(value = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	public ResponseEntity<UploadStatus> uploadChunk(@AuthenticationPrincipal String email,
+			@PathVariable("uploadId") String uploadId,
+			@RequestParam("offset") long offset, HttpServletRequest request) throws IOException {
+		return ResponseEntity.ok(chunkedUploadService.writeChunk(uploadId, currentUserNo(email), offset,
+				request.getContentLengthLong(), request.getInputStream()));
+	}
+	
+	// 청크 업로드 완료 후 메시지에 첨부
+	@PostMapping("/uploads/{uploadId}/complete")
+	public ResponseEntity<Attachment> completeUpload(@AuthenticationPrincipal String email,
+			@PathVariable("uploadId") String uploadId,
+			@RequestParam("messageNo") Integer messageNo) throws IOException {
+		return ResponseEntity.ok(chunkedUploadService.complete(uploadId, currentUserNo(email), messageNo));
+	}
+	
+	// 청크 업로드 취소
+	@DeleteMapping("/uploads/{uploadId}")
+	public ResponseEntity<Void> abortUpload(@AuthenticationPrincipal String email,
+			@PathVariable("uploadId") String uploadId) throws IOException {
+		chunkedUploadService.abort(uploadId, currentUserNo(email));
+		return ResponseEntity.noContent().build();
+	}
+	
+	// 로그인한 사용자 번호 (JWT 의 email 로 조회)
+	private Integer currentUserNo(String email) {
+		MemberDTO member = email != null ? memberService.getEmail(email) : null;
+		if (member == null) {
+			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+		}
+		return member.getUserNo();
+	}
+}
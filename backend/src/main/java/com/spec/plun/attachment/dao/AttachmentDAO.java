@@ -3,6 +3,7 @@ package com.spec.plun.attachment.dao;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import com.spec.plun.attachment.entity.Attachment;
 
@@ -13,8 +14,17 @@ public interface  AttachmentDAO {
 	
 	List<Attachment> getAttachmentsByMessageNo(Integer messageNo);
 	
+	List<Attachment> getAttachmentsByMessageNos(@Param("messageNos") List<Integer> messageNos);
+	
 	Attachment getAttachmentById(String attachmentNo);
 	
-	void deleteAttachment(String attachmentNo);
+	int deleteAttachment(String attachmentNo);
+	
+	// 내용 주소(SHA-256) 기반 blob 참조 카운트
+	int addBlobRef(@Param("digest") String digest, @Param("path") String path, @Param("size") long size);
+	
+	int releaseBlobRef(String digest);
+	
+	int deleteUnreferencedBlob(String digest);
 
 }
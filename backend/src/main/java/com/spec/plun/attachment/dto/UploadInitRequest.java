@@ -0,0 +1,12 @@
+package com.spec.plun.attachment.dto;
+
+import lombok.Data;
+
+@Data
+public class UploadInitRequest {
+
+	private String originalName;
+	private String contentType;
+	private Long size;           // 전체 파일 크기 (byte)
+
+}
@@ -0,0 +1,15 @@
+package com.spec.plun.attachment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UploadStatus {
+
+	private String uploadId;
+	private long size;           // 전체 파일 크기
+	private long offset;         // 서버에 저장된 바이트 수 (다음 청크 시작 위치)
+	private long chunkSize;      // 권장 청크 크기
+
+}
@@ -11,9 +11,10 @@ public class Attachment {
 	private String originalName;
 	private String fileName;
 	private String path;
-	private Integer size;
+	private Long size;
 	private String contentType;
 	private String extension;
+	private String digest;        // TB_BLOB SHA-256 (NULL 이면 blob 저장소 이전 파일)
 	private LocalDateTime createDate;
 	private LocalDateTime deleteDate;
 
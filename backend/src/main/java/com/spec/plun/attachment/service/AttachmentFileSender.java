@@ -0,0 +1,234 @@
+package com.spec.plun.attachment.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.spec.plun.attachment.entity.Attachment;
+import com.spec.plun.attachment.util.ByteRange;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 첨부파일 본문 전송 (Range / 조건부 요청 지원)
+ *
+ * - ETag 는 첨부파일 메타데이터(attachmentNo, 크기, 등록 시각)로 만든 strong ETag. 저장된 파일은 수정되지 않으므로 내용과 1:1 대응.
+ * - If-None-Match / If-Modified-Since 가 일치하면 304, If-Range 가 일치할 때만 Range 적용.
+ * - 단일 구간은 Tomcat sendfile 로, 그 외(다중 구간, sendfile 미지원 커넥터)는 FileChannel.transferTo 로 전송.
+ */
+@Component
+public class AttachmentFileSender {
+
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+	@Value("${file.download.max-ranges:16}")
+	private int maxRanges = 16;
+
+	public void send(HttpServletRequest request, HttpServletResponse response, Attachment attachment, Path file)
+			throws IOException {
+		long length = Files.size(file);
+		long lastModified = lastModifiedOf(attachment, file);
+		String etag = etagOf(attachment, length, lastModified);
+		String contentType = contentTypeOf(attachment);
+
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		response.setHeader(HttpHeaders.ETAG, etag);
+		response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+		// 매번 재검증하되 바뀌지 않았으면 304 로 본문 재전송 생략
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+		if (isNotModified(request, etag, lastModified)) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		List<ByteRange> ranges = null;
+		String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+		if (rangeHeader != null && ifRangeMatches(request, etag, lastModified)) {
+			ranges = ByteRange.parse(rangeHeader, length, maxRanges);
+		}
+
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodeFileName(attachment));
+
+		if (ranges == null) {
+			response.setStatus(HttpServletResponse.SC_OK);
+			response.setContentType(contentType);
+			response.setContentLengthLong(length);
+			writeRegion(request, response, file, 0, length);
+		} else if (ranges.isEmpty()) {
+			response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+			response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+		} else if (ranges.size() == 1) {
+			ByteRange range = ranges.get(0);
+			response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+			response.setContentType(contentType);
+			response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(range, length));
+			response.setContentLengthLong(range.length());
+			writeRegion(request, response, file, range.start(), range.length());
+		} else {
+			writeMultipart(request, response, file, ranges, length, contentType);
+		}
+	}
+
+	// 단일 구간 전송 : Tomcat sendfile 이 가능하면 커넥터에 위임, 아니면 transferTo
+	private void writeRegion(HttpServletRequest request, HttpServletResponse response, Path file, long position,
+			long count) throws IOException {
+		if (isHead(request) || count == 0) {
+			return;
+		}
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+			request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+			request.setAttribute(SENDFILE_START, position);
+			request.setAttribute(SENDFILE_END, position + count);
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			transfer(channel, position, count, Channels.newChannel(response.getOutputStream()));
+		}
+	}
+
+	// 다중 구간 : multipart/byteranges 로 구간마다 파트 헤더 + 본문
+	private void writeMultipart(HttpServletRequest request, HttpServletResponse response, Path file,
+			List<ByteRange> ranges, long length, String contentType) throws IOException {
+		String boundary = UUID.randomUUID().toString().replace("-", "");
+		List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+		long contentLength = 0;
+		for (ByteRange range : ranges) {
+			byte[] header = ("--" + boundary + "\r\n"
+					+ HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+					+ HttpHeaders.CONTENT_RANGE + ": " + contentRange(range, length) + "\r\n\r\n")
+					.getBytes(StandardCharsets.US_ASCII);
+			partHeaders.add(header);
+			contentLength += header.length + range.length() + CRLF.length;
+		}
+		byte[] closing = ("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+		contentLength += closing.length;
+
+		response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+		response.setContentType("multipart/byteranges; boundary=" + boundary);
+		response.setContentLengthLong(contentLength);
+		if (isHead(request)) {
+			return;
+		}
+
+		OutputStream out = response.getOutputStream();
+		WritableByteChannel target = Channels.newChannel(out);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			for (int i = 0; i < ranges.size(); i++) {
+				ByteRange range = ranges.get(i);
+				out.write(partHeaders.get(i));
+				transfer(channel, range.start(), range.length(), target);
+				out.write(CRLF);
+			}
+		}
+		out.write(closing);
+	}
+
+	static void transfer(FileChannel channel, long position, long count, WritableByteChannel target)
+			throws IOException {
+		long end = position + count;
+		while (position < end) {
+			long written = channel.transferTo(position, end - position, target);
+			if (written <= 0) {
+				throw new IOException("파일 전송이 중단되었습니다.");
+			}
+			position += written;
+		}
+	}
+
+	private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+		String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+		if (ifNoneMatch != null) {
+			// If-None-Match 가 있으면 If-Modified-Since 는 보지 않음 (weak 비교)
+			for (String candidate : ifNoneMatch.split(",")) {
+				String tag = candidate.trim();
+				if (tag.equals("*") || stripWeak(tag).equals(etag)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+		return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+	}
+
+	private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+		String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+		if (ifRange == null) {
+			return true;
+		}
+		ifRange = ifRange.trim();
+		if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+			// If-Range 는 strong 비교만 허용
+			return ifRange.equals(etag);
+		}
+		long date = dateHeader(request, HttpHeaders.IF_RANGE);
+		return date >= 0 && date / 1000 == lastModified / 1000;
+	}
+
+	private static long dateHeader(HttpServletRequest request, String name) {
+		try {
+			return request.getDateHeader(name);
+		} catch (IllegalArgumentException e) {
+			return -1;
+		}
+	}
+
+	private static String stripWeak(String tag) {
+		return tag.startsWith("W/") ? tag.substring(2) : tag;
+	}
+
+	static String etagOf(Attachment attachment, long length, long lastModified) {
+		return "\"" + attachment.getAttachmentNo() + "-" + Long.toHexString(length) + "-"
+				+ Long.toHexString(lastModified / 1000) + "\"";
+	}
+
+	// HTTP 날짜는 초 단위이므로 밀리초는 버림
+	private static long lastModifiedOf(Attachment attachment, Path file) throws IOException {
+		long millis = attachment.getCreateDate() != null
+				? attachment.getCreateDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+				: Files.getLastModifiedTime(file).toMillis();
+		return millis / 1000 * 1000;
+	}
+
+	private static String contentTypeOf(Attachment attachment) {
+		String contentType = attachment.getContentType();
+		return contentType == null || contentType.isBlank() ? MediaType.APPLICATION_OCTET_STREAM_VALUE : contentType;
+	}
+
+	private static String contentRange(ByteRange range, long length) {
+		return "bytes " + range.start() + "-" + range.end() + "/" + length;
+	}
+
+	// 다운로드 시 한글 파일명이 깨지지 않도록 URL 인코딩 처리
+	private static String encodeFileName(Attachment attachment) {
+		String name = attachment.getOriginalName() != null ? attachment.getOriginalName() : attachment.getFileName();
+		return URLEncoder.encode(name, StandardCharsets.UTF_8).replace("+", "%20");
+	}
+
+	private static boolean isHead(HttpServletRequest request) {
+		return "HEAD".equalsIgnoreCase(request.getMethod());
+	}
+}
@@ -1,20 +1,19 @@
 package com.spec.plun.attachment.service;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.spec.plun.attachment.dao.AttachmentDAO;
 import com.spec.plun.attachment.entity.Attachment;
+import com.spec.plun.attachment.service.BlobStore.Blob;
 
 @Service
 public class AttachmentService {
@@ -22,29 +21,33 @@ public class AttachmentService {
 	@Autowired
 	private AttachmentDAO attachmentDAO;
 	
-    @Value("${file.upload-path}")
-    private String uploadPath;
-	
-	// 실제 파일 저장 위치 (나중에 설정 파일로 빼기)
-	//private final String uploadPath = "C:/upload/chat"; // 본인 pc에 맞게 설정 변경
+	@Autowired
+	private BlobStore blobStore;
 
-	// 파일 삭제
+	// 파일 삭제 (blob 은 마지막 참조가 사라질 때만 삭제)
+	@Transactional
 	public boolean deleteAttachmentById(String attachmentNo) {
 		// 1. DB에서 첨부파일 정보 조회
 	    Attachment attachment = attachmentDAO.getAttachmentById(attachmentNo);
 	    if (attachment == null) return false;
 
-	    // 2. 실제 파일 삭제
-	    Path filePath = Paths.get(attachment.getPath());
+	    // 2. DB에서 메타데이터 삭제 (이미 삭제된 첨부파일이면 참조를 다시 해제하지 않음)
+	    if (attachmentDAO.deleteAttachment(attachmentNo) == 0) {
+	    	return true;
+	    }
+
+	    // 3. 실제 파일 삭제
 	    try {
-	        Files.deleteIfExists(filePath);
+	    	if (attachment.getDigest() != null) {
+	    		blobStore.release(attachment.getDigest());
+	    	} else {
+	    		// blob 저장소 이전에 올라온 파일
+	    		Files.deleteIfExists(Paths.get(attachment.getPath()));
+	    	}
 	    } catch (IOException e) {
 	        e.printStackTrace();
 	        throw new RuntimeException("파일 삭제 실패");
 	    }
-
-	    // 3. DB에서 메타데이터 삭제
-	    attachmentDAO.deleteAttachment(attachmentNo);
 	    return true;
 	}
 
@@ -54,36 +57,28 @@ public class AttachmentService {
 		
 	}
 	
-	// 파일 업로드
+	// 파일 업로드 (같은 내용의 파일은 한 번만 저장)
+	@Transactional
 	public Attachment saveFile(MultipartFile file, Integer messageNo) throws IOException{
 		
-		// 1. 파일 저장 이름 생성
-		String uuid = UUID.randomUUID().toString();
+		// 1. 내용 해시로 blob 저장 (이미 있으면 참조만 추가)
+		Blob blob = blobStore.store(file);
 		String originalName = file.getOriginalFilename();
-		String fileName = uuid + "_" + originalName;
-		
-		// 2. 실제 파일 저장 경로
-		File saveDir = new File(uploadPath);
-		if(!saveDir.exists()) {
-			saveDir.mkdirs(); // 디렉토리 없으면 생성
-	}
-		
-		File dest = new File(saveDir, fileName);
-		file.transferTo(dest); // 파일 저장
 		
-		// 3. Attachment 객체에 정보 담기
+		// 2. Attachment 객체에 정보 담기
 		Attachment attachment = new Attachment();
-		attachment.setAttachmentNo(uuid);
+		attachment.setAttachmentNo(UUID.randomUUID().toString());
         attachment.setMessageNo(messageNo);
         attachment.setOriginalName(originalName);
-        attachment.setFileName(fileName);
-        attachment.setPath(dest.getAbsolutePath());
-        attachment.setSize((int) file.getSize());
+        attachment.setFileName(blob.digest());
+        attachment.setPath(blob.path().toString());
+        attachment.setSize(blob.size());
         attachment.setContentType(file.getContentType());
         attachment.setExtension(getExtension(originalName));
+        attachment.setDigest(blob.digest());
         attachment.setCreateDate(LocalDateTime.now());
 
-        // 4. DB에 저장
+        // 3. DB에 저장
         attachmentDAO.insertAttachment(attachment);
 
         return attachment;
@@ -91,7 +86,7 @@ public class AttachmentService {
 	}
 	
     // 파일 확장자 추출
-    private String getExtension(String fileName) {
+    static String getExtension(String fileName) {
         if (fileName == null) return "";
         int idx = fileName.lastIndexOf(".");
         return idx == -1 ? "" : fileName.substring(idx + 1);
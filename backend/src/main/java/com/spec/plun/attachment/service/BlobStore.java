@@ -0,0 +1,134 @@
+package com.spec.plun.attachment.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.spec.plun.attachment.dao.AttachmentDAO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 내용 주소(SHA-256) 기반 첨부파일 저장소
+ *
+ * - 같은 내용의 파일은 blobs/ab/cd/abcd... 한 개만 저장하고 TB_BLOB.ref_count 로 참조 수를 관리.
+ * - 이미 있는 내용이면 디스크에 쓰지 않고 참조 수만 올림.
+ * - 참조 추가/해제는 TB_BLOB 행 잠금을 잡은 상태에서 파일을 만들거나 지우므로, 호출하는 쪽은 트랜잭션 안에서 사용해야 함.
+ */
+@Slf4j
+@Component
+public class BlobStore {
+
+	private static final String BLOB_DIR = "blobs";
+	private static final String TMP_DIR = "tmp";
+
+	@Autowired
+	private AttachmentDAO attachmentDAO;
+
+	@Value("${file.upload-path}")
+	private String uploadPath;
+
+	public record Blob(String digest, Path path, long size) {
+	}
+
+	@FunctionalInterface
+	private interface BlobWriter {
+		void writeTo(Path target) throws IOException;
+	}
+
+	// 멀티파트 업로드 저장 : 해시 계산(읽기만) 후 새 내용일 때만 파일로 옮김
+	public Blob store(MultipartFile file) throws IOException {
+		String digest;
+		try (InputStream in = file.getInputStream()) {
+			digest = digest(in);
+		}
+		return place(digest, file.getSize(), target -> file.transferTo(target.toFile()));
+	}
+
+	// 이미 디스크에 있는 파일 저장 (청크 업로드 임시 파일 등) : 새 내용이면 이동, 중복이면 삭제
+	public Blob storeFile(Path source) throws IOException {
+		String digest;
+		try (InputStream in = Files.newInputStream(source)) {
+			digest = digest(in);
+		}
+		return storeFile(source, digest);
+	}
+
+	// 해시를 이미 알고 있는 파일 저장 (청크 업로드는 받으면서 해시를 계산해 둠) : 다시 읽지 않음
+	public Blob storeFile(Path source, String digest) throws IOException {
+		Blob blob = place(digest, Files.size(source), target -> moveFile(source, target));
+		Files.deleteIfExists(source);
+		return blob;
+	}
+
+	// 참조 해제 : 마지막 참조였으면 파일 삭제
+	public void release(String digest) throws IOException {
+		attachmentDAO.releaseBlobRef(digest);
+		if (attachmentDAO.deleteUnreferencedBlob(digest) > 0) {
+			Files.deleteIfExists(blobPath(digest));
+			log.info("[BlobStore] 참조가 없는 blob 삭제: {}", digest);
+		}
+	}
+
+	private Blob place(String digest, long size, BlobWriter writer) throws IOException {
+		Path path = blobPath(digest);
+		// 행 잠금을 먼저 잡아 같은 blob 의 삭제와 겹치지 않게 함
+		attachmentDAO.addBlobRef(digest, path.toString(), size);
+
+		if (!Files.exists(path)) {
+			Path tmpDir = Paths.get(uploadPath, BLOB_DIR, TMP_DIR).toAbsolutePath();
+			Files.createDirectories(tmpDir);
+			Path tmp = Files.createTempFile(tmpDir, digest, ".tmp");
+			try {
+				Files.delete(tmp); // transferTo / move 대상은 없는 경로여야 함
+				writer.writeTo(tmp);
+				moveFile(tmp, path);
+			} finally {
+				Files.deleteIfExists(tmp);
+			}
+		}
+		return new Blob(digest, path, size);
+	}
+
+	Path blobPath(String digest) {
+		return Paths.get(uploadPath, BLOB_DIR, digest.substring(0, 2), digest.substring(2, 4), digest).toAbsolutePath();
+	}
+
+	static String digest(InputStream in) throws IOException {
+		MessageDigest sha256;
+		try {
+			sha256 = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		try (DigestInputStream digestIn = new DigestInputStream(in, sha256)) {
+			byte[] buffer = new byte[64 * 1024];
+			while (digestIn.read(buffer) != -1) {
+				// 읽으면서 해시 누적
+			}
+		}
+		return HexFormat.of().formatHex(sha256.digest());
+	}
+
+	private static void moveFile(Path from, Path to) throws IOException {
+		Files.createDirectories(to.getParent());
+		try {
+			Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
@@ -0,0 +1,382 @@
+package com.spec.plun.attachment.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.spec.plun.attachment.dao.AttachmentDAO;
+import com.spec.plun.attachment.dto.UploadInitRequest;
+import com.spec.plun.attachment.dto.UploadStatus;
+import com.spec.plun.attachment.entity.Attachment;
+import com.spec.plun.attachment.service.BlobStore.Blob;
+import com.spec.plun.attachment.util.Sha256;
+import com.spec.plun.chat.dao.ChatDAO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이어 올리기 가능한 청크 업로드 (init → PUT 청크(offset) → complete)
+ *
+ * - 청크 본문은 요청 스트림에서 FileChannel 로 바로 기록. (컨테이너 멀티파트 버퍼링 없음)
+ * - 기록한 바이트는 그대로 SHA-256 에 더하고, 해시 중간 상태를 offset 과 함께 Redis 해시에 저장.
+ *   (업로드 경로를 공유하는 어느 노드에서든 이어 올릴 수 있고, 완료 시 파일을 다시 읽어 해시하지 않음)
+ * - 업로드는 시작한 사용자만 이어 올리거나 완료할 수 있고, 완료 시 첨부할 메시지의 방에 참여 중이어야 함.
+ * - 같은 업로드에 대한 청크 기록은 Redis 락으로 한 번에 하나만 허용.
+ *   락은 lock-timeout 마다 만료되므로 기록 중에는 버퍼마다 확인해 timeout 의 1/3 이 지나면 연장하고,
+ *   연장에 실패하면(다른 요청이 락을 가져감) offset 을 올리지 않고 중단.
+ * - 연결이 끊기면 그때까지 받은 바이트만큼 offset 을 올려 두고, 클라이언트는 상태 조회 후 그 위치부터 재전송.
+ * - 완료 트랜잭션에는 blob 참조 수 증가(+ 새 내용이면 파일 이동)와 첨부파일 저장만 들어감.
+ */
+@Slf4j
+@Service
+public class ChunkedUploadService {
+
+	private static final String KEY_PREFIX = "upload:";
+	private static final String LOCK_SUFFIX = ":lock";
+	private static final String PARTIAL_DIR = ".partial";
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	// KEYS[1]=락, ARGV[1]=소유 토큰, ARGV[2]=TTL(ms) : 내 락일 때만 연장 (1 = 연장, 0 = 잃음)
+	private static final DefaultRedisScript<Long> RENEW_LOCK = new DefaultRedisScript<>("""
+			if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end
+			return 0
+			""", Long.class);
+
+	// KEYS[1]=락, ARGV[1]=소유 토큰 : 내 락일 때만 삭제
+	private static final DefaultRedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>("""
+			if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end
+			return 0
+			""", Long.class);
+
+	// KEYS[1]=락, KEYS[2]=진행 상태, ARGV[1]=소유 토큰, ARGV[2]=받은 바이트, ARGV[3]=상태 TTL(ms), ARGV[4]=해시 상태
+	// 락을 쥔 채로만 offset 증가 + 그 offset 까지의 해시 상태 저장 (새 offset, -1 = 락을 잃음)
+	private static final DefaultRedisScript<Long> ADVANCE = new DefaultRedisScript<>("""
+			if redis.call('GET', KEYS[1]) ~= ARGV[1] then return -1 end
+			local offset = redis.call('HINCRBY', KEYS[2], 'offset', ARGV[2])
+			redis.call('HSET', KEYS[2], 'sha256', ARGV[4])
+			redis.call('PEXPIRE', KEYS[2], ARGV[3])
+			return offset
+			""", Long.class);
+
+	@Autowired
+	private StringRedisTemplate redisTemplate;
+
+	@Autowired
+	private AttachmentDAO attachmentDAO;
+
+	@Autowired
+	private ChatDAO chatDAO;
+
+	@Autowired
+	private BlobStore blobStore;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${file.upload-path}")
+	private String uploadPath;
+
+	@Value("${file.upload.chunk-size:8388608}")
+	private long chunkSize;
+
+	@Value("${file.upload.max-chunk-size:67108864}")
+	private long maxChunkSize;
+
+	@Value("${file.upload.max-size:10737418240}")
+	private long maxSize;
+
+	@Value("${file.upload.session-ttl-hours:24}")
+	private long sessionTtlHours;
+
+	@Value("${file.upload.lock-timeout-ms:30000}")
+	private long lockTimeoutMs;
+
+	// 업로드 시작 : 빈 임시 파일과 진행 상태(시작한 사용자 포함) 생성
+	public UploadStatus init(UploadInitRequest request, Integer userNo) throws IOException {
+		if (request.getOriginalName() == null || request.getOriginalName().isBlank()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일 이름이 없습니다.");
+		}
+		if (request.getSize() == null || request.getSize() <= 0 || request.getSize() > maxSize) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일 크기가 올바르지 않습니다.");
+		}
+		sweepExpiredPartials();
+
+		String uploadId = UUID.randomUUID().toString();
+		Path partial = partialPath(uploadId);
+		Files.createDirectories(partial.getParent());
+		Files.createFile(partial);
+
+		Map<String, String> session = new HashMap<>();
+		session.put("originalName", request.getOriginalName());
+		session.put("contentType", request.getContentType() != null ? request.getContentType() : "application/octet-stream");
+		session.put("size", String.valueOf(request.getSize()));
+		session.put("offset", "0");
+		session.put("userNo", String.valueOf(userNo));
+		session.put("sha256", new Sha256().exportState());
+		redisTemplate.opsForHash().putAll(key(uploadId), session);
+		redisTemplate.expire(key(uploadId), sessionTtl());
+
+		return new UploadStatus(uploadId, request.getSize(), 0, chunkSize);
+	}
+
+	// 이어 올리기 전 서버에 저장된 위치 확인
+	public UploadStatus getStatus(String uploadId, Integer userNo) {
+		Map<Object, Object> session = loadSession(uploadId, userNo);
+		return new UploadStatus(uploadId, longField(session, "size"), longField(session, "offset"), chunkSize);
+	}
+
+	// 청크 기록 : offset 은 서버에 저장된 위치와 같아야 함
+	public UploadStatus writeChunk(String uploadId, Integer userNo, long offset, long contentLength, InputStream body)
+			throws IOException {
+		Map<Object, Object> session = loadSession(uploadId, userNo);
+		long size = longField(session, "size");
+
+		Lock lock = acquireLock(uploadId);
+		try {
+			Map<Object, Object> progress = redisTemplate.opsForHash().entries(key(uploadId));
+			long current = longField(progress, "offset");
+			if (offset != current) {
+				throw new ResponseStatusException(HttpStatus.CONFLICT, "업로드 위치가 맞지 않습니다. (서버 offset: " + current + ")");
+			}
+			long limit = Math.min(size - offset, maxChunkSize);
+			if (contentLength > limit) {
+				throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "청크가 너무 큽니다. (최대 " + limit + " byte)");
+			}
+
+			// 해시 상태는 offset 과 같은 위치까지 계산된 것 (파일에 다 쓴 버퍼만 해시에 더함)
+			Sha256 sha256 = Sha256.restore((String) progress.get("sha256"));
+			long written = 0;
+			try (FileChannel channel = FileChannel.open(partialPath(uploadId), StandardOpenOption.WRITE)) {
+				ReadableByteChannel in = Channels.newChannel(body);
+				ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+				while (written < limit) {
+					buffer.clear().limit((int) Math.min(BUFFER_SIZE, limit - written));
+					if (in.read(buffer) < 0) {
+						break; // 요청 본문 끝
+					}
+					buffer.flip();
+					long position = offset + written;
+					while (buffer.hasRemaining()) {
+						position += channel.write(buffer, position);
+					}
+					sha256.update(buffer.rewind());
+					written += buffer.limit();
+					lock.renewIfDue();
+				}
+			} catch (IOException e) {
+				// 연결이 끊겨도 받은 만큼은 저장해 두고 이어 올리기
+				log.warn("[ChunkedUpload] 청크 수신 중단 - uploadId: {}, 저장된 바이트: {}", uploadId, written);
+				advance(lock, written, sha256);
+				throw e;
+			}
+			long newOffset = advance(lock, written, sha256);
+			return new UploadStatus(uploadId, size, newOffset, chunkSize);
+		} finally {
+			lock.release();
+		}
+	}
+
+	// 업로드 완료 : 임시 파일을 blob 저장소로 옮기고 메시지에 첨부 (업로드한 사용자가 참여 중인 방의 메시지만)
+	public Attachment complete(String uploadId, Integer userNo, Integer messageNo) throws IOException {
+		if (messageNo == null) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "messageNo 가 없습니다.");
+		}
+		Map<Object, Object> session = loadSession(uploadId, userNo);
+		if (!chatDAO.existMessageMember(messageNo, userNo)) {
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "참여 중인 채팅방의 메시지에만 첨부할 수 있습니다.");
+		}
+
+		Lock lock = acquireLock(uploadId);
+		try {
+			Map<Object, Object> progress = redisTemplate.opsForHash().entries(key(uploadId));
+			long size = longField(session, "size");
+			long offset = longField(progress, "offset");
+			if (offset != size) {
+				throw new ResponseStatusException(HttpStatus.CONFLICT, "업로드가 끝나지 않았습니다. (" + offset + "/" + size + ")");
+			}
+			// 청크를 받으면서 계산해 둔 해시 (파일을 다시 읽지 않음)
+			String digest = Sha256.restore((String) progress.get("sha256")).hexDigest();
+
+			String originalName = (String) session.get("originalName");
+			Path partial = partialPath(uploadId);
+			Attachment attachment = new Attachment();
+			attachment.setAttachmentNo(uploadId);
+			attachment.setMessageNo(messageNo);
+			attachment.setOriginalName(originalName);
+			attachment.setFileName(digest);
+			attachment.setSize(size);
+			attachment.setContentType((String) session.get("contentType"));
+			attachment.setExtension(AttachmentService.getExtension(originalName));
+			attachment.setDigest(digest);
+			attachment.setCreateDate(LocalDateTime.now());
+
+			lock.renew(); // 락을 잃었으면 저장하지 않음
+			try {
+				// 트랜잭션 : blob 참조 수 증가(새 내용이면 임시 파일 이동, 중복이면 삭제) + 첨부파일 저장
+				new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+					try {
+						Blob blob = blobStore.storeFile(partial, digest);
+						attachment.setPath(blob.path().toString());
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+					attachmentDAO.insertAttachment(attachment);
+				});
+			} catch (RuntimeException e) {
+				// DB 저장 실패 시(참조 추가도 롤백) 다시 완료 요청할 수 있도록 임시 파일 복구
+				Path blobPath = blobStore.blobPath(digest);
+				if (!Files.exists(partial) && Files.exists(blobPath)) {
+					Files.copy(blobPath, partial, StandardCopyOption.REPLACE_EXISTING);
+				}
+				throw e;
+			}
+
+			redisTemplate.delete(key(uploadId));
+			return attachment;
+		} finally {
+			lock.release();
+		}
+	}
+
+	// 업로드 취소
+	public void abort(String uploadId, Integer userNo) throws IOException {
+		loadSession(uploadId, userNo);
+		redisTemplate.delete(key(uploadId));
+		Files.deleteIfExists(partialPath(uploadId));
+	}
+
+	// 락을 쥔 채로만 offset 증가 (해시 상태도 함께 저장)
+	private long advance(Lock lock, long written, Sha256 sha256) {
+		Long offset = redisTemplate.execute(ADVANCE, List.of(lock.key, key(lock.uploadId)), lock.token,
+				String.valueOf(written), String.valueOf(sessionTtl().toMillis()), sha256.exportState());
+		if (offset == null || offset < 0) {
+			throw lockLost(lock.uploadId);
+		}
+		return offset;
+	}
+
+	// 진행 상태 조회 + 업로드한 사용자 확인
+	private Map<Object, Object> loadSession(String uploadId, Integer userNo) {
+		Map<Object, Object> session = redisTemplate.opsForHash().entries(key(uploadId));
+		if (session.isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 정보를 찾을 수 없습니다.");
+		}
+		if (userNo == null || !String.valueOf(userNo).equals(session.get("userNo"))) {
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "업로드한 사용자만 접근할 수 있습니다.");
+		}
+		return session;
+	}
+
+	private Lock acquireLock(String uploadId) {
+		Lock lock = new Lock(uploadId);
+		Boolean acquired = redisTemplate.opsForValue().setIfAbsent(lock.key, lock.token, Duration.ofMillis(lockTimeoutMs));
+		if (!Boolean.TRUE.equals(acquired)) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 파일을 다른 요청에서 업로드 중입니다.");
+		}
+		return lock;
+	}
+
+	private static ResponseStatusException lockLost(String uploadId) {
+		log.warn("[ChunkedUpload] 업로드 락 만료 - uploadId: {}", uploadId);
+		return new ResponseStatusException(HttpStatus.CONFLICT, "업로드 락이 만료되었습니다. 상태 조회 후 다시 시도해 주세요.");
+	}
+
+	// 업로드 락 (획득할 때마다 새 토큰, 연장/해제는 토큰이 같을 때만)
+	private final class Lock {
+		final String uploadId;
+		final String key;
+		final String token = UUID.randomUUID().toString();
+		long renewedAt = System.nanoTime();
+
+		Lock(String uploadId) {
+			this.uploadId = uploadId;
+			this.key = key(uploadId) + LOCK_SUFFIX;
+		}
+
+		void renewIfDue() {
+			if (System.nanoTime() - renewedAt >= TimeUnit.MILLISECONDS.toNanos(lockTimeoutMs / 3)) {
+				renew();
+			}
+		}
+
+		void renew() {
+			Long renewed = redisTemplate.execute(RENEW_LOCK, List.of(key), token, String.valueOf(lockTimeoutMs));
+			if (renewed == null || renewed == 0) {
+				throw lockLost(uploadId);
+			}
+			renewedAt = System.nanoTime();
+		}
+
+		void release() {
+			redisTemplate.execute(RELEASE_LOCK, List.of(key), token);
+		}
+	}
+
+	// 만료된 업로드의 임시 파일 정리 (청크를 받을 때마다 수정 시각이 갱신됨)
+	private void sweepExpiredPartials() {
+		Path dir = Paths.get(uploadPath, PARTIAL_DIR);
+		if (!Files.isDirectory(dir)) {
+			return;
+		}
+		long expireBefore = System.currentTimeMillis() - sessionTtl().toMillis();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.part")) {
+			for (Path file : files) {
+				if (Files.getLastModifiedTime(file).toMillis() < expireBefore) {
+					Files.deleteIfExists(file);
+				}
+			}
+		} catch (IOException e) {
+			log.warn("[ChunkedUpload] 임시 파일 정리 실패: {}", e.getMessage());
+		}
+	}
+
+	private Path partialPath(String uploadId) {
+		// uploadId 는 서버가 만든 UUID 만 허용 (경로 조작 방지)
+		try {
+			UUID.fromString(uploadId);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 정보를 찾을 수 없습니다.");
+		}
+		return Paths.get(uploadPath, PARTIAL_DIR, uploadId + ".part").toAbsolutePath();
+	}
+
+	private Duration sessionTtl() {
+		return Duration.ofHours(sessionTtlHours);
+	}
+
+	private static String key(String uploadId) {
+		return KEY_PREFIX + uploadId;
+	}
+
+	private static long longField(Map<Object, Object> session, String field) {
+		Object value = session.get(field);
+		return value != null ? Long.parseLong(value.toString()) : 0;
+	}
+}
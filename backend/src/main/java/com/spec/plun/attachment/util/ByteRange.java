@@ -0,0 +1,85 @@
+package com.spec.plun.attachment.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * HTTP Range 요청의 바이트 구간 (start, end 모두 포함)
+ */
+public record ByteRange(long start, long end) {
+
+	public long length() {
+		return end - start + 1;
+	}
+
+	/**
+	 * "bytes=0-99,200-,-500" 형식의 Range 헤더 해석
+	 *
+	 * @return 형식이 잘못됐거나 구간이 너무 많으면 null (Range 무시, 전체 전송),
+	 *         만족하는 구간이 하나도 없으면 빈 목록 (416)
+	 */
+	public static List<ByteRange> parse(String header, long fileLength, int maxRanges) {
+		if (header == null || !header.regionMatches(true, 0, "bytes=", 0, 6)) {
+			return null;
+		}
+		String[] specs = header.substring(6).split(",");
+		if (specs.length > maxRanges) {
+			return null;
+		}
+
+		List<ByteRange> ranges = new ArrayList<>(specs.length);
+		for (String raw : specs) {
+			String spec = raw.trim();
+			int dash = spec.indexOf('-');
+			if (dash < 0) {
+				return null;
+			}
+			try {
+				if (dash == 0) {
+					// 마지막 N 바이트
+					long suffix = Long.parseLong(spec.substring(1));
+					if (suffix <= 0) {
+						continue;
+					}
+					if (fileLength > 0) {
+						ranges.add(new ByteRange(Math.max(0, fileLength - suffix), fileLength - 1));
+					}
+				} else {
+					long start = Long.parseLong(spec.substring(0, dash));
+					String endPart = spec.substring(dash + 1);
+					long end = endPart.isEmpty() ? fileLength - 1 : Long.parseLong(endPart);
+					if (start < 0 || end < start) {
+						return null;
+					}
+					if (start < fileLength) {
+						ranges.add(new ByteRange(start, Math.min(end, fileLength - 1)));
+					}
+				}
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		return ranges.size() > 1 ? coalesce(ranges) : ranges;
+	}
+
+	// 겹치거나 맞닿은 구간을 합침 (같은 바이트를 여러 번 보내지 않도록)
+	private static List<ByteRange> coalesce(List<ByteRange> ranges) {
+		List<ByteRange> sorted = new ArrayList<>(ranges);
+		sorted.sort(Comparator.comparingLong(ByteRange::start));
+
+		List<ByteRange> merged = new ArrayList<>(sorted.size());
+		ByteRange current = sorted.get(0);
+		for (int i = 1; i < sorted.size(); i++) {
+			ByteRange next = sorted.get(i);
+			if (next.start() <= current.end() + 1) {
+				current = new ByteRange(current.start(), Math.max(current.end(), next.end()));
+			} else {
+				merged.add(current);
+				current = next;
+			}
+		}
+		merged.add(current);
+		return merged;
+	}
+}
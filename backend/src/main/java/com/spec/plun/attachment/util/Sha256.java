@@ -0,0 +1,147 @@
+package com.spec.plun.attachment.util;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+
+/**
+ * 중간 상태를 문자열로 꺼내고 되살릴 수 있는 SHA-256 (FIPS 180-4)
+ *
+ * - MessageDigest 는 내부 상태를 내보낼 수 없으므로, 요청/노드를 넘나드는 청크 업로드의 해시를 이어 계산하려고 사용.
+ * - 상태 문자열은 "처리한 바이트 수:해시 값 8워드:아직 블록을 채우지 못한 바이트" (모두 16진수, 최대 약 200자)
+ */
+public final class Sha256 {
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	private static final int[] INITIAL = {
+			0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a, 0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19 };
+
+	private static final int[] K = {
+			0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+			0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+			0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+			0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+			0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13, 0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+			0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+			0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+			0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2 };
+
+	private final int[] h;
+	private final byte[] block = new byte[64];
+	private final int[] w = new int[64];
+	private int blockLength;
+	private long length;
+
+	public Sha256() {
+		this.h = INITIAL.clone();
+	}
+
+	private Sha256(int[] h, long length, byte[] pending) {
+		this.h = h;
+		this.length = length;
+		System.arraycopy(pending, 0, block, 0, pending.length);
+		this.blockLength = pending.length;
+	}
+
+	public void update(byte[] bytes, int offset, int len) {
+		update(ByteBuffer.wrap(bytes, offset, len));
+	}
+
+	// buffer 의 position ~ limit 을 해시에 더함 (position 은 limit 까지 이동)
+	public void update(ByteBuffer buffer) {
+		length += buffer.remaining();
+		while (buffer.hasRemaining()) {
+			int n = Math.min(64 - blockLength, buffer.remaining());
+			buffer.get(block, blockLength, n);
+			blockLength += n;
+			if (blockLength == 64) {
+				compress();
+				blockLength = 0;
+			}
+		}
+	}
+
+	public long length() {
+		return length;
+	}
+
+	// 지금까지의 해시 (상태는 그대로 두므로 이어서 update 가능)
+	public String hexDigest() {
+		Sha256 copy = restore(exportState());
+		long bits = length * 8;
+		ByteBuffer padding = ByteBuffer.allocate((blockLength < 56 ? 64 : 128) - blockLength);
+		padding.put((byte) 0x80);
+		padding.putLong(padding.capacity() - 8, bits);
+		copy.update(padding.rewind());
+		ByteBuffer out = ByteBuffer.allocate(32);
+		for (int word : copy.h) {
+			out.putInt(word);
+		}
+		return HEX.formatHex(out.array());
+	}
+
+	public String exportState() {
+		ByteBuffer words = ByteBuffer.allocate(32);
+		for (int word : h) {
+			words.putInt(word);
+		}
+		return Long.toHexString(length) + ":" + HEX.formatHex(words.array()) + ":"
+				+ HEX.formatHex(block, 0, blockLength);
+	}
+
+	public static Sha256 restore(String state) {
+		String[] parts = state.split(":", -1);
+		if (parts.length != 3 || parts[1].length() != 64) {
+			throw new IllegalArgumentException("SHA-256 상태 형식이 잘못되었습니다.");
+		}
+		long length = Long.parseUnsignedLong(parts[0], 16);
+		byte[] pending = HEX.parseHex(parts[2]);
+		if (pending.length >= 64 || pending.length != length % 64) {
+			throw new IllegalArgumentException("SHA-256 상태 형식이 잘못되었습니다.");
+		}
+		ByteBuffer words = ByteBuffer.wrap(HEX.parseHex(parts[1]));
+		int[] h = new int[8];
+		for (int i = 0; i < 8; i++) {
+			h[i] = words.getInt();
+		}
+		return new Sha256(h, length, pending);
+	}
+
+	private void compress() {
+		for (int i = 0; i < 16; i++) {
+			w[i] = (block[i * 4] & 0xff) << 24 | (block[i * 4 + 1] & 0xff) << 16
+					| (block[i * 4 + 2] & 0xff) << 8 | (block[i * 4 + 3] & 0xff);
+		}
+		for (int i = 16; i < 64; i++) {
+			int s0 = Integer.rotateRight(w[i - 15], 7) ^ Integer.rotateRight(w[i - 15], 18) ^ (w[i - 15] >>> 3);
+			int s1 = Integer.rotateRight(w[i - 2], 17) ^ Integer.rotateRight(w[i - 2], 19) ^ (w[i - 2] >>> 10);
+			w[i] = w[i - 16] + s0 + w[i - 7] + s1;
+		}
+
+		int a = h[0], b = h[1], c = h[2], d = h[3], e = h[4], f = h[5], g = h[6], hh = h[7];
+		for (int i = 0; i < 64; i++) {
+			int s1 = Integer.rotateRight(e, 6) ^ Integer.rotateRight(e, 11) ^ Integer.rotateRight(e, 25);
+			int ch = (e & f) ^ (~e & g);
+			int t1 = hh + s1 + ch + K[i] + w[i];
+			int s0 = Integer.rotateRight(a, 2) ^ Integer.rotateRight(a, 13) ^ Integer.rotateRight(a, 22);
+			int maj = (a & b) ^ (a & c) ^ (b & c);
+			int t2 = s0 + maj;
+			hh = g;
+			g = f;
+			f = e;
+			e = d + t1;
+			d = c;
+			c = b;
+			b = a;
+			a = t1 + t2;
+		}
+		h[0] += a;
+		h[1] += b;
+		h[2] += c;
+		h[3] += d;
+		h[4] += e;
+		h[5] += f;
+		h[6] += g;
+		h[7] += hh;
+	}
+}
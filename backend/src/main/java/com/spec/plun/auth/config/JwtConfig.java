@@ -10,8 +10,9 @@ import com.spec.plun.auth.util.JwtUtil;
 public class JwtConfig {
 	
 	 @Bean(name = "accessJwtUtil")
-	    public JwtUtil accessJwtUtil(@Value("${jwt.access-token-secret}") String accessTokenSecret) {
-	        return new JwtUtil(accessTokenSecret);
+	    public JwtUtil accessJwtUtil(@Value("${jwt.access-token-secret}") String accessTokenSecret,
+	    		@Value("${jwt.claims-cache.max-size:10000}") int claimsCacheSize) {
+	        return new JwtUtil(accessTokenSecret, claimsCacheSize);
 	    }
 	 @Bean(name = "refreshJwtUtil")
 	    public JwtUtil refreshJwtUtil(@Value("${jwt.refresh-token-secret}") String refreshTokenSecret) {
@@ -7,8 +7,9 @@ public class PermitAllConfig {
 			"/swagger-ui/**",
 			"/v3/api-docs/**",
 			"/ws-chat/**","/error",
-			"/attachments/**",
-			"/oauth/**"
+			"/attachments/download/**", "/attachments/delete/**", "/attachments/upload", // 청크 업로드(/attachments/uploads/**)는 인증 필요
+			"/oauth/**",
+			"/actuator/**" // management.server.port 에서만 열림
 	};
 
 }
@@ -2,6 +2,7 @@ package com.spec.plun.auth.config;
 
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
@@ -62,8 +63,9 @@ public class SecurityConfig {
 			objectMapper.writeValue(response.getOutputStream(), Map.of("error","Denied"));
 		};		
 	}
+	// strength 를 바꾸면 기존 해시는 로그인 시 새 값으로 재해시됨 (PasswordHasher)
 	@Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:12}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
@@ -48,6 +48,10 @@ public class AuthController {
 		authService.logout(refreshTokenRequest);
 		return ResponseEntity.ok().build();
 	}
+	@PostMapping("/logout-all")
+	public ResponseEntity<Object> logoutAll(@RequestBody RefreshTokenRequest refreshTokenRequest){
+		return ResponseEntity.ok(Map.of("revoked", authService.logoutAll(refreshTokenRequest)));
+	}
 	
 	@PostMapping("/email-code")
 	public ResponseEntity<Object> emailCode(@RequestBody @Valid EmailRequest EmailRequest)throws MessagingException{
@@ -8,6 +8,7 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import com.spec.plun.auth.util.ClaimsCache;
 import com.spec.plun.auth.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
@@ -30,4 +31,9 @@ public class AccessTokenService {
 	public Claims validToken(String accessToken) {
 		return jwtUtil.validToken(accessToken);
 	}
+	
+	// 검증 결과 캐시 통계용 (캐시를 끄면 null)
+	public ClaimsCache getClaimsCache() {
+		return jwtUtil.getClaimsCache();
+	}
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.spec.plun.auth.service;
 
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -26,15 +25,21 @@ public class AuthService {
 	private final AccessTokenService accessTokenService;
 	private final RefreshTokenService refreshTokenService;
 	private final QualificationService qualificationCheckService;
-	private final PasswordEncoder passwordEncoder;
+	private final PasswordHasher passwordHasher;
 	private final MemberService memberService;
 
 	public TokenResponse login(LoginDTO member) {
 		QualificationCheckDTO qualification = qualificationCheckService.getByEmail(member);
 		
-		if(qualification == null || !passwordEncoder.matches(member.getPassword(), qualification.getPassword())) {
+		if(qualification == null || !passwordHasher.matches(member.getPassword(), qualification.getPassword())) {
 			 throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,"아이디 혹은 비밀번호가 틀렸습니다.");
 		}
+		// work factor 가 바뀐 해시는 응답을 기다리게 하지 않고 백그라운드에서 교체
+		String currentHash = qualification.getPassword();
+		if (passwordHasher.needsRehash(currentHash)) {
+			passwordHasher.rehashLater(member.getPassword(),
+					hashed -> memberService.upgradePassword(qualification.getEmail(), currentHash, hashed));
+		}
 	    return new TokenResponse(
 	    		accessTokenService.generateToken(qualification.getEmail()),
 	    		refreshTokenService.generateToken(qualification.getEmail())
@@ -60,24 +65,25 @@ public class AuthService {
 
 	public TokenResponse newAcessToken(RefreshTokenRequest refreshTokenRequest) {
 		Claims claims = refreshTokenService.validToken(refreshTokenRequest.getRefreshToken());
-		String jti = claims.get("jti",String.class);
-		if(jti== null || !refreshTokenService.revokeByRefreshToken(jti)) {
-			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,"토큰이 유효하지 않습니다.");
-		}
-		String email = claims.get("email",String.class);
+		String refreshToken = refreshTokenService.rotate(claims);
 		return new TokenResponse(
-	    		accessTokenService.generateToken(email),
-	    		refreshTokenService.generateToken(email));
+	    		accessTokenService.generateToken(claims.get("email",String.class)),
+	    		refreshToken);
 	}
 
 	public void logout(RefreshTokenRequest refreshTokenRequest) {
 		Claims claims = refreshTokenService.validToken(refreshTokenRequest.getRefreshToken());
-		refreshTokenService.revokeByRefreshToken(claims.get("jti",String.class));
+		refreshTokenService.revoke(claims);
+	}
+
+	public long logoutAll(RefreshTokenRequest refreshTokenRequest) {
+		Claims claims = refreshTokenService.validToken(refreshTokenRequest.getRefreshToken());
+		return refreshTokenService.revokeAll(claims);
 	}
 	
 
 	public void register(RegisterRequest registerRequest) {
-		String hashed = passwordEncoder.encode(registerRequest.getPassword());
+		String hashed = passwordHasher.encode(registerRequest.getPassword());
 		MemberDTO memberDTO = new MemberDTO();
 		memberDTO.setEmail(registerRequest.getEmail());
 		memberDTO.setPassword(hashed);
@@ -87,7 +93,7 @@ public class AuthService {
 	}
 
 	public void resetPassword(@Valid ResetPasswordRequest resetPasswordRequest) {
-		String hashed = passwordEncoder.encode(resetPasswordRequest.getPassword());
+		String hashed = passwordHasher.encode(resetPasswordRequest.getPassword());
 		MemberDTO memberDTO = new MemberDTO();
 		memberDTO.setEmail(resetPasswordRequest.getEmail());
 		memberDTO.setPassword(hashed);
@@ -96,7 +102,7 @@ public class AuthService {
 	}
 
 	public void socialRegister(@Valid RegisterRequest registerRequest) {
-		String hashed = passwordEncoder.encode(registerRequest.getPassword());
+		String hashed = passwordHasher.encode(registerRequest.getPassword());
 		MemberDTO memberDTO = new MemberDTO();
 		memberDTO.setEmail(registerRequest.getEmail());
 		memberDTO.setPassword(hashed);
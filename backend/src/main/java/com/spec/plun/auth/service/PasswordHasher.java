@@ -0,0 +1,155 @@
+package com.spec.plun.auth.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비밀번호 해시/비교 전용 스레드 풀
+ *
+ * - BCrypt 는 요청마다 수백 ms 의 CPU 를 쓰므로 요청 스레드에서 직접 돌리지 않고 hash-threads 개 스레드로만 처리.
+ *   (로그인이 몰려도 나머지 API 가 쓸 CPU 가 남음)
+ * - 대기 큐(queue-capacity)가 가득 차거나 wait-timeout 안에 끝나지 않으면 바로 503 으로 거절.
+ * - 저장된 해시의 work factor 가 설정과 다르면 로그인 성공 시 새 해시로 바꿔 저장 (rehash 는 큐에 자리가 있을 때만).
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+	private static final String BUSY_MESSAGE = "요청이 많아 잠시 후 다시 시도해 주세요.";
+
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final long waitTimeoutMs;
+
+	private final LongAdder hashCount = new LongAdder();
+	private final LongAdder hashNanos = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+
+	public PasswordHasher(PasswordEncoder passwordEncoder,
+			@Value("${auth.password.hash-threads:0}") int hashThreads,
+			@Value("${auth.password.queue-capacity:32}") int queueCapacity,
+			@Value("${auth.password.wait-timeout-ms:3000}") long waitTimeoutMs) {
+		this.passwordEncoder = passwordEncoder;
+		this.waitTimeoutMs = waitTimeoutMs;
+		int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		AtomicInteger threadNo = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), r -> {
+					Thread t = new Thread(r, "password-hash-" + threadNo.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@PreDestroy
+	public void stop() {
+		executor.shutdownNow();
+	}
+
+	public String encode(String rawPassword) {
+		return call(() -> passwordEncoder.encode(rawPassword));
+	}
+
+	public boolean matches(String rawPassword, String encodedPassword) {
+		if (encodedPassword == null) {
+			return false;
+		}
+		return call(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+	}
+
+	// 저장된 해시를 현재 설정으로 다시 만들어야 하는지 (해시 계산 없음)
+	public boolean needsRehash(String encodedPassword) {
+		return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+	}
+
+	// 새 해시를 백그라운드에서 만들어 넘김 (큐가 가득 차면 건너뜀 : 다음 로그인 때 다시 시도)
+	public void rehashLater(String rawPassword, Consumer<String> onHashed) {
+		try {
+			executor.execute(() -> {
+				try {
+					onHashed.accept(timed(() -> passwordEncoder.encode(rawPassword)));
+				} catch (Exception e) {
+					log.warn("[PasswordHasher] 비밀번호 재해시 실패", e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			log.debug("[PasswordHasher] 대기열이 가득 차 재해시 생략");
+		}
+	}
+
+	// 대기 중인 해시 작업 수
+	public int queueDepth() {
+		return executor.getQueue().size();
+	}
+
+	public int activeCount() {
+		return executor.getActiveCount();
+	}
+
+	public long getHashCount() {
+		return hashCount.sum();
+	}
+
+	// 누적 해시 계산 시간 (ns)
+	public long getHashNanos() {
+		return hashNanos.sum();
+	}
+
+	public long getRejectedCount() {
+		return rejectedCount.sum();
+	}
+
+	private <T> T call(Callable<T> task) {
+		Future<T> future;
+		try {
+			future = executor.submit(() -> timed(task));
+		} catch (RejectedExecutionException e) {
+			rejectedCount.increment();
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, BUSY_MESSAGE);
+		}
+		try {
+			return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			rejectedCount.increment();
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, BUSY_MESSAGE);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, BUSY_MESSAGE);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private <T> T timed(Callable<T> task) throws Exception {
+		long start = System.nanoTime();
+		try {
+			return task.call();
+		} finally {
+			hashNanos.add(System.nanoTime() - start);
+			hashCount.increment();
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package com.spec.plun.auth.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * refresh token 세션 레지스트리 (Redis)
+ *
+ * - jti:{jti} : 유효한 refresh token (값은 email), sessions:{email} : 사용자의 유효한 jti 집합.
+ * - 재발급은 스크립트 하나로 이전 jti 삭제 + 새 jti 등록 + 집합 갱신을 함께 처리 (왕복 1번, 동시 재발급 중 하나만 성공).
+ * - 재발급된 jti 는 jti:used:{jti} 로 남은 수명 동안 표시해 두고, 다시 쓰이면 탈취로 보고 사용자의 모든 세션을 폐기.
+ *   (reuse-grace-seconds 안의 재사용은 여러 탭의 동시 재발급으로 보고 거절만 함)
+ * - 전체 로그아웃은 집합의 jti 수만큼만 삭제.
+ * - 스크립트 안에서 jti:{jti} 키를 만들어 지우므로 단일 Redis(또는 같은 슬롯) 구성을 전제로 함.
+ */
+@Slf4j
+@Component
+public class RefreshSessionRegistry {
+
+	private static final String JTI_PREFIX = "jti:";
+	private static final String USED_PREFIX = "jti:used:";
+	private static final String SESSIONS_PREFIX = "sessions:";
+
+	public enum RotateResult {
+		ROTATED, INVALID, REUSED
+	}
+
+	// KEYS[1]=jti, KEYS[2]=세션 집합, ARGV[1]=email, ARGV[2]=jti, ARGV[3]=TTL(ms)
+	private static final DefaultRedisScript<Long> ISSUE = new DefaultRedisScript<>("""
+			redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+			redis.call('SADD', KEYS[2], ARGV[2])
+			if redis.call('PTTL', KEYS[2]) < tonumber(ARGV[3]) then redis.call('PEXPIRE', KEYS[2], ARGV[3]) end
+			return 1
+			""", Long.class);
+
+	// KEYS[1]=이전 jti, KEYS[2]=이전 jti 사용 표시, KEYS[3]=새 jti, KEYS[4]=세션 집합
+	// ARGV[1]=이전 jti, ARGV[2]=새 jti, ARGV[3]=email, ARGV[4]=새 TTL(ms), ARGV[5]=이전 토큰 남은 수명(ms), ARGV[6]=유예(초)
+	// 1 = 재발급, 0 = 유효하지 않음, -1 = 재사용 감지 (모든 세션 폐기)
+	private static final DefaultRedisScript<Long> ROTATE = new DefaultRedisScript<>("""
+			local now = tonumber(redis.call('TIME')[1])
+			if redis.call('DEL', KEYS[1]) == 1 then
+			  redis.call('SREM', KEYS[4], ARGV[1])
+			  redis.call('SET', KEYS[2], now, 'PX', ARGV[5])
+			  redis.call('SET', KEYS[3], ARGV[3], 'PX', ARGV[4])
+			  redis.call('SADD', KEYS[4], ARGV[2])
+			  if redis.call('PTTL', KEYS[4]) < tonumber(ARGV[4]) then redis.call('PEXPIRE', KEYS[4], ARGV[4]) end
+			  return 1
+			end
+			local rotatedAt = redis.call('GET', KEYS[2])
+			if not rotatedAt or now - tonumber(rotatedAt) < tonumber(ARGV[6]) then return 0 end
+			for _, jti in ipairs(redis.call('SMEMBERS', KEYS[4])) do redis.call('DEL', 'jti:' .. jti) end
+			redis.call('DEL', KEYS[4])
+			return -1
+			""", Long.class);
+
+	// KEYS[1]=jti, KEYS[2]=세션 집합, ARGV[1]=jti
+	private static final DefaultRedisScript<Long> REVOKE = new DefaultRedisScript<>("""
+			redis.call('SREM', KEYS[2], ARGV[1])
+			return redis.call('DEL', KEYS[1])
+			""", Long.class);
+
+	// KEYS[1]=요청한 jti, KEYS[2]=세션 집합 : 요청한 토큰이 유효할 때만 폐기, 폐기한 세션 수 (-1 = 유효하지 않음)
+	private static final DefaultRedisScript<Long> REVOKE_ALL = new DefaultRedisScript<>("""
+			if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end
+			local revoked = 0
+			for _, jti in ipairs(redis.call('SMEMBERS', KEYS[2])) do revoked = revoked + redis.call('DEL', 'jti:' .. jti) end
+			redis.call('DEL', KEYS[1], KEYS[2])
+			return revoked
+			""", Long.class);
+
+	@Autowired
+	private StringRedisTemplate redisTemplate;
+
+	@Value("${auth.refresh.reuse-grace-seconds:10}")
+	private long reuseGraceSeconds;
+
+	public void issue(String email, String jti, long ttlMs) {
+		redisTemplate.execute(ISSUE, List.of(JTI_PREFIX + jti, SESSIONS_PREFIX + email), email, jti,
+				String.valueOf(ttlMs));
+	}
+
+	public RotateResult rotate(String email, String oldJti, long oldRemainingMs, String newJti, long ttlMs) {
+		Long result = redisTemplate.execute(ROTATE,
+				List.of(JTI_PREFIX + oldJti, USED_PREFIX + oldJti, JTI_PREFIX + newJti, SESSIONS_PREFIX + email),
+				oldJti, newJti, email, String.valueOf(ttlMs), String.valueOf(Math.max(1_000L, oldRemainingMs)),
+				String.valueOf(reuseGraceSeconds));
+		if (result == null || result == 0) {
+			return RotateResult.INVALID;
+		}
+		if (result < 0) {
+			log.warn("[RefreshSession] refresh token 재사용 감지, 모든 세션 폐기 - email: {}", email);
+			return RotateResult.REUSED;
+		}
+		return RotateResult.ROTATED;
+	}
+
+	public boolean revoke(String email, String jti) {
+		Long deleted = redisTemplate.execute(REVOKE, List.of(JTI_PREFIX + jti, SESSIONS_PREFIX + email), jti);
+		return deleted != null && deleted > 0;
+	}
+
+	// 모든 기기 로그아웃 : 폐기한 세션 수 (요청한 토큰이 유효하지 않으면 -1)
+	public long revokeAll(String email, String jti) {
+		Long revoked = redisTemplate.execute(REVOKE_ALL, List.of(JTI_PREFIX + jti, SESSIONS_PREFIX + email));
+		return revoked != null ? revoked : -1;
+	}
+}
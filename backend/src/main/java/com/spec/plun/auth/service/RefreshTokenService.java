@@ -1,6 +1,5 @@
 package com.spec.plun.auth.service;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
@@ -8,11 +7,11 @@ import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.spec.plun.auth.service.RefreshSessionRegistry.RotateResult;
 import com.spec.plun.auth.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
@@ -20,38 +19,55 @@ import io.jsonwebtoken.Claims;
 @Service
 public class RefreshTokenService {
 		
+	private static final long TTL_MS = ChronoUnit.DAYS.getDuration().multipliedBy(14).toMillis();
+
 	private final JwtUtil jwtUtil;
-	private final StringRedisTemplate stringRedisTemplate;	
+	private final RefreshSessionRegistry sessionRegistry;
 			
-	public RefreshTokenService (@Qualifier("refreshJwtUtil") JwtUtil jwtUtil, StringRedisTemplate stringRedisTemplate) {
+	public RefreshTokenService (@Qualifier("refreshJwtUtil") JwtUtil jwtUtil, RefreshSessionRegistry sessionRegistry) {
 	        this.jwtUtil = jwtUtil;
-	        this.stringRedisTemplate = stringRedisTemplate;
+	        this.sessionRegistry = sessionRegistry;
 	    }
 	
- 	private static final String PRE = "jti:";
-	
-
-	
 	public String generateToken(String email) {
 		String jti = UUID.randomUUID().toString();
-		Map<String, Object> claims = Map.of("email",email,"jti",jti);
-		Date twoWeeks = Date.from(Instant.now().plus(14,ChronoUnit.DAYS));
-		whitelist(jti, twoWeeks);
-		return jwtUtil.generateToken(claims, twoWeeks);
+		Date twoWeeks = Date.from(Instant.now().plusMillis(TTL_MS));
+		sessionRegistry.issue(email, jti, TTL_MS);
+		return jwtUtil.generateToken(Map.of("email",email,"jti",jti), twoWeeks);
 	}
 	
-	private void whitelist(String jti, Date twoWeeks) {
-		String key = PRE + jti;
-		Duration remain = Duration.between(Instant.now(), twoWeeks.toInstant());
-		if(remain.isNegative()|| remain.isZero()) {
-			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,"토큰이 만료 되었습니다.");
+	// 검증된 refresh token 을 새 토큰으로 교체 (이전 토큰은 즉시 무효)
+	public String rotate(Claims claims) {
+		String email = claims.get("email",String.class);
+		String jti = claims.get("jti",String.class);
+		if(email == null || jti == null) {
+			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,"토큰이 유효하지 않습니다.");
 		}
-		stringRedisTemplate.opsForValue().set(key,"1", remain);	
+		String newJti = UUID.randomUUID().toString();
+		long remain = claims.getExpiration().getTime() - System.currentTimeMillis();
+		RotateResult result = sessionRegistry.rotate(email, jti, remain, newJti, TTL_MS);
+		if(result == RotateResult.REUSED) {
+			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,"이미 사용된 토큰입니다. 모든 기기에서 로그아웃되었습니다.");
 		}
-		
-	boolean revokeByRefreshToken(String jti) {
-		String key = PRE + jti;
-		return stringRedisTemplate.delete(key);
+		if(result != RotateResult.ROTATED) {
+			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,"토큰이 유효하지 않습니다.");
+		}
+		return jwtUtil.generateToken(Map.of("email",email,"jti",newJti), Date.from(Instant.now().plusMillis(TTL_MS)));
+	}
+
+	public boolean revoke(Claims claims) {
+		String jti = claims.get("jti",String.class);
+		return jti != null && sessionRegistry.revoke(claims.get("email",String.class), jti);
+	}
+
+	// 모든 기기 로그아웃 (요청한 토큰이 유효할 때만)
+	public long revokeAll(Claims claims) {
+		String jti = claims.get("jti",String.class);
+		long revoked = jti == null ? -1 : sessionRegistry.revokeAll(claims.get("email",String.class), jti);
+		if(revoked < 0) {
+			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,"토큰이 유효하지 않습니다.");
+		}
+		return revoked;
 	}
 
 	public Claims validToken(String refreshToken) {
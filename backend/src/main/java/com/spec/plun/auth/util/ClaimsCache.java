@@ -0,0 +1,102 @@
+package com.spec.plun.auth.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * 검증을 마친 토큰의 claims 캐시 (토큰 SHA-256 → claims, LRU)
+ *
+ * - 토큰 원문 대신 해시를 키로 보관.
+ * - exp 가 지난 항목은 적중으로 보지 않으므로 만료 판단은 다시 파서가 함. (exp 없는 토큰은 캐시하지 않음)
+ */
+public class ClaimsCache {
+
+	private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	});
+
+	private final Map<ByteBuffer, Entry> entries;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	private record Entry(Claims claims, long expiresAt) {
+	}
+
+	public ClaimsCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize 는 1 이상이어야 합니다: " + maxSize);
+		}
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Entry> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	// 만료 전인 검증 결과 (없으면 null)
+	public Claims get(String token) {
+		ByteBuffer key = key(token);
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (entry != null && System.currentTimeMillis() >= entry.expiresAt) {
+				entries.remove(key);
+				entry = null;
+			}
+		}
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry.claims;
+	}
+
+	public void put(String token, Claims claims) {
+		Date exp = claims.getExpiration();
+		if (exp == null) {
+			return;
+		}
+		ByteBuffer key = key(token);
+		synchronized (entries) {
+			entries.put(key, new Entry(claims, exp.getTime()));
+		}
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public double getHitRate() {
+		long hit = hits.sum();
+		long total = hit + misses.sum();
+		return total == 0 ? 0.0 : (double) hit / total;
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private static ByteBuffer key(String token) {
+		return ByteBuffer.wrap(SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+	}
+}
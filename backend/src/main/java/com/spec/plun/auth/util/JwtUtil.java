@@ -7,6 +7,7 @@ import java.util.Map;
 import javax.crypto.SecretKey;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -14,10 +15,20 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class JwtUtil {
 
-	private SecretKey secretKey;
+	private final SecretKey secretKey;
+	// 파서는 스레드 안전하므로 한 번만 생성
+	private final JwtParser parser;
+	// 검증 결과 캐시 (null 이면 매번 검증)
+	private final ClaimsCache claimsCache;
 	
 	public JwtUtil(String secret) {
+		this(secret, 0);
+	}
+
+	public JwtUtil(String secret, int claimsCacheSize) {
 		this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+		this.parser = Jwts.parser().verifyWith(secretKey).build();
+		this.claimsCache = claimsCacheSize > 0 ? new ClaimsCache(claimsCacheSize) : null;
 		}
 	  public String generateToken(Map<String,Object> claims, Date exp) {
 		    return Jwts.builder()
@@ -28,11 +39,20 @@ public class JwtUtil {
 		  }
 	
 	public Claims validToken(String token){
-        return Jwts.parser()
-        		.verifyWith(secretKey)
-  				.build()
-  				.parseSignedClaims(token)
-  				.getPayload();
+		if (claimsCache == null) {
+			return parser.parseSignedClaims(token).getPayload();
+		}
+		Claims cached = claimsCache.get(token);
+		if (cached != null) {
+			return cached;
+		}
+		Claims claims = parser.parseSignedClaims(token).getPayload();
+		claimsCache.put(token, claims);
+		return claims;
+	}
+
+	public ClaimsCache getClaimsCache() {
+		return claimsCache;
 	}
 	
 }
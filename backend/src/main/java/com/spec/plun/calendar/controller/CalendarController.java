@@ -1,7 +1,9 @@
 package com.spec.plun.calendar.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,9 +15,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.spec.plun.calendar.dto.CalendarChangesResponse;
 import com.spec.plun.calendar.dto.EventRequestDTO;
 import com.spec.plun.calendar.entity.Calendar;
 import com.spec.plun.calendar.entity.CalendarDetail;
+import com.spec.plun.calendar.entity.CalendarException;
 import com.spec.plun.calendar.service.CalendarService;
 
 import lombok.RequiredArgsConstructor;
@@ -56,6 +60,14 @@ public class CalendarController {
 		System.out.println("getEventsBetween called with userNo=" + userNo + ", start=" + start + ", end=" + end);
 	    return calendarService.getEventsBetween(userNo, teamNo, start, end);
 	}
+	// 일정 변경분 따라잡기 (since 없으면 현재 버전만)
+	@GetMapping("/events/changes")
+	public CalendarChangesResponse getChanges(
+	    @RequestParam("teamNo") Integer teamNo,
+	    @RequestParam("userNo") Integer userNo,
+	    @RequestParam(value = "since", required = false) Long since) {
+	    return calendarService.getChanges(teamNo, userNo, since);
+	}
 	// 일정 등록
 	@PostMapping("/event")
 	public ResponseEntity<String> insertEvent(@RequestBody EventRequestDTO dto) {
@@ -78,6 +90,18 @@ public class CalendarController {
 	        ? ResponseEntity.ok("일정이 삭제되었습니다.")
 	        : ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("삭제 실패");
 	}
-
-
+	// 반복 일정 회차 수정
+	@PutMapping("/event/occurrence")
+	public void updateOccurrence(@RequestBody CalendarException exception) {
+	    calendarService.saveOccurrence(exception);
+	}
+	// 반복 일정 회차 취소
+	@DeleteMapping("/event/occurrence")
+	public ResponseEntity<String> cancelOccurrence(
+	    @RequestParam("calDetailNo") Integer calDetailNo,
+	    @RequestParam("occurrenceDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate occurrenceDate,
+	    @RequestParam(value = "userNo", required = false) Integer userNo) {
+	    calendarService.cancelOccurrence(calDetailNo, occurrenceDate, userNo);
+	    return ResponseEntity.ok("반복 일정 회차가 취소되었습니다.");
+	}
 }
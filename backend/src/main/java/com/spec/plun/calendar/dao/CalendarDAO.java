@@ -6,7 +6,10 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import com.spec.plun.calendar.entity.Calendar;
+import com.spec.plun.calendar.entity.CalendarChange;
 import com.spec.plun.calendar.entity.CalendarDetail;
+import com.spec.plun.calendar.entity.CalendarException;
+import com.spec.plun.calendar.entity.CalendarParticipant;
 
 @Mapper
 public interface CalendarDAO {
@@ -33,8 +36,36 @@ public interface CalendarDAO {
     Integer getCalNoByUserNo(@Param("userNo") Integer userNo);
     // 일정에 참가한 사용자 번호 리스트 조회
     List<Integer> getParticipantsByCalDetailNo(@Param("calDetailNo") Integer calDetailNo);
+    // 여러 일정의 참가자 일괄 조회 (조회 범위 일정 전체를 한 번에)
+    List<CalendarParticipant> getParticipantsByCalDetailNos(@Param("calDetailNos") List<Integer> calDetailNos);
     void insertParticipants(@Param("calDetailNo") Integer calDetailNo, @Param("userNos") List<Integer> userNos);
     CalendarDetail getEventByCalDetailNo(@Param("calDetailNo") Integer calDetailNo);
+    // 팀 일정 인덱스 적재용 : 팀의 삭제되지 않은 일정 전체 (team_no, 캘린더 주인 포함)
+    List<CalendarDetail> getIndexedEventsByTeam(@Param("teamNo") Integer teamNo, @Param("limit") int limit);
+    // 팀 일정 인덱스 적재용 : 팀의 삭제되지 않은 일정 참가자 전체
+    List<CalendarParticipant> getParticipantsByTeam(@Param("teamNo") Integer teamNo);
+    // 일정 한 건 (삭제 여부와 무관, team_no, 캘린더 주인 포함)
+    CalendarDetail getIndexedEvent(@Param("calDetailNo") Integer calDetailNo);
+    // 반복 일정 회차별 예외 일괄 조회
+    List<CalendarException> getExceptionsByCalDetailNos(@Param("calDetailNos") List<Integer> calDetailNos);
+    // 팀 일정 인덱스 적재용 : 팀의 삭제되지 않은 반복 일정 예외 전체
+    List<CalendarException> getExceptionsByTeam(@Param("teamNo") Integer teamNo);
+    // 회차 예외 등록/수정
+    int upsertException(CalendarException exception);
+    // 반복 규칙이 바뀌면 기존 회차 예외 삭제
+    int deleteExceptionsByCalDetailNo(@Param("calDetailNo") Integer calDetailNo);
+    // 여러 일정 일괄 조회 (삭제 여부와 무관, team_no, 캘린더 주인 포함)
+    List<CalendarDetail> getIndexedEventsByCalDetailNos(@Param("calDetailNos") List<Integer> calDetailNos);
+    
+    // 팀 캘린더 버전 발급 (change.version 에 새 버전, 커밋까지 팀 버전 행 잠금)
+    int nextVersion(CalendarChange change);
+    int insertChange(CalendarChange change);
+    Long getVersion(@Param("teamNo") Integer teamNo);
+    Long getOldestChangeVersion(@Param("teamNo") Integer teamNo);
+    List<CalendarChange> getChangesSince(@Param("teamNo") Integer teamNo, @Param("since") long since, @Param("limit") int limit);
+    int deleteChangesBefore(@Param("teamNo") Integer teamNo, @Param("retentionDays") int retentionDays);
+    // 팀원 전체 (변경된 일정을 볼 수 없는 팀원에게 버전만 보낼 때)
+    List<Integer> getTeamUserNos(@Param("teamNo") Integer teamNo);
 
 
 }
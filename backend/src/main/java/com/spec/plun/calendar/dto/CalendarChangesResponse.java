@@ -0,0 +1,21 @@
+package com.spec.plun.calendar.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * since 이후 변경 목록 (일정별 마지막 상태로 합쳐서 전달)
+ * reset 이 true 면 이력이 이미 삭제되었거나 너무 많으므로 /calendar/events 로 다시 조회.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarChangesResponse {
+	private Integer teamNo;
+	private long version;
+	private boolean reset;
+	private List<CalendarDelta> changes;
+}
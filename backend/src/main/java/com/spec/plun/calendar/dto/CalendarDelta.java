@@ -0,0 +1,22 @@
+package com.spec.plun.calendar.dto;
+
+import com.spec.plun.calendar.entity.CalendarDetail;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일정 변경 한 건 (/topic/calendar/refresh/{userNo} 전송 및 따라잡기 응답)
+ * DELETED 이거나 받는 사람이 더 이상 볼 수 없는 일정이면 event 는 null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarDelta {
+	private Integer teamNo;
+	private Long version;
+	private String type;
+	private Integer calDetailNo;
+	private CalendarDetail event;
+}
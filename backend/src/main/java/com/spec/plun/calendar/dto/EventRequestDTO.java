@@ -11,4 +11,5 @@ public class EventRequestDTO {
 	private Integer teamNo;
     private CalendarDetail detail;       // 일정 상세 정보
     private List<Integer> participantUserNos;  // 공유할 팀원 user_no 리스트
+    private boolean clearRecurrence;           // 수정 시 반복 해제 (detail.recurrenceRule 을 보내지 않으면 기존 규칙 유지)
 }
@@ -0,0 +1,17 @@
+package com.spec.plun.calendar.entity;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+// TB_CALENDAR_CHANGE 한 행 (팀 캘린더의 일정 변경 이력)
+@Data
+public class CalendarChange {
+
+	private Integer teamNo;
+	private Long version;
+	private Integer calDetailNo;
+	private String changeType; // CREATED / UPDATED / DELETED
+	private LocalDateTime createDate;
+
+}
@@ -6,6 +6,7 @@ import java.time.LocalTime;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import lombok.Data;
 
@@ -44,5 +45,24 @@ public class CalendarDetail {
     private Integer updateUserNo;
 	private Integer teamNo;
 	
+	// 반복 규칙 (RRULE 일부, 예: FREQ=WEEKLY;BYDAY=MO,WE;UNTIL=20251231). 없으면 단일 일정
+	private String recurrenceRule;
+	
+	// 마지막 회차의 종료일 (단일 일정은 end_date, 끝나지 않는 반복은 9999-12-31)
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+	private LocalDate seriesEndDate;
+	
+	// 반복 일정을 펼친 회차의 원래 시작일 (회차별 수정/취소 시 사용)
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+	private LocalDate occurrenceDate;
+	
+	// 회차별 예외 (반복 일정 펼치기용)
+	@JsonIgnore
+	private List<CalendarException> exceptions;
+	
+	// 일정이 속한 캘린더의 주인 (인메모리 일정 인덱스용)
+	@JsonIgnore
+	private Integer ownerUserNo;
+	
 	private List<Integer> participantUserNos;
 }
@@ -0,0 +1,36 @@
+package com.spec.plun.calendar.entity;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.Data;
+
+// 반복 일정의 회차별 예외 (취소 또는 값 변경, 값이 null 인 항목은 원래 일정 값 사용)
+@Data
+public class CalendarException {
+
+	private Integer calDetailNo;
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+	private LocalDate occurrenceDate;
+
+	private String cancelYn;
+	private String title;
+	private String contents;
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+	private LocalDate startDate;
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+	private LocalDate endDate;
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm:ss")
+	private LocalTime startTime;
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm:ss")
+	private LocalTime endTime;
+
+	private Integer updateUserNo;
+}
@@ -0,0 +1,12 @@
+package com.spec.plun.calendar.entity;
+
+import lombok.Data;
+
+// TB_CALENDAR_DETAIL_PARTICIPANT 한 행 (일정 여러 건의 참가자를 한 번에 조회할 때 사용)
+@Data
+public class CalendarParticipant {
+
+	private Integer calDetailNo;
+	private Integer userNo;
+
+}
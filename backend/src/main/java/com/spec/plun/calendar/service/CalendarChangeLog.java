@@ -0,0 +1,215 @@
+package com.spec.plun.calendar.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.spec.plun.calendar.dao.CalendarDAO;
+import com.spec.plun.calendar.dto.CalendarChangesResponse;
+import com.spec.plun.calendar.dto.CalendarDelta;
+import com.spec.plun.calendar.entity.CalendarChange;
+import com.spec.plun.calendar.entity.CalendarDetail;
+import com.spec.plun.calendar.entity.CalendarParticipant;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 팀 캘린더 변경 이력 + 변경분(delta) 전송
+ *
+ * - 일정이 바뀌면 같은 트랜잭션에서 팀 버전을 올리고 TB_CALENDAR_CHANGE 에 기록.
+ * - 커밋 후 일정 주인/참가자에게 변경된 일정 전체를 /topic/calendar/refresh/{userNo} 로 전송.
+ *   이번 변경으로 더 이상 볼 수 없게 된 사용자에게는 DELETED 로 전송.
+ * - 버전은 팀 단위이므로 일정을 볼 수 없는 나머지 팀원에게는 VERSION(일정 정보 없이 버전만)을 보내
+ *   클라이언트가 버전 건너뜀을 놓친 변경으로 오인해 따라잡기 요청을 하지 않게 함.
+ * - 반복 일정은 규칙 행이 전달되므로 클라이언트가 보고 있는 범위만 다시 조회해 회차를 받음.
+ * - 연결이 끊겼던 클라이언트는 마지막으로 받은 버전으로 changesSince 를 호출해 그 사이 변경을 받음.
+ */
+@Slf4j
+@Component
+public class CalendarChangeLog {
+
+	public static final String CREATED = "CREATED";
+	public static final String UPDATED = "UPDATED";
+	public static final String DELETED = "DELETED";
+	// 받는 사람과 무관한 일정의 변경 : 버전만 올림
+	public static final String VERSION = "VERSION";
+
+	// 이 버전 간격마다 보관 기간이 지난 이력 삭제
+	private static final int PRUNE_EVERY = 500;
+
+	@Autowired
+	private CalendarDAO calendarDAO;
+
+	@Autowired
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Value("${calendar.changes.retention-days:30}")
+	private int retentionDays;
+
+	@Value("${calendar.changes.max-catch-up:1000}")
+	private int maxCatchUp;
+
+	/**
+	 * 일정 변경 기록 (변경 쿼리를 모두 실행한 뒤 같은 트랜잭션 안에서 호출)
+	 *
+	 * @param teamNo          행을 물리 삭제한 경우처럼 DB 에서 팀을 찾을 수 없을 때만 필요
+	 * @param previousUserNos 변경 전 일정을 볼 수 있던 사용자 (참가자에서 빠진 사람에게 DELETED 전송)
+	 */
+	public void record(Integer teamNo, Integer calDetailNo, String type, Collection<Integer> previousUserNos) {
+		if (calDetailNo == null) {
+			return;
+		}
+		CalendarDetail event = calendarDAO.getIndexedEvent(calDetailNo);
+		if (event != null && event.getTeamNo() != null) {
+			teamNo = event.getTeamNo();
+		}
+		if (teamNo == null) {
+			return;
+		}
+
+		CalendarChange change = new CalendarChange();
+		change.setTeamNo(teamNo);
+		change.setCalDetailNo(calDetailNo);
+		change.setChangeType(type);
+		calendarDAO.nextVersion(change);
+		calendarDAO.insertChange(change);
+		if (change.getVersion() % PRUNE_EVERY == 0) {
+			calendarDAO.deleteChangesBefore(teamNo, retentionDays);
+		}
+
+		// 받는 사람 : 지금 볼 수 있는 사용자 + 이전에 볼 수 있던 사용자 + 캘린더 주인
+		Set<Integer> visible = new LinkedHashSet<>();
+		CalendarDetail payload = null;
+		if (event != null && "N".equals(event.getDeleteYn())) {
+			event.setParticipantUserNos(calendarDAO.getParticipantsByCalDetailNo(calDetailNo));
+			visible.add(event.getOwnerUserNo());
+			visible.addAll(event.getParticipantUserNos());
+			payload = event;
+		}
+		Set<Integer> recipients = new LinkedHashSet<>(visible);
+		if (previousUserNos != null) {
+			recipients.addAll(previousUserNos);
+		}
+		if (event != null) {
+			recipients.add(event.getOwnerUserNo());
+		}
+		recipients.remove(null);
+		// 나머지 팀원 : 버전만
+		Set<Integer> versionOnly = new LinkedHashSet<>(calendarDAO.getTeamUserNos(teamNo));
+		versionOnly.removeAll(recipients);
+
+		CalendarDelta visibleDelta = new CalendarDelta(teamNo, change.getVersion(), payload != null ? type : DELETED,
+				calDetailNo, payload);
+		CalendarDelta removedDelta = new CalendarDelta(teamNo, change.getVersion(), DELETED, calDetailNo, null);
+		CalendarDelta versionDelta = new CalendarDelta(teamNo, change.getVersion(), VERSION, null, null);
+		Runnable send = () -> {
+			for (Integer userNo : recipients) {
+				send(userNo, visible.contains(userNo) ? visibleDelta : removedDelta);
+			}
+			for (Integer userNo : versionOnly) {
+				send(userNo, versionDelta);
+			}
+		};
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					send.run();
+				}
+			});
+		} else {
+			send.run();
+		}
+	}
+
+	private void send(Integer userNo, CalendarDelta delta) {
+		try {
+			messagingTemplate.convertAndSend("/topic/calendar/refresh/" + userNo, delta);
+		} catch (RuntimeException e) {
+			log.warn("[CalendarChangeLog] 변경 전송 실패 - userNo: {}, version: {}", userNo, delta.getVersion(), e);
+		}
+	}
+
+	/**
+	 * since 버전 이후 userNo 가 받아야 할 변경 (일정별 마지막 상태만)
+	 * since 가 없으면 현재 버전만 돌려줌 (처음 조회 전 기준 버전 확인용)
+	 */
+	public CalendarChangesResponse changesSince(Integer teamNo, Integer userNo, Long since) {
+		Long stored = calendarDAO.getVersion(teamNo);
+		long current = stored != null ? stored : 0L;
+		if (since == null) {
+			return new CalendarChangesResponse(teamNo, current, false, new ArrayList<>());
+		}
+		if (since > current) {
+			return reset(teamNo, current);
+		}
+		if (since < current) {
+			// 보관 기간이 지나 since 직후 이력이 삭제되었으면 전체 재조회
+			Long oldest = calendarDAO.getOldestChangeVersion(teamNo);
+			if (oldest == null || oldest > since + 1) {
+				return reset(teamNo, current);
+			}
+		}
+
+		List<CalendarChange> changes = calendarDAO.getChangesSince(teamNo, since, maxCatchUp + 1);
+		if (changes.size() > maxCatchUp) {
+			return reset(teamNo, current);
+		}
+		if (changes.isEmpty()) {
+			return new CalendarChangesResponse(teamNo, current, false, new ArrayList<>());
+		}
+
+		// 일정별 마지막 변경만 남김 (버전 순서 유지)
+		Map<Integer, CalendarChange> latest = new LinkedHashMap<>();
+		for (CalendarChange change : changes) {
+			latest.remove(change.getCalDetailNo());
+			latest.put(change.getCalDetailNo(), change);
+		}
+		List<Integer> calDetailNos = new ArrayList<>(latest.keySet());
+		Map<Integer, CalendarDetail> events = loadEvents(calDetailNos);
+
+		List<CalendarDelta> deltas = new ArrayList<>(latest.size());
+		for (CalendarChange change : latest.values()) {
+			CalendarDetail event = events.get(change.getCalDetailNo());
+			boolean visible = event != null && "N".equals(event.getDeleteYn()) && teamNo.equals(event.getTeamNo())
+					&& (userNo.equals(event.getOwnerUserNo()) || event.getParticipantUserNos().contains(userNo));
+			deltas.add(visible
+					? new CalendarDelta(teamNo, change.getVersion(), change.getChangeType(), change.getCalDetailNo(), event)
+					: new CalendarDelta(teamNo, change.getVersion(), DELETED, change.getCalDetailNo(), null));
+		}
+		long version = Math.max(current, changes.get(changes.size() - 1).getVersion());
+		return new CalendarChangesResponse(teamNo, version, false, deltas);
+	}
+
+	// 일정 + 참가자를 IN 쿼리로 한 번씩 조회
+	private Map<Integer, CalendarDetail> loadEvents(List<Integer> calDetailNos) {
+		Map<Integer, CalendarDetail> events = new HashMap<>();
+		for (CalendarDetail event : calendarDAO.getIndexedEventsByCalDetailNos(calDetailNos)) {
+			event.setParticipantUserNos(new ArrayList<>());
+			events.put(event.getCalDetailNo(), event);
+		}
+		if (events.isEmpty()) {
+			return events;
+		}
+		for (CalendarParticipant participant : calendarDAO.getParticipantsByCalDetailNos(new ArrayList<>(events.keySet()))) {
+			events.get(participant.getCalDetailNo()).getParticipantUserNos().add(participant.getUserNo());
+		}
+		return events;
+	}
+
+	private static CalendarChangesResponse reset(Integer teamNo, long current) {
+		return new CalendarChangesResponse(teamNo, current, true, new ArrayList<>());
+	}
+}
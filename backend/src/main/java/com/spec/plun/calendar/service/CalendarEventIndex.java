@@ -0,0 +1,243 @@
+package com.spec.plun.calendar.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.spec.plun.calendar.dao.CalendarDAO;
+import com.spec.plun.calendar.entity.CalendarDetail;
+import com.spec.plun.calendar.entity.CalendarException;
+import com.spec.plun.calendar.entity.CalendarParticipant;
+import com.spec.plun.calendar.util.TeamEventIndex;
+import com.spec.plun.member.util.IntKeyCache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 팀별 인메모리 일정 인덱스 관리 (기간 조회를 DB 없이 처리)
+ *
+ * - 팀 인덱스는 처음 조회될 때 DB 에서 한 번 적재하고, 최대 max-teams 개 팀까지만 유지. (CLOCK 방식 제거)
+ * - 일정 등록/수정/삭제가 커밋되면 Redis 의 팀 버전(calendar:index:version:{teamNo})을 올림.
+ *   변경한 노드는 자기 인덱스가 바로 이전 버전이면 그 일정만 반영하고, 다른 노드는 조회 시 버전이 다르면 다시 적재.
+ * - 일정이 max-events-per-team 개를 넘는 팀, 날짜 형식을 해석할 수 없는 조회, Redis 장애 시에는 null 을 돌려주고 호출하는 쪽이 DB 로 조회.
+ */
+@Slf4j
+@Component
+public class CalendarEventIndex {
+
+	private static final String VERSION_KEY_PREFIX = "calendar:index:version:";
+	private static final int LOCK_STRIPES = 64;
+
+	@Autowired
+	private CalendarDAO calendarDAO;
+
+	@Autowired
+	private StringRedisTemplate redisTemplate;
+
+	@Value("${calendar.index.enabled:true}")
+	private boolean enabled;
+
+	@Value("${calendar.index.max-teams:1000}")
+	private int maxTeams;
+
+	@Value("${calendar.index.max-events-per-team:200000}")
+	private int maxEventsPerTeam;
+
+	@Value("${calendar.index.max-span-weeks:5}")
+	private int maxSpanWeeks;
+
+	private IntKeyCache<TeamSnapshot> teams;
+	private final Object[] locks = new Object[LOCK_STRIPES];
+
+	// 적재한 시점의 버전과 인덱스 (index 가 null 이면 일정이 너무 많아 DB 로 조회하는 팀)
+	private static final class TeamSnapshot {
+		volatile long version;
+		final TeamEventIndex index;
+
+		TeamSnapshot(long version, TeamEventIndex index) {
+			this.version = version;
+			this.index = index;
+		}
+	}
+
+	@PostConstruct
+	void init() {
+		teams = new IntKeyCache<>(maxTeams);
+		for (int i = 0; i < LOCK_STRIPES; i++) {
+			locks[i] = new Object();
+		}
+	}
+
+	/**
+	 * 기간 조회 : 인덱스로 처리할 수 없으면 null
+	 */
+	public List<CalendarDetail> query(Integer userNo, Integer teamNo, String start, String end) {
+		if (!enabled || userNo == null || teamNo == null) {
+			return null;
+		}
+		LocalDate startDate = parseDate(start);
+		LocalDate endDate = parseDate(end);
+		if (startDate == null || endDate == null) {
+			return null;
+		}
+		try {
+			long version = currentVersion(teamNo);
+			TeamSnapshot snapshot = teams.get(teamNo);
+			if (snapshot == null || snapshot.version != version) {
+				snapshot = load(teamNo);
+			}
+			return snapshot.index != null ? snapshot.index.query(userNo, startDate, endDate) : null;
+		} catch (RuntimeException e) {
+			log.warn("[CalendarEventIndex] 인덱스 조회 실패, DB 로 조회 - teamNo: {}", teamNo, e);
+			return null;
+		}
+	}
+
+	/**
+	 * 일정 변경 알림 (등록/수정/삭제 후 호출, 트랜잭션 안이면 커밋 후 반영)
+	 */
+	public void eventChanged(Integer calDetailNo) {
+		eventChanged(null, calDetailNo);
+	}
+
+	/**
+	 * 일정 변경 알림 (행을 물리 삭제하는 경우처럼 DB 에서 팀을 찾을 수 없을 때는 teamNo 를 함께 전달)
+	 */
+	public void eventChanged(Integer teamNo, Integer calDetailNo) {
+		if (!enabled || calDetailNo == null) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(teamNo, calDetailNo);
+				}
+			});
+		} else {
+			apply(teamNo, calDetailNo);
+		}
+	}
+
+	public int cachedTeams() {
+		return teams.size();
+	}
+
+	private void apply(Integer teamNoHint, Integer calDetailNo) {
+		Integer teamNo = teamNoHint;
+		try {
+			CalendarDetail event = calendarDAO.getIndexedEvent(calDetailNo);
+			if (event != null && event.getTeamNo() != null) {
+				teamNo = event.getTeamNo();
+			}
+			if (teamNo == null) {
+				return;
+			}
+			Long version = redisTemplate.opsForValue().increment(versionKey(teamNo));
+
+			synchronized (lockOf(teamNo)) {
+				TeamSnapshot snapshot = teams.get(teamNo);
+				if (snapshot == null) {
+					return;
+				}
+				// 그 사이 다른 변경이 있었으면 일부만 반영하지 않고 다음 조회 때 다시 적재
+				if (version == null || snapshot.index == null || snapshot.version != version - 1) {
+					teams.remove(teamNo);
+					return;
+				}
+				if (event != null && "N".equals(event.getDeleteYn())) {
+					event.setParticipantUserNos(calendarDAO.getParticipantsByCalDetailNo(calDetailNo));
+					if (event.getRecurrenceRule() != null) {
+						event.setExceptions(calendarDAO.getExceptionsByCalDetailNos(List.of(calDetailNo)));
+					}
+					snapshot.index.put(event);
+				} else {
+					snapshot.index.remove(calDetailNo);
+				}
+				if (snapshot.index.size() > maxEventsPerTeam) {
+					teams.remove(teamNo);
+					return;
+				}
+				snapshot.version = version;
+			}
+		} catch (RuntimeException e) {
+			log.warn("[CalendarEventIndex] 인덱스 반영 실패 - calDetailNo: {}", calDetailNo, e);
+			if (teamNo != null) {
+				teams.remove(teamNo);
+			}
+		}
+	}
+
+	private TeamSnapshot load(int teamNo) {
+		synchronized (lockOf(teamNo)) {
+			// 버전을 먼저 읽고 적재 : 적재 중 커밋된 변경은 버전이 달라져 다음 조회 때 다시 적재됨
+			long version = currentVersion(teamNo);
+			TeamSnapshot cached = teams.get(teamNo);
+			if (cached != null && cached.version == version) {
+				return cached;
+			}
+
+			List<CalendarDetail> events = calendarDAO.getIndexedEventsByTeam(teamNo, maxEventsPerTeam + 1);
+			if (events.size() > maxEventsPerTeam) {
+				log.info("[CalendarEventIndex] 일정이 {}개를 넘어 DB 로 조회 - teamNo: {}", maxEventsPerTeam, teamNo);
+				TeamSnapshot oversized = new TeamSnapshot(version, null);
+				teams.put(teamNo, oversized);
+				return oversized;
+			}
+
+			Map<Integer, List<Integer>> participants = new HashMap<>();
+			for (CalendarParticipant participant : calendarDAO.getParticipantsByTeam(teamNo)) {
+				participants.computeIfAbsent(participant.getCalDetailNo(), k -> new ArrayList<>()).add(participant.getUserNo());
+			}
+			Map<Integer, List<CalendarException>> exceptions = new HashMap<>();
+			for (CalendarException exception : calendarDAO.getExceptionsByTeam(teamNo)) {
+				exceptions.computeIfAbsent(exception.getCalDetailNo(), k -> new ArrayList<>()).add(exception);
+			}
+			TeamEventIndex index = new TeamEventIndex(maxSpanWeeks);
+			for (CalendarDetail event : events) {
+				event.setParticipantUserNos(participants.get(event.getCalDetailNo()));
+				event.setExceptions(exceptions.get(event.getCalDetailNo()));
+				index.put(event);
+			}
+			TeamSnapshot snapshot = new TeamSnapshot(version, index);
+			teams.put(teamNo, snapshot);
+			return snapshot;
+		}
+	}
+
+	private long currentVersion(int teamNo) {
+		String value = redisTemplate.opsForValue().get(versionKey(teamNo));
+		return value != null ? Long.parseLong(value) : 0L;
+	}
+
+	private Object lockOf(int teamNo) {
+		return locks[Math.floorMod(teamNo, LOCK_STRIPES)];
+	}
+
+	private static String versionKey(int teamNo) {
+		return VERSION_KEY_PREFIX + teamNo;
+	}
+
+	// "2025-08-01" 또는 "2025-08-01T00:00:00..." 형식 (날짜 부분만 사용)
+	static LocalDate parseDate(String value) {
+		if (value == null || value.length() < 10) {
+			return null;
+		}
+		try {
+			return LocalDate.parse(value.substring(0, 10));
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+}
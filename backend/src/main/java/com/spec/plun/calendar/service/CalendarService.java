@@ -1,17 +1,29 @@
 package com.spec.plun.calendar.service;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import com.spec.plun.alarm.entity.Alarm;
 import com.spec.plun.alarm.service.AlarmService;
 import com.spec.plun.calendar.dao.CalendarDAO;
+import com.spec.plun.calendar.dto.CalendarChangesResponse;
 import com.spec.plun.calendar.dto.EventRequestDTO;
 import com.spec.plun.calendar.entity.Calendar;
 import com.spec.plun.calendar.entity.CalendarDetail;
+import com.spec.plun.calendar.entity.CalendarException;
+import com.spec.plun.calendar.entity.CalendarParticipant;
+import com.spec.plun.calendar.util.RecurrenceExpander;
+import com.spec.plun.calendar.util.RecurrenceRule;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,9 +31,13 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CalendarService {
 	
+	// 조회 한 번에 반복 일정 하나가 펼칠 수 있는 최대 회차 수
+	private static final int MAX_OCCURRENCES_PER_EVENT = 1000;
+	
 	private final CalendarDAO calendarDAO;
-	private final SimpMessagingTemplate messagingTemplate;
 	private final AlarmService alarmService;
+	private final CalendarEventIndex calendarEventIndex;
+	private final CalendarChangeLog calendarChangeLog;
 
 	
 	public Integer getCalNoByTeamAndUser(Integer teamNo, Integer userNo) {
@@ -33,105 +49,148 @@ public class CalendarService {
 	}
 
 	public List<CalendarDetail> getEventsBetween(Integer userNo, Integer teamNo, String start, String end) {
-	    List<CalendarDetail> events = calendarDAO.getEventsBetween(userNo , teamNo, start, end);
+	    // 팀 일정 인덱스로 처리할 수 없을 때만 DB 조회
+	    List<CalendarDetail> events = calendarEventIndex.query(userNo, teamNo, start, end);
+	    if (events == null) {
+	        events = calendarDAO.getEventsBetween(userNo , teamNo, start, end);
+	        fillParticipants(events);
+	        fillExceptions(events);
+	    }
+	    return expandRecurring(events, start, end);
+	}
+	
+	// 반복 일정은 조회 범위 안의 회차로 펼침 (단일 일정은 그대로)
+	private List<CalendarDetail> expandRecurring(List<CalendarDetail> events, String start, String end) {
+	    LocalDate from = CalendarEventIndex.parseDate(start);
+	    LocalDate to = CalendarEventIndex.parseDate(end);
+	    if (from == null || to == null || events.stream().noneMatch(e -> e.getRecurrenceRule() != null)) {
+	        return events;
+	    }
+	    List<CalendarDetail> result = new ArrayList<>(events.size());
 	    for (CalendarDetail event : events) {
-	    	Integer calDetailNo = event.getCalDetailNo();
-	        List<Integer> participants = calendarDAO.getParticipantsByCalDetailNo(event.getCalDetailNo());
-	        System.out.println("📌 calDetailNo: " + calDetailNo + " → participants: " + participants);
-	        event.setParticipantUserNos(participants);
-	        System.out.println("Event calDetailNo: " + event.getCalDetailNo());
+	        if (event.getRecurrenceRule() == null) {
+	            result.add(event);
+	            continue;
+	        }
+	        try {
+	            result.addAll(RecurrenceExpander.expand(event, from, to, MAX_OCCURRENCES_PER_EVENT));
+	        } catch (IllegalArgumentException e) {
+	            // 저장된 규칙을 해석할 수 없으면 첫 회차만 표시
+	            result.add(event);
+	        }
+	    }
+	    result.sort(Comparator.comparing(CalendarDetail::getStartDate, Comparator.nullsLast(Comparator.naturalOrder())));
+	    return result;
+	}
+	
+	// 반복 일정의 회차 예외를 한 번의 IN 쿼리로 조회해 연결
+	private void fillExceptions(List<CalendarDetail> events) {
+	    List<Integer> calDetailNos = new ArrayList<>();
+	    for (CalendarDetail event : events) {
+	        if (event.getRecurrenceRule() != null) {
+	            calDetailNos.add(event.getCalDetailNo());
+	        }
+	    }
+	    if (calDetailNos.isEmpty()) {
+	        return;
+	    }
+	    Map<Integer, List<CalendarException>> byCalDetailNo = new HashMap<>();
+	    for (CalendarException exception : calendarDAO.getExceptionsByCalDetailNos(calDetailNos)) {
+	        byCalDetailNo.computeIfAbsent(exception.getCalDetailNo(), k -> new ArrayList<>()).add(exception);
+	    }
+	    for (CalendarDetail event : events) {
+	        if (event.getRecurrenceRule() != null) {
+	            event.setExceptions(byCalDetailNo.get(event.getCalDetailNo()));
+	        }
+	    }
+	}
+	
+	// 일정 목록의 참가자를 한 번의 IN 쿼리로 조회해 메모리에서 연결
+	public void fillParticipants(List<CalendarDetail> events) {
+	    if (events == null || events.isEmpty()) {
+	        return;
+	    }
+	    List<Integer> calDetailNos = new ArrayList<>(events.size());
+	    for (CalendarDetail event : events) {
+	        calDetailNos.add(event.getCalDetailNo());
+	    }
+	    
+	    Map<Integer, List<Integer>> byCalDetailNo = new HashMap<>();
+	    for (CalendarParticipant participant : calendarDAO.getParticipantsByCalDetailNos(calDetailNos)) {
+	        byCalDetailNo.computeIfAbsent(participant.getCalDetailNo(), k -> new ArrayList<>()).add(participant.getUserNo());
+	    }
+	    for (CalendarDetail event : events) {
+	        event.setParticipantUserNos(byCalDetailNo.getOrDefault(event.getCalDetailNo(), new ArrayList<>()));
 	    }
-	    return events;
 	}
 	
 	@Transactional
 	public int insertSharedEvent(EventRequestDTO dto) {
 	    CalendarDetail detail = dto.getDetail();
 	    Integer creatorUserNo = detail.getRegUserNo();
+	    applyRecurrence(detail);
 	    
 	    int inserted = calendarDAO.insertEvent(detail);
 	    Integer calDetailNo = detail.getCalDetailNo();
 
 	    if (dto.getParticipantUserNos() != null && calDetailNo != null) {
+	        List<Integer> invitees = new ArrayList<>();
 	        for (Integer userNo : dto.getParticipantUserNos()) {
 	            calendarDAO.insertParticipant(calDetailNo, userNo);
 	            
-	            // 캘린더 갱신 메시지 전송
-	            messagingTemplate.convertAndSend(
-	                "/topic/calendar/refresh/" + userNo,
-	                "newEventCreated"
-	            );
-	            
-	            // 초대 알림 생성 (본인 제외)
+	            // 초대 알림 대상 (본인 제외)
 	            if (!userNo.equals(creatorUserNo)) {
-	                System.out.println("📩 캘린더 초대 알림 생성: " + creatorUserNo + " → " + userNo);
-	                alarmService.createCalendarInviteAlarm(
-	                    creatorUserNo, 
-	                    userNo, 
-	                    calDetailNo, 
-	                    detail.getTitle(),
-	                    detail.getStartDate() + "T" + detail.getStartTime(),
-	                    null
-	                );
+	                invitees.add(userNo);
 	            }
 	        }
+	        // 초대 알림 일괄 생성
+	        alarmService.createCalendarInviteAlarms(creatorUserNo, invitees, calDetailNo);
 	    }
+	    // 주인/참가자에게 변경분 전송 (커밋 후)
+	    calendarChangeLog.record(null, calDetailNo, CalendarChangeLog.CREATED, null);
+	    calendarEventIndex.eventChanged(calDetailNo);
 	    return inserted;
 	}
+	@Transactional
 	public void updateEvent(EventRequestDTO dto) {
 	    CalendarDetail detail = dto.getDetail();
 	    Integer updaterUserNo = detail.getRegUserNo();
 	    
 	    // 기존 참가자 목록 조회
 	    List<Integer> oldParticipants = calendarDAO.getParticipantsByCalDetailNo(detail.getCalDetailNo());
+	    CalendarDetail before = calendarDAO.getEventByCalDetailNo(detail.getCalDetailNo());
+	    
+	    mergeRecurrence(detail, before, dto.isClearRecurrence());
+	    applyRecurrence(detail);
 	    
 	    calendarDAO.updateEvent(detail);
+	    // 반복 규칙이나 시작일이 바뀌면 회차 날짜가 달라지므로 기존 회차 예외는 삭제
+	    if (before != null && before.getRecurrenceRule() != null
+	            && (!Objects.equals(before.getRecurrenceRule(), detail.getRecurrenceRule())
+	                    || !Objects.equals(before.getStartDate(), detail.getStartDate()))) {
+	        calendarDAO.deleteExceptionsByCalDetailNo(detail.getCalDetailNo());
+	    }
 	    updateParticipants(detail.getCalDetailNo(), dto.getParticipantUserNos());
+	    // 참가자에서 빠진 사용자에게는 DELETED 로 전송
+	    calendarChangeLog.record(null, detail.getCalDetailNo(), CalendarChangeLog.UPDATED, oldParticipants);
+	    calendarEventIndex.eventChanged(detail.getCalDetailNo());
 	    
-	    // 참가자에게 갱신 메시지 발송 및 알림 전송
 	    List<Integer> participants = calendarDAO.getParticipantsByCalDetailNo(detail.getCalDetailNo());
 	    String updaterName = alarmService.getUserNameByUserNo(updaterUserNo);
 	    
-	    for (Integer userNo : participants) {
-	        System.out.println("[DEBUG] 참가자 userNo: " + userNo + ", 수정자 updaterUserNo: " + updaterUserNo);
-	        
-	        messagingTemplate.convertAndSend(
-	            "/topic/calendar/refresh/" + userNo,
-	            "eventUpdated"
-	        );
-	        
-	        // 각 참가자에게 개별 알림 생성
-	        Alarm alarm = new Alarm();
-	        alarm.setAlarmType("CALENDAR_UPDATE");
-	        alarm.setReferenceNo(detail.getCalDetailNo());
-	        alarm.setContent(" 일정이 수정되었습니다.");
-	        alarm.setIsRead("N");
-	        alarm.setSenderName(updaterName);
-	        alarm.setUserNo(userNo);
-	        alarm.setSenderNo(updaterUserNo);
-	        
-	        alarmService.insertAlarm(alarm);
-
-	        messagingTemplate.convertAndSend("/topic/notifications/" + userNo, alarm);
-	        System.out.println("[CalendarService] 알림 생성 완료 - userNo: " + userNo + ", alarmNo: " + alarm.getAlarmNo());
-	    }
+	    // 참가자 전체에게 수정 알림 일괄 생성
+	    alarmService.createCalendarAlarms("CALENDAR_UPDATE", detail.getCalDetailNo(), " 일정이 수정되었습니다.",
+	            participants, updaterName, updaterUserNo);
 	    
 	    // 새로 추가된 참가자에게 초대 알림 발송
 	    if (dto.getParticipantUserNos() != null) {
+	        List<Integer> newUserNos = new ArrayList<>();
 	        for (Integer newUserNo : dto.getParticipantUserNos()) {
 	            if (!oldParticipants.contains(newUserNo) && !newUserNo.equals(updaterUserNo)) {
-	                System.out.println("📩 일정 수정 시 새 초대 알림: " + updaterUserNo + " → " + newUserNo);
-	                
-	                alarmService.createCalendarInviteAlarm(
-	                    updaterUserNo,
-	                    newUserNo,
-	                    detail.getCalDetailNo(),
-	                    detail.getTitle(),
-	                    detail.getStartDate() + "T" + detail.getStartTime(),
-	                    dto.getTeamNo()
-	                );
+	                newUserNos.add(newUserNo);
 	            }
 	        }
+	        alarmService.createCalendarInviteAlarms(updaterUserNo, newUserNos, detail.getCalDetailNo());
 	    }
 	}
     @Transactional
@@ -151,34 +210,122 @@ public class CalendarService {
         int result2 = calendarDAO.deleteParticipantsByCalDetailNo(calDetailNo);
 
         if (result1 > 0 && result2 >= 0) {
+            calendarChangeLog.record(null, calDetailNo, CalendarChangeLog.DELETED, participants);
+            calendarEventIndex.eventChanged(calDetailNo);
             String title = deletedDetail != null ? deletedDetail.getTitle() : "삭제된 일정";
             String senderName = deletedDetail != null ? alarmService.getUserNameByUserNo(deletedDetail.getRegUserNo()) : "시스템";
             Integer deleterUserNo = deletedDetail != null ? deletedDetail.getRegUserNo() : null;
 
-            for (Integer userNo : participants) {
-                System.out.println("[DEBUG] 참가자 userNo: " + userNo + ", 삭제자: " + deleterUserNo);
-                
-                messagingTemplate.convertAndSend(
-                    "/topic/calendar/refresh/" + userNo,
-                    "eventDeleted:" + calDetailNo
-                );
-                // 각 참가자에게 개별 삭제 알림 생성
-                Alarm alarm = new Alarm();
-                alarm.setAlarmType("CALENDAR_DELETE");
-                alarm.setReferenceNo(calDetailNo);
-                alarm.setContent(" 일정이 삭제되었습니다.");
-                alarm.setIsRead("N");
-                alarm.setSenderName(senderName);
-                alarm.setUserNo(userNo);
-                alarm.setSenderNo(deleterUserNo);
-                
-                alarmService.insertAlarm(alarm);
-                
-                messagingTemplate.convertAndSend("/topic/notifications/" + userNo, alarm);
-                System.out.println("[CalendarService] 삭제 알림 생성 완료 - userNo: " + userNo + ", alarmNo: " + alarm.getAlarmNo());
-            }
+            // 참가자 전체에게 삭제 알림 일괄 생성 (커밋 후 전송)
+            alarmService.createCalendarAlarms("CALENDAR_DELETE", calDetailNo, " 일정이 삭제되었습니다.",
+                    participants, senderName, deleterUserNo);
             return 1;
         }
         return 0;
     }
-}
\ No newline at end of file
+
+    // 기준 버전 이후 변경분 (재연결한 클라이언트 따라잡기)
+    public CalendarChangesResponse getChanges(Integer teamNo, Integer userNo, Long since) {
+        return calendarChangeLog.changesSince(teamNo, userNo, since);
+    }
+    
+    // 반복 일정의 한 회차 수정 (날짜를 옮기는 경우 반복 기간 안에서만 허용)
+    @Transactional
+    public void saveOccurrence(CalendarException exception) {
+        CalendarDetail master = getRecurringEvent(exception.getCalDetailNo(), exception.getOccurrenceDate());
+        if (exception.getStartDate() != null || exception.getEndDate() != null) {
+            LocalDate start = exception.getStartDate() != null ? exception.getStartDate() : exception.getOccurrenceDate();
+            LocalDate end = exception.getEndDate() != null ? exception.getEndDate() : start;
+            if (end.isBefore(start) || start.isBefore(master.getStartDate()) || end.isAfter(master.getSeriesEndDate())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "회차 날짜는 반복 기간 안이어야 합니다.");
+            }
+        }
+        exception.setCancelYn("N");
+        calendarDAO.upsertException(exception);
+        notifyOccurrenceChanged(master);
+    }
+    
+    // 반복 일정의 한 회차 취소
+    @Transactional
+    public void cancelOccurrence(Integer calDetailNo, LocalDate occurrenceDate, Integer userNo) {
+        CalendarDetail master = getRecurringEvent(calDetailNo, occurrenceDate);
+        CalendarException exception = new CalendarException();
+        exception.setCalDetailNo(calDetailNo);
+        exception.setOccurrenceDate(occurrenceDate);
+        exception.setCancelYn("Y");
+        exception.setUpdateUserNo(userNo);
+        calendarDAO.upsertException(exception);
+        notifyOccurrenceChanged(master);
+    }
+    
+    // 수정 요청의 반복 규칙 정리 : 규칙을 보내지 않으면 기존 규칙 유지, 해제는 clearRecurrence 로만
+    // 반복 일정의 한 회차에서 연 "전체 수정" 은 회차 날짜 기준이므로, 옮긴 만큼 시리즈 시작일을 옮김
+    private void mergeRecurrence(CalendarDetail detail, CalendarDetail before, boolean clearRecurrence) {
+        if (clearRecurrence) {
+            detail.setRecurrenceRule(null);
+            return;
+        }
+        if (before == null || before.getRecurrenceRule() == null) {
+            return;
+        }
+        if (detail.getRecurrenceRule() == null || detail.getRecurrenceRule().isBlank()) {
+            detail.setRecurrenceRule(before.getRecurrenceRule());
+        }
+        if (detail.getOccurrenceDate() != null && detail.getStartDate() != null) {
+            long shift = ChronoUnit.DAYS.between(detail.getOccurrenceDate(), detail.getStartDate());
+            long length = detail.getEndDate() != null
+                    ? ChronoUnit.DAYS.between(detail.getStartDate(), detail.getEndDate())
+                    : ChronoUnit.DAYS.between(before.getStartDate(), before.getEndDate());
+            detail.setStartDate(before.getStartDate().plusDays(shift));
+            detail.setEndDate(detail.getStartDate().plusDays(length));
+        }
+    }
+    
+    // 반복 규칙 검증 및 정규화, 범위 조회용 series_end_date 계산
+    private void applyRecurrence(CalendarDetail detail) {
+        String raw = detail.getRecurrenceRule();
+        if (raw == null || raw.isBlank()) {
+            detail.setRecurrenceRule(null);
+            detail.setSeriesEndDate(detail.getEndDate());
+            return;
+        }
+        LocalDate start = detail.getStartDate();
+        LocalDate end = detail.getEndDate();
+        if (start == null || end == null || end.isBefore(start)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "반복 일정의 시작/종료일이 올바르지 않습니다.");
+        }
+        RecurrenceRule rule;
+        try {
+            rule = RecurrenceRule.parse(raw);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (rule.until() != null && rule.until().isBefore(start)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "UNTIL 이 시작일보다 앞설 수 없습니다.");
+        }
+        detail.setRecurrenceRule(rule.toString());
+        detail.setSeriesEndDate(RecurrenceExpander.seriesEndDate(rule, start, end));
+    }
+    
+    private CalendarDetail getRecurringEvent(Integer calDetailNo, LocalDate occurrenceDate) {
+        if (calDetailNo == null || occurrenceDate == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "calDetailNo, occurrenceDate 가 필요합니다.");
+        }
+        CalendarDetail master = calendarDAO.getEventByCalDetailNo(calDetailNo);
+        if (master == null || "Y".equals(master.getDeleteYn())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "일정을 찾을 수 없습니다.");
+        }
+        if (master.getRecurrenceRule() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "반복 일정이 아닙니다.");
+        }
+        if (!RecurrenceExpander.isOccurrence(master, occurrenceDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "해당 날짜에 반복 회차가 없습니다.");
+        }
+        return master;
+    }
+    
+    private void notifyOccurrenceChanged(CalendarDetail master) {
+        calendarChangeLog.record(null, master.getCalDetailNo(), CalendarChangeLog.UPDATED, null);
+        calendarEventIndex.eventChanged(master.getCalDetailNo());
+    }
+}
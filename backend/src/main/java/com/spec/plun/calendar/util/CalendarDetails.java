@@ -0,0 +1,41 @@
+package com.spec.plun.calendar.util;
+
+import java.util.ArrayList;
+
+import com.spec.plun.calendar.entity.CalendarDetail;
+
+/**
+ * CalendarDetail 복사 (인덱스/반복 펼치기 결과를 원본과 분리하기 위해 사용)
+ */
+public final class CalendarDetails {
+
+	private CalendarDetails() {
+	}
+
+	public static CalendarDetail copyOf(CalendarDetail source) {
+		CalendarDetail copy = new CalendarDetail();
+		copy.setCalDetailNo(source.getCalDetailNo());
+		copy.setCalNo(source.getCalNo());
+		copy.setTitle(source.getTitle());
+		copy.setContents(source.getContents());
+		copy.setStartDate(source.getStartDate());
+		copy.setEndDate(source.getEndDate());
+		copy.setStartTime(source.getStartTime());
+		copy.setEndTime(source.getEndTime());
+		copy.setDeleteYn(source.getDeleteYn());
+		copy.setRegUserNo(source.getRegUserNo());
+		copy.setRegDt(source.getRegDt());
+		copy.setUpdateDt(source.getUpdateDt());
+		copy.setUpdateUserNo(source.getUpdateUserNo());
+		copy.setTeamNo(source.getTeamNo());
+		copy.setRecurrenceRule(source.getRecurrenceRule());
+		copy.setSeriesEndDate(source.getSeriesEndDate());
+		copy.setOccurrenceDate(source.getOccurrenceDate());
+		copy.setExceptions(source.getExceptions());
+		copy.setOwnerUserNo(source.getOwnerUserNo());
+		if (source.getParticipantUserNos() != null) {
+			copy.setParticipantUserNos(new ArrayList<>(source.getParticipantUserNos()));
+		}
+		return copy;
+	}
+}
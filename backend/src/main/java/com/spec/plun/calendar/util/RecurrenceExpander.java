@@ -0,0 +1,137 @@
+package com.spec.plun.calendar.util;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.spec.plun.calendar.entity.CalendarDetail;
+import com.spec.plun.calendar.entity.CalendarException;
+
+/**
+ * 반복 일정(규칙 한 행 + 회차별 예외)을 조회 범위 안의 회차로 펼침
+ *
+ * - 회차는 저장하지 않고 조회할 때마다 범위 안에서만 계산.
+ * - 각 회차는 원래 일정의 복사본이며 occurrenceDate 에 원래 회차 시작일을 담음.
+ * - 취소된 회차는 빼고, 값이 바뀐 회차는 바뀐 값(다른 날로 옮긴 경우 포함)으로 돌려줌.
+ */
+public final class RecurrenceExpander {
+
+	// 끝나지 않는 반복의 series_end_date
+	public static final LocalDate OPEN_END = LocalDate.of(9999, 12, 31);
+
+	private RecurrenceExpander() {
+	}
+
+	/**
+	 * 범위 조회용 시리즈 종료일 : 마지막 회차 종료일 (끝나지 않으면 OPEN_END)
+	 */
+	public static LocalDate seriesEndDate(RecurrenceRule rule, LocalDate startDate, LocalDate endDate) {
+		LocalDate last = rule.lastOccurrence(startDate);
+		if (last == null) {
+			return OPEN_END;
+		}
+		LocalDate seriesEnd = last.plusDays(ChronoUnit.DAYS.between(startDate, endDate));
+		return seriesEnd.isAfter(OPEN_END) ? OPEN_END : seriesEnd;
+	}
+
+	/**
+	 * date 가 이 반복 일정의 회차 시작일인지
+	 */
+	public static boolean isOccurrence(CalendarDetail master, LocalDate date) {
+		RecurrenceRule rule = RecurrenceRule.parse(master.getRecurrenceRule());
+		LocalDate lastStart = lastStart(master);
+		if (lastStart != null && date.isAfter(lastStart)) {
+			return false;
+		}
+		return !rule.occurrences(master.getStartDate(), date, date, 1).isEmpty();
+	}
+
+	/**
+	 * [from, to] 와 겹치는 회차 (시작일 순, 원래 규칙으로 계산한 회차는 최대 maxOccurrences 개)
+	 */
+	public static List<CalendarDetail> expand(CalendarDetail master, LocalDate from, LocalDate to, int maxOccurrences) {
+		RecurrenceRule rule = RecurrenceRule.parse(master.getRecurrenceRule());
+		long duration = ChronoUnit.DAYS.between(master.getStartDate(), master.getEndDate());
+
+		Map<LocalDate, CalendarException> exceptions = new HashMap<>();
+		if (master.getExceptions() != null) {
+			for (CalendarException exception : master.getExceptions()) {
+				exceptions.put(exception.getOccurrenceDate(), exception);
+			}
+		}
+
+		// 종료일이 from 이후인 회차만 : 시작일 >= from - 기간
+		LocalDate scanFrom = from.minusDays(duration);
+		LocalDate scanTo = to;
+		LocalDate lastStart = lastStart(master);
+		if (lastStart != null && lastStart.isBefore(scanTo)) {
+			scanTo = lastStart;
+		}
+
+		List<CalendarDetail> result = new ArrayList<>();
+		for (LocalDate date : rule.occurrences(master.getStartDate(), scanFrom, scanTo, maxOccurrences)) {
+			CalendarException exception = exceptions.remove(date);
+			if (exception == null) {
+				result.add(occurrence(master, date, date.plusDays(duration)));
+			} else if (!"Y".equals(exception.getCancelYn())) {
+				addIfOverlaps(result, overridden(master, exception, duration), from, to);
+			}
+		}
+		// 다른 날에서 범위 안으로 옮겨 온 회차
+		for (CalendarException exception : exceptions.values()) {
+			if (!"Y".equals(exception.getCancelYn()) && exception.getStartDate() != null) {
+				addIfOverlaps(result, overridden(master, exception, duration), from, to);
+			}
+		}
+		result.sort((a, b) -> a.getStartDate().compareTo(b.getStartDate()));
+		return result;
+	}
+
+	// 마지막 회차 시작일 (끝나지 않는 반복이면 null)
+	private static LocalDate lastStart(CalendarDetail master) {
+		LocalDate seriesEnd = master.getSeriesEndDate();
+		if (seriesEnd == null || !seriesEnd.isBefore(OPEN_END)) {
+			return null;
+		}
+		return seriesEnd.minusDays(ChronoUnit.DAYS.between(master.getStartDate(), master.getEndDate()));
+	}
+
+	private static CalendarDetail occurrence(CalendarDetail master, LocalDate start, LocalDate end) {
+		CalendarDetail occurrence = CalendarDetails.copyOf(master);
+		occurrence.setOccurrenceDate(start);
+		occurrence.setStartDate(start);
+		occurrence.setEndDate(end);
+		occurrence.setExceptions(null);
+		return occurrence;
+	}
+
+	private static CalendarDetail overridden(CalendarDetail master, CalendarException exception, long duration) {
+		LocalDate date = exception.getOccurrenceDate();
+		LocalDate start = exception.getStartDate() != null ? exception.getStartDate() : date;
+		LocalDate end = exception.getEndDate() != null ? exception.getEndDate() : start.plusDays(duration);
+		CalendarDetail occurrence = occurrence(master, start, end);
+		occurrence.setOccurrenceDate(date);
+		if (exception.getTitle() != null) {
+			occurrence.setTitle(exception.getTitle());
+		}
+		if (exception.getContents() != null) {
+			occurrence.setContents(exception.getContents());
+		}
+		if (exception.getStartTime() != null) {
+			occurrence.setStartTime(exception.getStartTime());
+		}
+		if (exception.getEndTime() != null) {
+			occurrence.setEndTime(exception.getEndTime());
+		}
+		return occurrence;
+	}
+
+	private static void addIfOverlaps(List<CalendarDetail> result, CalendarDetail occurrence, LocalDate from, LocalDate to) {
+		if (!occurrence.getStartDate().isAfter(to) && !occurrence.getEndDate().isBefore(from)) {
+			result.add(occurrence);
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package com.spec.plun.calendar.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * 반복 규칙 (RFC 5545 RRULE 일부)
+ *
+ * - FREQ=DAILY|WEEKLY|MONTHLY|YEARLY (필수), INTERVAL, COUNT 또는 UNTIL(yyyyMMdd), BYDAY(WEEKLY 전용, MO,TU...)
+ * - MONTHLY/YEARLY 는 시작일의 일(月日)을 따르며 그 날짜가 없는 달/해(31일, 2월 29일)는 건너뜀.
+ * - 회차 계산은 조회 범위의 시작 위치로 바로 건너뛰므로 시작일에서 멀리 떨어진 범위도 범위 안의 회차만큼만 비용이 듦.
+ */
+public record RecurrenceRule(Frequency freq, int interval, Integer count, LocalDate until, Set<DayOfWeek> byDays) {
+
+	public static final int MAX_COUNT = 1000;
+	public static final int MAX_INTERVAL = 999;
+
+	private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+	private static final Map<String, DayOfWeek> DAY_CODES = Map.of(
+			"MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+			"FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+	public enum Frequency {
+		DAILY, WEEKLY, MONTHLY, YEARLY
+	}
+
+	/**
+	 * "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;UNTIL=20251231" 형식 해석 ("RRULE:" 접두어 허용)
+	 *
+	 * @throws IllegalArgumentException 지원하지 않거나 잘못된 규칙
+	 */
+	public static RecurrenceRule parse(String value) {
+		if (value == null || value.isBlank()) {
+			throw new IllegalArgumentException("반복 규칙이 비어 있습니다.");
+		}
+		String rule = value.trim();
+		if (rule.regionMatches(true, 0, "RRULE:", 0, 6)) {
+			rule = rule.substring(6);
+		}
+
+		Frequency freq = null;
+		int interval = 1;
+		Integer count = null;
+		LocalDate until = null;
+		Set<DayOfWeek> byDays = EnumSet.noneOf(DayOfWeek.class);
+		for (String part : rule.split(";")) {
+			if (part.isBlank()) {
+				continue;
+			}
+			int eq = part.indexOf('=');
+			if (eq <= 0) {
+				throw new IllegalArgumentException("반복 규칙 형식이 잘못되었습니다: " + part);
+			}
+			String key = part.substring(0, eq).trim().toUpperCase();
+			String val = part.substring(eq + 1).trim().toUpperCase();
+			try {
+				switch (key) {
+				case "FREQ" -> freq = Frequency.valueOf(val);
+				case "INTERVAL" -> interval = Integer.parseInt(val);
+				case "COUNT" -> count = Integer.parseInt(val);
+				case "UNTIL" -> until = LocalDate.parse(val.length() > 8 ? val.substring(0, 8) : val, UNTIL_FORMAT);
+				case "BYDAY" -> {
+					for (String code : val.split(",")) {
+						DayOfWeek day = DAY_CODES.get(code.trim());
+						if (day == null) {
+							throw new IllegalArgumentException("지원하지 않는 BYDAY 값입니다: " + code);
+						}
+						byDays.add(day);
+					}
+				}
+				default -> throw new IllegalArgumentException("지원하지 않는 반복 규칙 항목입니다: " + key);
+				}
+			} catch (NumberFormatException | DateTimeParseException e) {
+				throw new IllegalArgumentException("반복 규칙 값이 잘못되었습니다: " + part);
+			}
+		}
+
+		if (freq == null) {
+			throw new IllegalArgumentException("FREQ 가 없습니다.");
+		}
+		if (interval < 1 || interval > MAX_INTERVAL) {
+			throw new IllegalArgumentException("INTERVAL 은 1~" + MAX_INTERVAL + " 이어야 합니다.");
+		}
+		if (count != null && until != null) {
+			throw new IllegalArgumentException("COUNT 와 UNTIL 은 함께 쓸 수 없습니다.");
+		}
+		if (count != null && (count < 1 || count > MAX_COUNT)) {
+			throw new IllegalArgumentException("COUNT 는 1~" + MAX_COUNT + " 이어야 합니다.");
+		}
+		if (!byDays.isEmpty() && freq != Frequency.WEEKLY) {
+			throw new IllegalArgumentException("BYDAY 는 FREQ=WEEKLY 에서만 지원합니다.");
+		}
+		return new RecurrenceRule(freq, interval, count, until, Set.copyOf(byDays));
+	}
+
+	/**
+	 * seriesStart 부터 시작하는 반복에서 [from, to] 안의 회차 시작일 (오름차순, 최대 limit 개)
+	 * COUNT 는 반영하지 않으므로 호출하는 쪽에서 마지막 회차 이후를 잘라야 함.
+	 */
+	public List<LocalDate> occurrences(LocalDate seriesStart, LocalDate from, LocalDate to, int limit) {
+		LocalDate lower = from.isBefore(seriesStart) ? seriesStart : from;
+		LocalDate upper = until != null && until.isBefore(to) ? until : to;
+		List<LocalDate> result = new ArrayList<>();
+		if (upper.isBefore(lower) || limit <= 0) {
+			return result;
+		}
+
+		switch (freq) {
+		case DAILY -> {
+			long days = ChronoUnit.DAYS.between(seriesStart, lower);
+			long skip = (days + interval - 1) / interval * interval;
+			for (LocalDate d = seriesStart.plusDays(skip); !d.isAfter(upper) && result.size() < limit; d = d.plusDays(interval)) {
+				result.add(d);
+			}
+		}
+		case WEEKLY -> {
+			Set<DayOfWeek> days = byDays.isEmpty() ? Set.of(seriesStart.getDayOfWeek()) : byDays;
+			LocalDate anchor = seriesStart.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+			long weeks = ChronoUnit.WEEKS.between(anchor, lower.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+			for (LocalDate week = anchor.plusWeeks(weeks / interval * interval); !week.isAfter(upper); week = week.plusWeeks(interval)) {
+				for (DayOfWeek day : DayOfWeek.values()) {
+					if (!days.contains(day)) {
+						continue;
+					}
+					LocalDate d = week.plusDays(day.ordinal());
+					if (d.isBefore(lower)) {
+						continue;
+					}
+					if (d.isAfter(upper) || result.size() >= limit) {
+						return result;
+					}
+					result.add(d);
+				}
+			}
+		}
+		case MONTHLY -> {
+			int dayOfMonth = seriesStart.getDayOfMonth();
+			YearMonth first = YearMonth.from(seriesStart);
+			long months = ChronoUnit.MONTHS.between(first, YearMonth.from(lower));
+			for (YearMonth ym = first.plusMonths(months / interval * interval); !ym.atDay(1).isAfter(upper)
+					&& result.size() < limit; ym = ym.plusMonths(interval)) {
+				if (dayOfMonth > ym.lengthOfMonth()) {
+					continue;
+				}
+				LocalDate d = ym.atDay(dayOfMonth);
+				if (d.isAfter(upper)) {
+					break;
+				}
+				if (!d.isBefore(lower)) {
+					result.add(d);
+				}
+			}
+		}
+		case YEARLY -> {
+			MonthDay monthDay = MonthDay.from(seriesStart);
+			long years = lower.getYear() - seriesStart.getYear();
+			for (int year = (int) (seriesStart.getYear() + years / interval * interval); year <= upper.getYear()
+					&& result.size() < limit; year += interval) {
+				if (!monthDay.isValidYear(year)) {
+					continue;
+				}
+				LocalDate d = monthDay.atYear(year);
+				if (d.isAfter(upper)) {
+					break;
+				}
+				if (!d.isBefore(lower)) {
+					result.add(d);
+				}
+			}
+		}
+		}
+		return result;
+	}
+
+	/**
+	 * 마지막 회차 시작일 (끝나지 않는 반복이면 null)
+	 */
+	public LocalDate lastOccurrence(LocalDate seriesStart) {
+		if (count != null) {
+			List<LocalDate> all = occurrences(seriesStart, seriesStart, LocalDate.MAX.minusYears(1), count);
+			return all.isEmpty() ? seriesStart : all.get(all.size() - 1);
+		}
+		return until;
+	}
+
+	// 정규화된 문자열 (DB 저장용)
+	@Override
+	public String toString() {
+		StringJoiner joiner = new StringJoiner(";");
+		joiner.add("FREQ=" + freq);
+		if (interval != 1) {
+			joiner.add("INTERVAL=" + interval);
+		}
+		if (!byDays.isEmpty()) {
+			StringJoiner days = new StringJoiner(",");
+			for (DayOfWeek day : DayOfWeek.values()) {
+				if (byDays.contains(day)) {
+					days.add(day.name().substring(0, 2));
+				}
+			}
+			joiner.add("BYDAY=" + days);
+		}
+		if (count != null) {
+			joiner.add("COUNT=" + count);
+		}
+		if (until != null) {
+			joiner.add("UNTIL=" + until.format(UNTIL_FORMAT));
+		}
+		return joiner.toString();
+	}
+}
@@ -0,0 +1,218 @@
+package com.spec.plun.calendar.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.spec.plun.calendar.entity.CalendarDetail;
+
+/**
+ * 팀 하나의 일정을 시작 주(week) 단위 버킷으로 나눈 인메모리 구간 인덱스
+ *
+ * - 일정은 시작일이 속한 주 버킷 하나에만 저장.
+ * - 기간이 maxSpanWeeks 주 이하인 일정은 조회 시작 주 - maxSpanWeeks 부터 조회 끝 주까지의 버킷만 보면 빠짐없이 찾을 수 있음.
+ * - 그보다 긴 일정은 별도 목록에 두고 매번 전부 확인. (수가 적다는 전제)
+ * - 반복 일정은 시작일 ~ series_end_date 전체를 한 구간으로 보고 규칙 행 그대로 돌려줌. (회차 펼치기는 RecurrenceExpander)
+ * - 조회 결과는 저장된 객체의 복사본이므로 호출하는 쪽에서 수정해도 인덱스에 영향 없음.
+ */
+public class TeamEventIndex {
+
+	private static final Comparator<CalendarDetail> BY_START = Comparator
+			.comparing(CalendarDetail::getStartDate)
+			.thenComparing(CalendarDetail::getCalDetailNo, Comparator.nullsLast(Comparator.naturalOrder()));
+
+	private static final class Entry {
+		final CalendarDetail event;
+		final long startDay;
+		final long endDay;
+		final int ownerUserNo;
+		final int[] participants;
+		final boolean longEvent;
+
+		Entry(CalendarDetail event, long endDay, int ownerUserNo, int[] participants, boolean longEvent) {
+			this.event = event;
+			this.startDay = event.getStartDate().toEpochDay();
+			this.endDay = endDay;
+			this.ownerUserNo = ownerUserNo;
+			this.participants = participants;
+			this.longEvent = longEvent;
+		}
+
+		boolean visibleTo(int userNo) {
+			if (ownerUserNo == userNo) {
+				return true;
+			}
+			for (int participant : participants) {
+				if (participant == userNo) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private final int maxSpanWeeks;
+	private final Map<Integer, Entry> byId = new HashMap<>();
+	private final Map<Long, List<Entry>> buckets = new HashMap<>();
+	private final List<Entry> longEvents = new ArrayList<>();
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public TeamEventIndex(int maxSpanWeeks) {
+		if (maxSpanWeeks < 0) {
+			throw new IllegalArgumentException("maxSpanWeeks 는 0 이상이어야 합니다: " + maxSpanWeeks);
+		}
+		this.maxSpanWeeks = maxSpanWeeks;
+	}
+
+	/**
+	 * 일정 추가/교체 (같은 calDetailNo 가 있으면 교체)
+	 * ownerUserNo, participantUserNos 가 채워진 일정이어야 하며 날짜가 없는 일정은 무시.
+	 */
+	public void put(CalendarDetail event) {
+		if (event.getCalDetailNo() == null) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			removeEntry(event.getCalDetailNo());
+			if (event.getStartDate() == null || event.getEndDate() == null || event.getOwnerUserNo() == null) {
+				return;
+			}
+			LocalDate last = event.getSeriesEndDate() != null && event.getSeriesEndDate().isAfter(event.getEndDate())
+					? event.getSeriesEndDate()
+					: event.getEndDate();
+			long startWeek = week(event.getStartDate().toEpochDay());
+			long endWeek = week(last.toEpochDay());
+			Entry entry = new Entry(event, last.toEpochDay(), event.getOwnerUserNo(),
+					toIntArray(event.getParticipantUserNos()), endWeek - startWeek > maxSpanWeeks);
+			if (event.getExceptions() != null) {
+				event.setExceptions(List.copyOf(event.getExceptions()));
+			}
+			byId.put(event.getCalDetailNo(), entry);
+			if (entry.longEvent) {
+				longEvents.add(entry);
+			} else {
+				buckets.computeIfAbsent(startWeek, k -> new ArrayList<>()).add(entry);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Integer calDetailNo) {
+		lock.writeLock().lock();
+		try {
+			removeEntry(calDetailNo);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * [start, end] 과 겹치면서 userNo 가 주인이거나 참가자인 일정 (시작일 순)
+	 */
+	public List<CalendarDetail> query(int userNo, LocalDate start, LocalDate end) {
+		long startDay = start.toEpochDay();
+		long endDay = end.toEpochDay();
+		List<CalendarDetail> result = new ArrayList<>();
+		if (endDay < startDay) {
+			return result;
+		}
+		lock.readLock().lock();
+		try {
+			long fromWeek = week(startDay) - maxSpanWeeks;
+			long toWeek = week(endDay);
+			if (toWeek - fromWeek + 1 > buckets.size()) {
+				// 조회 범위가 버킷 수보다 넓으면 버킷 전체를 한 번씩만 확인
+				for (List<Entry> bucket : buckets.values()) {
+					collect(bucket, userNo, startDay, endDay, result);
+				}
+			} else {
+				for (long w = fromWeek; w <= toWeek; w++) {
+					List<Entry> bucket = buckets.get(w);
+					if (bucket != null) {
+						collect(bucket, userNo, startDay, endDay, result);
+					}
+				}
+			}
+			collect(longEvents, userNo, startDay, endDay, result);
+		} finally {
+			lock.readLock().unlock();
+		}
+		result.sort(BY_START);
+		return result;
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return byId.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static void collect(Collection<Entry> entries, int userNo, long startDay, long endDay,
+			List<CalendarDetail> result) {
+		for (Entry entry : entries) {
+			if (entry.startDay <= endDay && entry.endDay >= startDay && entry.visibleTo(userNo)) {
+				result.add(copyOf(entry));
+			}
+		}
+	}
+
+	private void removeEntry(Integer calDetailNo) {
+		Entry old = byId.remove(calDetailNo);
+		if (old == null) {
+			return;
+		}
+		if (old.longEvent) {
+			longEvents.remove(old);
+			return;
+		}
+		long startWeek = week(old.startDay);
+		List<Entry> bucket = buckets.get(startWeek);
+		if (bucket != null) {
+			bucket.remove(old);
+			if (bucket.isEmpty()) {
+				buckets.remove(startWeek);
+			}
+		}
+	}
+
+	// 에포크(1970-01-01, 목요일) 기준 7일 단위
+	private static long week(long epochDay) {
+		return Math.floorDiv(epochDay, 7);
+	}
+
+	private static int[] toIntArray(List<Integer> userNos) {
+		if (userNos == null || userNos.isEmpty()) {
+			return new int[0];
+		}
+		int[] result = new int[userNos.size()];
+		int n = 0;
+		for (Integer userNo : userNos) {
+			if (userNo != null) {
+				result[n++] = userNo;
+			}
+		}
+		return n == result.length ? result : Arrays.copyOf(result, n);
+	}
+
+	private static CalendarDetail copyOf(Entry entry) {
+		CalendarDetail copy = CalendarDetails.copyOf(entry.event);
+		copy.setOwnerUserNo(entry.ownerUserNo);
+		List<Integer> participants = new ArrayList<>(entry.participants.length);
+		for (int participant : entry.participants) {
+			participants.add(participant);
+		}
+		copy.setParticipantUserNos(participants);
+		return copy;
+	}
+}
@@ -0,0 +1,15 @@
+package com.spec.plun.chat.config;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 STOMP 메시지 전파 채널 (Redis pub/sub 등)
+ */
+public interface BrokerFanout {
+
+	// 다른 노드로 메시지 발행
+	void publish(String envelope);
+
+	// 다른 노드가 발행한 메시지 수신
+	void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,102 @@
+package com.spec.plun.chat.config;
+
+import java.util.UUID;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * brokerChannel 인터셉터 - 이 노드에서 /topic 으로 보낸 메시지를 다른 노드로 전파하고,
+ * 다른 노드에서 온 메시지를 로컬 SimpleBroker 로 다시 흘려보냄.
+ *
+ * SimpMessagingTemplate.convertAndSend 를 사용하는 모든 서비스(채팅/알림/캘린더/팀)가 그대로 동작.
+ */
+@Slf4j
+public class BrokerFanoutBridge implements ChannelInterceptor {
+
+	// 다른 노드에서 전달된 메시지 표시 (재전파 방지)
+	static final String RELAYED_HEADER = "plunRelayed";
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final BrokerFanout fanout;
+	private final MessageChannel brokerChannel;
+	private final ObjectMapper objectMapper;
+	private final String destinationPrefix;
+
+	public BrokerFanoutBridge(BrokerFanout fanout, MessageChannel brokerChannel, ObjectMapper objectMapper,
+			String destinationPrefix) {
+		this.fanout = fanout;
+		this.brokerChannel = brokerChannel;
+		this.objectMapper = objectMapper;
+		this.destinationPrefix = destinationPrefix;
+		fanout.subscribe(this::onRemoteMessage);
+	}
+
+	@Override
+	public Message<?> preSend(Message<?> message, MessageChannel channel) {
+		MessageHeaders headers = message.getHeaders();
+		if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+				|| headers.containsKey(RELAYED_HEADER)) {
+			return message;
+		}
+		String destination = SimpMessageHeaderAccessor.getDestination(headers);
+		if (destination == null || !destination.startsWith(destinationPrefix)) {
+			return message;
+		}
+		if (!(message.getPayload() instanceof byte[] payload)) {
+			log.warn("[BrokerFanout] 직렬화되지 않은 payload 는 전파하지 않음: {}", destination);
+			return message;
+		}
+
+		Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+		Envelope envelope = new Envelope(nodeId, destination, contentType != null ? contentType.toString() : null,
+				payload);
+		try {
+			fanout.publish(objectMapper.writeValueAsString(envelope));
+		} catch (JsonProcessingException | RuntimeException e) {
+			// 전파 실패해도 로컬 구독자에게는 전달
+			log.error("[BrokerFanout] 메시지 전파 실패: {}", destination, e);
+		}
+		return message;
+	}
+
+	private void onRemoteMessage(String json) {
+		Envelope envelope;
+		try {
+			envelope = objectMapper.readValue(json, Envelope.class);
+		} catch (JsonProcessingException e) {
+			log.warn("[BrokerFanout] 잘못된 메시지 무시: {}", e.getMessage());
+			return;
+		}
+		if (nodeId.equals(envelope.node())) {
+			return; // 자기 자신이 발행한 메시지
+		}
+
+		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		accessor.setDestination(envelope.destination());
+		if (envelope.contentType() != null) {
+			accessor.setContentType(MimeType.valueOf(envelope.contentType()));
+		}
+		accessor.setHeader(RELAYED_HEADER, Boolean.TRUE);
+		brokerChannel.send(MessageBuilder.createMessage(envelope.payload(), accessor.getMessageHeaders()));
+	}
+
+	String getNodeId() {
+		return nodeId;
+	}
+
+	// 노드 간 전달 형식
+	record Envelope(String node, String destination, String contentType, byte[] payload) {
+	}
+}
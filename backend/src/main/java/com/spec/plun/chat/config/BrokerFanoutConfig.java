@@ -0,0 +1,42 @@
+package com.spec.plun.chat.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.MessageChannel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * chat.broker.mode=redis 일 때 노드 간 /topic 메시지 전파 구성
+ */
+@Configuration
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis")
+public class BrokerFanoutConfig {
+
+	@Bean
+	RedisMessageListenerContainer brokerFanoutListenerContainer(RedisConnectionFactory connectionFactory) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		return container;
+	}
+
+	@Bean
+	BrokerFanout brokerFanout(StringRedisTemplate stringRedisTemplate,
+			RedisMessageListenerContainer brokerFanoutListenerContainer,
+			@Value("${chat.broker.redis.channel:plun:stomp}") String channel) {
+		return new RedisBrokerFanout(stringRedisTemplate, brokerFanoutListenerContainer, channel);
+	}
+
+	@Bean
+	BrokerFanoutBridge brokerFanoutBridge(BrokerFanout brokerFanout,
+			@Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel, ObjectMapper objectMapper) {
+		return new BrokerFanoutBridge(brokerFanout, brokerChannel, objectMapper, "/topic");
+	}
+}
@@ -0,0 +1,33 @@
+package com.spec.plun.chat.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Redis pub/sub 기반 노드 간 메시지 전파
+ */
+@RequiredArgsConstructor
+public class RedisBrokerFanout implements BrokerFanout {
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final RedisMessageListenerContainer listenerContainer;
+	private final String channel;
+
+	@Override
+	public void publish(String envelope) {
+		stringRedisTemplate.convertAndSend(channel, envelope);
+	}
+
+	@Override
+	public void subscribe(Consumer<String> listener) {
+		listenerContainer.addMessageListener(
+				(message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+				new ChannelTopic(channel));
+	}
+}
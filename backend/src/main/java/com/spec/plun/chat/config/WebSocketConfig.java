@@ -1,15 +1,38 @@
 package com.spec.plun.chat.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import lombok.RequiredArgsConstructor;
+
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 	
+	// simple : 단일 JVM 내장 브로커 / relay : 외부 STOMP 브로커 중계 / redis : 내장 브로커 + Redis pub/sub 노드 간 전파
+	@Value("${chat.broker.mode:simple}")
+	private String brokerMode;
+	
+	@Value("${chat.broker.relay.host:localhost}")
+	private String relayHost;
+	
+	@Value("${chat.broker.relay.port:61613}")
+	private int relayPort;
+	
+	@Value("${chat.broker.relay.login:guest}")
+	private String relayLogin;
+	
+	@Value("${chat.broker.relay.passcode:guest}")
+	private String relayPasscode;
+	
+	private final ObjectProvider<BrokerFanoutBridge> brokerFanoutBridge;
+	
 	@Override
 	public void registerStompEndpoints(StompEndpointRegistry registry) {
 		// 클라이언트가 연결할 엔드포인트 설정 (SocJs fallback 포함)
@@ -20,8 +43,27 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 	public void configureMessageBroker(MessageBrokerRegistry config) {
 		// 클라언트가 메시지를 보낼 prefix
 		config.setApplicationDestinationPrefixes("/app");
+		
+		if ("relay".equalsIgnoreCase(brokerMode)) {
+			// 외부 STOMP 브로커(RabbitMQ/ActiveMQ 등)로 /topic 구독/발행을 중계
+			config.enableStompBrokerRelay("/topic")
+				.setRelayHost(relayHost)
+				.setRelayPort(relayPort)
+				.setClientLogin(relayLogin)
+				.setClientPasscode(relayPasscode)
+				.setSystemLogin(relayLogin)
+				.setSystemPasscode(relayPasscode);
+			return;
+		}
+		
 		// 서버에서 메시지를 브로드캐스트 할 topic prefix
 		config.enableSimpleBroker("/topic");
+		
+		// redis 모드 : 서버가 보낸 /topic 메시지를 다른 노드로도 전파
+		BrokerFanoutBridge bridge = brokerFanoutBridge.getIfAvailable();
+		if (bridge != null) {
+			config.configureBrokerChannel().interceptors(bridge);
+		}
 	}
 
 }
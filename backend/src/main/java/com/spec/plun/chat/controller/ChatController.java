@@ -26,6 +26,7 @@ import com.spec.plun.chat.dto.CreateChatRoomRequestDTO;
 import com.spec.plun.chat.entity.ChatMember;
 import com.spec.plun.chat.entity.ChatMessage;
 import com.spec.plun.chat.entity.ChatRoom;
+import com.spec.plun.chat.service.ChatMessageWriteBehind;
 import com.spec.plun.chat.service.ChatService;
 
 @RestController
@@ -36,6 +37,8 @@ public class ChatController {
 	@Autowired
 	private SimpMessagingTemplate messagingTemplate;
 	@Autowired AlarmService alarmService;
+	@Autowired
+	private ChatMessageWriteBehind chatMessageWriteBehind;
 	
 	// 메시지와 파일(선택사항) 함께 전송
 	@PostMapping("/send")
@@ -64,11 +67,16 @@ public class ChatController {
 	        return ResponseEntity.status(500).body("메시지 전송 실패");
 	    }
 	}
-	// 채팅방 메시지 및 파일 목록을 조회
+	// 채팅방 메시지 및 파일 목록을 조회 (커서 기반 페이지)
 	@GetMapping("/message")
-	public ResponseEntity<List<ChatMessage>> getMessageWithAttachments(@RequestParam Integer roomNo){
-		// 1. 서비스 호출로 roomNo에 해당하는 메시지(첨부파일 포함) 목록을 조회
-		List<ChatMessage> messages = chatService.getChatMessagesWithAttachments(roomNo);
+	public ResponseEntity<List<ChatMessage>> getMessageWithAttachments(@RequestParam Integer roomNo,
+			@RequestParam(value = "before", required = false) Integer before,
+			@RequestParam(value = "around", required = false) Integer around,
+			@RequestParam(value = "limit", required = false) Integer limit){
+		// 1. 서비스 호출로 roomNo에 해당하는 메시지(첨부파일 포함) 페이지를 조회
+		List<ChatMessage> messages = (around != null)
+				? chatService.getChatMessagesAround(roomNo, around, limit)
+				: chatService.getChatMessagesBefore(roomNo, before, limit);
 		// 2. HTTP 200 OK와 함께 메시지 리스트를 반환
 		return ResponseEntity.ok(messages);
 	}
@@ -122,10 +130,39 @@ public class ChatController {
 									   @RequestParam("teamNo") Integer teamNo) {
 	    return chatService.getChatRooms(userNo, teamNo);
 	}
+	// 읽음 위치 이동 (body : userNo, messageNo)
+	@PutMapping("/room/{roomNo}/read")
+	public ResponseEntity<Void> markRead(@PathVariable("roomNo") Integer roomNo, @RequestBody Map<String, Integer> request) {
+		Integer userNo = request.get("userNo");
+		Integer messageNo = request.get("messageNo");
+		if (userNo == null || messageNo == null) {
+			return ResponseEntity.badRequest().build();
+		}
+		chatService.markRead(roomNo, userNo, messageNo);
+		return ResponseEntity.ok().build();
+	}
+	// 메시지 검색 (roomNo 없으면 참여 중인 모든 방, before=messageNo 로 다음 페이지)
+	@GetMapping("/search")
+	public List<ChatMessage> searchMessages(@RequestParam("userNo") Integer userNo,
+			@RequestParam(value = "roomNo", required = false) Integer roomNo,
+			@RequestParam("q") String query,
+			@RequestParam(value = "before", required = false) Integer before,
+			@RequestParam(value = "limit", required = false) Integer limit) {
+		return chatService.searchMessages(userNo, roomNo, query, before, limit);
+	}
 	// 특정 채팅방 메시지 목록
+	// - before 없음 : 최신 limit 개
+	// - before=messageNo : 해당 메시지 이전 limit 개 (위로 스크롤 시 이어 불러오기)
+	// - around=messageNo : 해당 메시지 주변 limit 개 (메시지로 이동)
 	@GetMapping("/room/{roomNo}/messages")
-	public List<ChatMessage> getChatMessages(@PathVariable("roomNo") Integer roomNo){
-		return chatService.getChatMessages(roomNo);
+	public List<ChatMessage> getChatMessages(@PathVariable("roomNo") Integer roomNo,
+			@RequestParam(value = "before", required = false) Integer before,
+			@RequestParam(value = "around", required = false) Integer around,
+			@RequestParam(value = "limit", required = false) Integer limit){
+		if (around != null) {
+			return chatService.getChatMessagesAround(roomNo, around, limit);
+		}
+		return chatService.getChatMessagesBefore(roomNo, before, limit);
 	}
 	
 	// WebSocket 메시지 및 파일 삭제 
@@ -138,12 +175,12 @@ public class ChatController {
 	}
 	
     // WebSocket 메시지 전송
+    // 순번(seq) 부여, 저장 큐 적재, 브로드캐스트는 write-behind 파이프라인에서 처리
+    // (저장 큐에 들어간 메시지만 방으로 브로드캐스트, DB 저장과 알림은 그 뒤에 비동기로)
     @MessageMapping("/chat.sendMessage")
     public void sendMessage(@Payload ChatMessage message) {
-    	System.out.println("[WebSocket] sendMessage 호출됨: " + message);
-    	chatService.saveMessage(message);
-        messagingTemplate.convertAndSend("/topic/chat/room/" + message.getRoomNo(), message);
-        System.out.println("[WebSocket] 메시지 브로드캐스트 완료: roomNo=" + message.getRoomNo());
+    	chatService.prepareMessage(message);
+    	chatMessageWriteBehind.enqueue(message);
     }
     // 특정 채팅방 참여자 목록 조회
     @GetMapping("/rooms/{roomNo}/members")
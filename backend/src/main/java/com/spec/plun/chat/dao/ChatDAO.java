@@ -4,16 +4,27 @@ import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import com.spec.plun.chat.entity.ChatMember;
 import com.spec.plun.chat.entity.ChatMessage;
+import com.spec.plun.chat.entity.ChatReadCursor;
 import com.spec.plun.chat.entity.ChatRoom;
 
 @Mapper
 public interface ChatDAO {
 	
-	// 채팅방의 모든 메시지 조회
-	List<ChatMessage> getChatMessageByRoomNo(Integer roomNo);
+	// 채팅방 메시지 커서 조회 (before 미만, 최신순 limit 개)
+	List<ChatMessage> getChatMessagesBefore(@Param("roomNo") Integer roomNo,
+											@Param("before") Integer before,
+											@Param("limit") int limit);
+	// 특정 메시지 주변 조회 (messageNo 이하 before 개 + 이후 after 개)
+	List<ChatMessage> getChatMessagesAround(@Param("roomNo") Integer roomNo,
+											@Param("messageNo") Integer messageNo,
+											@Param("before") int before,
+											@Param("after") int after);
+	// 메시지 번호 목록으로 조회 (검색 결과, 최신순)
+	List<ChatMessage> getChatMessagesByNos(@Param("messageNos") List<Integer> messageNos);
 	// 채팅방 생성
 	void createChatRoom(ChatRoom room);
 	// 채팅방 목록
@@ -23,12 +34,18 @@ public interface ChatDAO {
 										@Param("teamNo") Integer teamNo);
 	// 메시지 저장
 	void insertMessage(ChatMessage message);
+	// 메시지 일괄 저장 (multi-row INSERT)
+	int insertMessages(@Param("messages") List<ChatMessage> messages);
 	// 특정 채팅방의 참여자 목록 조회 (개선된 방식 - 파라미터 명시)
 	List<ChatMember> getChatMembers(@Param("roomNo") Integer roomNo);
 	// 채팅방에 사용자 추가 (참여자 등록)
     void insertMember(@Param("roomNo") Integer roomNo, @Param("userNo") Integer userNo);
+    // 채팅방에 여러 사용자 일괄 추가
+    int insertMembers(@Param("roomNo") Integer roomNo, @Param("userNos") List<Integer> userNos);
 	// 해당 사용자가 채팅방에 이미 참여 중인지 확인
     boolean existMember(@Param("roomNo") Integer roomNo, @Param("userNo") Integer userNo);
+    // 메시지가 사용자가 참여 중인 채팅방의 메시지인지 확인 (없는 메시지면 false)
+    boolean existMessageMember(@Param("messageNo") Integer messageNo, @Param("userNo") Integer userNo);
     // 채팅방에서 사용자 제거 (퇴장 - 나가기)
     void deleteChatMember(@Param("roomNo") Integer roomNo, @Param("userNo") Integer userNo);
     // 채팅방 이름 변경
@@ -36,7 +53,17 @@ public interface ChatDAO {
     // 채팅방 이름 조회
     ChatRoom getChatRoom(Integer roomNo);
     
-    String getUserNameByUserNo(Integer userNo);
     Integer getTeamNoByRoomNo(Integer roomNo);
+    
+    // 채팅방 참여자 번호 목록
+    List<Integer> getChatMemberUserNos(@Param("roomNo") Integer roomNo);
+    // 방별 읽음 위치(lastReadMessageNo) 이후 메시지 수 (방마다 최대 limit, roomNo/unreadCount 만 채움, 0 인 방은 빠짐)
+    List<ChatRoom> countMessagesAfterByRoom(@Param("cursors") List<ChatReadCursor> cursors, @Param("limit") int limit);
+    // 읽음 위치 일괄 저장 (앞으로만 이동)
+    int advanceReadCursors(@Param("cursors") List<ChatReadCursor> cursors);
+    // 사용자가 참여 중인 채팅방 번호 목록
+    List<Integer> getRoomNosByUserNo(@Param("userNo") Integer userNo);
+    // 검색 색인용 메시지 (after 보다 큰 message_no 순, after 가 null 이면 전체, 트랜잭션 안에서 사용)
+    Cursor<ChatMessage> streamMessagesForIndex(@Param("after") Integer after);
 
 }
@@ -11,6 +11,7 @@ import lombok.Data;
 public class ChatMessage {
 	
 	private Integer messageNo;
+	private Long seq; // 서버가 부여하는 전송 순번 (DB 저장 전 브로드캐스트 시 식별자)
 	private Integer roomNo;
 	private Integer userNo;
 	private String name;
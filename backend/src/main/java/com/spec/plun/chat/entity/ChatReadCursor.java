@@ -0,0 +1,15 @@
+package com.spec.plun.chat.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 채팅방 참여자의 읽음 위치 (일괄 저장용)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatReadCursor {
+	private Integer roomNo;
+	private Integer userNo;
+	private Integer lastReadMessageNo;
+}
@@ -12,6 +12,9 @@ public class ChatRoom {
 	private Integer teamNo;
 	private String roomName;
 	private LocalDateTime createDate;
+	// 방 목록 조회 시에만 채움
+	private Integer lastReadMessageNo;
+	private Integer unreadCount;
 	
     // 기본 생성자
     public ChatRoom() {}
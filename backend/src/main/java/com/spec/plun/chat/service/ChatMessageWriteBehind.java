@@ -0,0 +1,264 @@
+package com.spec.plun.chat.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spec.plun.chat.dao.ChatDAO;
+import com.spec.plun.chat.entity.ChatMessage;
+import com.spec.plun.common.util.GeneratedKeys;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * STOMP 채팅 메시지 write-behind 저장 파이프라인
+ *
+ * - 메시지에 서버 순번(seq)을 부여해 큐에 넣은 뒤 방으로 브로드캐스트하고, 실제 INSERT 는 전용 스레드가 담당.
+ *   (큐에 들어가지 못한 메시지가 방에 보이지 않도록 브로드캐스트는 큐에 넣은 뒤. 저장 확인이 먼저 도착하면 클라이언트가 보관해 두었다가 적용)
+ * - 큐에 쌓인 메시지는 batch-size 개가 모이거나 flush-interval 이 지나면 multi-row INSERT 로 저장.
+ * - 저장이 끝나면 방 토픽으로 MESSAGE_PERSISTED(seq → messageNo) 확인 메시지를 전송.
+ * - 큐가 가득 차면(DB 지연) offer-timeout 동안 대기 후, 그래도 자리가 없으면 호출 스레드에서 직접 저장하고 저장된 경우에만 브로드캐스트.
+ *   저장하지 못하면 방에는 보내지 않고 보낸 사람에게 MESSAGE_REJECTED 를 전송.
+ */
+@Slf4j
+@Component
+public class ChatMessageWriteBehind {
+
+	@Autowired
+	private ChatDAO chatDAO;
+
+	@Autowired
+	private ChatService chatService;
+
+	@Autowired
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Autowired
+	private ChatReadTracker chatReadTracker;
+
+	@Autowired
+	private ChatSearchIndex chatSearchIndex;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${chat.write-behind.capacity:10000}")
+	private int capacity;
+
+	@Value("${chat.write-behind.batch-size:200}")
+	private int batchSize;
+
+	@Value("${chat.write-behind.flush-interval-ms:50}")
+	private long flushIntervalMs;
+
+	@Value("${chat.write-behind.offer-timeout-ms:100}")
+	private long offerTimeoutMs;
+
+	@Value("${chat.write-behind.max-retries:3}")
+	private int maxRetries;
+
+	// 노드 재시작 후에도 겹치지 않도록 시작 시각 기준으로 순번을 시작
+	private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+	private BlockingQueue<ChatMessage> queue;
+	private Thread flusher;
+	private volatile boolean running;
+
+	@PostConstruct
+	public void start() {
+		queue = new ArrayBlockingQueue<>(capacity);
+		running = true;
+		flusher = new Thread(this::runFlushLoop, "chat-write-behind");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		// 남은 메시지를 모두 저장한 뒤 종료
+		running = false;
+		flusher.interrupt();
+		flusher.join(TimeUnit.SECONDS.toMillis(10));
+	}
+
+	// 브로드캐스트 전에 순번 부여
+	public ChatMessage assignSeq(ChatMessage message) {
+		message.setSeq(sequence.incrementAndGet());
+		return message;
+	}
+
+	// 저장 큐에 넣고 방으로 브로드캐스트 (순번이 없으면 여기서 부여)
+	public ChatMessage enqueue(ChatMessage message) {
+		if (message.getSeq() == null) {
+			assignSeq(message);
+		}
+
+		boolean accepted;
+		try {
+			accepted = queue.offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			accepted = false;
+		}
+
+		if (accepted) {
+			broadcast(message);
+			return message;
+		}
+
+		// 백프레셔 : DB 가 밀려 큐가 가득 찬 경우 호출 스레드에서 직접 저장
+		log.warn("[ChatWriteBehind] 큐 포화({}), 동기 저장으로 전환: seq={}", queue.size(), message.getSeq());
+		persist(List.of(message));
+		if (message.getMessageNo() != null) {
+			broadcast(message);
+		} else {
+			reject(message);
+		}
+		return message;
+	}
+
+	// 저장 대기 중인 메시지 수
+	public int pending() {
+		return queue.size();
+	}
+
+	private void runFlushLoop() {
+		List<ChatMessage> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				ChatMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+
+				// batch-size 에 도달하거나 첫 메시지 이후 flush-interval 이 지날 때까지 모음
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+				while (batch.size() < batchSize) {
+					queue.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if (batch.size() >= batchSize || remaining <= 0) {
+						break;
+					}
+					ChatMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+			} catch (InterruptedException e) {
+				// 종료 요청 : 남은 메시지를 비우는 동안에는 대기하지 않음
+				queue.drainTo(batch, batchSize - batch.size());
+			}
+
+			if (!batch.isEmpty()) {
+				persist(batch);
+				batch.clear();
+			}
+		}
+	}
+
+	private void persist(List<ChatMessage> batch) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				insertBatch(batch);
+				break;
+			} catch (RuntimeException e) {
+				if (attempt >= maxRetries) {
+					log.error("[ChatWriteBehind] 배치 저장 실패({}건), 개별 저장으로 전환", batch.size(), e);
+					persistOneByOne(batch);
+					return;
+				}
+				log.warn("[ChatWriteBehind] 배치 저장 재시도 {}/{}: {}", attempt, maxRetries, e.getMessage());
+				sleepBackoff(attempt);
+			}
+		}
+
+		for (ChatMessage message : batch) {
+			acknowledge(message, true);
+		}
+		chatReadTracker.onPersisted(batch);
+		chatSearchIndex.onPersisted(batch);
+		for (ChatMessage message : batch) {
+			notifySafely(message);
+		}
+	}
+
+	// 생성 키가 빠지면 INSERT 를 되돌려, 재시도/개별 저장에서 같은 메시지가 두 번 저장되지 않게 함
+	private void insertBatch(List<ChatMessage> batch) {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			chatDAO.insertMessages(batch);
+			GeneratedKeys.requireAll("insertMessages", batch, ChatMessage::getMessageNo);
+		});
+	}
+
+	// 배치 저장이 계속 실패할 때 문제 메시지만 골라내기 위한 개별 저장
+	private void persistOneByOne(List<ChatMessage> batch) {
+		for (ChatMessage message : batch) {
+			try {
+				chatDAO.insertMessage(message);
+				acknowledge(message, true);
+				chatReadTracker.onPersisted(List.of(message));
+				chatSearchIndex.onPersisted(List.of(message));
+				notifySafely(message);
+			} catch (RuntimeException e) {
+				log.error("[ChatWriteBehind] 메시지 저장 실패: seq={}, roomNo={}", message.getSeq(), message.getRoomNo(), e);
+				acknowledge(message, false);
+			}
+		}
+	}
+
+	private void broadcast(ChatMessage message) {
+		messagingTemplate.convertAndSend("/topic/chat/room/" + message.getRoomNo(), message);
+	}
+
+	// 방에 보내지 못한 메시지 : 보낸 사람 화면에서만 처리하도록 userNo 와 내용을 함께 보냄
+	private void reject(ChatMessage message) {
+		Map<String, Object> rejected = new HashMap<>();
+		rejected.put("type", "MESSAGE_REJECTED");
+		rejected.put("roomNo", message.getRoomNo());
+		rejected.put("userNo", message.getUserNo());
+		rejected.put("content", message.getContent());
+		messagingTemplate.convertAndSend("/topic/chat/room/" + message.getRoomNo(), rejected);
+	}
+
+	// 저장 결과(durability ack)를 방 토픽으로 전송
+	private void acknowledge(ChatMessage message, boolean persisted) {
+		Map<String, Object> ack = persisted
+				? Map.of("type", "MESSAGE_PERSISTED", "seq", message.getSeq(), "messageNo", message.getMessageNo(),
+						"roomNo", message.getRoomNo())
+				: Map.of("type", "MESSAGE_FAILED", "seq", message.getSeq(), "roomNo", message.getRoomNo());
+		messagingTemplate.convertAndSend("/topic/chat/room/" + message.getRoomNo(), ack);
+	}
+
+	private void notifySafely(ChatMessage message) {
+		try {
+			chatService.notifyMessage(message);
+		} catch (RuntimeException e) {
+			log.warn("[ChatWriteBehind] 알림 처리 실패: messageNo={}", message.getMessageNo(), e);
+		}
+	}
+
+	private void sleepBackoff(int attempt) {
+		try {
+			Thread.sleep(Math.min(1000L, 50L << attempt));
+		} catch (InterruptedException e) {
+			// 종료 중이면 바로 재시도
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,361 @@
+package com.spec.plun.chat.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import com.spec.plun.chat.dao.ChatDAO;
+import com.spec.plun.chat.entity.ChatMessage;
+import com.spec.plun.chat.entity.ChatReadCursor;
+import com.spec.plun.chat.entity.ChatRoom;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 채팅방 읽음 위치(last_read_message_no) + 안 읽은 메시지 수
+ *
+ * - 안 읽은 수는 Redis 해시 chat:unread:{userNo} (roomNo → 개수)에 두고, 메시지가 저장되면 스크립트 한 번으로
+ *   방 참여자(chat:members:{roomNo})의 값을 올림. 방 목록은 쿼리 한 번 + HMGET 한 번으로 채움.
+ * - 해시에 값이 없는 방(처음 조회, Redis 초기화 등)만 읽음 위치 이후 메시지 수를 DB 에서 (방별 GROUP BY 쿼리 한 번) 세어
+ *   HSETNX 로 채워 넣음.
+ *   (세는 사이 읽음 처리로 0 이 된 값 등 먼저 채워진 값은 덮어쓰지 않음)
+ *   값이 없는 필드는 올리지 않으므로 DB 로 다시 세기 전까지 틀린 값이 쌓이지 않음.
+ * - 읽음 위치는 메모리에서 (방, 사용자)별 최댓값만 남긴 뒤 flush-interval 마다 UPDATE 한 번으로 저장.
+ *   (저장 전 재시작하면 마지막 주기의 읽음 위치는 유실되고, 다음 읽음 처리 때 다시 앞으로 감)
+ * - 참여자 집합은 처음 쓰일 때 DB 에서 적재하고, 적재된 경우에만 입/퇴장을 반영함.
+ */
+@Slf4j
+@Component
+public class ChatReadTracker {
+
+	private static final String UNREAD_PREFIX = "chat:unread:";
+	private static final String MEMBERS_PREFIX = "chat:members:";
+	private static final String LAST_MESSAGE_KEY = "chat:room:last";
+
+	// KEYS[1]=방별 마지막 메시지, ARGV=(roomNo, 보낸 사람, 메시지 수, 마지막 messageNo) 반복
+	// 참여자 집합이 없는 방은 건너뛰고 그 roomNo 를 돌려줌
+	private static final DefaultRedisScript<List> ON_PERSISTED = new DefaultRedisScript<>("""
+			local missing = {}
+			for i = 1, #ARGV, 4 do
+			  local room, sender, count, last = ARGV[i], ARGV[i + 1], tonumber(ARGV[i + 2]), tonumber(ARGV[i + 3])
+			  local members = 'chat:members:' .. room
+			  if redis.call('EXISTS', members) == 0 then
+			    table.insert(missing, room)
+			  else
+			    if last > tonumber(redis.call('HGET', KEYS[1], room) or '0') then redis.call('HSET', KEYS[1], room, last) end
+			    for _, member in ipairs(redis.call('SMEMBERS', members)) do
+			      local unread = 'chat:unread:' .. member
+			      if member == sender then
+			        redis.call('HSET', unread, room, 0)
+			      elseif redis.call('HEXISTS', unread, room) == 1 then
+			        redis.call('HINCRBY', unread, room, count)
+			      end
+			    end
+			  end
+			end
+			return missing
+			""", List.class);
+
+	// KEYS[1]=방별 마지막 메시지, KEYS[2]=사용자 안 읽은 수, ARGV[1]=roomNo, ARGV[2]=읽은 messageNo
+	// 마지막 메시지까지 읽었으면 0, 아니면 필드를 지워 다음 조회 때 DB 로 셈
+	private static final DefaultRedisScript<Long> MARK_READ = new DefaultRedisScript<>("""
+			if tonumber(ARGV[2]) >= tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0') then
+			  redis.call('HSET', KEYS[2], ARGV[1], 0)
+			  return 1
+			end
+			redis.call('HDEL', KEYS[2], ARGV[1])
+			return 0
+			""", Long.class);
+
+	// KEYS[1]=사용자 안 읽은 수, ARGV=(roomNo, DB 로 센 개수) 반복
+	// 비어 있는 필드만 채움 (세는 사이 읽음 처리/메시지 반영으로 생긴 값은 덮어쓰지 않음), 필드별 최종 값을 돌려줌
+	private static final DefaultRedisScript<List> BACKFILL = new DefaultRedisScript<>("""
+			local values = {}
+			for i = 1, #ARGV, 2 do
+			  redis.call('HSETNX', KEYS[1], ARGV[i], ARGV[i + 1])
+			  table.insert(values, redis.call('HGET', KEYS[1], ARGV[i]))
+			end
+			return values
+			""", List.class);
+
+	// KEYS[1]=참여자 집합 : 이미 적재된 경우에만 추가 (일부만 든 집합이 생기지 않도록)
+	private static final DefaultRedisScript<Long> ADD_IF_LOADED = new DefaultRedisScript<>("""
+			if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+			return redis.call('SADD', KEYS[1], unpack(ARGV))
+			""", Long.class);
+
+	// KEYS[1]=참여자 집합, ARGV=userNo 목록 (비어 있지 않음)
+	private static final DefaultRedisScript<Long> LOAD_MEMBERS = new DefaultRedisScript<>("""
+			redis.call('DEL', KEYS[1])
+			return redis.call('SADD', KEYS[1], unpack(ARGV))
+			""", Long.class);
+
+	@Autowired
+	private ChatDAO chatDAO;
+
+	@Autowired
+	private StringRedisTemplate redisTemplate;
+
+	@Value("${chat.read-cursor.flush-interval-ms:1000}")
+	private long flushIntervalMs;
+
+	@Value("${chat.read-cursor.max-count:1000}")
+	private int maxCount;
+
+	// (roomNo << 32 | userNo) → 아직 저장하지 않은 읽음 위치
+	private final Map<Long, Integer> pendingCursors = new ConcurrentHashMap<>();
+
+	private Thread flusher;
+	private volatile boolean running;
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		flusher = new Thread(this::runFlushLoop, "chat-read-cursor-flush");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		flusher.interrupt();
+		flusher.join(TimeUnit.SECONDS.toMillis(5));
+		flush();
+	}
+
+	// 저장된 메시지 반영 : 보낸 사람은 읽음 처리, 나머지 참여자는 안 읽은 수 증가
+	public void onPersisted(List<ChatMessage> messages) {
+		// (roomNo, 보낸 사람) 별 메시지 수와 마지막 messageNo
+		Map<Long, int[]> groups = new LinkedHashMap<>();
+		for (ChatMessage message : messages) {
+			if (message.getMessageNo() == null) {
+				continue;
+			}
+			int[] group = groups.computeIfAbsent(key(message.getRoomNo(), message.getUserNo()), k -> new int[2]);
+			group[0]++;
+			group[1] = Math.max(group[1], message.getMessageNo());
+			pendingCursors.merge(key(message.getRoomNo(), message.getUserNo()), message.getMessageNo(), Math::max);
+		}
+		if (groups.isEmpty()) {
+			return;
+		}
+		try {
+			List<String> missing = applyPersisted(groups);
+			if (missing.isEmpty()) {
+				return;
+			}
+			// 참여자 집합을 적재한 뒤 해당 방만 다시 반영
+			Map<Long, int[]> retry = new LinkedHashMap<>();
+			for (String roomNo : missing) {
+				loadMembers(Integer.valueOf(roomNo));
+			}
+			for (Map.Entry<Long, int[]> group : groups.entrySet()) {
+				if (missing.contains(String.valueOf(roomOf(group.getKey())))) {
+					retry.put(group.getKey(), group.getValue());
+				}
+			}
+			applyPersisted(retry);
+		} catch (RuntimeException e) {
+			log.warn("[ChatReadTracker] 안 읽은 수 갱신 실패", e);
+		}
+	}
+
+	// 읽음 위치 이동 (뒤로는 가지 않음)
+	public void markRead(Integer roomNo, Integer userNo, Integer messageNo) {
+		pendingCursors.merge(key(roomNo, userNo), messageNo, Math::max);
+		try {
+			redisTemplate.execute(MARK_READ, List.of(LAST_MESSAGE_KEY, UNREAD_PREFIX + userNo),
+					String.valueOf(roomNo), String.valueOf(messageNo));
+		} catch (RuntimeException e) {
+			log.warn("[ChatReadTracker] 읽음 처리 실패 - roomNo: {}, userNo: {}", roomNo, userNo, e);
+		}
+	}
+
+	// 방 목록에 읽음 위치와 안 읽은 수를 채움 (HMGET 한 번, 값이 없는 방만 DB 쿼리 한 번으로 셈)
+	public void fillUnreadCounts(Integer userNo, List<ChatRoom> rooms) {
+		if (rooms.isEmpty()) {
+			return;
+		}
+		List<Object> fields = new ArrayList<>(rooms.size());
+		for (ChatRoom room : rooms) {
+			Integer pending = pendingCursors.get(key(room.getRoomNo(), userNo));
+			if (pending != null && (room.getLastReadMessageNo() == null || pending > room.getLastReadMessageNo())) {
+				room.setLastReadMessageNo(pending);
+			}
+			fields.add(String.valueOf(room.getRoomNo()));
+		}
+
+		List<Object> counts;
+		try {
+			counts = redisTemplate.opsForHash().multiGet(UNREAD_PREFIX + userNo, fields);
+		} catch (RuntimeException e) {
+			log.warn("[ChatReadTracker] 안 읽은 수 조회 실패, DB 로 계산 - userNo: {}", userNo, e);
+			counts = null;
+		}
+
+		List<ChatRoom> counted = new ArrayList<>();
+		List<ChatReadCursor> cursors = new ArrayList<>();
+		for (int i = 0; i < rooms.size(); i++) {
+			ChatRoom room = rooms.get(i);
+			Object count = counts != null ? counts.get(i) : null;
+			if (count != null) {
+				room.setUnreadCount(Integer.parseInt(count.toString()));
+				continue;
+			}
+			int lastRead = room.getLastReadMessageNo() != null ? room.getLastReadMessageNo() : 0;
+			counted.add(room);
+			cursors.add(new ChatReadCursor(room.getRoomNo(), userNo, lastRead));
+		}
+		if (counted.isEmpty()) {
+			return;
+		}
+
+		Map<Integer, Integer> unreadByRoom = new HashMap<>();
+		for (ChatRoom row : chatDAO.countMessagesAfterByRoom(cursors, maxCount)) {
+			unreadByRoom.put(row.getRoomNo(), row.getUnreadCount());
+		}
+		List<String> backfill = new ArrayList<>(counted.size() * 2);
+		for (ChatRoom room : counted) {
+			int unread = unreadByRoom.getOrDefault(room.getRoomNo(), 0);
+			room.setUnreadCount(unread);
+			backfill.add(String.valueOf(room.getRoomNo()));
+			backfill.add(String.valueOf(unread));
+		}
+		if (counts != null) {
+			try {
+				@SuppressWarnings("unchecked")
+				List<Object> stored = redisTemplate.execute(BACKFILL, List.of(UNREAD_PREFIX + userNo), backfill.toArray());
+				// 먼저 채워진 값이 있으면 그 값으로 응답
+				for (int i = 0; stored != null && i < stored.size() && i < counted.size(); i++) {
+					if (stored.get(i) != null) {
+						counted.get(i).setUnreadCount(Integer.parseInt(stored.get(i).toString()));
+					}
+				}
+			} catch (RuntimeException e) {
+				log.warn("[ChatReadTracker] 안 읽은 수 저장 실패 - userNo: {}", userNo, e);
+			}
+		}
+	}
+
+	public void onJoined(Integer roomNo, Integer userNo) {
+		try {
+			redisTemplate.execute(ADD_IF_LOADED, List.of(MEMBERS_PREFIX + roomNo), String.valueOf(userNo));
+		} catch (RuntimeException e) {
+			log.warn("[ChatReadTracker] 참여자 추가 반영 실패 - roomNo: {}", roomNo, e);
+		}
+	}
+
+	public void onLeft(Integer roomNo, Integer userNo) {
+		pendingCursors.remove(key(roomNo, userNo));
+		try {
+			redisTemplate.opsForSet().remove(MEMBERS_PREFIX + roomNo, String.valueOf(userNo));
+			redisTemplate.opsForHash().delete(UNREAD_PREFIX + userNo, String.valueOf(roomNo));
+		} catch (RuntimeException e) {
+			log.warn("[ChatReadTracker] 참여자 퇴장 반영 실패 - roomNo: {}", roomNo, e);
+		}
+	}
+
+	// 저장 대기 중인 읽음 위치 수
+	public int pendingWrites() {
+		return pendingCursors.size();
+	}
+
+	private List<String> applyPersisted(Map<Long, int[]> groups) {
+		List<String> args = new ArrayList<>(groups.size() * 4);
+		for (Map.Entry<Long, int[]> group : groups.entrySet()) {
+			args.add(String.valueOf(roomOf(group.getKey())));
+			args.add(String.valueOf(userOf(group.getKey())));
+			args.add(String.valueOf(group.getValue()[0]));
+			args.add(String.valueOf(group.getValue()[1]));
+		}
+		@SuppressWarnings("unchecked")
+		List<Object> missing = redisTemplate.execute(ON_PERSISTED, List.of(LAST_MESSAGE_KEY), args.toArray());
+		List<String> rooms = new ArrayList<>();
+		if (missing != null) {
+			for (Object roomNo : missing) {
+				rooms.add(roomNo.toString());
+			}
+		}
+		return rooms;
+	}
+
+	private void loadMembers(Integer roomNo) {
+		List<Integer> userNos = chatDAO.getChatMemberUserNos(roomNo);
+		if (userNos.isEmpty()) {
+			return;
+		}
+		List<String> args = new ArrayList<>(userNos.size());
+		for (Integer userNo : userNos) {
+			args.add(String.valueOf(userNo));
+		}
+		redisTemplate.execute(LOAD_MEMBERS, List.of(MEMBERS_PREFIX + roomNo), args.toArray());
+	}
+
+	private void runFlushLoop() {
+		while (running) {
+			try {
+				Thread.sleep(flushIntervalMs);
+			} catch (InterruptedException e) {
+				return;
+			}
+			try {
+				flush();
+			} catch (RuntimeException e) {
+				log.warn("[ChatReadTracker] 읽음 위치 저장 실패", e);
+			}
+		}
+	}
+
+	void flush() {
+		if (pendingCursors.isEmpty()) {
+			return;
+		}
+		List<ChatReadCursor> cursors = new ArrayList<>();
+		for (Map.Entry<Long, Integer> entry : pendingCursors.entrySet()) {
+			// 꺼내는 사이 더 앞으로 간 값은 남겨 두고 다음 주기에 저장
+			if (pendingCursors.remove(entry.getKey(), entry.getValue())) {
+				cursors.add(new ChatReadCursor(roomOf(entry.getKey()), userOf(entry.getKey()), entry.getValue()));
+			}
+		}
+		if (cursors.isEmpty()) {
+			return;
+		}
+		// 노드끼리 같은 순서로 행 잠금을 잡도록 PK 순 정렬
+		cursors.sort(Comparator.comparing(ChatReadCursor::getRoomNo).thenComparing(ChatReadCursor::getUserNo));
+		try {
+			chatDAO.advanceReadCursors(cursors);
+		} catch (RuntimeException e) {
+			// 다음 주기에 다시 저장
+			for (ChatReadCursor cursor : cursors) {
+				pendingCursors.merge(key(cursor.getRoomNo(), cursor.getUserNo()), cursor.getLastReadMessageNo(), Math::max);
+			}
+			throw e;
+		}
+	}
+
+	private static long key(Integer roomNo, Integer userNo) {
+		return ((long) roomNo << 32) | (userNo & 0xFFFFFFFFL);
+	}
+
+	private static int roomOf(long key) {
+		return (int) (key >>> 32);
+	}
+
+	private static int userOf(long key) {
+		return (int) key;
+	}
+}
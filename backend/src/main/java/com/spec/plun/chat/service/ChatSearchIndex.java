@@ -0,0 +1,519 @@
+package com.spec.plun.chat.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.spec.plun.chat.entity.ChatMessage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 채팅 메시지 전문 검색 색인 (Lucene, 노드 로컬 디스크)
+ *
+ * - 메시지가 저장되면 바로 색인하고 (트랜잭션 안이면 커밋 후), refresh-interval 마다 검색에 반영, commit-interval 마다 디스크에 확정.
+ *   확정할 때 색인한 가장 큰 messageNo 를 commit user data 에 함께 남기고, 시작 시 ChatSearchIndexer 가 그 뒤의 메시지만 이어 색인.
+ * - 색인은 index-dir 아래 gen-N 디렉터리에 두고, 전체 재색인은 새 세대 디렉터리에 만든 뒤 바꿔 끼움.
+ *   (재색인 중에도 기존 색인으로 검색되고, 그 사이 저장된 메시지는 양쪽에 색인. 끝나지 못한 세대는 다음 시작 때 지움)
+ * - 형태소 분석은 Nori(KoreanAnalyzer) : 조사/어미를 떼어 "회의를", "회의에서" 모두 "회의" 로 찾음. 영문은 소문자로 맞춤.
+ * - 검색어의 모든 토큰을 포함하는 메시지를 방 조건으로 거른 뒤 messageNo 내림차순 (before 커서로 다음 페이지).
+ *   색인에는 번호/방/형태소만 두고 내용은 DB 에서 PK 로 읽으므로, 지워진 메시지는 결과에서 자연히 빠짐.
+ * - 색인은 노드마다 따로이므로 다른 노드가 저장한 메시지는 그 노드 색인에만 들어감. (검색 요청도 같은 노드로)
+ */
+@Slf4j
+@Component
+public class ChatSearchIndex {
+
+	static final String ID = "id";
+	static final String MESSAGE_NO = "messageNo";
+	static final String ROOM_NO = "roomNo";
+	static final String CONTENT = "content";
+
+	// commit user data : 색인한 가장 큰 messageNo
+	static final String MAX_MESSAGE_NO = "maxMessageNo";
+
+	private static final String GENERATION_PREFIX = "gen-";
+
+	private static final Sort NEWEST_FIRST = new Sort(new SortField(MESSAGE_NO, SortField.Type.INT, true));
+
+	@Value("${chat.search.index-dir:./data/chat-index}")
+	private String indexDir;
+
+	@Value("${chat.search.refresh-interval-ms:1000}")
+	private long refreshIntervalMs;
+
+	@Value("${chat.search.commit-interval-ms:30000}")
+	private long commitIntervalMs;
+
+	private final Analyzer analyzer = new KoreanAnalyzer();
+	private final LongAdder queryCount = new LongAdder();
+	private final LongAdder queryNanos = new LongAdder();
+
+	// 세대 교체 중에는 색인/검색을 잠시 막음 (닫힌 writer/searcher 를 쓰지 않도록)
+	private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+	private Path baseDir;                    // null 이면 메모리 색인 (테스트)
+	private volatile Generation live;
+	private volatile Generation rebuilding;  // 재색인 중인 새 세대 (그동안 저장되는 메시지는 양쪽에 색인)
+
+	private Thread refresher;
+	private volatile boolean running;
+
+	// 색인 한 세대 (디렉터리 하나)
+	private static final class Generation {
+		final long number;
+		final Directory directory;
+		final IndexWriter writer;
+		final SearcherManager searcherManager;
+		final AtomicInteger maxMessageNo = new AtomicInteger();
+
+		Generation(long number, Directory directory, IndexWriter writer) throws IOException {
+			this.number = number;
+			this.directory = directory;
+			this.writer = writer;
+			this.searcherManager = new SearcherManager(writer, null);
+			Integer committed = committedMaxMessageNo();
+			if (committed != null) {
+				maxMessageNo.set(committed);
+			}
+		}
+
+		// 마지막 확정 때 남긴 가장 큰 messageNo (기록이 없으면 null)
+		Integer committedMaxMessageNo() {
+			for (Map.Entry<String, String> entry : writer.getLiveCommitData()) {
+				if (MAX_MESSAGE_NO.equals(entry.getKey())) {
+					return Integer.valueOf(entry.getValue());
+				}
+			}
+			return null;
+		}
+
+		void index(ChatMessage message) throws IOException {
+			writer.updateDocument(new Term(ID, message.getMessageNo().toString()), toDocument(message));
+			// 문서를 넣은 뒤에 올려야 확정된 값보다 작은 메시지가 빠지지 않음
+			maxMessageNo.accumulateAndGet(message.getMessageNo(), Math::max);
+		}
+
+		// 색인한 가장 큰 messageNo 를 남기고 확정
+		void commit() throws IOException {
+			writer.setLiveCommitData(Map.of(MAX_MESSAGE_NO, Integer.toString(maxMessageNo.get())).entrySet());
+			writer.commit();
+		}
+
+		void close() throws IOException {
+			searcherManager.close();
+			writer.close();
+			directory.close();
+		}
+	}
+
+	@PostConstruct
+	public void start() throws IOException {
+		baseDir = Paths.get(indexDir).toAbsolutePath();
+		Files.createDirectories(baseDir);
+		live = openGeneration(currentGeneration(), IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+		running = true;
+		refresher = new Thread(this::runRefreshLoop, "chat-search-refresh");
+		refresher.setDaemon(true);
+		refresher.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException, IOException {
+		running = false;
+		if (refresher != null) {
+			refresher.interrupt();
+			refresher.join(TimeUnit.SECONDS.toMillis(10));
+		}
+		close();
+	}
+
+	// 주어진 디렉터리로 열기 (테스트용, 재색인은 메모리에 새로 만듦)
+	void open(Directory directory) throws IOException {
+		baseDir = null;
+		live = new Generation(0, directory, new IndexWriter(directory, writerConfig(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)));
+	}
+
+	void close() throws IOException {
+		swapLock.writeLock().lock();
+		try {
+			live.commit();
+			live.close();
+		} finally {
+			swapLock.writeLock().unlock();
+		}
+	}
+
+	// 마지막으로 확정된 색인의 가장 큰 messageNo (확정 기록이 없으면 null)
+	public Integer committedMaxMessageNo() {
+		return live.committedMaxMessageNo();
+	}
+
+	// 저장된 메시지 색인 (트랜잭션 안이면 커밋 후)
+	public void onPersisted(List<ChatMessage> messages) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					indexSafely(messages);
+				}
+			});
+		} else {
+			indexSafely(messages);
+		}
+	}
+
+	private void indexSafely(List<ChatMessage> messages) {
+		try {
+			index(messages);
+		} catch (RuntimeException e) {
+			// 검색 색인 실패로 메시지 전송이 막히지 않도록 (재색인으로 복구)
+			log.warn("[ChatSearchIndex] 메시지 색인 실패 - count: {}", messages.size(), e);
+		}
+	}
+
+	// messageNo 기준으로 덮어쓰므로 같은 메시지를 여러 번 색인해도 한 문서 (색인한 수 반환)
+	// 잠금은 메시지마다 잡으므로 Cursor 처럼 긴 입력을 흘려 넣어도 세대 교체를 오래 막지 않음
+	public long index(Iterable<ChatMessage> messages) {
+		long count = 0;
+		for (ChatMessage message : messages) {
+			if (message.getMessageNo() == null || message.getContent() == null || message.getContent().isBlank()) {
+				continue;
+			}
+			swapLock.readLock().lock();
+			try {
+				live.index(message);
+				Generation next = rebuilding;
+				if (next != null) {
+					next.index(message);
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} finally {
+				swapLock.readLock().unlock();
+			}
+			count++;
+		}
+		return count;
+	}
+
+	// 확정 이후 저장된 메시지 이어 색인 : 색인하고 확정한 뒤 검색에 반영 (색인한 수 반환)
+	public long catchUp(Iterable<ChatMessage> messages) {
+		long count = index(messages);
+		swapLock.readLock().lock();
+		try {
+			live.commit();
+			live.searcherManager.maybeRefreshBlocking();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			swapLock.readLock().unlock();
+		}
+		return count;
+	}
+
+	/**
+	 * 전체 재색인 : 새 세대 디렉터리에 받은 메시지를 색인하고 확정한 뒤 기존 색인과 바꿔 끼움 (색인한 수 반환)
+	 * 그동안 검색은 기존 색인으로 계속되고, 실패하면 새 세대만 버림.
+	 * messages 를 읽기 시작한 뒤 저장된 메시지는 양쪽에 색인되지만, 그 직전 것까지 채우려면 끝난 뒤 catchUp 으로 이어 색인해야 함.
+	 */
+	public synchronized long rebuild(Iterable<ChatMessage> messages) {
+		Generation fresh;
+		try {
+			fresh = openGeneration(live.number + 1, IndexWriterConfig.OpenMode.CREATE);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		rebuilding = fresh;
+		long count = 0;
+		boolean built = false;
+		try {
+			for (ChatMessage message : messages) {
+				if (message.getMessageNo() == null || message.getContent() == null || message.getContent().isBlank()) {
+					continue;
+				}
+				fresh.index(message);
+				if (++count % 100_000 == 0) {
+					log.info("[ChatSearchIndex] 재색인 진행 - {}건", count);
+				}
+			}
+			fresh.commit();
+			fresh.searcherManager.maybeRefreshBlocking();
+			built = true;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			if (!built) {
+				// 양쪽에 색인하던 요청이 끝난 뒤 버림
+				swapLock.writeLock().lock();
+				try {
+					rebuilding = null;
+				} finally {
+					swapLock.writeLock().unlock();
+				}
+				discard(fresh);
+			}
+		}
+
+		Generation old;
+		swapLock.writeLock().lock();
+		try {
+			old = live;
+			live = fresh;
+			rebuilding = null;
+		} finally {
+			swapLock.writeLock().unlock();
+		}
+		discard(old);
+		log.info("[ChatSearchIndex] 색인 세대 교체 - {} -> {}", old.number, fresh.number);
+		return count;
+	}
+
+	/**
+	 * roomNos 안에서 검색어의 모든 토큰을 포함하는 메시지 번호를 최신순으로 limit 개 (before 가 있으면 그 미만)
+	 * 메시지 내용은 색인에 저장하지 않으므로 호출하는 쪽에서 DB 로 조회함.
+	 */
+	public List<Integer> search(String query, Collection<Integer> roomNos, Integer before, int limit) {
+		List<Integer> result = new ArrayList<>();
+		List<String> terms = analyze(query);
+		if (terms.isEmpty() || roomNos.isEmpty()) {
+			return result;
+		}
+
+		BooleanQuery.Builder builder = new BooleanQuery.Builder();
+		for (String term : terms) {
+			builder.add(new TermQuery(new Term(CONTENT, term)), Occur.MUST);
+		}
+		builder.add(IntPoint.newSetQuery(ROOM_NO, roomNos), Occur.FILTER);
+		if (before != null) {
+			builder.add(IntPoint.newRangeQuery(MESSAGE_NO, Integer.MIN_VALUE, before - 1), Occur.FILTER);
+		}
+
+		long started = System.nanoTime();
+		swapLock.readLock().lock();
+		try {
+			SearcherManager searcherManager = live.searcherManager;
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				// 정렬 값이 곧 messageNo 이므로 문서를 따로 읽지 않음
+				TopFieldDocs top = searcher.search(builder.build(), limit, NEWEST_FIRST);
+				for (ScoreDoc hit : top.scoreDocs) {
+					result.add((Integer) ((FieldDoc) hit).fields[0]);
+				}
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			swapLock.readLock().unlock();
+			queryCount.increment();
+			queryNanos.add(System.nanoTime() - started);
+		}
+		return result;
+	}
+
+	// 색인된 메시지 수 (마지막 refresh 기준)
+	public int indexedCount() {
+		swapLock.readLock().lock();
+		try {
+			SearcherManager searcherManager = live.searcherManager;
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				return searcher.getIndexReader().numDocs();
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			swapLock.readLock().unlock();
+		}
+	}
+
+	public long getQueryCount() {
+		return queryCount.sum();
+	}
+
+	public long getQueryNanos() {
+		return queryNanos.sum();
+	}
+
+	// 검색에 즉시 반영 (재색인/테스트용)
+	void refresh() throws IOException {
+		live.searcherManager.maybeRefreshBlocking();
+	}
+
+	private void runRefreshLoop() {
+		long lastCommit = System.nanoTime();
+		while (running) {
+			try {
+				Thread.sleep(refreshIntervalMs);
+			} catch (InterruptedException e) {
+				return;
+			}
+			swapLock.readLock().lock();
+			try {
+				live.searcherManager.maybeRefresh();
+				if (System.nanoTime() - lastCommit >= TimeUnit.MILLISECONDS.toNanos(commitIntervalMs)) {
+					if (live.writer.hasUncommittedChanges()) {
+						live.commit();
+					}
+					lastCommit = System.nanoTime();
+				}
+			} catch (IOException | RuntimeException e) {
+				log.warn("[ChatSearchIndex] 색인 반영 실패", e);
+			} finally {
+				swapLock.readLock().unlock();
+			}
+		}
+	}
+
+	// 확정된 색인이 있는 가장 최근 세대 번호 (없으면 1), 나머지 세대(이전 세대, 끝나지 못한 재색인)는 지움
+	private long currentGeneration() throws IOException {
+		List<Long> numbers = new ArrayList<>();
+		try (Stream<Path> dirs = Files.list(baseDir)) {
+			dirs.map(dir -> dir.getFileName().toString())
+					.filter(name -> name.startsWith(GENERATION_PREFIX))
+					.forEach(name -> {
+						try {
+							numbers.add(Long.parseLong(name.substring(GENERATION_PREFIX.length())));
+						} catch (NumberFormatException e) {
+							// 세대 디렉터리가 아님
+						}
+					});
+		}
+		numbers.sort(Comparator.reverseOrder());
+
+		long current = 0;
+		for (long number : numbers) {
+			if (current == 0) {
+				try (Directory directory = FSDirectory.open(generationPath(number))) {
+					if (DirectoryReader.indexExists(directory)) {
+						current = number;
+						continue;
+					}
+				}
+			}
+			deleteRecursively(generationPath(number));
+		}
+		return current == 0 ? 1 : current;
+	}
+
+	private Generation openGeneration(long number, IndexWriterConfig.OpenMode mode) throws IOException {
+		Directory directory = baseDir == null ? new ByteBuffersDirectory() : FSDirectory.open(generationPath(number));
+		return new Generation(number, directory, new IndexWriter(directory, writerConfig(mode)));
+	}
+
+	private IndexWriterConfig writerConfig(IndexWriterConfig.OpenMode mode) {
+		IndexWriterConfig config = new IndexWriterConfig(analyzer);
+		config.setOpenMode(mode);
+		// 세그먼트를 최신순으로 정렬해 두면 최신순 검색이 limit 개를 채우는 즉시 끝남
+		config.setIndexSort(NEWEST_FIRST);
+		return config;
+	}
+
+	// 세대를 닫고 디렉터리 삭제 (실패해도 다음 시작 때 다시 지움)
+	private void discard(Generation generation) {
+		try {
+			generation.close();
+			if (baseDir != null) {
+				deleteRecursively(generationPath(generation.number));
+			}
+		} catch (IOException | RuntimeException e) {
+			log.warn("[ChatSearchIndex] 이전 색인 세대 삭제 실패 - {}", generation.number, e);
+		}
+	}
+
+	private Path generationPath(long number) {
+		return baseDir.resolve(GENERATION_PREFIX + number);
+	}
+
+	private static void deleteRecursively(Path dir) throws IOException {
+		if (!Files.exists(dir)) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(dir)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+
+	private List<String> analyze(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null || text.isBlank()) {
+			return terms;
+		}
+		try (TokenStream stream = analyzer.tokenStream(CONTENT, text)) {
+			CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+			stream.reset();
+			while (stream.incrementToken()) {
+				if (!terms.contains(term.toString())) {
+					terms.add(term.toString());
+				}
+			}
+			stream.end();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return terms;
+	}
+
+	private static Document toDocument(ChatMessage message) {
+		Document doc = new Document();
+		doc.add(new StringField(ID, message.getMessageNo().toString(), Field.Store.NO));
+		doc.add(new IntPoint(MESSAGE_NO, message.getMessageNo()));
+		doc.add(new NumericDocValuesField(MESSAGE_NO, message.getMessageNo()));
+		doc.add(new IntPoint(ROOM_NO, message.getRoomNo()));
+		doc.add(new TextField(CONTENT, message.getContent(), Field.Store.NO));
+		return doc;
+	}
+}
@@ -0,0 +1,103 @@
+package com.spec.plun.chat.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.ToLongFunction;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spec.plun.chat.dao.ChatDAO;
+import com.spec.plun.chat.entity.ChatMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * TB_CHAT_MESSAGE 를 검색 색인에 반영하는 색인기
+ *
+ * - MyBatis Cursor 로 message_no 순서대로 fetch-size 씩 흘려 받아 색인하므로 메시지 수와 관계없이 메모리 사용이 일정함.
+ *   (Cursor 는 읽기 전용 트랜잭션 안에서만 열려 있음)
+ * - 시작 시 색인에 확정된 가장 큰 messageNo 가 있으면 그 뒤의 메시지만 이어 색인 (message_no > ? 범위).
+ *   확정 기록이 없거나 rebuild-on-start 이면 새 세대로 전체 재색인. 모두 별도 스레드에서 하고, 그동안 저장되는 메시지는 평소대로 색인됨.
+ * - 메시지는 번호 순서대로 커밋되지 않으므로 (동시 트랜잭션, 일괄 저장) 확정된 번호보다 catch-up-overlap 만큼 앞부터 다시 읽음.
+ *   같은 메시지는 덮어쓰므로 겹쳐 읽어도 문서가 늘지 않음.
+ */
+@Slf4j
+@Component
+public class ChatSearchIndexer {
+
+	@Autowired
+	private ChatDAO chatDAO;
+
+	@Autowired
+	private ChatSearchIndex chatSearchIndex;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${chat.search.rebuild-on-start:false}")
+	private boolean rebuildOnStart;
+
+	@Value("${chat.search.catch-up-overlap:1000}")
+	private int catchUpOverlap;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady() {
+		Integer committed = chatSearchIndex.committedMaxMessageNo();
+		boolean full = rebuildOnStart || committed == null;
+		Thread thread = new Thread(() -> {
+			try {
+				if (full) {
+					rebuild();
+				} else {
+					catchUp(committed);
+				}
+			} catch (RuntimeException e) {
+				log.warn("[ChatSearchIndexer] 색인 실패 - full: {}", full, e);
+			}
+		}, "chat-search-rebuild");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	// 전체 재색인 후 교체, 재색인을 읽기 시작하기 직전에 저장된 메시지까지 이어 색인 (재색인한 메시지 수 반환)
+	public long rebuild() {
+		long started = System.currentTimeMillis();
+		long count = stream(null, chatSearchIndex::rebuild);
+		log.info("[ChatSearchIndexer] 재색인 완료 - {}건, {}ms", count, System.currentTimeMillis() - started);
+		Integer committed = chatSearchIndex.committedMaxMessageNo();
+		if (committed != null) {
+			catchUp(committed);
+		}
+		return count;
+	}
+
+	// 확정된 messageNo 이후 메시지 이어 색인 (색인한 메시지 수 반환)
+	public long catchUp(int committedMaxMessageNo) {
+		long started = System.currentTimeMillis();
+		int after = Math.max(0, committedMaxMessageNo - catchUpOverlap);
+		long count = stream(after, chatSearchIndex::catchUp);
+		log.info("[ChatSearchIndexer] 이어 색인 완료 - messageNo > {}, {}건, {}ms", after, count,
+				System.currentTimeMillis() - started);
+		return count;
+	}
+
+	private long stream(Integer after, ToLongFunction<Iterable<ChatMessage>> consumer) {
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		Long count = readOnly.execute(status -> {
+			try (Cursor<ChatMessage> cursor = chatDAO.streamMessagesForIndex(after)) {
+				return consumer.applyAsLong(cursor);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		return count != null ? count : 0;
+	}
+}
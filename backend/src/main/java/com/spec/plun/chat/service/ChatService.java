@@ -2,11 +2,18 @@ package com.spec.plun.chat.service;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.spec.plun.alarm.service.AlarmService;
 import com.spec.plun.attachment.dao.AttachmentDAO;
@@ -18,9 +25,17 @@ import com.spec.plun.chat.entity.ChatMember;
 import com.spec.plun.chat.entity.ChatMessage;
 import com.spec.plun.chat.entity.ChatRoom;
 import com.spec.plun.chat.entity.MessageType;
+import com.spec.plun.member.service.MemberDirectory;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
 public class ChatService {
+	// 메시지 페이지 기본/최대 크기
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	public static final int MAX_PAGE_SIZE = 200;
+	
 	@Autowired
 	private ChatDAO chatDAO;
 	
@@ -33,6 +48,15 @@ public class ChatService {
 	@Autowired
 	private AlarmService alarmService;
 	
+	@Autowired
+	private MemberDirectory memberDirectory;
+	
+	@Autowired
+	private ChatReadTracker chatReadTracker;
+	
+	@Autowired
+	private ChatSearchIndex chatSearchIndex;
+	
 	public ChatMessage sendMessageWithOptionalAttachment(ChatMessageRequestDTO dto, List<MultipartFile> files) throws IOException {
 	
 		ChatMessage message = new ChatMessage();
@@ -47,7 +71,9 @@ public class ChatService {
 
 	    // 메시지 저장
 	    chatDAO.insertMessage(message); // messageNo가 생성됨
-	    System.out.println("[ChatService] 메시지 저장 완료: messageNo=" + message.getMessageNo());
+	    log.debug("[ChatService] 메시지 저장 완료: messageNo={}", message.getMessageNo());
+	    chatReadTracker.onPersisted(List.of(message));
+	    chatSearchIndex.onPersisted(List.of(message));
 	    
 	    if (files != null && !files.isEmpty()) {
 	        for (MultipartFile file : files) {
@@ -55,7 +81,7 @@ public class ChatService {
 	        }
 	    }
 	    // 작성자 이름 세팅 추가
-	    String name = chatDAO.getUserNameByUserNo(message.getUserNo());
+	    String name = memberDirectory.getName(message.getUserNo());
 	    message.setName(name);
 	    
 	    // 첨부파일 리스트 세팅
@@ -79,31 +105,79 @@ public class ChatService {
 	    return message;
 	}
 	
-	public List<ChatMessage> getChatMessagesWithAttachments(Integer roomNo) {
-	    List<ChatMessage> messages = chatDAO.getChatMessageByRoomNo(roomNo);
-
-	    for (ChatMessage message : messages) {
-	        // 각 메시지에 대한 첨부파일 조회
-	        List<Attachment> attachments = attachmentDAO.getAttachmentsByMessageNo(message.getMessageNo());
-	        message.setAttachments(attachments); // 메시지 객체에 추가
-	    }
-
-	    return messages;
+	// 채팅방 메시지 커서 조회 - before(messageNo) 이전 메시지를 limit 개, 오래된 순으로 반환
+	public List<ChatMessage> getChatMessagesBefore(Integer roomNo, Integer before, Integer limit) {
+		List<ChatMessage> messages = chatDAO.getChatMessagesBefore(roomNo, before, normalizeLimit(limit));
+		// 최신순으로 조회했으므로 화면 표시 순서(오래된 순)로 뒤집음 (첨부파일은 중첩 매핑으로 함께 조회됨)
+		Collections.reverse(messages);
+		return messages;
 	}
 	
-	// 채팅방 메시지 목록
-	public List<ChatMessage> getChatMessages(Integer roomNo){
-		List<ChatMessage> messages = chatDAO.getChatMessageByRoomNo(roomNo);
+	// 메시지 검색 - roomNo 가 없으면 참여 중인 모든 방, 있으면 참여 중인 방일 때만 (최신순, before 커서)
+	public List<ChatMessage> searchMessages(Integer userNo, Integer roomNo, String query, Integer before, Integer limit) {
+		if (query == null || query.isBlank()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "검색어를 입력해 주세요.");
+		}
+		List<Integer> roomNos;
+		if (roomNo != null) {
+			if (!chatDAO.existMember(roomNo, userNo)) {
+				throw new ResponseStatusException(HttpStatus.FORBIDDEN, "참여 중인 채팅방이 아닙니다.");
+			}
+			roomNos = List.of(roomNo);
+		} else {
+			roomNos = chatDAO.getRoomNosByUserNo(userNo);
+		}
+		List<Integer> messageNos = chatSearchIndex.search(query, roomNos, before, normalizeLimit(limit));
+		if (messageNos.isEmpty()) {
+			return new ArrayList<>();
+		}
+		return chatDAO.getChatMessagesByNos(messageNos);
+	}
+	
+	// 특정 메시지로 이동 - messageNo 를 기준으로 앞뒤 limit/2 개씩 조회
+	public List<ChatMessage> getChatMessagesAround(Integer roomNo, Integer messageNo, Integer limit) {
+		int size = normalizeLimit(limit);
+		int before = size / 2 + 1; // 기준 메시지 포함
+		int after = size - before;
+		List<ChatMessage> messages = chatDAO.getChatMessagesAround(roomNo, messageNo, before, after);
+		fillAttachments(messages);
+		return messages;
+	}
+	
+	// 메시지 목록의 첨부파일을 한 번의 IN 쿼리로 조회해 메모리에서 연결
+	public void fillAttachments(List<ChatMessage> messages) {
+		if (messages == null || messages.isEmpty()) {
+			return;
+		}
+		List<Integer> messageNos = new ArrayList<>(messages.size());
+		for (ChatMessage message : messages) {
+			messageNos.add(message.getMessageNo());
+		}
 		
+		Map<Integer, List<Attachment>> byMessageNo = new HashMap<>();
+		for (Attachment attachment : attachmentDAO.getAttachmentsByMessageNos(messageNos)) {
+			byMessageNo.computeIfAbsent(attachment.getMessageNo(), k -> new ArrayList<>()).add(attachment);
+		}
 		for (ChatMessage message : messages) {
-			List<Attachment> attachment = attachmentDAO.getAttachmentsByMessageNo(message.getMessageNo());
-			message.setAttachments(attachment);
+			message.setAttachments(byMessageNo.getOrDefault(message.getMessageNo(), new ArrayList<>()));
 		}
-		return messages;
 	}
-	// 채팅방 목록 조회
+	
+	private int normalizeLimit(Integer limit) {
+		if (limit == null || limit <= 0) {
+			return DEFAULT_PAGE_SIZE;
+		}
+		return Math.min(limit, MAX_PAGE_SIZE);
+	}
+	// 채팅방 목록 조회 (읽음 위치, 안 읽은 메시지 수 포함)
 	public List<ChatRoom> getChatRooms(Integer userNo, Integer teamNo) {
-	    return chatDAO.getChatRoomsByUserNo(userNo, teamNo);
+	    List<ChatRoom> rooms = chatDAO.getChatRoomsByUserNo(userNo, teamNo);
+	    chatReadTracker.fillUnreadCounts(userNo, rooms);
+	    return rooms;
+	}
+	// 읽음 위치 이동
+	public void markRead(Integer roomNo, Integer userNo, Integer messageNo) {
+		chatReadTracker.markRead(roomNo, userNo, messageNo);
 	}
 	// 채팅방 이름 변경
 	public void updateRoomName(Integer roomNo, String newName) {
@@ -127,22 +201,32 @@ public class ChatService {
 	    chatDAO.createChatRoom(room);
 	    return room;
 	}
-	// 메시지 전송 및 저장 -> 메시지 타입 설정 부분
+	// 메시지 전송 및 저장 -> 메시지 타입 설정 부분 (동기 저장)
 	public void saveMessage(ChatMessage message) {
-		System.out.println("[ChatService] saveMessage 호출됨: " + message);
+		log.debug("[ChatService] saveMessage 호출됨: {}", message);
+		prepareMessage(message);
+		chatDAO.insertMessage(message);
+		log.debug("[ChatService] 메시지 저장 완료: messageNo={}", message.getMessageNo());
+		chatReadTracker.onPersisted(List.of(message));
+		chatSearchIndex.onPersisted(List.of(message));
+		
+		notifyMessage(message);
+	}
+	
+	// 저장 전 메시지 기본값(타입, 작성 시간, 작성자 이름) 세팅
+	public void prepareMessage(ChatMessage message) {
 	    if (message.getMessageType() == null) {
 	        message.setMessageType(MessageType.TALK);
-	        System.out.println("[ChatService] messageType이 null이어서 TALK으로 설정함");
 	    }
 	    message.setCreateDate(LocalDateTime.now());
-		chatDAO.insertMessage(message);
-		
+	    
 	    // userNo -> name 변환 후 세팅
-	    String name = chatDAO.getUserNameByUserNo(message.getUserNo());
+	    String name = memberDirectory.getName(message.getUserNo());
 	    message.setName(name);
-	    
-		System.out.println("[ChatService] 메시지 저장 완료: messageNo=" + message.getMessageNo());
-		
+	}
+	
+	// 저장된 메시지에 대한 멘션/채팅 알림 처리
+	public void notifyMessage(ChatMessage message) {
 		//  Mentions 알림 처리 추가
 	    if (message.getMentions() != null && !message.getMentions().isEmpty()) {
 	        for (Integer mentionedUserNo : message.getMentions()) {
@@ -151,7 +235,7 @@ public class ChatService {
 	                    message.getUserNo(),
 	                    mentionedUserNo,
 	                    message.getRoomNo(),
-	                    name + "님이 당신을 멘션했습니다: " + message.getContent()
+	                    message.getName() + "님이 당신을 멘션했습니다: " + message.getContent()
 	                );
 	            }
 	        }
@@ -189,16 +273,19 @@ public class ChatService {
 			return;
 		}
 		chatDAO.insertMember(roomNo, userNo);
+		chatReadTracker.onJoined(roomNo, userNo);
 	}
 	// 채팅방 퇴장
 	public void removeMemberFromRoom(Integer roomNo, Integer userNo) {
 		chatDAO.deleteChatMember(roomNo, userNo);
+		chatReadTracker.onLeft(roomNo, userNo);
 	}
 	// 채팅방 이름 조회
 	public ChatRoom getChatRoom(Integer roomNo) {
 		return chatDAO.getChatRoom(roomNo);
 	}
 	// 팀원 초대 채팅방 초대
+	@Transactional
 	public ChatRoom createChatRoomWithMembers(String roomName, List<Integer> memberUserNos, Integer creatorUserNo, Integer teamNo) {
 	    // 1. 채팅방 생성
 	    ChatRoom room = new ChatRoom();
@@ -207,19 +294,15 @@ public class ChatService {
 	    room.setTeamNo(teamNo);  // 여기에 팀번호 세팅 필수!
 	    chatDAO.createChatRoom(room); // DB에서 roomNo 생성됨
 
-	    // 2. 참여자 등록
+	    // 2. 참여자 등록 및 초대 알림 일괄 생성 (WebSocket 전송은 비동기)
 	    if (memberUserNos != null && !memberUserNos.isEmpty()) {
-	        for (Integer userNo : memberUserNos) {
-	            chatDAO.insertMember(room.getRoomNo(), userNo);
-	            
-	         // 알림 생성 및 전송 (WebSocket 포함)
-	            alarmService.createChatAlarm(
-	            	creatorUserNo, // 시스템 또는 방 생성자로 추후 변경 가능
-	                userNo,
-	                room.getRoomNo(),
-	                "'" + roomName + "' 방에 초대되었습니다."
-	            );
-	        }
+	        chatDAO.insertMembers(room.getRoomNo(), memberUserNos);
+	        alarmService.createChatAlarms(
+	            creatorUserNo, // 시스템 또는 방 생성자로 추후 변경 가능
+	            memberUserNos,
+	            room.getRoomNo(),
+	            "'" + roomName + "' 방에 초대되었습니다."
+	        );
 	    }
 
 	    // 3. 반환
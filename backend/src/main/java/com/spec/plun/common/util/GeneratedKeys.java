@@ -0,0 +1,28 @@
+package com.spec.plun.common.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * multi-row INSERT 생성 키 확인
+ *
+ * - useGeneratedKeys 로 드라이버가 돌려준 키가 모든 행에 채워졌는지 확인.
+ * - MariaDB Connector/J 3.x 는 returnMultiValuesGeneratedIds=true 일 때만 행마다 키를 돌려주고, 기본값(false)이면 첫 키 하나만 돌려줌.
+ *   application.yml 의 spring.datasource.hikari.data-source-properties 로 켜 둠. (ChatMapperMariaDbTest, AlarmServiceMariaDbTest 에서 실제 드라이버로 확인)
+ * - 호출하는 쪽에서 키를 첫 번째 값 + i 로 만들어 쓰지 않음 : 드라이버는 auto_increment_increment 까지 반영해 계산하지만 여기서는 알 수 없음.
+ *   빠진 키가 있으면(설정 누락 등) 예외를 던져 호출한 트랜잭션이 INSERT 를 되돌리게 함.
+ */
+public final class GeneratedKeys {
+
+	private GeneratedKeys() {
+	}
+
+	public static <T> void requireAll(String statement, List<T> rows, Function<T, ?> key) {
+		for (int i = 0; i < rows.size(); i++) {
+			if (key.apply(rows.get(i)) == null) {
+				throw new IllegalStateException(
+						statement + " : 드라이버가 생성 키를 모두 돌려주지 않음 (" + i + "/" + rows.size() + " 번째 행)");
+			}
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package com.spec.plun.email.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.spec.plun.email.entity.MailOutbox;
+
+@Mapper
+public interface MailOutboxDAO {
+
+	// 발송 대기 메일 저장
+	void insertMail(MailOutbox mail);
+
+	// 발송 시각이 된 메일을 token 으로 선점 (여러 노드가 같은 메일을 보내지 않도록)
+	int claimDue(@Param("token") String token, @Param("limit") int limit);
+
+	List<MailOutbox> getClaimed(@Param("token") String token);
+
+	// 선점했지만 발송하지 못한 메일을 다시 대기 상태로
+	int release(@Param("mailNos") List<Long> mailNos);
+
+	// 노드 장애 등으로 오래 SENDING 상태인 메일 복구
+	int recoverStale(@Param("olderThan") LocalDateTime olderThan);
+
+	// 발송 완료 (본문은 비움)
+	int markSent(@Param("mailNos") List<Long> mailNos);
+
+	int markRetry(@Param("mailNo") Long mailNo, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+			@Param("lastError") String lastError);
+
+	int markFailed(@Param("mailNo") Long mailNo, @Param("lastError") String lastError);
+
+	// 보관 기간이 지난 SENT/FAILED 메일을 limit 개까지 삭제
+	int deleteFinished(@Param("olderThan") LocalDateTime olderThan, @Param("limit") int limit);
+}
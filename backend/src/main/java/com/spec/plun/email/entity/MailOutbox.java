@@ -0,0 +1,22 @@
+package com.spec.plun.email.entity;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class MailOutbox {
+    private Long mailNo;
+    private String recipient;
+    private String domain;          // 수신자 도메인 (도메인별 동시 발송 제한 기준)
+    private String subject;
+    private String body;            // HTML 본문
+    private String status;          // PENDING / SENDING / SENT / FAILED
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime createDate;
+    private LocalDateTime sentDate;
+}
@@ -1,55 +1,34 @@
 package com.spec.plun.email.service;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
-@Slf4j
 public class EmailSendInviteService {
 	
-	private final JavaMailSender javaMailSender;
-
-    @Value("${spring.mail.username}")
-    private String senderEmail;
+	private final MailOutboxService mailOutboxService;
 
     @Value("${app.front-url}") 
     private String frontUrl;
     
-    public MimeMessage createMail(String mail, String email, String name) throws MessagingException {
-        MimeMessage message = javaMailSender.createMimeMessage();
-
-        message.setFrom(senderEmail);
-        message.setRecipients(MimeMessage.RecipientType.TO, mail);
-        message.setSubject("Plun 초대");
+    public String createMailBody(String email, String name) {
         String body = "";
         body += "<h3>" + name + " (" + email + ")님이 회원님을 초대하셨습니다.</h3>";
         body += "<p><a href=\"" + frontUrl + "\">바로가기</a></p>";
         body += "<h3>감사합니다.</h3>";
         body += "<h4> plun </h4>";
-        message.setText(body, "UTF-8", "html");
-        return message;
+        return body;
     }
 
-    // 메일 발송
+    // 메일 발송 요청 (발송 큐에 저장, 호출한 트랜잭션과 함께 커밋)
     public boolean sendSimpleMessage(String sendEmail,  String email ,String name) {
-    	try {
-            MimeMessage message = createMail(sendEmail, email, name); // 여기서도 MessagingException 가능
-            javaMailSender.send(message);
-            return true;
-        } catch (MessagingException | MailException e) {
-            log.error("메일 발송 실패 to {} : {}", sendEmail, e.getMessage(), e);
-            return false;
-        }
+        mailOutboxService.enqueue(sendEmail, "Plun 초대", createMailBody(email, name));
+        return true;
     }
 
 }
@@ -5,16 +5,12 @@ import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.Random;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.spec.plun.email.util.RedisUtil;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -24,14 +20,11 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class EmailService {
 	
-	private final JavaMailSender javaMailSender;
+	private final MailOutboxService mailOutboxService;
 	private final RedisUtil redisUtil;
 	
 	private static final String CODE_PRE = "email:";
 
-    @Value("${spring.mail.username}")
-    private String senderEmail;
-
     public String createCode() {
         Random random = new Random();
         StringBuilder key = new StringBuilder();
@@ -47,33 +40,27 @@ public class EmailService {
         return key.toString();
     }
 
-    public MimeMessage createMail(String mail, String authCode) throws MessagingException {
-        MimeMessage message = javaMailSender.createMimeMessage();
-
-        message.setFrom(senderEmail);
-        message.setRecipients(MimeMessage.RecipientType.TO, mail);
-        message.setSubject("Plun 이메일 인증");
+    public String createMailBody(String authCode) {
         String body = "";
         body += "<h2>인증 번호 확인 후 이메일 인증 완료해주세요.</h2>";
         body += "<h1>  인증번호 : " + authCode + "</h1>";
         body += "<h3>감사합니다.</h3>";
         body += "<h4> plun </h4>";
-        message.setText(body, "UTF-8", "html");
-        return message;
+        return body;
     }
 
-    // 메일 발송
-    public boolean sendSimpleMessage(String sendEmail) throws MessagingException {
+    // 메일 발송 요청 (발송 큐에 저장 후 바로 반환, 실제 발송은 MailDispatcher)
+    public boolean sendSimpleMessage(String sendEmail) {
     	String authCode = createCode(); // 랜덤 인증번호 생성
-        MimeMessage message = createMail(sendEmail, authCode); // 메일 생성
+        Date fiveMinutes = Date.from(Instant.now().plus(5,ChronoUnit.MINUTES));
+        redisUtil.setDataExpire(CODE_PRE +sendEmail , authCode, fiveMinutes);
+        log.info("[EMAIL] saved OTP: key={}, code={}, ttl=300s", CODE_PRE +sendEmail, authCode);
         try {
-            javaMailSender.send(message); // 메일 발송
-            Date fiveMinutes = Date.from(Instant.now().plus(5,ChronoUnit.MINUTES));
-            redisUtil.setDataExpire(CODE_PRE +sendEmail , authCode, fiveMinutes);
-            log.info("[EMAIL] saved OTP: key={}, code={}, ttl=300s", CODE_PRE +sendEmail, authCode);
+            mailOutboxService.enqueue(sendEmail, "Plun 이메일 인증", createMailBody(authCode));
             return true;
-        } catch (MailException e) {
-        	log.error("메일 발송 실패 to {} : {}", sendEmail, e.getMessage(), e);
+        } catch (DataAccessException e) {
+        	log.error("메일 발송 요청 실패 to {} : {}", sendEmail, e.getMessage(), e);
+        	redisUtil.deleteData(CODE_PRE + sendEmail);
             return false;
         }
     }
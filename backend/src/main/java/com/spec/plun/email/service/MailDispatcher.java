@@ -0,0 +1,357 @@
+package com.spec.plun.email.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import com.spec.plun.email.dao.MailOutboxDAO;
+import com.spec.plun.email.entity.MailOutbox;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * TB_MAIL_OUTBOX 발송 워커
+ *
+ * - 폴링 스레드가 발송 시각이 된 메일을 claim token 으로 선점한 뒤 수신 도메인별로 묶어 워커 풀에 넘김.
+ * - 워커는 묶음(messages-per-connection 개) 전체를 SMTP 연결 하나로 연속 발송.
+ * - 같은 도메인으로 동시에 열 수 있는 연결 수는 per-domain-concurrency 로 제한하고, 초과분은 다시 대기 상태로 돌려놓음.
+ * - 일시적인 실패는 지수 백오프로 재시도하고, 잘못된 주소(5xx)나 max-attempts 초과는 FAILED 로 기록.
+ * - 본문에 인증 코드/OTP 가 들어 있으므로 보낸 메일은 본문을 바로 비우고,
+ *   SENT/FAILED 행은 retention-hours 가 지나면 purge-interval-ms 마다 폴링 스레드에서 지움.
+ */
+@Slf4j
+@Component
+public class MailDispatcher {
+
+	private static final int ERROR_MAX_LENGTH = 500;
+	// 한 번에 지우는 행 수 (DELETE 가 잠금을 오래 잡지 않도록)
+	private static final int PURGE_BATCH = 1000;
+
+	@Autowired
+	private MailOutboxDAO mailOutboxDAO;
+
+	@Autowired
+	private JavaMailSender javaMailSender;
+
+	@Value("${spring.mail.username}")
+	private String senderEmail;
+
+	@Value("${mail.outbox.workers:4}")
+	private int workers;
+
+	@Value("${mail.outbox.batch-size:100}")
+	private int batchSize;
+
+	@Value("${mail.outbox.messages-per-connection:50}")
+	private int messagesPerConnection;
+
+	@Value("${mail.outbox.per-domain-concurrency:2}")
+	private int perDomainConcurrency;
+
+	@Value("${mail.outbox.poll-interval-ms:1000}")
+	private long pollIntervalMs;
+
+	@Value("${mail.outbox.max-attempts:5}")
+	private int maxAttempts;
+
+	@Value("${mail.outbox.backoff-base-ms:2000}")
+	private long backoffBaseMs;
+
+	@Value("${mail.outbox.backoff-max-ms:600000}")
+	private long backoffMaxMs;
+
+	@Value("${mail.outbox.stale-after-ms:300000}")
+	private long staleAfterMs;
+
+	@Value("${mail.outbox.retention-hours:24}")
+	private long retentionHours;
+
+	@Value("${mail.outbox.purge-interval-ms:3600000}")
+	private long purgeIntervalMs;
+
+	private final Map<String, Semaphore> domainPermits = new ConcurrentHashMap<>();
+	private final Semaphore wakeUp = new Semaphore(0);
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private Semaphore workerSlots;
+	private ExecutorService workerPool;
+	private Thread poller;
+	private volatile boolean running;
+	private long lastRecovery;
+	private long lastPurge;
+
+	@PostConstruct
+	public void start() {
+		AtomicInteger threadNo = new AtomicInteger();
+		workerSlots = new Semaphore(workers);
+		workerPool = Executors.newFixedThreadPool(workers, r -> {
+			Thread t = new Thread(r, "mail-worker-" + threadNo.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		running = true;
+		poller = new Thread(this::runPollLoop, "mail-outbox-poller");
+		poller.setDaemon(true);
+		poller.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		// 발송 중인 묶음은 끝까지 보내고 종료 (선점만 된 메일은 stale 복구로 다시 발송됨)
+		running = false;
+		poller.interrupt();
+		poller.join(TimeUnit.SECONDS.toMillis(5));
+		workerPool.shutdown();
+		workerPool.awaitTermination(30, TimeUnit.SECONDS);
+	}
+
+	// 새 메일이 쌓였음을 알림 (폴링 주기를 기다리지 않고 바로 발송)
+	public void wakeUp() {
+		wakeUp.release();
+	}
+
+	// 발송 중인 메일 수
+	public int inFlight() {
+		return inFlight.get();
+	}
+
+	private void runPollLoop() {
+		while (running) {
+			try {
+				wakeUp.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+				wakeUp.drainPermits();
+			} catch (InterruptedException e) {
+				if (!running) {
+					return;
+				}
+			}
+			try {
+				pollOnce();
+			} catch (RuntimeException e) {
+				log.warn("[MailDispatcher] 메일 큐 조회 실패: {}", e.getMessage(), e);
+			}
+		}
+	}
+
+	private void pollOnce() {
+		long now = System.currentTimeMillis();
+		if (now - lastRecovery >= staleAfterMs) {
+			lastRecovery = now;
+			int recovered = mailOutboxDAO.recoverStale(LocalDateTime.now().minus(staleAfterMs, ChronoUnit.MILLIS));
+			if (recovered > 0) {
+				log.warn("[MailDispatcher] 발송 중 멈춘 메일 {}건 재대기", recovered);
+			}
+		}
+		if (now - lastPurge >= purgeIntervalMs) {
+			lastPurge = now;
+			purgeFinished();
+		}
+
+		// 놀고 있는 워커가 없으면 선점하지 않음 (선점한 채로 오래 붙잡지 않도록)
+		int freeSlots = workerSlots.availablePermits();
+		if (freeSlots == 0) {
+			return;
+		}
+		int limit = Math.min(batchSize, freeSlots * messagesPerConnection);
+
+		String token = UUID.randomUUID().toString();
+		int claimed = mailOutboxDAO.claimDue(token, limit);
+		if (claimed == 0) {
+			return;
+		}
+		List<MailOutbox> mails = mailOutboxDAO.getClaimed(token);
+
+		Map<String, List<MailOutbox>> byDomain = new LinkedHashMap<>();
+		for (MailOutbox mail : mails) {
+			byDomain.computeIfAbsent(mail.getDomain(), d -> new ArrayList<>()).add(mail);
+		}
+
+		List<Long> deferred = new ArrayList<>();
+		boolean dispatched = false;
+		for (Map.Entry<String, List<MailOutbox>> entry : byDomain.entrySet()) {
+			Semaphore permits = domainPermits.computeIfAbsent(entry.getKey(), d -> new Semaphore(perDomainConcurrency));
+			List<MailOutbox> group = entry.getValue();
+			for (int from = 0; from < group.size(); from += messagesPerConnection) {
+				List<MailOutbox> chunk = group.subList(from, Math.min(group.size(), from + messagesPerConnection));
+				if (!permits.tryAcquire()) {
+					collectMailNos(chunk, deferred);
+					continue;
+				}
+				if (!workerSlots.tryAcquire()) {
+					permits.release();
+					collectMailNos(chunk, deferred);
+					continue;
+				}
+				submit(new ArrayList<>(chunk), permits);
+				dispatched = true;
+			}
+		}
+
+		// 도메인 제한/워커 부족으로 못 보낸 메일은 다음 차례로
+		if (!deferred.isEmpty()) {
+			mailOutboxDAO.release(deferred);
+		}
+		// 한 번에 다 못 가져왔으면 바로 다음 묶음 처리
+		if (dispatched && claimed >= limit) {
+			wakeUp.release();
+		}
+	}
+
+	// 보관 기간이 지난 SENT/FAILED 메일 삭제, 지운 수 반환
+	int purgeFinished() {
+		LocalDateTime olderThan = LocalDateTime.now().minusHours(retentionHours);
+		int total = 0;
+		int deleted;
+		do {
+			deleted = mailOutboxDAO.deleteFinished(olderThan, PURGE_BATCH);
+			total += deleted;
+		} while (deleted == PURGE_BATCH);
+		if (total > 0) {
+			log.info("[MailDispatcher] 보관 기간이 지난 메일 {}건 삭제", total);
+		}
+		return total;
+	}
+
+	private void submit(List<MailOutbox> chunk, Semaphore permits) {
+		inFlight.addAndGet(chunk.size());
+		workerPool.execute(() -> {
+			try {
+				deliver(chunk);
+			} catch (RuntimeException e) {
+				log.error("[MailDispatcher] 메일 발송 처리 오류 ({}건)", chunk.size(), e);
+			} finally {
+				inFlight.addAndGet(-chunk.size());
+				permits.release();
+				workerSlots.release();
+				wakeUp.release();
+			}
+		});
+	}
+
+	// 같은 도메인 메일 묶음을 SMTP 연결 하나로 발송하고 결과를 기록
+	void deliver(List<MailOutbox> chunk) {
+		Map<MimeMessage, MailOutbox> byMessage = new IdentityHashMap<>();
+		List<MimeMessage> messages = new ArrayList<>(chunk.size());
+		for (MailOutbox mail : chunk) {
+			try {
+				MimeMessage message = createMessage(mail);
+				byMessage.put(message, mail);
+				messages.add(message);
+			} catch (MessagingException e) {
+				// 주소 형식 오류 등은 재시도해도 실패
+				fail(mail, e);
+			}
+		}
+		if (messages.isEmpty()) {
+			return;
+		}
+
+		Map<Object, Exception> failures = Map.of();
+		try {
+			javaMailSender.send(messages.toArray(new MimeMessage[0]));
+		} catch (MailSendException e) {
+			failures = e.getFailedMessages();
+			if (failures.isEmpty()) {
+				// 연결 자체 실패 등 개별 결과가 없으면 전체 재시도
+				for (MimeMessage message : messages) {
+					retryOrFail(byMessage.get(message), e);
+				}
+				return;
+			}
+		} catch (MailException e) {
+			for (MimeMessage message : messages) {
+				retryOrFail(byMessage.get(message), e);
+			}
+			return;
+		}
+
+		List<Long> sent = new ArrayList<>(messages.size());
+		for (MimeMessage message : messages) {
+			MailOutbox mail = byMessage.get(message);
+			Exception failure = failures.get(message);
+			if (failure == null) {
+				sent.add(mail.getMailNo());
+			} else if (isPermanent(failure)) {
+				fail(mail, failure);
+			} else {
+				retryOrFail(mail, failure);
+			}
+		}
+		if (!sent.isEmpty()) {
+			mailOutboxDAO.markSent(sent);
+		}
+	}
+
+	private MimeMessage createMessage(MailOutbox mail) throws MessagingException {
+		MimeMessage message = javaMailSender.createMimeMessage();
+		message.setFrom(senderEmail);
+		message.setRecipients(MimeMessage.RecipientType.TO, mail.getRecipient());
+		message.setSubject(mail.getSubject(), "UTF-8");
+		message.setText(mail.getBody(), "UTF-8", "html");
+		return message;
+	}
+
+	private void retryOrFail(MailOutbox mail, Exception cause) {
+		int attempts = mail.getAttempts() + 1;
+		if (attempts >= maxAttempts) {
+			fail(mail, cause);
+			return;
+		}
+		long delay = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempts - 1, 20));
+		log.warn("[MailDispatcher] 메일 발송 재시도 예약 {}/{} - mailNo: {}, {}ms 후", attempts, maxAttempts,
+				mail.getMailNo(), delay);
+		mailOutboxDAO.markRetry(mail.getMailNo(), LocalDateTime.now().plus(delay, ChronoUnit.MILLIS), describe(cause));
+	}
+
+	private void fail(MailOutbox mail, Exception cause) {
+		log.error("[MailDispatcher] 메일 발송 실패 - mailNo: {}, to: {}, {}", mail.getMailNo(), mail.getRecipient(),
+				cause.getMessage());
+		mailOutboxDAO.markFailed(mail.getMailNo(), describe(cause));
+	}
+
+	// 서버가 수신자를 거부한 경우(5xx) 재시도하지 않음
+	private boolean isPermanent(Exception failure) {
+		for (Throwable t = failure; t != null; t = t.getCause()) {
+			if (t instanceof SendFailedException sfe) {
+				Address[] invalid = sfe.getInvalidAddresses();
+				return invalid != null && invalid.length > 0;
+			}
+		}
+		return false;
+	}
+
+	private static void collectMailNos(List<MailOutbox> mails, List<Long> into) {
+		for (MailOutbox mail : mails) {
+			into.add(mail.getMailNo());
+		}
+	}
+
+	private static String describe(Exception e) {
+		String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+		return message.length() > ERROR_MAX_LENGTH ? message.substring(0, ERROR_MAX_LENGTH) : message;
+	}
+}
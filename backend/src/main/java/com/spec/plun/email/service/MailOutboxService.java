@@ -0,0 +1,52 @@
+package com.spec.plun.email.service;
+
+import java.util.Locale;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.spec.plun.email.dao.MailOutboxDAO;
+import com.spec.plun.email.entity.MailOutbox;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 메일 발송 요청을 TB_MAIL_OUTBOX 에 저장 (실제 발송은 MailDispatcher)
+ *
+ * 호출한 트랜잭션과 함께 커밋되므로, 롤백된 요청의 메일은 나가지 않는다.
+ * 본문(인증 코드 등)은 발송되면 비우고, 끝난 행은 mail.outbox.retention-hours 뒤에 MailDispatcher 가 지운다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MailOutboxService {
+
+	private final MailOutboxDAO mailOutboxDAO;
+	private final MailDispatcher mailDispatcher;
+
+	public MailOutbox enqueue(String recipient, String subject, String htmlBody) {
+		MailOutbox mail = new MailOutbox();
+		mail.setRecipient(recipient);
+		mail.setDomain(domainOf(recipient));
+		mail.setSubject(subject);
+		mail.setBody(htmlBody);
+		mailOutboxDAO.insertMail(mail);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					mailDispatcher.wakeUp();
+				}
+			});
+		} else {
+			mailDispatcher.wakeUp();
+		}
+		return mail;
+	}
+
+	static String domainOf(String recipient) {
+		int at = recipient.lastIndexOf('@');
+		return (at < 0 ? recipient : recipient.substring(at + 1)).trim().toLowerCase(Locale.ROOT);
+	}
+}
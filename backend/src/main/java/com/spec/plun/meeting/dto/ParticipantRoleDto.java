@@ -0,0 +1,9 @@
+package com.spec.plun.meeting.dto;
+
+import lombok.Data;
+
+@Data
+public class ParticipantRoleDto {
+    private Integer userNo;
+    private String roleNo; // 'C001' 생성자 | 'C002' 초대
+}
@@ -0,0 +1,18 @@
+package com.spec.plun.meeting.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 회의방 접속자 변경 (/topic/meeting/{roomCode}/presence) 및 현재 접속자 조회 응답
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceRes {
+    private String roomCode;
+    private Integer userNo;         // 이번에 입장/퇴장한 사용자 (조회 응답이면 null)
+    private Boolean online;         // 입장 true, 퇴장 false (조회 응답이면 null)
+    private List<Integer> onlineUserNos;
+}
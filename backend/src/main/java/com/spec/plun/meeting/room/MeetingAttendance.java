@@ -0,0 +1,18 @@
+package com.spec.plun.meeting.room;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 회의 참석 구간 (TB_MEETING_ATTENDANCE)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingAttendance {
+    private Integer roomNo;
+    private Integer userNo;
+    private LocalDateTime joinTime;
+    private LocalDateTime outTime;   // 접속 중이면 null
+}
@@ -0,0 +1,279 @@
+package com.spec.plun.meeting.room;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import com.spec.plun.meeting.dto.PresenceRes;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 회의방 실시간 접속자 추적 + 참석 구간 일괄 저장
+ *
+ * - 방마다 userNo → 접속 상태(불변 객체)를 ConcurrentHashMap 에 두고 CAS(replace)로만 교체하므로 입/퇴장 처리에 락이 없음.
+ * - 같은 사용자의 연결이 여러 개면 연결 수만 세고, 모든 연결이 끊긴 뒤 rejoin-grace 안에 다시 들어오면 같은 참석 구간을 이어감.
+ *   (연결이 흔들려 짧게 나갔다 들어오는 경우 DB 기록도, 접속자 변경 전송도 없음)
+ * - 바뀐 구간은 flush-interval 마다 방별로 TB_MEETING_ATTENDANCE 에 multi-row upsert 한 번, 참가자 입/퇴장 시각 갱신 한 번으로 저장.
+ * - 처음 입장, 유예 시간이 지난 퇴장만 /topic/meeting/{roomCode}/presence 로 현재 접속자 목록과 함께 전송.
+ * - 상태는 노드 메모리에만 있으므로 같은 방의 입/퇴장은 한 노드로 들어와야 함.
+ */
+@Slf4j
+@Component
+public class MeetingPresenceTracker {
+
+	@Autowired
+	private MeetingRoomDAO meetingRoomDAO;
+
+	@Autowired
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Value("${meeting.presence.flush-interval-ms:1000}")
+	private long flushIntervalMs;
+
+	@Value("${meeting.presence.rejoin-grace-ms:10000}")
+	private long rejoinGraceMs;
+
+	private final Map<Integer, RoomPresence> rooms = new ConcurrentHashMap<>();
+
+	private Thread flusher;
+	private volatile boolean running;
+
+	private static final class RoomPresence {
+		final String roomCode;
+		final Map<Integer, Presence> users = new ConcurrentHashMap<>();
+
+		RoomPresence(String roomCode) {
+			this.roomCode = roomCode;
+		}
+	}
+
+	// 한 사용자의 현재 참석 구간 (connections 가 0 이면 leftAt 에 퇴장했고 유예 시간 대기 중)
+	private static final class Presence {
+		final int connections;
+		final LocalDateTime joinedAt;
+		final LocalDateTime leftAt;
+		final long leftAtNanos;
+		final boolean dirty; // 아직 저장하지 않은 구간
+
+		Presence(int connections, LocalDateTime joinedAt, LocalDateTime leftAt, long leftAtNanos, boolean dirty) {
+			this.connections = connections;
+			this.joinedAt = joinedAt;
+			this.leftAt = leftAt;
+			this.leftAtNanos = leftAtNanos;
+			this.dirty = dirty;
+		}
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		flusher = new Thread(this::runFlushLoop, "meeting-presence-flush");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		// 유예 중인 퇴장까지 모두 저장한 뒤 종료
+		running = false;
+		flusher.interrupt();
+		flusher.join(TimeUnit.SECONDS.toMillis(10));
+		flush(true);
+	}
+
+	public void enter(Integer roomNo, String roomCode, Integer userNo, LocalDateTime joinedAt) {
+		LocalDateTime at = joinedAt.truncatedTo(ChronoUnit.SECONDS);
+		while (true) {
+			RoomPresence room = rooms.computeIfAbsent(roomNo, k -> new RoomPresence(roomCode));
+			Presence current = room.users.get(userNo);
+			Presence next;
+			if (current == null) {
+				next = new Presence(1, at, null, 0L, true);
+			} else if (current.connections == 0) {
+				// 유예 시간 안에 다시 입장 : 같은 구간을 이어감
+				next = new Presence(1, current.joinedAt, null, 0L, current.dirty);
+			} else {
+				next = new Presence(current.connections + 1, current.joinedAt, null, 0L, current.dirty);
+			}
+			boolean swapped = current == null ? room.users.putIfAbsent(userNo, next) == null
+					: room.users.replace(userNo, current, next);
+			if (!swapped) {
+				continue;
+			}
+			// 빈 방을 정리하는 중에 들어온 경우 새 방 객체에 다시 기록
+			if (rooms.get(roomNo) != room) {
+				continue;
+			}
+			if (current == null) {
+				publish(room, userNo, true);
+			}
+			return;
+		}
+	}
+
+	public void leave(Integer roomNo, Integer userNo, LocalDateTime leftAt) {
+		RoomPresence room = rooms.get(roomNo);
+		if (room == null) {
+			return;
+		}
+		while (true) {
+			Presence current = room.users.get(userNo);
+			if (current == null || current.connections == 0) {
+				return;
+			}
+			Presence next;
+			if (current.connections > 1) {
+				next = new Presence(current.connections - 1, current.joinedAt, null, 0L, current.dirty);
+			} else {
+				LocalDateTime at = leftAt.truncatedTo(ChronoUnit.SECONDS);
+				next = new Presence(0, current.joinedAt, at.isBefore(current.joinedAt) ? current.joinedAt : at,
+						System.nanoTime(), current.dirty);
+			}
+			if (room.users.replace(userNo, current, next)) {
+				return;
+			}
+		}
+	}
+
+	// 방 삭제 시 추적 중단 (저장하지 않은 구간은 버림)
+	public void forget(Integer roomNo) {
+		rooms.remove(roomNo);
+	}
+
+	public List<Integer> onlineUserNos(Integer roomNo) {
+		RoomPresence room = rooms.get(roomNo);
+		return room != null ? roster(room) : new ArrayList<>();
+	}
+
+	// 추적 중인 방 수
+	public int trackedRooms() {
+		return rooms.size();
+	}
+
+	// 저장 대기 중인 참석 구간 수 (유예 중인 퇴장 포함)
+	public int pendingWrites() {
+		int pending = 0;
+		for (RoomPresence room : rooms.values()) {
+			for (Presence presence : room.users.values()) {
+				if (presence.dirty || presence.connections == 0) {
+					pending++;
+				}
+			}
+		}
+		return pending;
+	}
+
+	private void runFlushLoop() {
+		while (running) {
+			try {
+				Thread.sleep(flushIntervalMs);
+			} catch (InterruptedException e) {
+				return;
+			}
+			try {
+				flush(false);
+			} catch (RuntimeException e) {
+				log.warn("[MeetingPresence] 참석 구간 저장 실패", e);
+			}
+		}
+	}
+
+	void flush(boolean force) {
+		long now = System.nanoTime();
+		long graceNanos = TimeUnit.MILLISECONDS.toNanos(rejoinGraceMs);
+		for (Map.Entry<Integer, RoomPresence> entry : rooms.entrySet()) {
+			Integer roomNo = entry.getKey();
+			RoomPresence room = entry.getValue();
+
+			List<Integer> userNos = new ArrayList<>();
+			List<Presence> written = new ArrayList<>();
+			List<MeetingAttendance> rows = new ArrayList<>();
+			for (Map.Entry<Integer, Presence> user : room.users.entrySet()) {
+				Presence presence = user.getValue();
+				boolean closing = presence.connections == 0 && (force || now - presence.leftAtNanos >= graceNanos);
+				if (closing || presence.dirty) {
+					userNos.add(user.getKey());
+					written.add(presence);
+					rows.add(new MeetingAttendance(roomNo, user.getKey(), presence.joinedAt, closing ? presence.leftAt : null));
+				}
+			}
+			if (rows.isEmpty()) {
+				if (room.users.isEmpty()) {
+					rooms.remove(roomNo, room);
+				}
+				continue;
+			}
+
+			try {
+				meetingRoomDAO.upsertAttendance(rows);
+				meetingRoomDAO.syncParticipantTimes(roomNo, userNos);
+			} catch (DataIntegrityViolationException e) {
+				log.warn("[MeetingPresence] 삭제된 회의방 추적 중단 - roomNo: {}", roomNo);
+				rooms.remove(roomNo, room);
+				continue;
+			} catch (RuntimeException e) {
+				// 상태를 그대로 두고 다음 주기에 다시 저장
+				log.warn("[MeetingPresence] 참석 구간 저장 실패 - roomNo: {}", roomNo, e);
+				continue;
+			}
+
+			for (int i = 0; i < rows.size(); i++) {
+				Integer userNo = userNos.get(i);
+				Presence presence = written.get(i);
+				if (rows.get(i).getOutTime() != null) {
+					if (room.users.remove(userNo, presence)) {
+						publish(room, userNo, false);
+					} else {
+						// 저장하는 사이 다시 입장 : 방금 닫은 구간을 다음 주기에 다시 열어 둠
+						markDirty(room, userNo, presence.joinedAt);
+					}
+				} else {
+					room.users.replace(userNo, presence,
+							new Presence(presence.connections, presence.joinedAt, presence.leftAt, presence.leftAtNanos, false));
+				}
+			}
+		}
+	}
+
+	private void markDirty(RoomPresence room, Integer userNo, LocalDateTime joinedAt) {
+		while (true) {
+			Presence current = room.users.get(userNo);
+			if (current == null || !current.joinedAt.equals(joinedAt) || current.dirty) {
+				return;
+			}
+			Presence next = new Presence(current.connections, current.joinedAt, current.leftAt, current.leftAtNanos, true);
+			if (room.users.replace(userNo, current, next)) {
+				return;
+			}
+		}
+	}
+
+	private void publish(RoomPresence room, Integer userNo, boolean online) {
+		try {
+			messagingTemplate.convertAndSend("/topic/meeting/" + room.roomCode + "/presence",
+					new PresenceRes(room.roomCode, userNo, online, roster(room)));
+		} catch (RuntimeException e) {
+			log.warn("[MeetingPresence] 접속자 변경 전송 실패 - roomCode: {}", room.roomCode, e);
+		}
+	}
+
+	// 유예 중인 사용자도 접속 중으로 봄 (퇴장 전송 전이므로)
+	private static List<Integer> roster(RoomPresence room) {
+		List<Integer> online = new ArrayList<>(room.users.keySet());
+		online.sort(null);
+		return online;
+	}
+}
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import com.spec.plun.meeting.dto.MeetingCreateRequest;
 import com.spec.plun.meeting.dto.MeetingRoomListDto;
+import com.spec.plun.meeting.dto.PresenceRes;
 import com.spec.plun.meeting.dto.RoomDetailRes;
 
 import lombok.RequiredArgsConstructor;
@@ -77,6 +78,11 @@ public class MeetingRoomController {
 		return ResponseEntity.ok().build();
 	}
 
+	@GetMapping("/{roomCode}/presence")
+	public ResponseEntity<PresenceRes> presence(@PathVariable("roomCode") String roomCode) {
+		return ResponseEntity.ok(service.getPresence(roomCode));
+	}
+
 	@GetMapping("/{roomCode}")
 	public ResponseEntity<RoomDetailRes> getDetail(@PathVariable("roomCode") String roomCode,
 			@RequestParam("userNo") Integer userNo) {
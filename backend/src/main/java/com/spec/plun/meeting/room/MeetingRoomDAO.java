@@ -9,8 +9,10 @@ import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import com.spec.plun.calendar.entity.CalendarDetail;
 import com.spec.plun.meeting.dto.MeetingRoomListDto;
 import com.spec.plun.meeting.dto.ParticipantDto;
+import com.spec.plun.meeting.dto.ParticipantRoleDto;
 
 @Mapper
 public interface MeetingRoomDAO {
@@ -27,34 +29,33 @@ public interface MeetingRoomDAO {
 
     String findRole(@Param("roomNo") Integer roomNo, @Param("userNo") Integer userNo);
 
-    int updateJoinTime(@Param("roomNo") Integer roomNo,
-                       @Param("userNo") Integer userNo,
-                       @Param("joinedAt") LocalDateTime joinedAt);
+    // 방 전체 참가자 역할 (레지스트리 적재용)
+    List<ParticipantRoleDto> selectParticipantRoles(@Param("roomNo") Integer roomNo);
 
-    int updateOutTime(@Param("roomNo") Integer roomNo,
-                      @Param("userNo") Integer userNo,
-                      @Param("leftAt") LocalDateTime leftAt);
+    // 참석 구간 일괄 저장 (같은 구간이면 out_time 만 갱신)
+    int upsertAttendance(@Param("rows") List<MeetingAttendance> rows);
+
+    // 참석 구간으로 참가자 join_time(첫 입장)/out_time(마지막 퇴장, 접속 중이면 NULL) 갱신
+    int syncParticipantTimes(@Param("roomNo") Integer roomNo,
+                             @Param("userNos") List<Integer> userNos);
 
     int insertParticipants(@Param("roomNo") Integer roomNo,
                            @Param("roleNo") String roleNo,           // 'C001' | 'C002'
                            @Param("userIds") List<Integer> userIds,
                            @Param("joinTime") LocalDateTime joinTime);
 
-    int updateCalDetailNo(@Param("roomNo") Integer roomNo,
-                          @Param("calDetailNo") Integer calDetailNo);
+    // 생성자(C001) + 초대(C002)를 한 번에 INSERT
+    int insertParticipantRoles(@Param("roomNo") Integer roomNo,
+                               @Param("rows") List<ParticipantRoleDto> rows);
+
+    // 회의방 코드 순번 블록 할당 (block.end 에 블록 끝 세팅)
+    int allocateCodeBlock(RoomCodeAllocator.SequenceBlock block);
 
     Integer findCalNoByTeamNo(@Param("teamNo") Integer teamNo);
     int insertTeamCalendar(@Param("teamNo") Integer teamNo,
                            @Param("userNo") Integer userNo);
 
-    int insertCalendarDetail(@Param("calNo") Integer calNo,
-                             @Param("title") String title,
-                             @Param("contents") String contents,
-                             @Param("startDate") LocalDate startDate,
-                             @Param("startTime") LocalTime startTime,
-                             @Param("endDate") LocalDate endDate,
-                             @Param("endTime") LocalTime endTime,
-                             @Param("regUserNo") Integer regUserNo);
+    int insertCalendarDetail(CalendarDetail detail); // useGeneratedKeys 로 calDetailNo 세팅
 
     Integer selectLastInsertId();
 
@@ -0,0 +1,234 @@
+package com.spec.plun.meeting.room;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.spec.plun.meeting.dto.ParticipantRoleDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * room_code → 회의방 정보 + 참가자 역할 레지스트리 (입장 권한 확인을 해시 조회 한 번으로 처리)
+ *
+ * - Redis 해시 meeting:room:{roomCode} 에 방 정보와 role:{userNo} 필드를 저장하고, 노드마다 near-ttl 동안 로컬에도 보관.
+ * - 방 수정/삭제가 커밋되면 세대 키(meeting:room:gen:{roomCode})를 올리고 해시를 삭제.
+ *   DB 에서 적재한 노드는 적재 전에 읽은 세대가 그대로일 때만 해시를 기록하므로 수정 전 내용이 다시 올라가지 않음.
+ * - 다른 노드의 로컬 사본은 near-ttl 이 지나면 사라지므로 수정/삭제가 반영되기까지 최대 near-ttl 이 걸림.
+ * - Redis 장애 시에는 DB 로 조회.
+ */
+@Slf4j
+@Component
+public class MeetingRoomRegistry {
+
+	private static final String KEY_PREFIX = "meeting:room:";
+	private static final String GEN_KEY_PREFIX = "meeting:room:gen:";
+	private static final String ROLE_FIELD_PREFIX = "role:";
+	private static final String CREATOR_ROLE = "C001";
+	private static final Duration GEN_TTL = Duration.ofDays(1);
+
+	// 세대가 그대로일 때만 해시를 새로 기록 : KEYS[1]=해시, KEYS[2]=세대, ARGV[1]=읽은 세대, ARGV[2]=TTL(ms), 이후 필드/값
+	private static final DefaultRedisScript<Long> PUT_IF_SAME_GEN = new DefaultRedisScript<>("""
+			if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end
+			redis.call('DEL', KEYS[1])
+			for i = 3, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end
+			redis.call('PEXPIRE', KEYS[1], ARGV[2])
+			return 1
+			""", Long.class);
+
+	@Autowired
+	private MeetingRoomDAO meetingRoomDAO;
+
+	@Autowired
+	private StringRedisTemplate redisTemplate;
+
+	@Value("${meeting.registry.ttl-minutes:60}")
+	private long ttlMinutes;
+
+	@Value("${meeting.registry.near-ttl-ms:2000}")
+	private long nearTtlMs;
+
+	@Value("${meeting.registry.near-max-size:1000}")
+	private int nearMaxSize;
+
+	private final Map<String, NearEntry> near = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, NearEntry> eldest) {
+			return size() > nearMaxSize;
+		}
+	};
+
+	/**
+	 * 회의방 정보 + 참가자 역할 (userNo → 'C001' | 'C002')
+	 */
+	public record ActiveRoom(Integer roomNo, Integer teamNo, String roomCode, String title, LocalDateTime scheduledTime,
+			LocalDateTime scheduledEndTime, Integer calDetailNo, Integer creatorUserNo, Map<Integer, String> roles) {
+
+		public String roleOf(Integer userNo) {
+			return userNo != null ? roles.get(userNo) : null;
+		}
+	}
+
+	private record NearEntry(ActiveRoom room, long expiresAt) {
+	}
+
+	/**
+	 * room_code 로 조회 (없는 방이면 null)
+	 */
+	public ActiveRoom find(String roomCode) {
+		if (roomCode == null || roomCode.isBlank()) {
+			return null;
+		}
+		long now = System.nanoTime();
+		synchronized (near) {
+			NearEntry entry = near.get(roomCode);
+			if (entry != null && entry.expiresAt - now > 0) {
+				return entry.room;
+			}
+		}
+
+		ActiveRoom room;
+		try {
+			Map<Object, Object> hash = redisTemplate.opsForHash().entries(key(roomCode));
+			room = hash.isEmpty() ? loadAndPublish(roomCode) : fromHash(roomCode, hash);
+		} catch (RuntimeException e) {
+			log.warn("[MeetingRoomRegistry] Redis 조회 실패, DB 로 조회 - roomCode: {}", roomCode, e);
+			room = load(roomCode);
+		}
+		if (room != null) {
+			synchronized (near) {
+				near.put(roomCode, new NearEntry(room, now + Duration.ofMillis(nearTtlMs).toNanos()));
+			}
+		}
+		return room;
+	}
+
+	/**
+	 * 방 정보/참가자 변경 후 호출 (트랜잭션 안이면 커밋 후 반영)
+	 */
+	public void evict(String roomCode) {
+		if (roomCode == null) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					evictNow(roomCode);
+				}
+			});
+		} else {
+			evictNow(roomCode);
+		}
+	}
+
+	private void evictNow(String roomCode) {
+		synchronized (near) {
+			near.remove(roomCode);
+		}
+		try {
+			redisTemplate.opsForValue().increment(genKey(roomCode));
+			redisTemplate.expire(genKey(roomCode), GEN_TTL);
+			redisTemplate.delete(key(roomCode));
+		} catch (RuntimeException e) {
+			log.warn("[MeetingRoomRegistry] 레지스트리 삭제 실패 - roomCode: {}", roomCode, e);
+		}
+	}
+
+	// 세대를 먼저 읽고 DB 적재 : 그 사이 수정이 커밋되면 세대가 달라져 기록하지 않음
+	private ActiveRoom loadAndPublish(String roomCode) {
+		String gen = redisTemplate.opsForValue().get(genKey(roomCode));
+		ActiveRoom room = load(roomCode);
+		if (room == null) {
+			return null;
+		}
+		List<String> args = new ArrayList<>();
+		args.add(gen != null ? gen : "0");
+		args.add(String.valueOf(Duration.ofMinutes(ttlMinutes).toMillis()));
+		toHash(room).forEach((field, value) -> {
+			args.add(field);
+			args.add(value);
+		});
+		redisTemplate.execute(PUT_IF_SAME_GEN, List.of(key(roomCode), genKey(roomCode)), args.toArray());
+		return room;
+	}
+
+	private ActiveRoom load(String roomCode) {
+		MeetingRoom room = meetingRoomDAO.findByCode(roomCode);
+		if (room == null) {
+			return null;
+		}
+		Map<Integer, String> roles = new HashMap<>();
+		Integer creatorUserNo = null;
+		for (ParticipantRoleDto participant : meetingRoomDAO.selectParticipantRoles(room.getRoomNo())) {
+			roles.put(participant.getUserNo(), participant.getRoleNo());
+			if (CREATOR_ROLE.equals(participant.getRoleNo()) && creatorUserNo == null) {
+				creatorUserNo = participant.getUserNo();
+			}
+		}
+		return new ActiveRoom(room.getRoomNo(), room.getTeamNo(), room.getRoomCode(), room.getTitle(),
+				room.getScheduledTime(), room.getScheduledEndTime(), room.getCalDetailNo(), creatorUserNo, Map.copyOf(roles));
+	}
+
+	private static Map<String, String> toHash(ActiveRoom room) {
+		Map<String, String> hash = new LinkedHashMap<>();
+		putIfNotNull(hash, "roomNo", room.roomNo());
+		putIfNotNull(hash, "teamNo", room.teamNo());
+		putIfNotNull(hash, "title", room.title());
+		putIfNotNull(hash, "scheduledTime", room.scheduledTime());
+		putIfNotNull(hash, "scheduledEndTime", room.scheduledEndTime());
+		putIfNotNull(hash, "calDetailNo", room.calDetailNo());
+		putIfNotNull(hash, "creatorUserNo", room.creatorUserNo());
+		room.roles().forEach((userNo, role) -> hash.put(ROLE_FIELD_PREFIX + userNo, role));
+		return hash;
+	}
+
+	private static ActiveRoom fromHash(String roomCode, Map<Object, Object> hash) {
+		Map<Integer, String> roles = new HashMap<>();
+		for (Map.Entry<Object, Object> field : hash.entrySet()) {
+			String name = (String) field.getKey();
+			if (name.startsWith(ROLE_FIELD_PREFIX)) {
+				roles.put(Integer.valueOf(name.substring(ROLE_FIELD_PREFIX.length())), (String) field.getValue());
+			}
+		}
+		return new ActiveRoom(intField(hash, "roomNo"), intField(hash, "teamNo"), roomCode, (String) hash.get("title"),
+				timeField(hash, "scheduledTime"), timeField(hash, "scheduledEndTime"), intField(hash, "calDetailNo"),
+				intField(hash, "creatorUserNo"), Map.copyOf(roles));
+	}
+
+	private static void putIfNotNull(Map<String, String> hash, String field, Object value) {
+		if (value != null) {
+			hash.put(field, value.toString());
+		}
+	}
+
+	private static Integer intField(Map<Object, Object> hash, String field) {
+		Object value = hash.get(field);
+		return value != null ? Integer.valueOf((String) value) : null;
+	}
+
+	private static LocalDateTime timeField(Map<Object, Object> hash, String field) {
+		Object value = hash.get(field);
+		return value != null ? LocalDateTime.parse((String) value) : null;
+	}
+
+	private static String key(String roomCode) {
+		return KEY_PREFIX + roomCode;
+	}
+
+	private static String genKey(String roomCode) {
+		return GEN_KEY_PREFIX + roomCode;
+	}
+}
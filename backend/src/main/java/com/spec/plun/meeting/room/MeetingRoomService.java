@@ -7,19 +7,30 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.spec.plun.calendar.entity.CalendarDetail;
+import com.spec.plun.calendar.service.CalendarChangeLog;
+import com.spec.plun.calendar.service.CalendarEventIndex;
 import com.spec.plun.meeting.dto.MeetingRoomListDto;
+import com.spec.plun.meeting.dto.ParticipantDto;
+import com.spec.plun.meeting.dto.ParticipantRoleDto;
+import com.spec.plun.meeting.dto.PresenceRes;
 import com.spec.plun.meeting.dto.RoomDetailRes;
 import com.spec.plun.meeting.room.MeetingRoomController.AuthzRes;
+import com.spec.plun.meeting.room.MeetingRoomRegistry.ActiveRoom;
+import com.spec.plun.member.service.MemberDirectory;
+import com.spec.plun.member.util.IntKeyCache;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.server.ResponseStatusException;
@@ -30,9 +41,20 @@ import org.springframework.web.server.ResponseStatusException;
 public class MeetingRoomService {
 
 	private final MeetingRoomDAO meetingRoomDAO;
+	private final CalendarEventIndex calendarEventIndex;
+	private final CalendarChangeLog calendarChangeLog;
+	private final MeetingRoomRegistry meetingRoomRegistry;
+	private final MeetingPresenceTracker meetingPresenceTracker;
+	private final MemberDirectory memberDirectory;
 
-	private static final String CODE_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
-	private final java.security.SecureRandom random = new java.security.SecureRandom();
+	private final RoomCodeAllocator roomCodeAllocator;
+
+	// 코드 발급 전 무작위로 만든 기존 코드와 겹칠 때 다시 시도하는 횟수
+	private static final int CODE_RETRIES = 3;
+	private static final int TEAM_CALENDAR_CACHE_SIZE = 10000;
+
+	// teamNo → 팀 달력 cal_no (달력은 삭제되지 않으므로 무효화 없음)
+	private final IntKeyCache<Integer> teamCalendars = new IntKeyCache<>(TEAM_CALENDAR_CACHE_SIZE);
 
 	/* ---------------- 기본 방 생성(코드/시간 기본값 설정) ---------------- */
 
@@ -41,12 +63,22 @@ public class MeetingRoomService {
 			room.setScheduledTime(LocalDateTime.now(ZoneId.of("Asia/Seoul")));
 		}
 
-		if (room.getRoomCode() == null || room.getRoomCode().isBlank()) {
-			room.setRoomCode(generateUniqueCode(8));
+		if (room.getRoomCode() != null && !room.getRoomCode().isBlank()) {
+			meetingRoomDAO.insert(room);
+			return room.getRoomNo();
 		}
 
-		meetingRoomDAO.insert(room);
-		return room.getRoomNo();
+		// 발급 코드는 조회 없이 유일 : 겹치는 경우는 예전에 무작위로 만든 코드뿐
+		for (int attempt = 1; ; attempt++) {
+			room.setRoomCode(roomCodeAllocator.nextCode());
+			try {
+				meetingRoomDAO.insert(room);
+				return room.getRoomNo();
+			} catch (DuplicateKeyException e) {
+				if (attempt >= CODE_RETRIES)
+					throw e;
+			}
+		}
 	}
 
 	/* ---------------- 참여자(회의 역할) 등록 ---------------- */
@@ -55,52 +87,62 @@ public class MeetingRoomService {
 		if (roomNo == null)
 			return;
 
+		// 생성자(C001) + 초대(C002) 를 INSERT 한 번으로
+		List<ParticipantRoleDto> rows = new ArrayList<>();
 		if (creatorUserNo != null) {
-			meetingRoomDAO.insertParticipants(roomNo, "C001", List.of(creatorUserNo), null);
+			rows.add(participantRole(creatorUserNo, "C001"));
 		}
-
-		if (allSelected != null && !allSelected.isEmpty()) {
-			var invited = allSelected.stream().filter(uid -> !uid.equals(creatorUserNo)).distinct().toList();
-			if (!invited.isEmpty()) {
-				meetingRoomDAO.insertParticipants(roomNo, "C002", invited, null);
-			}
+		if (allSelected != null) {
+			allSelected.stream().filter(uid -> !uid.equals(creatorUserNo)).distinct()
+					.forEach(uid -> rows.add(participantRole(uid, "C002")));
+		}
+		if (!rows.isEmpty()) {
+			meetingRoomDAO.insertParticipantRoles(roomNo, rows);
 		}
 	}
 
 	/* ---------------- 회의방 + 달력상세 + 달력참여자(생성자 제외) 생성 ---------------- */
 
+	// 팀 달력 cal_no 가 캐시에 있으면 INSERT 4번 (달력상세 → 회의방 → 회의참여자 → 달력참여자), 키는 useGeneratedKeys 로 회수
+	// 여기에 변경 이력 기록(calendarChangeLog.record) 6번이 더해져 같은 트랜잭션에서 모두 10번 왕복
 	public CreateResult createRoomWithCalendar(MeetingRoom room, Integer creatorUserNo, List<Integer> participantIds) {
-		// 1) 회의방 생성
-		Integer roomNo = create(room);
+		if (room.getScheduledTime() == null) {
+			room.setScheduledTime(LocalDateTime.now(ZoneId.of("Asia/Seoul")));
+		}
 
-		// 2) 팀 달력 get-or-create
+		// 1) 팀 달력 get-or-create (캐시)
 		Integer calNo = getOrCreateTeamCalendar(room.getTeamNo(), creatorUserNo);
 
-		// 3) 달력상세 생성 (contents 초기 NULL, reg_user_no = 생성자)
-		LocalDate sDate = room.getScheduledTime().toLocalDate();
-		LocalTime sTime = room.getScheduledTime().toLocalTime();
-		LocalDate eDate = room.getScheduledEndTime().toLocalDate();
-		LocalTime eTime = room.getScheduledEndTime().toLocalTime();
-
-		meetingRoomDAO.insertCalendarDetail(calNo, room.getTitle(), null, // contents
-				sDate, sTime, eDate, eTime, creatorUserNo);
-		Integer calDetailNo = meetingRoomDAO.selectLastInsertId(); // ← 방금 INSERT한 PK 회수
-
-		// 4) 회의방에 cal_detail_no 메모(수정/삭제 용이)
-		meetingRoomDAO.updateCalDetailNo(roomNo, calDetailNo);
+		// 2) 달력상세 생성 (contents 초기 NULL, reg_user_no = 생성자)
+		CalendarDetail detail = new CalendarDetail();
+		detail.setCalNo(calNo);
+		detail.setTitle(room.getTitle());
+		detail.setStartDate(room.getScheduledTime().toLocalDate());
+		detail.setStartTime(room.getScheduledTime().toLocalTime());
+		detail.setEndDate(room.getScheduledEndTime().toLocalDate());
+		detail.setEndTime(room.getScheduledEndTime().toLocalTime());
+		detail.setRegUserNo(creatorUserNo);
+		meetingRoomDAO.insertCalendarDetail(detail);
+		Integer calDetailNo = detail.getCalDetailNo();
+
+		// 3) 회의방 생성 (cal_detail_no 를 함께 저장하므로 이후 UPDATE 없음)
+		room.setCalDetailNo(calDetailNo);
+		Integer roomNo = create(room);
 
-		// 5) 회의참여자 저장 (중복 제거 + 생성자 보장)
+		// 4) 회의참여자 저장 (중복 제거 + 생성자 보장)
 		LinkedHashSet<Integer> uniq = new LinkedHashSet<>(participantIds == null ? List.of() : participantIds);
 		if (creatorUserNo != null)
 			uniq.add(creatorUserNo);
 		List<Integer> all = List.copyOf(uniq);
 		addParticipantsWithRoles(roomNo, creatorUserNo, all);
 
-		// 6) 달력상세참여자: 생성자 제외하고 INSERT
+		// 5) 달력상세참여자: 생성자 제외하고 INSERT
 		List<Integer> invitedOnly = all.stream().filter(u -> !u.equals(creatorUserNo)).toList();
 		if (!invitedOnly.isEmpty()) {
 			meetingRoomDAO.insertCalendarDetailParticipants(calDetailNo, invitedOnly);
 		}
+		calendarChangeLog.record(room.getTeamNo(), calDetailNo, CalendarChangeLog.CREATED, null);
+		calendarEventIndex.eventChanged(room.getTeamNo(), calDetailNo);
 
 		// roomCode는 create()에서 세팅되어 있음
 		return new CreateResult(roomNo, room.getRoomCode(), calDetailNo);
@@ -117,13 +159,14 @@ public class MeetingRoomService {
 		return meetingRoomDAO.selectActiveByTeamAndMember(LocalDateTime.now(), teamNo, userNo);
 	}
 
+	// 입장 권한 : 레지스트리 조회 한 번 (DB 조회 없음)
 	public AuthzRes checkAuthz(String roomCode, Integer userNo) {
-	    var room = meetingRoomDAO.findByCode(roomCode);
+	    ActiveRoom room = meetingRoomRegistry.find(roomCode);
 	    if (room == null)
 	        return new AuthzRes(null, null, false, null);
-	    String role = meetingRoomDAO.findRole(room.getRoomNo(), userNo);
+	    String role = room.roleOf(userNo);
 	    boolean ok = (role != null);
-	    return new AuthzRes(room.getTitle(), role, ok, room.getRoomNo());
+	    return new AuthzRes(room.title(), role, ok, room.roomNo());
 	}
 
 	public void updateRoomAndCalendar(Integer roomNo, Integer editorUserNo, String title,
@@ -187,7 +230,10 @@ public class MeetingRoomService {
 				meetingRoomDAO.insertCalendarDetailParticipants(room.getCalDetailNo(), toAddCal);
 			if (!toDelCal.isEmpty())
 				meetingRoomDAO.deleteCalendarDetailParticipants(room.getCalDetailNo(), toDelCal);
+			calendarChangeLog.record(room.getTeamNo(), room.getCalDetailNo(), CalendarChangeLog.UPDATED, currentCal);
+			calendarEventIndex.eventChanged(room.getTeamNo(), room.getCalDetailNo());
 		}
+		meetingRoomRegistry.evict(room.getRoomCode());
 	}
 
 	public void deleteRoomAndCalendar(Integer roomNo, Integer editorUserNo) {
@@ -204,46 +250,70 @@ public class MeetingRoomService {
 
 		// 순서: 달력상세참여자 → 달력상세 → 회의참여자 → 회의방
 		if (room.getCalDetailNo() != null) {
+			List<Integer> previousCal = new ArrayList<>(
+					meetingRoomDAO.selectCalendarDetailParticipantUserNos(room.getCalDetailNo()));
+			previousCal.add(creatorUserNo);
 			meetingRoomDAO.deleteCalendarDetailParticipantsAll(room.getCalDetailNo());
 			meetingRoomDAO.deleteCalendarDetail(room.getCalDetailNo());
+			calendarChangeLog.record(room.getTeamNo(), room.getCalDetailNo(), CalendarChangeLog.DELETED, previousCal);
+			calendarEventIndex.eventChanged(room.getTeamNo(), room.getCalDetailNo());
 		}
 		meetingRoomDAO.deleteParticipantsAll(roomNo);
 		meetingRoomDAO.deleteMeetingRoom(roomNo);
+		meetingRoomRegistry.evict(room.getRoomCode());
+		meetingPresenceTracker.forget(roomNo);
 	}
 
 	public void logEnter(String roomCode, Integer userNo, String joinedAtIso) {
-		var room = meetingRoomDAO.findByCode(roomCode);
+		ActiveRoom room = meetingRoomRegistry.find(roomCode);
 		if (room == null)
 			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "회의방을 찾을 수 없습니다.");
 
-		LocalDateTime joinedAt = parseIsoToLocal(joinedAtIso);
-
-		int updated = meetingRoomDAO.updateJoinTime(room.getRoomNo(), userNo, joinedAt);
-		if (updated == 0) {
+		if (room.roleOf(userNo) == null) {
 			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "참가자 정보를 찾을 수 없습니다.");
 		}
+
+		// DB 기록은 접속자 추적기가 모아서 저장
+		LocalDateTime joinedAt = parseIsoToLocal(joinedAtIso);
+		meetingPresenceTracker.enter(room.roomNo(), room.roomCode(), userNo, joinedAt != null ? joinedAt : LocalDateTime.now());
 	}
 
 	public void logLeave(String roomCode, Integer userNo, String joinedAtIso, String leftAtIso) {
-		var room = meetingRoomDAO.findByCode(roomCode);
+		ActiveRoom room = meetingRoomRegistry.find(roomCode);
 		if (room == null)
 			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "회의방을 찾을 수 없습니다.");
 
+		if (room.roleOf(userNo) == null) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "참가자 정보를 찾을 수 없습니다.");
+		}
+
 		parseIsoToLocal(joinedAtIso);
 		LocalDateTime leftAt = parseIsoToLocal(leftAtIso);
+		meetingPresenceTracker.leave(room.roomNo(), userNo, leftAt != null ? leftAt : LocalDateTime.now());
+	}
 
-		int updated = meetingRoomDAO.updateOutTime(room.getRoomNo(), userNo, leftAt);
-		if (updated == 0) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "참가자 정보를 찾을 수 없습니다.");
-		}
+	// 현재 접속자 (유예 중인 퇴장 포함)
+	public PresenceRes getPresence(String roomCode) {
+		ActiveRoom room = meetingRoomRegistry.find(roomCode);
+		if (room == null)
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "회의방을 찾을 수 없습니다.");
+		return new PresenceRes(room.roomCode(), null, null, meetingPresenceTracker.onlineUserNos(room.roomNo()));
 	}
 
 	/* ---------------- 내부 유틸 ---------------- */
 
 	private Integer getOrCreateTeamCalendar(Integer teamNo, Integer creatorUserNo) {
+		Integer cached = teamNo != null ? teamCalendars.get(teamNo) : null;
+		if (cached != null)
+			return cached;
+
+		// 이미 있는 달력만 캐시 (이 트랜잭션에서 만든 달력은 롤백될 수 있음)
 		Integer calNo = meetingRoomDAO.findCalNoByTeamNo(teamNo);
-		if (calNo != null)
+		if (calNo != null) {
+			if (teamNo != null)
+				teamCalendars.put(teamNo, calNo);
 			return calNo;
+		}
 
 		// 팀당 1개 달력 정책이라면 team_no UNIQUE 권장 → 경쟁 시 재조회
 		try {
@@ -254,21 +324,11 @@ public class MeetingRoomService {
 		}
 	}
 
-	private String generateUniqueCode(int len) {
-		for (int i = 0; i < 5; i++) {
-			String code = randomCode(len);
-			if (meetingRoomDAO.findByCode(code) == null)
-				return code;
-		}
-		return randomCode(len + 2);
-	}
-
-	private String randomCode(int len) {
-		StringBuilder sb = new StringBuilder(len);
-		for (int i = 0; i < len; i++) {
-			sb.append(CODE_CHARS.charAt(random.nextInt(CODE_CHARS.length())));
-		}
-		return sb.toString();
+	private static ParticipantRoleDto participantRole(Integer userNo, String roleNo) {
+		ParticipantRoleDto row = new ParticipantRoleDto();
+		row.setUserNo(userNo);
+		row.setRoleNo(roleNo);
+		return row;
 	}
 
 	private LocalDateTime parseIsoToLocal(String iso) {
@@ -288,27 +348,38 @@ public class MeetingRoomService {
 	}
 
 	public RoomDetailRes getRoomDetail(String roomCode, Integer userNo) {
-		var room = meetingRoomDAO.findByCode(roomCode);
+		ActiveRoom room = meetingRoomRegistry.find(roomCode);
 		if (room == null) {
 			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "회의방을 찾을 수 없습니다.");
 		}
 
 		// 참가자만 상세 확인 가능 (원하면 이 체크 제거 가능)
-		String role = meetingRoomDAO.findRole(room.getRoomNo(), userNo);
+		String role = room.roleOf(userNo);
 		if (role == null) {
 			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "접근 권한이 없습니다.");
 		}
 
-		Integer creatorUserNo = meetingRoomDAO.selectCreatorUserNo(room.getRoomNo());
-		var participants = meetingRoomDAO.selectParticipantsWithNames(room.getRoomNo());
+		Integer creatorUserNo = room.creatorUserNo();
+
+		// 참가자 이름은 회원 이름 캐시에서 (생성자 먼저, 그다음 userNo 순)
+		List<Integer> userNos = new ArrayList<>(room.roles().keySet());
+		userNos.sort((a, b) -> a.equals(creatorUserNo) ? -1 : b.equals(creatorUserNo) ? 1 : a.compareTo(b));
+		List<ParticipantDto> participants = new ArrayList<>(userNos.size());
+		for (Integer participantNo : userNos) {
+			ParticipantDto participant = new ParticipantDto();
+			participant.setUserNo(participantNo);
+			String name = memberDirectory.getName(participantNo);
+			participant.setName(name != null ? name : "사용자 #" + participantNo);
+			participants.add(participant);
+		}
 
 		RoomDetailRes res = new RoomDetailRes();
-		res.setRoomNo(room.getRoomNo());
-		res.setRoomCode(room.getRoomCode());
-		res.setTitle(room.getTitle());
-		res.setScheduledTime(room.getScheduledTime());
-		res.setScheduledEndTime(room.getScheduledEndTime());
-		res.setCalDetailNo(/* meeting_room에 cal_detail_no 칼럼이 있다면 */ room.getCalDetailNo());
+		res.setRoomNo(room.roomNo());
+		res.setRoomCode(room.roomCode());
+		res.setTitle(room.title());
+		res.setScheduledTime(room.scheduledTime());
+		res.setScheduledEndTime(room.scheduledEndTime());
+		res.setCalDetailNo(/* meeting_room에 cal_detail_no 칼럼이 있다면 */ room.calDetailNo());
 		res.setCreatorUserNo(creatorUserNo);
 		res.setCreator(creatorUserNo != null && creatorUserNo.equals(userNo));
 		res.setParticipants(participants);
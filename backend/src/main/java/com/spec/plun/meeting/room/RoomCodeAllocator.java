@@ -0,0 +1,128 @@
+package com.spec.plun.meeting.room;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.Data;
+
+/**
+ * 회의방 코드 발급 (중복 확인 조회 없음)
+ *
+ * - 순번을 TB_MEETING_CODE_SEQ 에서 block-size 개씩 미리 받아 두고 (별도 트랜잭션, 블록당 쿼리 한 번)
+ *   40비트 Feistel 순열로 섞은 뒤 8자리 코드(32진)로 바꿈.
+ * - 순열은 일대일이므로 다른 순번은 항상 다른 코드가 되고, 연속 순번이어도 코드가 이어지지 않음.
+ * - 블록을 다 쓰기 전에 재시작하면 남은 순번은 버려짐. (코드 공간 2^40 에 비해 무시할 수준)
+ * - 순열 키(meeting.code.secret)는 기본값 없이 반드시 설정해야 함.
+ *   라운드 키는 라운드마다 HMAC-SHA256(secret, 라운드 번호)로 따로 뽑음.
+ */
+@Component
+public class RoomCodeAllocator {
+
+	static final String CODE_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+	static final int CODE_LENGTH = 8;
+
+	private static final int HALF_BITS = 20;
+	private static final int HALF_MASK = (1 << HALF_BITS) - 1;
+	private static final int ROUNDS = 4;
+
+	private final MeetingRoomDAO meetingRoomDAO;
+	private final TransactionTemplate newTransaction;
+	private final int blockSize;
+	private final int[] roundKeys;
+
+	private long next;
+	private long end;
+
+	public RoomCodeAllocator(MeetingRoomDAO meetingRoomDAO, PlatformTransactionManager transactionManager,
+			@Value("${meeting.code.block-size:100}") int blockSize,
+			@Value("${meeting.code.secret}") String secret) {
+		// 공개된 기본 키로 돌면 코드에서 순번을 역산해 다른 회의방 코드를 추측할 수 있으므로 키 없이는 시작하지 않음
+		if (secret == null || secret.isBlank()) {
+			throw new IllegalStateException("meeting.code.secret (MEETING_CODE_SECRET) 이 설정되지 않았습니다.");
+		}
+		this.meetingRoomDAO = meetingRoomDAO;
+		// 방 생성 트랜잭션이 롤백되어도 받은 블록은 되돌아가지 않아야 다른 노드와 겹치지 않음
+		this.newTransaction = new TransactionTemplate(transactionManager);
+		this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.blockSize = blockSize;
+		this.roundKeys = roundKeys(secret);
+	}
+
+	public String nextCode() {
+		return encode(permute(nextSequence(), roundKeys));
+	}
+
+	private synchronized long nextSequence() {
+		if (next >= end) {
+			SequenceBlock block = new SequenceBlock();
+			block.setSize(blockSize);
+			newTransaction.executeWithoutResult(status -> meetingRoomDAO.allocateCodeBlock(block));
+			end = block.getEnd();
+			next = end - blockSize;
+		}
+		return next++;
+	}
+
+	// 40비트 값을 20비트씩 나눈 Feistel 순열 (일대일)
+	static long permute(long value, int[] keys) {
+		int left = (int) (value >>> HALF_BITS) & HALF_MASK;
+		int right = (int) value & HALF_MASK;
+		for (int key : keys) {
+			int mixed = left ^ round(right, key);
+			left = right;
+			right = mixed;
+		}
+		return ((long) left << HALF_BITS) | right;
+	}
+
+	private static int round(int half, int key) {
+		int h = half * 0x9E3779B1 + key;
+		h ^= h >>> 15;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		return h & HALF_MASK;
+	}
+
+	// 40비트 → 5비트씩 8자리
+	static String encode(long value) {
+		char[] code = new char[CODE_LENGTH];
+		for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+			code[i] = CODE_CHARS.charAt((int) (value & 31));
+			value >>>= 5;
+		}
+		return new String(code);
+	}
+
+	// 라운드 키 = HMAC-SHA256(secret, 라운드 번호) 앞 32비트
+	// (한 해시값에서 전부 뽑으면 키 공간이 32비트로 줄어 코드 몇 개로 키를 맞출 수 있음)
+	static int[] roundKeys(String secret) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			int[] keys = new int[ROUNDS];
+			for (int i = 0; i < ROUNDS; i++) {
+				keys[i] = ByteBuffer.wrap(mac.doFinal(ByteBuffer.allocate(Integer.BYTES).putInt(i).array())).getInt();
+			}
+			return keys;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("회의방 코드 라운드 키를 만들 수 없습니다.", e);
+		}
+	}
+
+	// 순번 블록 할당 결과 ([end - size, end) 를 사용)
+	@Data
+	public static class SequenceBlock {
+		private int size;
+		private long end;
+	}
+}
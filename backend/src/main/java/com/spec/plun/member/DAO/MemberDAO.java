@@ -18,6 +18,9 @@ public interface MemberDAO {
 
 	String getPassword(String email);
 
+	int upgradePassword(@Param("email") String email, @Param("currentPassword") String currentPassword,
+			@Param("newPassword") String newPassword);
+
 	int userDelete(Integer userNo);
 
 	int countByEmail(String email);
@@ -28,4 +31,6 @@ public interface MemberDAO {
 
 	Integer findtype(String email);
 
+	String getName(Integer userNo);
+
 }
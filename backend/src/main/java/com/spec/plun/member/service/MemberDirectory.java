@@ -0,0 +1,74 @@
+package com.spec.plun.member.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.spec.plun.member.DAO.MemberDAO;
+import com.spec.plun.member.util.IntKeyCache;
+
+/**
+ * userNo → 이름 조회 캐시 (채팅/알림/캘린더 공용)
+ *
+ * 회원 가입/소셜 가입/탈퇴 시 MemberService 에서 즉시 갱신(write-through)한다.
+ */
+@Service
+public class MemberDirectory {
+
+	private final MemberDAO memberDAO;
+	private final IntKeyCache<String> names;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public MemberDirectory(MemberDAO memberDAO, @Value("${member.directory.max-size:10000}") int maxSize) {
+		this.memberDAO = memberDAO;
+		this.names = new IntKeyCache<>(maxSize);
+	}
+
+	// 사용자 이름 조회 (캐시에 없으면 DB 조회 후 저장)
+	public String getName(Integer userNo) {
+		if (userNo == null) {
+			return null;
+		}
+		String name = names.get(userNo);
+		if (name != null) {
+			hits.increment();
+			return name;
+		}
+		misses.increment();
+		name = memberDAO.getName(userNo);
+		names.put(userNo, name);
+		return name;
+	}
+
+	public void put(Integer userNo, String name) {
+		if (userNo != null) {
+			names.put(userNo, name);
+		}
+	}
+
+	public void evict(Integer userNo) {
+		if (userNo != null) {
+			names.remove(userNo);
+		}
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public double getHitRate() {
+		long hit = hits.sum();
+		long total = hit + misses.sum();
+		return total == 0 ? 0.0 : (double) hit / total;
+	}
+
+	public int size() {
+		return names.size();
+	}
+}
@@ -1,10 +1,10 @@
 package com.spec.plun.member.service;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.spec.plun.auth.service.PasswordHasher;
 import com.spec.plun.member.DAO.MemberDAO;
 import com.spec.plun.member.DTO.MemberDTO;
 import com.spec.plun.member.DTO.SetPasswordRequest;
@@ -16,10 +16,11 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class MemberService {
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 	
 	private final MemberDAO memberDAO;
 	private final TeamDAO teamDAO;
+	private final MemberDirectory memberDirectory;
 	
 	public MemberDTO getEmail(String email) {
 		return memberDAO.getEmail(email);
@@ -30,7 +31,11 @@ public class MemberService {
 	}
 
 	public boolean register(MemberDTO memberDTO) {
-		return memberDAO.register(memberDTO) == 1;
+		boolean registered = memberDAO.register(memberDTO) == 1;
+		if (registered) {
+			memberDirectory.put(memberDTO.getUserNo(), memberDTO.getName());
+		}
+		return registered;
 	}
 
 	
@@ -42,24 +47,30 @@ public class MemberService {
 	public void setPassword(SetPasswordRequest setPasswordRequest) {
 		String currentPass = memberDAO.getPassword(setPasswordRequest.getEmail());
 		
-		 if (!passwordEncoder.matches(setPasswordRequest.getCurrentPassword(), currentPass)) {
+		 if (!passwordHasher.matches(setPasswordRequest.getCurrentPassword(), currentPass)) {
 		     throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "현재 비밀번호가 올바르지 않습니다.");
 		    }
-		if(passwordEncoder.matches(setPasswordRequest.getPassword(), currentPass)) {
+		if(passwordHasher.matches(setPasswordRequest.getPassword(), currentPass)) {
 			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "새 비밀번호가 기존과 같습니다.");
         }
 		
-		String hashed = passwordEncoder.encode(setPasswordRequest.getPassword());
+		String hashed = passwordHasher.encode(setPasswordRequest.getPassword());
 		MemberDTO memberDTO = new MemberDTO();
 		memberDTO.setEmail(setPasswordRequest.getEmail());
 		memberDTO.setPassword(hashed);
 		memberDAO.resetPassword(memberDTO);
 	}
 
+	// 재해시 결과 저장 (그사이 비밀번호가 바뀌었으면 건너뜀)
+	public boolean upgradePassword(String email, String currentHash, String newHash) {
+		return memberDAO.upgradePassword(email, currentHash, newHash) == 1;
+	}
+
 	@Transactional
 	public boolean userDelete(Integer userNo) {
 		int cnt = teamDAO.teamsDelete(userNo);
 		int count = memberDAO.userDelete(userNo);
+		memberDirectory.evict(userNo);
 		
 		return count+cnt >= 1;
 	}
@@ -74,8 +85,13 @@ public class MemberService {
 	}
 
 	public int socialRegister(MemberDTO memberDTO) {
-		return memberDAO.socialRegister(memberDTO);
-		
+		int updated = memberDAO.socialRegister(memberDTO);
+		// 소셜 가입 시 이름이 바뀌므로 캐시 갱신
+		MemberDTO member = memberDAO.getEmail(memberDTO.getEmail());
+		if (member != null) {
+			memberDirectory.put(member.getUserNo(), member.getName());
+		}
+		return updated;
 	}
 
 	public Integer findtype(String email) {
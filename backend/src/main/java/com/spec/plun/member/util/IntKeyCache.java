@@ -0,0 +1,145 @@
+package com.spec.plun.member.util;
+
+import java.util.Arrays;
+
+/**
+ * int 키 전용 고정 크기 캐시
+ *
+ * - Integer 박싱 없이 int[] 키 배열에 선형 탐사(open addressing)로 저장.
+ * - 최대 개수를 넘으면 CLOCK(second-chance) 방식으로 최근 조회되지 않은 항목부터 제거.
+ * - 모든 연산은 이 객체의 모니터로 동기화 (임계 구역은 배열 몇 칸 접근 수준).
+ */
+public class IntKeyCache<V> {
+
+	private final int maxSize;
+	private final int mask;
+	private final int[] keys;
+	private final Object[] values; // null 이면 빈 칸
+	private final boolean[] referenced;
+	private int size;
+	private int hand;
+
+	public IntKeyCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize 는 1 이상이어야 합니다: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		// 적재율 50% 이하 유지
+		int capacity = Integer.highestOneBit(Math.max(2, maxSize * 2 - 1)) << 1;
+		this.mask = capacity - 1;
+		this.keys = new int[capacity];
+		this.values = new Object[capacity];
+		this.referenced = new boolean[capacity];
+	}
+
+	@SuppressWarnings("unchecked")
+	public synchronized V get(int key) {
+		int i = indexOf(key);
+		if (i < 0) {
+			return null;
+		}
+		referenced[i] = true;
+		return (V) values[i];
+	}
+
+	public synchronized void put(int key, V value) {
+		if (value == null) {
+			remove(key);
+			return;
+		}
+		int i = indexOf(key);
+		if (i >= 0) {
+			values[i] = value;
+			referenced[i] = true;
+			return;
+		}
+		if (size >= maxSize) {
+			evictOne();
+		}
+		i = slot(key);
+		while (values[i] != null) {
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		referenced[i] = false;
+		size++;
+	}
+
+	public synchronized void remove(int key) {
+		int i = indexOf(key);
+		if (i >= 0) {
+			deleteAt(i);
+		}
+	}
+
+	public synchronized void clear() {
+		Arrays.fill(values, null);
+		Arrays.fill(referenced, false);
+		size = 0;
+		hand = 0;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	private int indexOf(int key) {
+		int i = slot(key);
+		while (values[i] != null) {
+			if (keys[i] == key) {
+				return i;
+			}
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	private int slot(int key) {
+		int h = key * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	// CLOCK : 참조 비트가 켜진 항목은 한 번 봐주고, 꺼진 항목을 제거
+	private void evictOne() {
+		while (true) {
+			int i = hand;
+			hand = (hand + 1) & mask;
+			if (values[i] == null) {
+				continue;
+			}
+			if (referenced[i]) {
+				referenced[i] = false;
+				continue;
+			}
+			deleteAt(i);
+			return;
+		}
+	}
+
+	// 선형 탐사 삭제 : 뒤쪽 항목을 당겨와 탐색 경로가 끊기지 않게 함 (tombstone 없음)
+	private void deleteAt(int i) {
+		int j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			if (values[j] == null) {
+				break;
+			}
+			int ideal = slot(keys[j]);
+			if (!inCyclicRange(ideal, i, j)) {
+				keys[i] = keys[j];
+				values[i] = values[j];
+				referenced[i] = referenced[j];
+				i = j;
+			}
+		}
+		values[i] = null;
+		referenced[i] = false;
+		size--;
+	}
+
+	// ideal 이 (from, to] 구간(원형)에 있는지
+	private static boolean inCyclicRange(int ideal, int from, int to) {
+		return from <= to ? (ideal > from && ideal <= to) : (ideal > from || ideal <= to);
+	}
+}
@@ -0,0 +1,22 @@
+package com.spec.plun.metrics;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 지표 설정 (/actuator/prometheus, management.server.port 로만 노출)
+ *
+ * - 자동 수집 : http.server.requests (엔드포인트별), hikaricp.connections.* (DB 풀), lettuce.command.* (Redis 명령), jvm/executor
+ * - 직접 수집 : mybatis.statement (MyBatisMetricsInterceptor), STOMP (StompMetrics), 기능별 상태 (SubsystemMetrics)
+ */
+@Configuration
+public class MetricsConfig {
+
+	// mybatis-spring-boot-starter 가 Interceptor 빈을 SqlSessionFactory 에 등록함
+	@Bean
+	MyBatisMetricsInterceptor myBatisMetricsInterceptor(MeterRegistry registry) {
+		return new MyBatisMetricsInterceptor(registry);
+	}
+}
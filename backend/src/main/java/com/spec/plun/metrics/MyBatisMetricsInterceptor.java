@@ -0,0 +1,79 @@
+package com.spec.plun.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * MyBatis 문장별 실행 시간 / 오류 수
+ *
+ * - mybatis.statement (Timer) : statement=매퍼.문장 id, command=SELECT/INSERT/..., outcome=success|error
+ * - mybatis.statement.errors (Counter) : statement, exception=예외 클래스 이름
+ * - Cursor 조회는 커서를 여는 시간까지만 잼. (행을 읽는 시간은 호출하는 쪽)
+ */
+@Intercepts({
+		@Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }),
+		@Signature(type = Executor.class, method = "query",
+				args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+		@Signature(type = Executor.class, method = "queryCursor", args = { MappedStatement.class, Object.class, RowBounds.class }) })
+public class MyBatisMetricsInterceptor implements Interceptor {
+
+	private final MeterRegistry registry;
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+	public MyBatisMetricsInterceptor(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+		String name = statementName(statement.getId());
+		String command = statement.getSqlCommandType().name();
+		long started = System.nanoTime();
+		try {
+			Object result = invocation.proceed();
+			timer(name, command, "success").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+			return result;
+		} catch (Throwable e) {
+			timer(name, command, "error").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+			Throwable cause = e instanceof InvocationTargetException && e.getCause() != null ? e.getCause() : e;
+			Counter.builder("mybatis.statement.errors")
+					.tag("statement", name)
+					.tag("exception", cause.getClass().getSimpleName())
+					.register(registry)
+					.increment();
+			throw e;
+		}
+	}
+
+	private Timer timer(String statement, String command, String outcome) {
+		return timers.computeIfAbsent(statement + '|' + outcome, k -> Timer.builder("mybatis.statement")
+				.description("MyBatis 문장 실행 시간")
+				.tag("statement", statement)
+				.tag("command", command)
+				.tag("outcome", outcome)
+				.register(registry));
+	}
+
+	// com.spec.plun.chat.dao.ChatDAO.insertMessage → ChatDAO.insertMessage
+	static String statementName(String id) {
+		int method = id.lastIndexOf('.');
+		int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+		return type >= 0 ? id.substring(type + 1) : id;
+	}
+}
@@ -0,0 +1,98 @@
+package com.spec.plun.metrics;
+
+import java.util.concurrent.Executor;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * STOMP 채널 대기열 / WebSocket 세션 수
+ *
+ * - stomp.channel.queued, stomp.channel.active : channel=inbound|outbound|broker 실행기의 대기 작업 수, 실행 중 스레드 수
+ * - websocket.sessions : transport=websocket|http-streaming|http-polling 현재 세션 수
+ * - stomp.frames : command=connect|connected|disconnect 누적 수
+ */
+@Component
+public class StompMetrics implements MeterBinder {
+
+	@Autowired
+	private WebSocketMessageBrokerStats brokerStats;
+
+	@Autowired
+	@Qualifier("clientInboundChannelExecutor")
+	private Executor inboundExecutor;
+
+	@Autowired
+	@Qualifier("clientOutboundChannelExecutor")
+	private Executor outboundExecutor;
+
+	@Autowired
+	@Qualifier("brokerChannelExecutor")
+	private Executor brokerExecutor;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		bindExecutor(registry, "inbound", inboundExecutor);
+		bindExecutor(registry, "outbound", outboundExecutor);
+		bindExecutor(registry, "broker", brokerExecutor);
+
+		bindSessions(registry, "websocket", SubProtocolWebSocketHandler.Stats::getWebSocketSessions);
+		bindSessions(registry, "http-streaming", SubProtocolWebSocketHandler.Stats::getHttpStreamingSessions);
+		bindSessions(registry, "http-polling", SubProtocolWebSocketHandler.Stats::getHttpPollingSessions);
+		FunctionCounter.builder("websocket.sessions.limit.exceeded", brokerStats,
+				stats -> sessionStat(stats, SubProtocolWebSocketHandler.Stats::getLimitExceededSessions))
+				.description("전송 한도/시간 초과로 닫힌 세션 수")
+				.register(registry);
+
+		bindFrames(registry, "connect", StompSubProtocolHandler.Stats::getTotalConnect);
+		bindFrames(registry, "connected", StompSubProtocolHandler.Stats::getTotalConnected);
+		bindFrames(registry, "disconnect", StompSubProtocolHandler.Stats::getTotalDisconnect);
+	}
+
+	private static void bindExecutor(MeterRegistry registry, String channel, Executor executor) {
+		if (!(executor instanceof ThreadPoolTaskExecutor pool)) {
+			return;
+		}
+		Gauge.builder("stomp.channel.queued", pool, p -> p.getThreadPoolExecutor().getQueue().size())
+				.tag("channel", channel)
+				.description("채널 실행기 대기 작업 수")
+				.register(registry);
+		Gauge.builder("stomp.channel.active", pool, ThreadPoolTaskExecutor::getActiveCount)
+				.tag("channel", channel)
+				.description("채널 실행기에서 실행 중인 스레드 수")
+				.register(registry);
+	}
+
+	private void bindSessions(MeterRegistry registry, String transport,
+			ToIntFunction<SubProtocolWebSocketHandler.Stats> value) {
+		Gauge.builder("websocket.sessions", brokerStats, stats -> sessionStat(stats, value))
+				.tag("transport", transport)
+				.description("현재 WebSocket/SockJS 세션 수")
+				.register(registry);
+	}
+
+	private void bindFrames(MeterRegistry registry, String command,
+			ToIntFunction<StompSubProtocolHandler.Stats> value) {
+		FunctionCounter.builder("stomp.frames", brokerStats, stats -> {
+			StompSubProtocolHandler.Stats stomp = stats.getStompSubProtocolStats();
+			return stomp != null ? value.applyAsInt(stomp) : 0;
+		}).tag("command", command).register(registry);
+	}
+
+	private static double sessionStat(WebSocketMessageBrokerStats stats,
+			ToIntFunction<SubProtocolWebSocketHandler.Stats> value) {
+		SubProtocolWebSocketHandler.Stats sessions = stats.getWebSocketSessionStats();
+		return sessions != null ? value.applyAsInt(sessions) : 0;
+	}
+}
@@ -0,0 +1,122 @@
+package com.spec.plun.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.spec.plun.alarm.service.AlarmCoalescer;
+import com.spec.plun.auth.service.AccessTokenService;
+import com.spec.plun.auth.service.PasswordHasher;
+import com.spec.plun.auth.util.ClaimsCache;
+import com.spec.plun.calendar.service.CalendarEventIndex;
+import com.spec.plun.chat.service.ChatMessageWriteBehind;
+import com.spec.plun.chat.service.ChatReadTracker;
+import com.spec.plun.chat.service.ChatSearchIndex;
+import com.spec.plun.email.service.MailDispatcher;
+import com.spec.plun.meeting.room.MeetingPresenceTracker;
+import com.spec.plun.member.service.MemberDirectory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 각 기능의 메모리 캐시 / 쓰기 대기열 / 전용 스레드 풀 상태
+ *
+ * 값은 각 컴포넌트가 이미 들고 있는 카운터를 수집 시점에 읽기만 함. (요청 경로에 추가 비용 없음)
+ */
+@Component
+public class SubsystemMetrics implements MeterBinder {
+
+	@Autowired
+	private MemberDirectory memberDirectory;
+
+	@Autowired
+	private AccessTokenService accessTokenService;
+
+	@Autowired
+	private PasswordHasher passwordHasher;
+
+	@Autowired
+	private ChatMessageWriteBehind chatMessageWriteBehind;
+
+	@Autowired
+	private ChatReadTracker chatReadTracker;
+
+	@Autowired
+	private ChatSearchIndex chatSearchIndex;
+
+	@Autowired
+	private AlarmCoalescer alarmCoalescer;
+
+	@Autowired
+	private MeetingPresenceTracker meetingPresenceTracker;
+
+	@Autowired
+	private CalendarEventIndex calendarEventIndex;
+
+	@Autowired
+	private MailDispatcher mailDispatcher;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		// 사용자 이름 캐시
+		FunctionCounter.builder("cache.gets", memberDirectory, MemberDirectory::getHitCount)
+				.tags("cache", "member.directory", "result", "hit").register(registry);
+		FunctionCounter.builder("cache.gets", memberDirectory, MemberDirectory::getMissCount)
+				.tags("cache", "member.directory", "result", "miss").register(registry);
+		Gauge.builder("cache.size", memberDirectory, MemberDirectory::size)
+				.tag("cache", "member.directory").register(registry);
+
+		// access token 검증 결과 캐시 (끈 경우 없음)
+		ClaimsCache claimsCache = accessTokenService.getClaimsCache();
+		if (claimsCache != null) {
+			FunctionCounter.builder("cache.gets", claimsCache, ClaimsCache::getHitCount)
+					.tags("cache", "auth.claims", "result", "hit").register(registry);
+			FunctionCounter.builder("cache.gets", claimsCache, ClaimsCache::getMissCount)
+					.tags("cache", "auth.claims", "result", "miss").register(registry);
+			Gauge.builder("cache.size", claimsCache, ClaimsCache::size)
+					.tag("cache", "auth.claims").register(registry);
+		}
+
+		// 비밀번호 해시 전용 풀
+		FunctionTimer.builder("auth.password.hash", passwordHasher, PasswordHasher::getHashCount,
+				PasswordHasher::getHashNanos, TimeUnit.NANOSECONDS)
+				.description("BCrypt 해시/비교 시간").register(registry);
+		Gauge.builder("auth.password.hash.queued", passwordHasher, PasswordHasher::queueDepth).register(registry);
+		Gauge.builder("auth.password.hash.active", passwordHasher, PasswordHasher::activeCount).register(registry);
+		FunctionCounter.builder("auth.password.hash.rejected", passwordHasher, PasswordHasher::getRejectedCount)
+				.description("풀이 가득 차 503 으로 돌려보낸 요청 수").register(registry);
+
+		// 채팅
+		Gauge.builder("chat.write_behind.pending", chatMessageWriteBehind, ChatMessageWriteBehind::pending)
+				.description("DB 저장 대기 중인 메시지 수").register(registry);
+		Gauge.builder("chat.read_cursor.pending", chatReadTracker, ChatReadTracker::pendingWrites)
+				.description("저장 대기 중인 읽음 위치 수").register(registry);
+		Gauge.builder("chat.search.documents", chatSearchIndex, ChatSearchIndex::indexedCount).register(registry);
+		FunctionTimer.builder("chat.search.query", chatSearchIndex, ChatSearchIndex::getQueryCount,
+				ChatSearchIndex::getQueryNanos, TimeUnit.NANOSECONDS).register(registry);
+
+		// 알림 합치기
+		Gauge.builder("alarm.coalesce.pending", alarmCoalescer, AlarmCoalescer::pendingAlarms)
+				.description("행에 아직 반영하지 않은 채팅 알림 수").register(registry);
+		Gauge.builder("alarm.coalesce.groups", alarmCoalescer, AlarmCoalescer::openGroups).register(registry);
+
+		// 회의 접속자
+		Gauge.builder("meeting.presence.pending", meetingPresenceTracker, MeetingPresenceTracker::pendingWrites)
+				.description("저장 대기 중인 참석 구간 수").register(registry);
+		Gauge.builder("meeting.presence.rooms", meetingPresenceTracker, MeetingPresenceTracker::trackedRooms)
+				.register(registry);
+
+		// 일정 인덱스
+		Gauge.builder("calendar.index.teams", calendarEventIndex, CalendarEventIndex::cachedTeams)
+				.description("메모리에 올라간 팀 일정 인덱스 수").register(registry);
+
+		// 메일 발송
+		Gauge.builder("mail.in_flight", mailDispatcher, MailDispatcher::inFlight)
+				.description("발송 중인 메일 묶음 수").register(registry);
+	}
+}
@@ -49,22 +49,10 @@ public class TeamService {
 		
 		for(String inviteEmail : teamCreateRequest.getInvite()) {
 			teamDAO.insertInvite(teamCreateRequest.getTeamNo(),teamCreateRequest.getUserNo(),inviteEmail);
+			// 초대 메일은 발송 큐에 저장 (초대 정보와 함께 커밋, 발송은 MailDispatcher)
+			emailSendInviteService.sendSimpleMessage(inviteEmail,teamCreateRequest.getEmail(),teamCreateRequest.getUserName());
 		}
 		
-		TransactionSynchronizationManager.registerSynchronization((new TransactionSynchronization() {
-			@Override
-			public void afterCommit() {
-				for(String inviteEmail : teamCreateRequest.getInvite() ) {
-					try {
-						emailSendInviteService.sendSimpleMessage(inviteEmail,teamCreateRequest.getEmail(),teamCreateRequest.getUserName());
-					} catch (Exception e) {
-						log.warn("Invite mail failed. teamNo={}, email={}", teamCreateRequest.getTeamNo(), inviteEmail, e);
-					}
-				}
-			}
-		}));
-		
-		
 		return new TeamCreateResponse(teamCreateRequest.getTeamName(),teamCreateRequest.getTeamNo());
 	}
 	
@@ -72,6 +60,12 @@ public class TeamService {
 	public void memberInvite(MemberInviteRequest memberInviteRequest) {
 		for(String inviteEmail : memberInviteRequest.getInvite()) {
 			teamDAO.insertInvite(memberInviteRequest.getTeamNo(),memberInviteRequest.getUserNo(),inviteEmail);
+			// 이메일 발송 요청 (초대 정보와 함께 커밋)
+			emailSendInviteService.sendSimpleMessage(
+				inviteEmail, 
+				memberInviteRequest.getEmail(), 
+				memberInviteRequest.getUserName()
+			);
 		}
 		
 		TransactionSynchronizationManager.registerSynchronization((new TransactionSynchronization() {
@@ -79,13 +73,6 @@ public class TeamService {
 			public void afterCommit() {
 				for(String inviteEmail : memberInviteRequest.getInvite() ) {
 					try {
-	                    // 이메일 발송
-	                    emailSendInviteService.sendSimpleMessage(
-	                        inviteEmail, 
-	                        memberInviteRequest.getEmail(), 
-	                        memberInviteRequest.getUserName()
-	                    );
-
 	                    // WebSocket 실시간 초대 알림
 	                    messagingTemplate.convertAndSend(
 	                        "/topic/invitation/" + inviteEmail,
@@ -93,7 +80,7 @@ public class TeamService {
 	                    );
 
 	                }  catch (Exception e) {
-						log.warn("Invite mail failed. teamNo={}, email={}", memberInviteRequest.getTeamNo(), inviteEmail, e);
+						log.warn("Invite notification failed. teamNo={}, email={}", memberInviteRequest.getTeamNo(), inviteEmail, e);
 					}
 				}
 			}
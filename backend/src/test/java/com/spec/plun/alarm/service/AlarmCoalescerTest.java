@@ -0,0 +1,122 @@
+package com.spec.plun.alarm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.spec.plun.alarm.dao.AlarmDAO;
+import com.spec.plun.alarm.entity.Alarm;
+
+// 연속 채팅 알림이 INSERT 1 + UPDATE 1 로 합쳐지는지 확인 (flush 는 직접 호출)
+@ExtendWith(MockitoExtension.class)
+class AlarmCoalescerTest {
+
+	@Mock
+	private AlarmDAO alarmDAO;
+
+	@Mock
+	private AlarmPublisher alarmPublisher;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@InjectMocks
+	private AlarmCoalescer coalescer;
+
+	private int nextAlarmNo = 100;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(coalescer, "windowMs", 0L);
+		ReflectionTestUtils.setField(coalescer, "maxAgeMs", 60_000L);
+		doAnswer(inv -> {
+			((Alarm) inv.getArgument(0)).setAlarmNo(nextAlarmNo++);
+			return null;
+		}).when(alarmDAO).insertAlarm(any(Alarm.class));
+	}
+
+	@Test
+	void burstIsOneRowUpdatedInPlace() {
+		ReflectionTestUtils.setField(coalescer, "windowMs", 60_000L);
+		when(alarmDAO.coalesceAlarm(eq(100), eq(49), eq(2), eq("메시지 49"), any())).thenReturn(1);
+
+		for (int i = 0; i < 50; i++) {
+			coalescer.offer(chat(i));
+		}
+		assertThat(coalescer.pendingAlarms()).isEqualTo(49);
+		coalescer.flush(true);
+
+		verify(alarmDAO, times(1)).insertAlarm(any(Alarm.class));
+		verify(alarmDAO, times(1)).increaseUnreadCounts(anyList());
+		ArgumentCaptor<LocalDateTime> updateDate = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(alarmDAO).coalesceAlarm(eq(100), eq(49), eq(2), eq("메시지 49"), updateDate.capture());
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Alarm>> pushed = ArgumentCaptor.forClass(List.class);
+		verify(alarmPublisher, times(2)).publish(pushed.capture());
+		Alarm updated = pushed.getAllValues().get(1).get(0);
+		assertThat(updated.getAlarmNo()).isEqualTo(100);
+		assertThat(updated.getCoalescedCount()).isEqualTo(50);
+		// 전송하는 시각이 행에 쓴 시각과 같아야 클라이언트가 일괄 읽음 범위로 쓸 수 있음
+		assertThat(updated.getLastAlarmDate()).isEqualTo(updateDate.getValue());
+		assertThat(coalescer.openGroups()).isZero();
+	}
+
+	@Test
+	void readAlarmStartsNewRow() {
+		ReflectionTestUtils.setField(coalescer, "windowMs", 60_000L);
+		when(alarmDAO.coalesceAlarm(anyInt(), anyInt(), any(), anyString(), any())).thenReturn(0);
+
+		coalescer.offer(chat(0));
+		coalescer.offer(chat(1));
+		coalescer.offer(chat(2));
+		coalescer.flush(true);
+
+		ArgumentCaptor<Alarm> inserted = ArgumentCaptor.forClass(Alarm.class);
+		verify(alarmDAO, times(2)).insertAlarm(inserted.capture());
+		assertThat(inserted.getAllValues().get(1).getCoalescedCount()).isEqualTo(2);
+		assertThat(inserted.getAllValues().get(1).getContent()).isEqualTo("메시지 2");
+		verify(alarmDAO, times(2)).increaseUnreadCounts(anyList());
+	}
+
+	@Test
+	void quietWindowClosesGroup() {
+		coalescer.offer(chat(0));
+		coalescer.flush(false);
+		coalescer.offer(chat(1));
+
+		verify(alarmDAO, times(2)).insertAlarm(any(Alarm.class));
+		verify(alarmDAO, never()).coalesceAlarm(anyInt(), anyInt(), any(), anyString(), any());
+	}
+
+	private static Alarm chat(int i) {
+		Alarm alarm = new Alarm();
+		alarm.setUserNo(1);
+		alarm.setSenderNo(2);
+		alarm.setAlarmType("CHAT");
+		alarm.setReferenceNo(7);
+		alarm.setContent("메시지 " + i);
+		return alarm;
+	}
+}
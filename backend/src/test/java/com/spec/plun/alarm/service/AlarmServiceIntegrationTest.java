@@ -0,0 +1,135 @@
+package com.spec.plun.alarm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.spec.plun.alarm.dao.AlarmDAO;
+import com.spec.plun.alarm.entity.Alarm;
+import com.spec.plun.member.service.MemberDirectory;
+
+// 알림 일괄 생성이 운영 스키마(H2 MariaDB 모드)에서 키를 모두 받아오고, 실패하면 통째로 롤백되는지 확인
+// 알림함 페이지가 합쳐진 알림의 마지막 시각 기준으로 빠짐/중복 없이 이어지는지 확인
+// 일괄 읽음이 화면에서 본 뒤에 합쳐진 알림을 남기는지 확인
+// (테스트 트랜잭션이 서비스 트랜잭션을 덮지 않도록 테스트 트랜잭션 없이 실행하고, 끝나면 직접 지움)
+@MybatisTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = "/sql/fixture.sql", config = @SqlConfig(encoding = "UTF-8"))
+@Sql(executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD, statements = {
+		"DELETE FROM TB_ALARM_UNREAD", "DELETE FROM TB_ALARM", "DELETE FROM TB_CHAT_MEMBER",
+		"DELETE FROM TB_CHAT_ROOM", "DELETE FROM TB_TEAM_MEMBER", "DELETE FROM TB_MEMBER", "DELETE FROM TB_TEAM",
+		"DELETE FROM TB_MEMBER_LOGIN", "DELETE FROM TB_ROLE_CODE" })
+@Import(AlarmService.class)
+class AlarmServiceIntegrationTest {
+
+	@Autowired
+	private AlarmService alarmService;
+
+	@Autowired
+	private AlarmDAO alarmDAO;
+
+	@MockitoBean
+	private AlarmPublisher alarmPublisher;
+
+	@MockitoBean
+	private AlarmCoalescer alarmCoalescer;
+
+	@MockitoBean
+	private MemberDirectory memberDirectory;
+
+	@MockitoBean
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Test
+	void batchInsertStoresEveryRowWithItsGeneratedKey() {
+		alarmService.createCalendarAlarms("CALENDAR_UPDATE", 10, "회의 시간 변경", List.of(1, 2, 3, 1), "하나", 1);
+
+		List<Alarm> first = alarmDAO.selectAlarmsByUserNo(1, null, null, 10);
+		List<Alarm> second = alarmDAO.selectAlarmsByUserNo(2, null, null, 10);
+		List<Alarm> third = alarmDAO.selectAlarmsByUserNo(3, null, null, 10);
+		assertThat(first).hasSize(2).extracting(Alarm::getReferenceNo).containsOnly(10);
+		assertThat(second).hasSize(1);
+		assertThat(third).hasSize(1);
+		assertThat(List.of(first.get(0).getAlarmNo(), first.get(1).getAlarmNo(), second.get(0).getAlarmNo(),
+				third.get(0).getAlarmNo())).doesNotContainNull().doesNotHaveDuplicates();
+
+		assertThat(alarmService.getUnreadCount(1)).isEqualTo(2);
+		assertThat(alarmService.getUnreadCount(2)).isEqualTo(1);
+		assertThat(alarmService.getUnreadCount(3)).isEqualTo(1);
+	}
+
+	@Test
+	void failureAfterInsertRollsBackRowsAndCounters() {
+		doThrow(new IllegalStateException("전송 실패")).when(alarmPublisher).publish(anyList());
+
+		assertThatThrownBy(() -> alarmService.createCalendarAlarms("CALENDAR_UPDATE", 10, "회의 시간 변경",
+				List.of(1, 2), "하나", 1)).isInstanceOf(IllegalStateException.class);
+
+		assertThat(alarmDAO.selectAlarmsByUserNo(1, null, null, 10)).isEmpty();
+		assertThat(alarmDAO.selectAlarmsByUserNo(2, null, null, 10)).isEmpty();
+		assertThat(alarmService.getUnreadCount(1)).isZero();
+		assertThat(alarmService.getUnreadCount(2)).isZero();
+	}
+
+	@Test
+	@SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+	// (인라인 문장은 기본 문자셋으로 읽히므로 내용은 ASCII)
+	@Sql(statements = "INSERT INTO TB_ALARM (user_no, alarm_type, reference_no, content, create_date, update_date) VALUES "
+			+ "(1, 'CHAT', 1, 'coalesced', '2026-01-01 10:00:00', '2026-01-01 10:30:00'), "
+			+ "(1, 'CHAT', 2, 'oldest', '2026-01-01 10:10:00', NULL), "
+			+ "(1, 'CALENDAR_UPDATE', 3, 'tie-first', '2026-01-01 10:20:00', NULL), "
+			+ "(1, 'CALENDAR_UPDATE', 4, 'tie-last', '2026-01-01 10:20:00', NULL)")
+	void coalescedAlarmIsPagedByItsLastAlarmDate() {
+		List<Alarm> first = alarmService.getUserAlarms(1, null, null, 2);
+		assertThat(first).extracting(Alarm::getContent).containsExactly("coalesced", "tie-last");
+
+		Alarm last = first.get(first.size() - 1);
+		List<Alarm> second = alarmService.getUserAlarms(1, last.getLastAlarmDate(), last.getAlarmNo(), 2);
+		assertThat(second).extracting(Alarm::getContent).containsExactly("tie-first", "oldest");
+
+		// 시각 없이 번호만 넘기면 그 알림의 현재 시각을 커서로 사용
+		assertThat(alarmService.getUserAlarms(1, null, last.getAlarmNo(), 2)).isEqualTo(second);
+	}
+
+	@Test
+	@SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+	@Sql(statements = "INSERT INTO TB_ALARM (user_no, alarm_type, reference_no, content, create_date, update_date) VALUES "
+			+ "(1, 'CHAT', 1, 'chat', '2026-01-01 10:00:00', NULL), "
+			+ "(1, 'CALENDAR_UPDATE', 2, 'newest', '2026-01-01 10:20:00', NULL)")
+	void bulkReadLeavesAlarmCoalescedAfterSnapshot() {
+		List<Alarm> seen = alarmService.getUserAlarms(1, null, null, 10);
+		int upTo = seen.stream().mapToInt(Alarm::getAlarmNo).max().getAsInt();
+		LocalDateTime upToDate = seen.stream().map(Alarm::getLastAlarmDate).max(Comparator.naturalOrder()).get();
+		Integer chatNo = seen.stream().filter(a -> "chat".equals(a.getContent())).findFirst().get().getAlarmNo();
+
+		// 화면을 본 뒤 채팅 알림에 새 메시지가 합쳐짐 (alarm_no 는 그대로, 시각만 늦어짐)
+		assertThat(alarmDAO.coalesceAlarm(chatNo, 1, 2, "late", LocalDateTime.of(2026, 1, 1, 10, 30))).isEqualTo(1);
+
+		assertThat(alarmService.markAllAsRead(1, upTo, upToDate, null, null)).isEqualTo(1);
+		assertThat(alarmDAO.selectAlarmsByUserNo(1, null, null, 10))
+				.extracting(Alarm::getContent, Alarm::getIsRead)
+				.containsExactly(tuple("late", "N"), tuple("newest", "Y"));
+	}
+}
@@ -0,0 +1,78 @@
+package com.spec.plun.alarm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.spec.plun.alarm.dao.AlarmDAO;
+import com.spec.plun.alarm.entity.Alarm;
+import com.spec.plun.member.service.MemberDirectory;
+
+// 여러 수신자 알림(createAlarms 의 multi-row INSERT)이 실제 MariaDB + Connector/J 에서 행마다 키를 받아 저장되는지 확인
+// (H2 는 드라이버 설정과 관계없이 모든 키를 돌려주므로 AlarmServiceIntegrationTest 로는 확인할 수 없음, Docker 가 없으면 건너뜀)
+@MybatisTest
+@ActiveProfiles("mariadb")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Sql(scripts = "/sql/fixture.sql", config = @SqlConfig(encoding = "UTF-8"))
+@Import(AlarmService.class)
+class AlarmServiceMariaDbTest {
+
+	@Container
+	@ServiceConnection
+	static final MariaDBContainer<?> MARIADB = new MariaDBContainer<>("mariadb:11.4");
+
+	@Autowired
+	private AlarmService alarmService;
+
+	@Autowired
+	private AlarmDAO alarmDAO;
+
+	@MockitoBean
+	private AlarmPublisher alarmPublisher;
+
+	@MockitoBean
+	private AlarmCoalescer alarmCoalescer;
+
+	@MockitoBean
+	private MemberDirectory memberDirectory;
+
+	@MockitoBean
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Test
+	void multiRecipientAlarmsGetEveryGeneratedKey() {
+		when(memberDirectory.getName(anyInt())).thenReturn("하나");
+
+		alarmService.createChatAlarms(1, List.of(1, 2, 3), 1, "채팅방에 초대되었습니다.");
+		alarmService.createCalendarInviteAlarms(1, List.of(2, 3), 10);
+
+		List<Integer> alarmNos = new ArrayList<>();
+		for (int userNo : List.of(1, 2, 3)) {
+			alarmDAO.selectAlarmsByUserNo(userNo, null, null, 10).forEach(alarm -> alarmNos.add(alarm.getAlarmNo()));
+		}
+		assertThat(alarmNos).hasSize(5).doesNotHaveDuplicates();
+		assertThat(alarmDAO.selectAlarmsByUserNo(2, null, null, 10)).extracting(Alarm::getAlarmType)
+				.containsExactlyInAnyOrder("CHAT", "CALENDAR_INVITE");
+		assertThat(alarmService.getUnreadCount(1)).isEqualTo(1);
+		assertThat(alarmService.getUnreadCount(3)).isEqualTo(2);
+	}
+}
@@ -0,0 +1,100 @@
+package com.spec.plun.alarm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.spec.plun.alarm.dao.AlarmDAO;
+import com.spec.plun.alarm.entity.Alarm;
+
+// 안 읽은 수 카운터가 실제로 바뀐 행 수만큼만 움직이는지 확인
+@ExtendWith(MockitoExtension.class)
+class AlarmServiceTest {
+
+	@Mock
+	private AlarmDAO alarmDAO;
+
+	@Mock
+	private AlarmPublisher alarmPublisher;
+
+	@InjectMocks
+	private AlarmService alarmService;
+
+	@Test
+	void bulkReadIsOneUpdateAndDecrementsByAffectedRows() {
+		when(alarmDAO.updateAlarmsIsRead(7, 120, null, null, null)).thenReturn(35);
+
+		int updated = alarmService.markAllAsRead(7, 120, null, null, null);
+
+		assertThat(updated).isEqualTo(35);
+		verify(alarmDAO).decreaseUnreadCount(7, 35);
+	}
+
+	@Test
+	void alreadyReadAlarmDoesNotTouchCounter() {
+		when(alarmDAO.updateAlarmIsRead(3)).thenReturn(0);
+
+		alarmService.markAsRead(3);
+
+		verify(alarmDAO, never()).decreaseUnreadCountByAlarmNo(anyInt());
+	}
+
+	@Test
+	void batchInsertIncrementsCountersOnce() {
+		List<Alarm> alarms = List.of(alarm(1), alarm(2), alarm(1));
+		doAnswer(inv -> {
+			List<Alarm> rows = inv.getArgument(0);
+			for (int i = 0; i < rows.size(); i++) {
+				rows.get(i).setAlarmNo(100 + i * 2); // 드라이버가 돌려준 키 (연속이 아닐 수 있음)
+			}
+			return null;
+		}).when(alarmDAO).insertAlarms(alarms);
+
+		alarmService.createAlarms(alarms);
+
+		verify(alarmDAO).insertAlarms(alarms);
+		verify(alarmDAO).increaseUnreadCounts(alarms);
+		verify(alarmPublisher).publish(alarms);
+	}
+
+	@Test
+	void missingGeneratedKeysFailInsteadOfBeingGuessed() {
+		List<Alarm> alarms = List.of(alarm(1), alarm(2));
+		doAnswer(inv -> {
+			alarms.get(0).setAlarmNo(100);
+			return null;
+		}).when(alarmDAO).insertAlarms(alarms);
+
+		assertThatThrownBy(() -> alarmService.createAlarms(alarms)).isInstanceOf(IllegalStateException.class);
+
+		assertThat(alarms.get(1).getAlarmNo()).isNull();
+		verify(alarmDAO, never()).increaseUnreadCounts(anyList());
+		verify(alarmPublisher, never()).publish(anyList());
+	}
+
+	@Test
+	void pageSizeIsCapped() {
+		alarmService.getUserAlarms(7, null, 500, 10_000);
+
+		verify(alarmDAO).selectAlarmsByUserNo(7, null, 500, AlarmService.MAX_PAGE_SIZE);
+	}
+
+	private static Alarm alarm(int userNo) {
+		Alarm alarm = new Alarm();
+		alarm.setUserNo(userNo);
+		return alarm;
+	}
+}
@@ -0,0 +1,158 @@
+package com.spec.plun.attachment.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.util.StreamUtils;
+
+/**
+ * 첨부파일 다운로드 처리량 비교 (기존 UrlResource 스트림 복사 vs FileChannel.transferTo)
+ *
+ * 로컬 소켓으로 전송하고 받는 쪽은 버리기만 한다. 기본 테스트에서는 실행되지 않음.
+ *   PLUN_BENCHMARK=true gradle test --tests '*AttachmentDownloadBenchmark'
+ */
+@EnabledIfEnvironmentVariable(named = "PLUN_BENCHMARK", matches = "true")
+class AttachmentDownloadBenchmark {
+
+	private static final int FILE_MB = 256;
+	private static final int ROUNDS = 8;
+	private static final int SEEKS = 50;
+	private static final int SEEK_WINDOW = 1 << 20;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void compareThroughput() throws Exception {
+		Path file = dir.resolve("recording.bin");
+		writeRandomFile(file, FILE_MB);
+		long length = Files.size(file);
+
+		try (Sink sink = new Sink()) {
+			// 워밍업
+			streamCopy(file, sink);
+			zeroCopy(file, 0, length, sink);
+
+			// 1. 전체 다운로드
+			long legacyNanos = 0;
+			long zeroCopyNanos = 0;
+			for (int i = 0; i < ROUNDS; i++) {
+				long start = System.nanoTime();
+				streamCopy(file, sink);
+				legacyNanos += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				zeroCopy(file, 0, length, sink);
+				zeroCopyNanos += System.nanoTime() - start;
+			}
+			report("full download", (long) ROUNDS * length, legacyNanos, zeroCopyNanos);
+
+			// 2. 영상 탐색 : 기존 방식은 Range 를 지원하지 않아 탐색할 때마다 처음부터 전체 전송
+			Random random = new Random(42);
+			long legacyBytes = 0;
+			long rangedBytes = 0;
+			legacyNanos = 0;
+			zeroCopyNanos = 0;
+			for (int i = 0; i < SEEKS; i++) {
+				long position = (long) (random.nextDouble() * (length - SEEK_WINDOW));
+
+				long start = System.nanoTime();
+				legacyBytes += streamCopy(file, sink);
+				legacyNanos += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				zeroCopy(file, position, SEEK_WINDOW, sink);
+				rangedBytes += SEEK_WINDOW;
+				zeroCopyNanos += System.nanoTime() - start;
+			}
+			System.out.printf("[benchmark] %d seeks: legacy sent %,d MB in %,d ms / ranged sent %,d MB in %,d ms%n",
+					SEEKS, legacyBytes >> 20, legacyNanos / 1_000_000, rangedBytes >> 20, zeroCopyNanos / 1_000_000);
+		}
+	}
+
+	// 기존 구현 : UrlResource → ResourceHttpMessageConverter 와 같은 InputStream 복사
+	private static long streamCopy(Path file, Sink sink) throws IOException {
+		Resource resource = new UrlResource(file.toUri());
+		try (InputStream in = resource.getInputStream()) {
+			OutputStream out = Channels.newOutputStream(sink.client);
+			return StreamUtils.copy(in, out);
+		}
+	}
+
+	private static void zeroCopy(Path file, long position, long count, Sink sink) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			AttachmentFileSender.transfer(channel, position, count, sink.client);
+		}
+	}
+
+	private static void report(String name, long bytes, long legacyNanos, long zeroCopyNanos) {
+		double legacy = bytes / 1048576.0 / (legacyNanos / 1e9);
+		double zero = bytes / 1048576.0 / (zeroCopyNanos / 1e9);
+		System.out.printf("[benchmark] %s: legacy %.0f MB/s, transferTo %.0f MB/s (x%.2f)%n", name, legacy, zero,
+				zero / legacy);
+	}
+
+	private static void writeRandomFile(Path file, int megabytes) throws IOException {
+		byte[] chunk = new byte[1 << 20];
+		new Random(1).nextBytes(chunk);
+		try (OutputStream out = Files.newOutputStream(file)) {
+			for (int i = 0; i < megabytes; i++) {
+				out.write(chunk);
+			}
+		}
+	}
+
+	// 받은 바이트를 버리기만 하는 로컬 소켓
+	private static class Sink implements AutoCloseable {
+
+		final SocketChannel client;
+		private final ServerSocketChannel server;
+		private final Thread drainer;
+		private final AtomicLong received = new AtomicLong();
+
+		Sink() throws IOException {
+			server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+			client = SocketChannel.open(server.getLocalAddress());
+			client.setOption(StandardSocketOptions.SO_SNDBUF, 1 << 20);
+			SocketChannel accepted = server.accept();
+			drainer = new Thread(() -> {
+				ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+				try {
+					int n;
+					while ((n = accepted.read(buffer)) >= 0) {
+						received.addAndGet(n);
+						buffer.clear();
+					}
+				} catch (IOException e) {
+					// 종료
+				}
+			}, "benchmark-sink");
+			drainer.setDaemon(true);
+			drainer.start();
+		}
+
+		@Override
+		public void close() throws IOException {
+			client.close();
+			server.close();
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package com.spec.plun.attachment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.spec.plun.attachment.entity.Attachment;
+
+// Range / 조건부 요청 처리 확인 (sendfile 미지원 경로 = transferTo)
+class AttachmentFileSenderTest {
+
+	@TempDir
+	Path dir;
+
+	private final AttachmentFileSender sender = new AttachmentFileSender();
+	private Attachment attachment;
+	private Path file;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		file = dir.resolve("video.mp4");
+		Files.write(file, "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII));
+
+		attachment = new Attachment();
+		attachment.setAttachmentNo("a1b2");
+		attachment.setOriginalName("회의 녹화.mp4");
+		attachment.setContentType("video/mp4");
+		attachment.setPath(file.toString());
+		attachment.setCreateDate(LocalDateTime.of(2025, 8, 1, 10, 0));
+	}
+
+	@Test
+	void fullDownloadCarriesValidators() throws IOException {
+		MockHttpServletResponse response = send(get());
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsString()).isEqualTo("0123456789abcdefghij");
+		assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+		assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("\"a1b2-14-");
+		assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+	}
+
+	@Test
+	void matchingEtagAnswersNotModified() throws IOException {
+		String etag = send(get()).getHeader(HttpHeaders.ETAG);
+
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag);
+		MockHttpServletResponse response = send(request);
+
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void singleRangeIsPartialContent() throws IOException {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+		MockHttpServletResponse response = send(request);
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/20");
+		assertThat(response.getContentAsString()).isEqualTo("abcdefghij");
+	}
+
+	@Test
+	void multipleRangesUseMultipartByteranges() throws IOException {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=0-1,-2");
+		MockHttpServletResponse response = send(request);
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+		String body = response.getContentAsString();
+		assertThat(body).contains("Content-Range: bytes 0-1/20\r\n\r\n01\r\n");
+		assertThat(body).contains("Content-Range: bytes 18-19/20\r\n\r\nij\r\n");
+		assertThat(response.getContentLengthLong()).isEqualTo(response.getContentAsByteArray().length);
+	}
+
+	@Test
+	void unsatisfiableRangeAnswers416() throws IOException {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+		MockHttpServletResponse response = send(request);
+
+		assertThat(response.getStatus()).isEqualTo(416);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+	}
+
+	@Test
+	void staleIfRangeFallsBackToFullBody() throws IOException {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=0-4");
+		request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+		MockHttpServletResponse response = send(request);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsString()).hasSize(20);
+	}
+
+	private MockHttpServletRequest get() {
+		return new MockHttpServletRequest("GET", "/attachments/download/a1b2");
+	}
+
+	private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		sender.send(request, response, attachment, file);
+		return response;
+	}
+}
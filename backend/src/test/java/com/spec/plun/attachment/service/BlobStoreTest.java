@@ -0,0 +1,97 @@
+package com.spec.plun.attachment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.spec.plun.attachment.dao.AttachmentDAO;
+import com.spec.plun.attachment.service.BlobStore.Blob;
+
+// 같은 내용은 한 번만 저장되고, 마지막 참조가 해제될 때만 파일이 지워지는지 확인
+@ExtendWith(MockitoExtension.class)
+class BlobStoreTest {
+
+	@TempDir
+	Path uploadDir;
+
+	@Mock
+	private AttachmentDAO attachmentDAO;
+
+	@InjectMocks
+	private BlobStore blobStore;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(blobStore, "uploadPath", uploadDir.toString());
+	}
+
+	@Test
+	void duplicateContentIsStoredOnce() throws IOException {
+		byte[] pdf = "%PDF-1.7 same document".getBytes(StandardCharsets.US_ASCII);
+
+		Blob first = blobStore.store(new MockMultipartFile("file", "report.pdf", "application/pdf", pdf));
+		Blob second = blobStore.store(new MockMultipartFile("file", "report (1).pdf", "application/pdf", pdf));
+
+		assertThat(second.digest()).isEqualTo(first.digest());
+		assertThat(second.path()).isEqualTo(first.path());
+		assertThat(Files.readAllBytes(first.path())).isEqualTo(pdf);
+		assertThat(storedFiles()).isEqualTo(1);
+		verify(attachmentDAO, times(2)).addBlobRef(eq(first.digest()), anyString(), anyLong());
+		// 샤딩된 경로 : blobs/ab/cd/abcd...
+		assertThat(uploadDir.relativize(first.path()).toString().replace('\\', '/'))
+				.isEqualTo("blobs/" + first.digest().substring(0, 2) + "/" + first.digest().substring(2, 4) + "/" + first.digest());
+	}
+
+	@Test
+	void storedFileIsMovedOrDiscarded() throws IOException {
+		Path partA = Files.write(uploadDir.resolve("a.part"), "video".getBytes(StandardCharsets.US_ASCII));
+		Path partB = Files.write(uploadDir.resolve("b.part"), "video".getBytes(StandardCharsets.US_ASCII));
+
+		Blob a = blobStore.storeFile(partA);
+		Blob b = blobStore.storeFile(partB);
+
+		assertThat(b.path()).isEqualTo(a.path());
+		assertThat(partA).doesNotExist();
+		assertThat(partB).doesNotExist();
+		assertThat(storedFiles()).isEqualTo(1);
+	}
+
+	@Test
+	void fileIsUnlinkedOnlyWithLastReference() throws IOException {
+		Blob blob = blobStore.store(new MockMultipartFile("file", "a.txt", "text/plain", new byte[] { 1, 2, 3 }));
+
+		when(attachmentDAO.deleteUnreferencedBlob(blob.digest())).thenReturn(0);
+		blobStore.release(blob.digest());
+		assertThat(blob.path()).exists();
+
+		when(attachmentDAO.deleteUnreferencedBlob(blob.digest())).thenReturn(1);
+		blobStore.release(blob.digest());
+		assertThat(blob.path()).doesNotExist();
+	}
+
+	private long storedFiles() throws IOException {
+		try (Stream<Path> files = Files.walk(uploadDir.resolve("blobs"))) {
+			return files.filter(Files::isRegularFile).count();
+		}
+	}
+}
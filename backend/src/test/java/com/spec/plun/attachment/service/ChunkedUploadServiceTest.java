@@ -0,0 +1,328 @@
+package com.spec.plun.attachment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.spec.plun.attachment.dao.AttachmentDAO;
+import com.spec.plun.attachment.dto.UploadInitRequest;
+import com.spec.plun.attachment.dto.UploadStatus;
+import com.spec.plun.attachment.entity.Attachment;
+import com.spec.plun.attachment.service.BlobStore.Blob;
+import com.spec.plun.chat.dao.ChatDAO;
+
+// 이어 올리기(끊긴 뒤 재개, 해시 이어 계산), 중복/순서가 어긋난 청크, 업로드 소유자/방 참여 확인, 락 연장을 메모리 Redis 로 확인
+@ExtendWith(MockitoExtension.class)
+class ChunkedUploadServiceTest {
+
+	private static final int MB = 1024 * 1024;
+	private static final int OWNER = 1;
+
+	@Mock
+	private StringRedisTemplate redisTemplate;
+
+	@Mock
+	private HashOperations<String, Object, Object> hashOps;
+
+	@Mock
+	private ValueOperations<String, String> valueOps;
+
+	@Mock
+	private AttachmentDAO attachmentDAO;
+
+	@Mock
+	private ChatDAO chatDAO;
+
+	@Mock
+	private BlobStore blobStore;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@InjectMocks
+	private ChunkedUploadService service;
+
+	@TempDir
+	Path uploadDir;
+
+	// 메모리 Redis : 해시(진행 상태)와 문자열(락)
+	private final Map<String, Map<Object, Object>> hashes = new ConcurrentHashMap<>();
+	private final Map<String, String> values = new ConcurrentHashMap<>();
+	private final AtomicInteger renewals = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "uploadPath", uploadDir.toString());
+		ReflectionTestUtils.setField(service, "chunkSize", 2L * MB);
+		ReflectionTestUtils.setField(service, "maxChunkSize", 4L * MB);
+		ReflectionTestUtils.setField(service, "maxSize", 100L * MB);
+		ReflectionTestUtils.setField(service, "sessionTtlHours", 1L);
+		ReflectionTestUtils.setField(service, "lockTimeoutMs", 30_000L);
+		fakeRedis();
+	}
+
+	@Test
+	void interruptedChunkIsResumedFromStoredOffset() throws Exception {
+		byte[] file = randomBytes(5 * MB + 123);
+		String uploadId = service.init(request(file.length), OWNER).getUploadId();
+
+		// 2.5MB 보낸 뒤 연결 끊김 : 기록을 마친 1MB 단위까지만 offset 으로 인정
+		assertThatThrownBy(() -> service.writeChunk(uploadId, OWNER, 0, 4 * MB, failingAfter(file, 0, 5 * MB / 2)))
+				.isInstanceOf(IOException.class);
+		long resumeAt = service.getStatus(uploadId, OWNER).getOffset();
+		assertThat(resumeAt).isBetween((long) MB, 5L * MB / 2);
+
+		// 서버 offset 부터 이어 보내기
+		long offset = resumeAt;
+		while (offset < file.length) {
+			int length = (int) Math.min(2 * MB, file.length - offset);
+			UploadStatus status = service.writeChunk(uploadId, OWNER, offset, length,
+					new ByteArrayInputStream(file, (int) offset, length));
+			offset = status.getOffset();
+		}
+		assertThat(offset).isEqualTo(file.length);
+
+		byte[][] stored = new byte[1][];
+		when(chatDAO.existMessageMember(7, OWNER)).thenReturn(true);
+		when(blobStore.storeFile(any(Path.class), anyString())).thenAnswer(inv -> {
+			Path partial = inv.getArgument(0);
+			stored[0] = Files.readAllBytes(partial);
+			return new Blob(inv.getArgument(1), partial, stored[0].length);
+		});
+
+		Attachment attachment = service.complete(uploadId, OWNER, 7);
+
+		// 끊겼다 이어 받은 청크까지 이어 계산한 해시가 파일 전체 해시와 같음
+		assertThat(stored[0]).isEqualTo(file);
+		assertThat(attachment.getDigest()).isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(file)));
+		verify(blobStore, never()).storeFile(any(Path.class));
+		verify(transactionManager).commit(any());
+		assertThat(attachment.getMessageNo()).isEqualTo(7);
+		assertThat(attachment.getSize()).isEqualTo((long) file.length);
+		verify(attachmentDAO).insertAttachment(attachment);
+		assertThat(hashes).doesNotContainKey("upload:" + uploadId);
+	}
+
+	@Test
+	void duplicateChunkIsRejectedWithoutMovingOffset() throws IOException {
+		byte[] file = randomBytes(4 * MB);
+		String uploadId = service.init(request(file.length), OWNER).getUploadId();
+		service.writeChunk(uploadId, OWNER, 0, 2 * MB, new ByteArrayInputStream(file, 0, 2 * MB));
+
+		// 응답을 못 받은 클라이언트가 같은 청크를 다시 보냄
+		assertStatus(() -> service.writeChunk(uploadId, OWNER, 0, 2 * MB, new ByteArrayInputStream(file, 0, 2 * MB)),
+				HttpStatus.CONFLICT);
+		assertThat(service.getStatus(uploadId, OWNER).getOffset()).isEqualTo(2L * MB);
+	}
+
+	@Test
+	void outOfOrderChunkIsRejected() throws IOException {
+		byte[] file = randomBytes(6 * MB);
+		String uploadId = service.init(request(file.length), OWNER).getUploadId();
+		service.writeChunk(uploadId, OWNER, 0, 2 * MB, new ByteArrayInputStream(file, 0, 2 * MB));
+
+		// 세 번째 청크가 두 번째보다 먼저 도착
+		assertStatus(() -> service.writeChunk(uploadId, OWNER, 4L * MB, 2 * MB,
+				new ByteArrayInputStream(file, 4 * MB, 2 * MB)), HttpStatus.CONFLICT);
+		assertThat(service.getStatus(uploadId, OWNER).getOffset()).isEqualTo(2L * MB);
+
+		// 빠진 청크부터 다시 보내면 이어짐
+		service.writeChunk(uploadId, OWNER, 2L * MB, 2 * MB, new ByteArrayInputStream(file, 2 * MB, 2 * MB));
+		assertThat(service.getStatus(uploadId, OWNER).getOffset()).isEqualTo(4L * MB);
+	}
+
+	@Test
+	void completeBeforeLastChunkIsRejected() throws IOException {
+		byte[] file = randomBytes(3 * MB);
+		String uploadId = service.init(request(file.length), OWNER).getUploadId();
+		service.writeChunk(uploadId, OWNER, 0, 2 * MB, new ByteArrayInputStream(file, 0, 2 * MB));
+		when(chatDAO.existMessageMember(7, OWNER)).thenReturn(true);
+
+		assertStatus(() -> service.complete(uploadId, OWNER, 7), HttpStatus.CONFLICT);
+		verify(blobStore, never()).storeFile(any(), anyString());
+	}
+
+	@Test
+	void otherUserCannotTouchUpload() throws IOException {
+		byte[] file = randomBytes(MB);
+		String uploadId = service.init(request(file.length), OWNER).getUploadId();
+
+		assertStatus(() -> service.getStatus(uploadId, 2), HttpStatus.FORBIDDEN);
+		assertStatus(() -> service.writeChunk(uploadId, 2, 0, MB, new ByteArrayInputStream(file)), HttpStatus.FORBIDDEN);
+		assertStatus(() -> service.complete(uploadId, 2, 7), HttpStatus.FORBIDDEN);
+		assertStatus(() -> service.abort(uploadId, 2), HttpStatus.FORBIDDEN);
+		assertThat(service.getStatus(uploadId, OWNER).getOffset()).isZero();
+	}
+
+	@Test
+	void uploadCanOnlyBeAttachedToMessageInCallersRoom() throws IOException {
+		byte[] file = randomBytes(MB);
+		String uploadId = service.init(request(file.length), OWNER).getUploadId();
+		service.writeChunk(uploadId, OWNER, 0, MB, new ByteArrayInputStream(file));
+		when(chatDAO.existMessageMember(99, OWNER)).thenReturn(false);
+
+		assertStatus(() -> service.complete(uploadId, OWNER, 99), HttpStatus.FORBIDDEN);
+		verify(blobStore, never()).storeFile(any(), anyString());
+		verify(attachmentDAO, never()).insertAttachment(any());
+	}
+
+	@Test
+	void lockIsRenewedWhileChunkIsWritten() throws IOException {
+		ReflectionTestUtils.setField(service, "lockTimeoutMs", 0L); // 1MB 마다 연장
+		byte[] file = randomBytes(4 * MB);
+		String uploadId = service.init(request(file.length), OWNER).getUploadId();
+
+		service.writeChunk(uploadId, OWNER, 0, 4 * MB, new ByteArrayInputStream(file));
+
+		assertThat(renewals.get()).isGreaterThanOrEqualTo(3);
+		assertThat(values).doesNotContainKey("upload:" + uploadId + ":lock");
+	}
+
+	@Test
+	void lostLockStopsChunkWithoutMovingOffset() throws IOException {
+		ReflectionTestUtils.setField(service, "lockTimeoutMs", 0L);
+		byte[] file = randomBytes(4 * MB);
+		String uploadId = service.init(request(file.length), OWNER).getUploadId();
+		String lockKey = "upload:" + uploadId + ":lock";
+
+		// 2MB 째에 락이 만료되어 다른 요청이 가져감
+		InputStream body = new ByteArrayInputStream(file) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				if (pos >= 2 * MB) {
+					values.put(lockKey, "other-request");
+				}
+				return super.read(b, off, len);
+			}
+		};
+
+		assertStatus(() -> service.writeChunk(uploadId, OWNER, 0, 4 * MB, body), HttpStatus.CONFLICT);
+		assertThat(service.getStatus(uploadId, OWNER).getOffset()).isZero();
+		assertThat(values.get(lockKey)).isEqualTo("other-request"); // 남의 락은 지우지 않음
+	}
+
+	private void fakeRedis() {
+		lenient().when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOps);
+		lenient().when(redisTemplate.opsForValue()).thenReturn(valueOps);
+		lenient().when(hashOps.entries(anyString()))
+				.thenAnswer(inv -> new HashMap<>(hashes.getOrDefault(inv.getArgument(0), Map.of())));
+		lenient().doAnswer(inv -> {
+			hashes.computeIfAbsent(inv.getArgument(0), k -> new ConcurrentHashMap<>()).putAll(inv.getArgument(1));
+			return null;
+		}).when(hashOps).putAll(anyString(), anyMap());
+		lenient().when(redisTemplate.delete(anyString())).thenAnswer(inv -> hashes.remove(inv.getArgument(0)) != null);
+		lenient().when(redisTemplate.expire(anyString(), any(Duration.class))).thenReturn(true);
+		lenient().when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+				.thenAnswer(inv -> values.putIfAbsent(inv.getArgument(0), inv.getArgument(1)) == null);
+		lenient().when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+				.thenAnswer(inv -> script(inv.getArgument(0), inv.getArgument(1),
+						Arrays.copyOfRange(inv.getArguments(), 2, inv.getArguments().length)));
+	}
+
+	// ChunkedUploadService 의 Lua 스크립트를 같은 의미로 흉내 냄
+	private Long script(RedisScript<?> script, List<String> keys, Object[] args) {
+		String lua = script.getScriptAsString();
+		boolean owned = args[0].equals(values.get(keys.get(0)));
+		if (lua.contains("HINCRBY")) {
+			if (!owned) {
+				return -1L;
+			}
+			Map<Object, Object> session = hashes.get(keys.get(1));
+			long offset = Long.parseLong((String) session.get("offset")) + Long.parseLong((String) args[1]);
+			session.put("offset", String.valueOf(offset));
+			session.put("sha256", args[3]);
+			return offset;
+		}
+		if (lua.contains("PEXPIRE")) {
+			if (owned) {
+				renewals.incrementAndGet();
+			}
+			return owned ? 1L : 0L;
+		}
+		if (lua.contains("DEL")) {
+			return owned && values.remove(keys.get(0)) != null ? 1L : 0L;
+		}
+		throw new IllegalArgumentException(lua);
+	}
+
+	private static void assertStatus(ThrowingCall call, HttpStatus status) {
+		assertThatThrownBy(call::run).isInstanceOf(ResponseStatusException.class)
+				.satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(status));
+	}
+
+	@FunctionalInterface
+	private interface ThrowingCall {
+		void run() throws Exception;
+	}
+
+	// from 부터 읽다가 failAt 바이트째에 연결이 끊기는 요청 본문
+	private static InputStream failingAfter(byte[] file, int from, int failAt) {
+		return new FilterInputStream(new ByteArrayInputStream(file, from, file.length - from)) {
+			private int read;
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				if (read >= failAt) {
+					throw new IOException("connection reset");
+				}
+				int n = super.read(b, off, Math.min(len, failAt - read));
+				read += Math.max(n, 0);
+				return n;
+			}
+		};
+	}
+
+	private static UploadInitRequest request(long size) {
+		UploadInitRequest request = new UploadInitRequest();
+		request.setOriginalName("video.mp4");
+		request.setContentType("video/mp4");
+		request.setSize(size);
+		return request;
+	}
+
+	private static byte[] randomBytes(int size) {
+		byte[] bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		return bytes;
+	}
+}
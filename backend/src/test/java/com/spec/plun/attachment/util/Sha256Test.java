@@ -0,0 +1,74 @@
+package com.spec.plun.attachment.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// 상태를 내보내고 되살려 이어 계산한 해시가 MessageDigest 결과와 같은지 (블록 경계/패딩 경계 포함)
+class Sha256Test {
+
+	@Test
+	void matchesMessageDigestForEveryPaddingBoundary() throws NoSuchAlgorithmException {
+		Random random = new Random(1);
+		for (int size = 0; size <= 200; size++) {
+			byte[] data = new byte[size];
+			random.nextBytes(data);
+			Sha256 sha = new Sha256();
+			sha.update(data, 0, size);
+			assertThat(sha.hexDigest()).as("size %d", size).isEqualTo(expected(data));
+		}
+	}
+
+	@Test
+	void resumedFromExportedStateAtAnySplit() throws NoSuchAlgorithmException {
+		Random random = new Random(2);
+		byte[] data = new byte[3 * 1024 * 1024 + 17];
+		random.nextBytes(data);
+
+		// 청크 업로드처럼 제각각 크기로 끊어서, 끊을 때마다 상태 문자열만 넘겨 새 인스턴스로 이어 계산
+		String state = new Sha256().exportState();
+		int offset = 0;
+		while (offset < data.length) {
+			int len = Math.min(data.length - offset, 1 + random.nextInt(300_000));
+			Sha256 sha = Sha256.restore(state);
+			sha.update(data, offset, len);
+			state = sha.exportState();
+			offset += len;
+		}
+
+		Sha256 resumed = Sha256.restore(state);
+		assertThat(resumed.length()).isEqualTo(data.length);
+		assertThat(resumed.hexDigest()).isEqualTo(expected(data));
+	}
+
+	@Test
+	void hexDigestDoesNotDisturbRunningState() throws NoSuchAlgorithmException {
+		Sha256 sha = new Sha256();
+		byte[] first = "회의".getBytes(StandardCharsets.UTF_8);
+		byte[] second = "록".getBytes(StandardCharsets.UTF_8);
+		sha.update(first, 0, first.length);
+		sha.hexDigest();
+		sha.update(second, 0, second.length);
+
+		assertThat(sha.hexDigest()).isEqualTo(expected("회의록".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void malformedStateIsRejected() {
+		String state = new Sha256().exportState();
+
+		assertThatThrownBy(() -> Sha256.restore("")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Sha256.restore("5" + state.substring(1))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static String expected(byte[] data) throws NoSuchAlgorithmException {
+		return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+	}
+}
@@ -0,0 +1,94 @@
+package com.spec.plun.auth.filter;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.spec.plun.auth.service.AccessTokenService;
+import com.spec.plun.auth.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JWT 인증 필터 처리량 (초당 요청 수) : 접속 중인 사용자 수(users)만큼 토큰을 만들어 무작위로 요청
+ *
+ * - legacy : 이전 구현 (요청마다 파서 생성 + 서명 검증)
+ * - parser : 파서 재사용, 캐시 없음
+ * - cached : 파서 재사용 + claims 캐시
+ *
+ * 실행 : gradle jmh --args='JwtAuthenticationFilterBenchmark'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+	private static final String SECRET = "bench-secret-bench-secret-bench-secret-01";
+
+	@Param({ "legacy", "parser", "cached" })
+	public String mode;
+
+	@Param({ "1000" })
+	public int users;
+
+	private JwtAuthenticationFilter filter;
+	private String[] headers;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		JwtUtil jwtUtil = switch (mode) {
+		case "legacy" -> new JwtUtil(SECRET) {
+			@Override
+			public Claims validToken(String token) {
+				return Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+						.parseSignedClaims(token).getPayload();
+			}
+		};
+		case "parser" -> new JwtUtil(SECRET);
+		default -> new JwtUtil(SECRET, 10_000);
+		};
+		filter = new JwtAuthenticationFilter(new AccessTokenService(jwtUtil));
+
+		Date exp = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+		headers = new String[users];
+		for (int i = 0; i < users; i++) {
+			headers[i] = "Bearer " + jwtUtil.generateToken(Map.of("email", "user" + i + "@plun.com"), exp);
+		}
+	}
+
+	@Benchmark
+	public Object filter() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/calendar/events");
+		request.setServletPath("/api/calendar/events");
+		request.addHeader("Authorization", headers[ThreadLocalRandom.current().nextInt(users)]);
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+		SecurityContextHolder.clearContext();
+		return principal;
+	}
+}
@@ -0,0 +1,79 @@
+package com.spec.plun.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+// 해시 풀이 가득 차면 바로 503 으로 거절하고, work factor 변경 시 재해시하는지 확인
+class PasswordHasherTest {
+
+	private PasswordHasher hasher;
+
+	@AfterEach
+	void tearDown() {
+		hasher.stop();
+	}
+
+	@Test
+	void fullQueueIsRejectedWithServiceUnavailable() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		BCryptPasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.encode(rawPassword);
+			}
+		};
+		hasher = new PasswordHasher(blocking, 1, 1, 5_000);
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+		while (hasher.queueDepth() < 1) {
+			Thread.sleep(5);
+		}
+
+		assertThatThrownBy(() -> hasher.encode("c")).isInstanceOfSatisfying(ResponseStatusException.class,
+				e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+		assertThat(hasher.getRejectedCount()).isEqualTo(1);
+
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).startsWith("$2a$04$");
+		assertThat(queued.get(5, TimeUnit.SECONDS)).startsWith("$2a$04$");
+		assertThat(hasher.getHashCount()).isEqualTo(2);
+	}
+
+	@Test
+	void weakerHashIsRehashedWithCurrentStrength() throws Exception {
+		String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+		hasher = new PasswordHasher(new BCryptPasswordEncoder(5), 1, 4, 5_000);
+
+		assertThat(hasher.matches("secret", oldHash)).isTrue();
+		assertThat(hasher.needsRehash(oldHash)).isTrue();
+
+		AtomicReference<String> rehashed = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(1);
+		hasher.rehashLater("secret", hashed -> {
+			rehashed.set(hashed);
+			done.countDown();
+		});
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(rehashed.get()).startsWith("$2a$05$");
+		assertThat(hasher.needsRehash(rehashed.get())).isFalse();
+		assertThat(hasher.matches("secret", rehashed.get())).isTrue();
+	}
+}
@@ -0,0 +1,60 @@
+package com.spec.plun.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.spec.plun.auth.service.RefreshSessionRegistry.RotateResult;
+import com.spec.plun.auth.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+
+// 재발급이 레지스트리 한 번 호출로 이전 jti 를 새 jti 로 바꾸고, 재사용은 401 로 거절하는지 확인
+class RefreshTokenServiceTest {
+
+	private final JwtUtil jwtUtil = new JwtUtil("test-secret-test-secret-test-secret-0123");
+	private final RefreshSessionRegistry registry = mock(RefreshSessionRegistry.class);
+	private final RefreshTokenService service = new RefreshTokenService(jwtUtil, registry);
+
+	@Test
+	void rotateSwapsJtiInOneCall() {
+		Claims old = jwtUtil.validToken(service.generateToken("a@plun.com"));
+		String oldJti = old.get("jti", String.class);
+		ArgumentCaptor<String> newJti = ArgumentCaptor.forClass(String.class);
+		when(registry.rotate(eq("a@plun.com"), eq(oldJti), anyLong(), newJti.capture(), anyLong()))
+				.thenReturn(RotateResult.ROTATED);
+
+		Claims rotated = jwtUtil.validToken(service.rotate(old));
+
+		assertThat(rotated.get("jti", String.class)).isEqualTo(newJti.getValue()).isNotEqualTo(oldJti);
+		assertThat(rotated.get("email", String.class)).isEqualTo("a@plun.com");
+		verify(registry).issue(eq("a@plun.com"), eq(oldJti), anyLong());
+	}
+
+	@Test
+	void reusedTokenIsUnauthorized() {
+		Claims old = jwtUtil.validToken(service.generateToken("a@plun.com"));
+		when(registry.rotate(anyString(), anyString(), anyLong(), anyString(), anyLong())).thenReturn(RotateResult.REUSED);
+
+		assertThatThrownBy(() -> service.rotate(old)).isInstanceOfSatisfying(ResponseStatusException.class,
+				e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+	}
+
+	@Test
+	void logoutAllWithRevokedTokenIsUnauthorized() {
+		Claims claims = jwtUtil.validToken(service.generateToken("a@plun.com"));
+		when(registry.revokeAll(eq("a@plun.com"), anyString())).thenReturn(-1L);
+
+		assertThatThrownBy(() -> service.revokeAll(claims)).isInstanceOf(ResponseStatusException.class);
+	}
+}
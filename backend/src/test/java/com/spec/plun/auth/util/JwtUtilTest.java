@@ -0,0 +1,56 @@
+package com.spec.plun.auth.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+// 검증 결과 캐시가 적중/만료/위조 토큰을 올바르게 처리하는지 확인
+class JwtUtilTest {
+
+	private static final String SECRET = "test-secret-test-secret-test-secret-0123";
+
+	private final JwtUtil jwtUtil = new JwtUtil(SECRET, 10);
+
+	@Test
+	void secondValidationIsCacheHit() {
+		String token = jwtUtil.generateToken(Map.of("email", "a@plun.com"), new Date(System.currentTimeMillis() + 60_000));
+
+		Claims first = jwtUtil.validToken(token);
+		Claims second = jwtUtil.validToken(token);
+
+		assertThat(second).isSameAs(first);
+		assertThat(second.get("email", String.class)).isEqualTo("a@plun.com");
+		assertThat(jwtUtil.getClaimsCache().getHitCount()).isEqualTo(1);
+		assertThat(jwtUtil.getClaimsCache().getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	void expiredEntryIsNotServedFromCache() throws InterruptedException {
+		String token = jwtUtil.generateToken(Map.of("email", "a@plun.com"), new Date(System.currentTimeMillis() + 1_000));
+		jwtUtil.validToken(token);
+
+		Thread.sleep(1_100);
+
+		assertThatThrownBy(() -> jwtUtil.validToken(token)).isInstanceOf(ExpiredJwtException.class);
+		assertThat(jwtUtil.getClaimsCache().size()).isZero();
+	}
+
+	@Test
+	void tokenSignedWithOtherKeyIsNotCached() {
+		String forged = new JwtUtil(SECRET.replace('0', '1')).generateToken(Map.of("email", "a@plun.com"),
+				new Date(System.currentTimeMillis() + 60_000));
+
+		assertThatThrownBy(() -> jwtUtil.validToken(forged)).isInstanceOf(JwtException.class);
+		assertThatThrownBy(() -> jwtUtil.validToken(forged)).isInstanceOf(JwtException.class);
+		assertThat(jwtUtil.getClaimsCache().size()).isZero();
+		assertThat(jwtUtil.getClaimsCache().getHitCount()).isZero();
+	}
+}
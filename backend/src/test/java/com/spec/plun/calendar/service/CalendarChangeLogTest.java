@@ -0,0 +1,172 @@
+package com.spec.plun.calendar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.spec.plun.calendar.dao.CalendarDAO;
+import com.spec.plun.calendar.dto.CalendarChangesResponse;
+import com.spec.plun.calendar.dto.CalendarDelta;
+import com.spec.plun.calendar.entity.CalendarChange;
+import com.spec.plun.calendar.entity.CalendarDetail;
+import com.spec.plun.calendar.entity.CalendarParticipant;
+
+// 변경분 전송 대상/내용과 재연결 시 따라잡기(압축, 전체 재조회 판단) 확인
+@ExtendWith(MockitoExtension.class)
+class CalendarChangeLogTest {
+
+	@Mock
+	private CalendarDAO calendarDAO;
+
+	@Mock
+	private SimpMessagingTemplate messagingTemplate;
+
+	@InjectMocks
+	private CalendarChangeLog changeLog;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(changeLog, "retentionDays", 30);
+		ReflectionTestUtils.setField(changeLog, "maxCatchUp", 3);
+	}
+
+	@Test
+	void recordSendsEventToVisibleUsersAndDeletedToRemovedUsers() {
+		when(calendarDAO.getIndexedEvent(5)).thenReturn(event(5, 1, "N"));
+		when(calendarDAO.getParticipantsByCalDetailNo(5)).thenReturn(List.of(2));
+		doAnswer(inv -> {
+			inv.<CalendarChange>getArgument(0).setVersion(42L);
+			return 1;
+		}).when(calendarDAO).nextVersion(any());
+
+		// 3번 사용자는 이번 수정으로 참가자에서 빠짐
+		changeLog.record(null, 5, CalendarChangeLog.UPDATED, List.of(2, 3));
+
+		verify(calendarDAO).insertChange(any());
+		verify(messagingTemplate).convertAndSend("/topic/calendar/refresh/1",
+				new CalendarDelta(10, 42L, CalendarChangeLog.UPDATED, 5, event(5, 1, "N", 2)));
+		verify(messagingTemplate).convertAndSend("/topic/calendar/refresh/2",
+				new CalendarDelta(10, 42L, CalendarChangeLog.UPDATED, 5, event(5, 1, "N", 2)));
+		verify(messagingTemplate).convertAndSend("/topic/calendar/refresh/3",
+				new CalendarDelta(10, 42L, CalendarChangeLog.DELETED, 5, null));
+	}
+
+	@Test
+	void teamMembersWhoCannotSeeEventOnlyGetVersion() {
+		when(calendarDAO.getIndexedEvent(5)).thenReturn(event(5, 1, "N"));
+		when(calendarDAO.getParticipantsByCalDetailNo(5)).thenReturn(List.of(2));
+		when(calendarDAO.getTeamUserNos(10)).thenReturn(List.of(1, 2, 3, 4));
+		doAnswer(inv -> {
+			inv.<CalendarChange>getArgument(0).setVersion(42L);
+			return 1;
+		}).when(calendarDAO).nextVersion(any());
+
+		changeLog.record(null, 5, CalendarChangeLog.UPDATED, List.of(2, 3));
+
+		// 4번은 일정을 볼 수 없지만 버전이 이어지도록 일정 정보 없이 버전만 받음 (받는 사람마다 한 건)
+		verify(messagingTemplate).convertAndSend("/topic/calendar/refresh/4",
+				new CalendarDelta(10, 42L, CalendarChangeLog.VERSION, null, null));
+		verify(messagingTemplate).convertAndSend("/topic/calendar/refresh/3",
+				new CalendarDelta(10, 42L, CalendarChangeLog.DELETED, 5, null));
+		verify(messagingTemplate, times(4)).convertAndSend(anyString(), any(Object.class));
+	}
+
+	@Test
+	void recordHardDeleteUsesTeamHint() {
+		doAnswer(inv -> {
+			inv.<CalendarChange>getArgument(0).setVersion(7L);
+			return 1;
+		}).when(calendarDAO).nextVersion(any());
+
+		changeLog.record(10, 5, CalendarChangeLog.DELETED, List.of(1, 2));
+
+		verify(messagingTemplate).convertAndSend("/topic/calendar/refresh/1",
+				new CalendarDelta(10, 7L, CalendarChangeLog.DELETED, 5, null));
+		verify(messagingTemplate).convertAndSend("/topic/calendar/refresh/2",
+				new CalendarDelta(10, 7L, CalendarChangeLog.DELETED, 5, null));
+	}
+
+	@Test
+	void changesSinceKeepsLatestChangePerEvent() {
+		when(calendarDAO.getVersion(10)).thenReturn(13L);
+		when(calendarDAO.getOldestChangeVersion(10)).thenReturn(1L);
+		when(calendarDAO.getChangesSince(10, 10L, 4)).thenReturn(List.of(change(11, 5, CalendarChangeLog.CREATED),
+				change(12, 6, CalendarChangeLog.CREATED), change(13, 5, CalendarChangeLog.UPDATED)));
+		// 6번 일정은 그 사이 삭제됨
+		when(calendarDAO.getIndexedEventsByCalDetailNos(List.of(6, 5))).thenReturn(List.of(event(5, 2, "N")));
+		when(calendarDAO.getParticipantsByCalDetailNos(anyList())).thenReturn(new ArrayList<CalendarParticipant>());
+
+		CalendarChangesResponse response = changeLog.changesSince(10, 2, 10L);
+
+		assertThat(response.isReset()).isFalse();
+		assertThat(response.getVersion()).isEqualTo(13L);
+		assertThat(response.getChanges()).extracting(CalendarDelta::getCalDetailNo, CalendarDelta::getType)
+				.containsExactly(tuple(6, CalendarChangeLog.DELETED),
+						tuple(5, CalendarChangeLog.UPDATED));
+	}
+
+	@Test
+	void changesSinceResetsWhenHistoryIsGoneOrTooLong() {
+		when(calendarDAO.getVersion(10)).thenReturn(100L);
+		when(calendarDAO.getOldestChangeVersion(10)).thenReturn(50L);
+
+		assertThat(changeLog.changesSince(10, 2, 20L).isReset()).isTrue();
+		assertThat(changeLog.changesSince(10, 2, 200L).isReset()).isTrue();
+
+		when(calendarDAO.getChangesSince(10, 60L, 4)).thenReturn(List.of(change(61, 1, "CREATED"),
+				change(62, 2, "CREATED"), change(63, 3, "CREATED"), change(64, 4, "CREATED")));
+		assertThat(changeLog.changesSince(10, 2, 60L).isReset()).isTrue();
+		verify(calendarDAO, never()).getIndexedEventsByCalDetailNos(anyList());
+	}
+
+	@Test
+	void changesSinceWithoutBaselineReturnsCurrentVersion() {
+		when(calendarDAO.getVersion(10)).thenReturn(null);
+
+		CalendarChangesResponse response = changeLog.changesSince(10, 2, null);
+
+		assertThat(response.getVersion()).isZero();
+		assertThat(response.isReset()).isFalse();
+		assertThat(response.getChanges()).isEmpty();
+	}
+
+	private static CalendarDetail event(int calDetailNo, int ownerUserNo, String deleteYn, Integer... participants) {
+		CalendarDetail event = new CalendarDetail();
+		event.setCalDetailNo(calDetailNo);
+		event.setTeamNo(10);
+		event.setOwnerUserNo(ownerUserNo);
+		event.setDeleteYn(deleteYn);
+		if (participants.length > 0) {
+			event.setParticipantUserNos(List.of(participants));
+		}
+		return event;
+	}
+
+	private static CalendarChange change(long version, int calDetailNo, String type) {
+		CalendarChange change = new CalendarChange();
+		change.setTeamNo(10);
+		change.setVersion(version);
+		change.setCalDetailNo(calDetailNo);
+		change.setChangeType(type);
+		return change;
+	}
+}
@@ -0,0 +1,291 @@
+package com.spec.plun.calendar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+
+import com.spec.plun.alarm.service.AlarmService;
+import com.spec.plun.calendar.dao.CalendarDAO;
+import com.spec.plun.calendar.dto.EventRequestDTO;
+import com.spec.plun.calendar.entity.Calendar;
+import com.spec.plun.calendar.entity.CalendarDetail;
+import com.spec.plun.calendar.entity.CalendarException;
+import com.spec.plun.calendar.entity.CalendarParticipant;
+import com.spec.plun.metrics.MyBatisMetricsInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// 기간 일정 조회가 일정 수와 무관하게 정해진 수의 SQL 로 끝나는지, 여러 행 INSERT / IN 조회 문장이
+// 운영 스키마(H2 MariaDB 모드)에서 그대로 동작하는지 확인 (실행된 문장 수는 mybatis.statement 로 셈)
+@MybatisTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = "/sql/fixture.sql", config = @SqlConfig(encoding = "UTF-8"))
+@Import(CalendarService.class)
+class CalendarServiceTest {
+
+	private static final String START = "2025-08-01";
+	private static final String END = "2025-08-31";
+
+	@TestConfiguration
+	static class StatementCounterConfig {
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		MyBatisMetricsInterceptor myBatisMetricsInterceptor(MeterRegistry registry) {
+			return new MyBatisMetricsInterceptor(registry);
+		}
+	}
+
+	@Autowired
+	private CalendarService calendarService;
+
+	@Autowired
+	private CalendarDAO calendarDAO;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@MockitoBean
+	private AlarmService alarmService;
+
+	@MockitoBean
+	private CalendarEventIndex calendarEventIndex;
+
+	@MockitoBean
+	private CalendarChangeLog calendarChangeLog;
+
+	private Integer calNo;
+
+	@BeforeEach
+	void setUp() {
+		// 팀 일정 인덱스를 쓰지 않는 팀 : DB 조회 경로
+		when(calendarEventIndex.query(anyInt(), anyInt(), any(), any())).thenReturn(null);
+		Calendar calendar = new Calendar();
+		calendar.setTeamNo(1);
+		calendar.setUserNo("1");
+		calendarDAO.insertCalendar(calendar);
+		calNo = calendar.getCalNo();
+	}
+
+	@Test
+	void participantsAreLoadedWithSingleStatement() {
+		List<Integer> saved = insertEvents(300, null);
+		calendarDAO.insertParticipants(saved.get(0), List.of(2, 3));
+		calendarDAO.insertParticipants(saved.get(299), List.of(2));
+
+		long before = executedStatements();
+		List<CalendarDetail> result = calendarService.getEventsBetween(1, 1, START, END);
+
+		// 일정 1 + 참가자 IN 1
+		assertThat(executedStatements() - before).isEqualTo(2);
+		assertThat(result).hasSize(300);
+		Map<Integer, CalendarDetail> byNo = byCalDetailNo(result);
+		assertThat(byNo.get(saved.get(0)).getParticipantUserNos()).containsExactly(2, 3);
+		assertThat(byNo.get(saved.get(1)).getParticipantUserNos()).isEmpty();
+		assertThat(byNo.get(saved.get(299)).getParticipantUserNos()).containsExactly(2);
+	}
+
+	@Test
+	void recurringExceptionsAreLoadedInOneBatch() {
+		List<Integer> saved = insertEvents(50, "FREQ=WEEKLY");
+		for (Integer calDetailNo : saved) {
+			calendarDAO.upsertException(cancel(calDetailNo, LocalDate.of(2025, 8, 8)));
+		}
+
+		long before = executedStatements();
+		List<CalendarDetail> result = calendarService.getEventsBetween(1, 1, START, END);
+
+		// 일정 1 + 참가자 IN 1 + 회차 예외 IN 1
+		assertThat(executedStatements() - before).isEqualTo(3);
+		// 8/1 부터 매주 5회차 중 8/8 취소 → 일정마다 4회차
+		assertThat(result).hasSize(50 * 4);
+		assertThat(result).extracting(CalendarDetail::getOccurrenceDate).doesNotContain(LocalDate.of(2025, 8, 8));
+	}
+
+	@Test
+	void emptyRangeSkipsParticipantQuery() {
+		long before = executedStatements();
+
+		assertThat(calendarService.getEventsBetween(1, 1, START, END)).isEmpty();
+		assertThat(executedStatements() - before).isEqualTo(1);
+	}
+
+	@Test
+	void indexedTeamSkipsDatabase() {
+		CalendarDetail event = new CalendarDetail();
+		event.setCalDetailNo(1);
+		when(calendarEventIndex.query(1, 1, START, END)).thenReturn(List.of(event));
+
+		long before = executedStatements();
+
+		assertThat(calendarService.getEventsBetween(1, 1, START, END)).containsExactly(event);
+		assertThat(executedStatements() - before).isZero();
+	}
+
+	@Test
+	void multiRowParticipantInsertWritesEveryRowInOneStatement() {
+		List<Integer> saved = insertEvents(2, null);
+
+		long before = executedStatements();
+		calendarDAO.insertParticipants(saved.get(0), List.of(3, 1, 2));
+		assertThat(executedStatements() - before).isEqualTo(1);
+
+		List<CalendarParticipant> rows = calendarDAO.getParticipantsByCalDetailNos(saved);
+		assertThat(rows).extracting(CalendarParticipant::getCalDetailNo).containsOnly(saved.get(0));
+		assertThat(rows).extracting(CalendarParticipant::getUserNo).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void exceptionUpsertReplacesSameOccurrence() {
+		Integer calDetailNo = insertEvents(1, "FREQ=DAILY").get(0);
+		calendarDAO.upsertException(cancel(calDetailNo, LocalDate.of(2025, 8, 2)));
+
+		CalendarException moved = new CalendarException();
+		moved.setCalDetailNo(calDetailNo);
+		moved.setOccurrenceDate(LocalDate.of(2025, 8, 2));
+		moved.setCancelYn("N");
+		moved.setStartDate(LocalDate.of(2025, 8, 3));
+		moved.setEndDate(LocalDate.of(2025, 8, 3));
+		moved.setUpdateUserNo(2);
+		calendarDAO.upsertException(moved);
+
+		List<CalendarException> rows = calendarDAO.getExceptionsByCalDetailNos(List.of(calDetailNo));
+		assertThat(rows).hasSize(1);
+		assertThat(rows.get(0).getCancelYn()).isEqualTo("N");
+		assertThat(rows.get(0).getStartDate()).isEqualTo(LocalDate.of(2025, 8, 3));
+		assertThat(rows.get(0).getUpdateUserNo()).isEqualTo(2);
+	}
+
+	@Test
+	void indexedEventsByCalDetailNosCarryTeamAndOwner() {
+		List<Integer> saved = insertEvents(3, null);
+		calendarDAO.deleteEvent(saved.get(1));
+
+		List<CalendarDetail> rows = calendarDAO.getIndexedEventsByCalDetailNos(saved);
+
+		// 삭제 여부와 무관하게 모두, 팀/캘린더 주인 포함
+		assertThat(rows).extracting(CalendarDetail::getCalDetailNo).containsExactlyInAnyOrderElementsOf(saved);
+		assertThat(rows).allMatch(row -> row.getTeamNo() == 1 && row.getOwnerUserNo() == 1);
+		assertThat(byCalDetailNo(rows).get(saved.get(1)).getDeleteYn()).isEqualTo("Y");
+	}
+
+	@Test
+	void updateWithoutRuleKeepsRecurrenceAndExceptions() {
+		Integer calDetailNo = insertEvents(1, "FREQ=WEEKLY").get(0);
+		calendarDAO.upsertException(cancel(calDetailNo, LocalDate.of(2025, 8, 8)));
+
+		// 제목만 바꾼 수정 요청 (recurrenceRule 없음)
+		calendarService.updateEvent(update(calDetailNo, "제목 변경", LocalDate.of(2025, 8, 1), null, false));
+
+		CalendarDetail saved = calendarDAO.getEventByCalDetailNo(calDetailNo);
+		assertThat(saved.getTitle()).isEqualTo("제목 변경");
+		assertThat(saved.getRecurrenceRule()).isEqualTo("FREQ=WEEKLY");
+		assertThat(saved.getSeriesEndDate()).isEqualTo(LocalDate.of(9999, 12, 31));
+		assertThat(calendarDAO.getExceptionsByCalDetailNos(List.of(calDetailNo))).hasSize(1);
+	}
+
+	@Test
+	void clearRecurrenceTurnsSeriesIntoSingleEvent() {
+		Integer calDetailNo = insertEvents(1, "FREQ=WEEKLY").get(0);
+		calendarDAO.upsertException(cancel(calDetailNo, LocalDate.of(2025, 8, 8)));
+
+		calendarService.updateEvent(update(calDetailNo, "일정", LocalDate.of(2025, 8, 1), null, true));
+
+		CalendarDetail saved = calendarDAO.getEventByCalDetailNo(calDetailNo);
+		assertThat(saved.getRecurrenceRule()).isNull();
+		assertThat(saved.getSeriesEndDate()).isEqualTo(LocalDate.of(2025, 8, 1));
+		assertThat(calendarDAO.getExceptionsByCalDetailNos(List.of(calDetailNo))).isEmpty();
+		assertThat(calendarService.getEventsBetween(1, 1, START, END)).hasSize(1);
+	}
+
+	@Test
+	void seriesEditOpenedFromOccurrenceShiftsSeriesStart() {
+		Integer calDetailNo = insertEvents(1, "FREQ=WEEKLY").get(0);
+
+		// 8/15 회차를 열어 8/16 으로 옮기고 "전체 수정" → 시리즈가 8/2 부터 하루씩 밀림
+		EventRequestDTO request = update(calDetailNo, "일정", LocalDate.of(2025, 8, 16), LocalDate.of(2025, 8, 15), false);
+		calendarService.updateEvent(request);
+
+		CalendarDetail saved = calendarDAO.getEventByCalDetailNo(calDetailNo);
+		assertThat(saved.getStartDate()).isEqualTo(LocalDate.of(2025, 8, 2));
+		assertThat(saved.getEndDate()).isEqualTo(LocalDate.of(2025, 8, 2));
+		assertThat(saved.getRecurrenceRule()).isEqualTo("FREQ=WEEKLY");
+	}
+
+	private long executedStatements() {
+		return registry.find("mybatis.statement").timers().stream().mapToLong(Timer::count).sum();
+	}
+
+	private List<Integer> insertEvents(int count, String recurrenceRule) {
+		List<Integer> calDetailNos = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			CalendarDetail event = new CalendarDetail();
+			event.setCalNo(calNo);
+			event.setTitle("일정 " + i);
+			event.setStartDate(LocalDate.of(2025, 8, 1));
+			event.setEndDate(LocalDate.of(2025, 8, 1));
+			event.setRegUserNo(1);
+			event.setRecurrenceRule(recurrenceRule);
+			event.setSeriesEndDate(recurrenceRule != null ? LocalDate.of(9999, 12, 31) : LocalDate.of(2025, 8, 1));
+			calendarDAO.insertEvent(event);
+			calDetailNos.add(event.getCalDetailNo());
+		}
+		return calDetailNos;
+	}
+
+	private static EventRequestDTO update(Integer calDetailNo, String title, LocalDate date, LocalDate occurrenceDate,
+			boolean clearRecurrence) {
+		CalendarDetail detail = new CalendarDetail();
+		detail.setCalDetailNo(calDetailNo);
+		detail.setTitle(title);
+		detail.setStartDate(date);
+		detail.setEndDate(date);
+		detail.setOccurrenceDate(occurrenceDate);
+		detail.setRegUserNo(1);
+		EventRequestDTO request = new EventRequestDTO();
+		request.setDetail(detail);
+		request.setParticipantUserNos(List.of(1));
+		request.setClearRecurrence(clearRecurrence);
+		return request;
+	}
+
+	private static CalendarException cancel(Integer calDetailNo, LocalDate occurrenceDate) {
+		CalendarException exception = new CalendarException();
+		exception.setCalDetailNo(calDetailNo);
+		exception.setOccurrenceDate(occurrenceDate);
+		exception.setCancelYn("Y");
+		exception.setUpdateUserNo(1);
+		return exception;
+	}
+
+	private static Map<Integer, CalendarDetail> byCalDetailNo(List<CalendarDetail> events) {
+		return events.stream().collect(Collectors.toMap(CalendarDetail::getCalDetailNo, Function.identity()));
+	}
+}
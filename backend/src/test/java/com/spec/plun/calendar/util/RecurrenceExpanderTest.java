@@ -0,0 +1,123 @@
+package com.spec.plun.calendar.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.spec.plun.calendar.entity.CalendarDetail;
+import com.spec.plun.calendar.entity.CalendarException;
+
+// 반복 규칙 해석, 범위 안 회차 계산, 회차 예외 반영 확인
+class RecurrenceExpanderTest {
+
+	@Test
+	void parseNormalizesRule() {
+		RecurrenceRule rule = RecurrenceRule.parse("RRULE:freq=weekly;byday=we,mo;interval=2;until=20251231T000000Z");
+
+		assertThat(rule.toString()).isEqualTo("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;UNTIL=20251231");
+		assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=HOURLY")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=3;UNTIL=20251231"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=MO")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void weeklyByDayInsideWindow() {
+		// 2025-01-06 은 월요일
+		CalendarDetail master = master("FREQ=WEEKLY;BYDAY=MO,WE", LocalDate.of(2025, 1, 6), 0);
+
+		List<CalendarDetail> result = RecurrenceExpander.expand(master, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 14), 1000);
+
+		assertThat(starts(result)).containsExactly(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 5),
+				LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 12));
+		assertThat(result.get(0).getOccurrenceDate()).isEqualTo(LocalDate.of(2025, 3, 3));
+		assertThat(result.get(0).getCalDetailNo()).isEqualTo(1);
+	}
+
+	@Test
+	void farWindowOnlyComputesWindowOccurrences() {
+		CalendarDetail master = master("FREQ=DAILY", LocalDate.of(2000, 1, 1), 0);
+
+		// 시작일부터 세지 않고 범위 위치로 바로 건너뛰므로 limit 가 작아도 범위 안 회차를 얻음
+		List<CalendarDetail> result = RecurrenceExpander.expand(master, LocalDate.of(2090, 5, 1), LocalDate.of(2090, 5, 3), 3);
+
+		assertThat(starts(result)).containsExactly(LocalDate.of(2090, 5, 1), LocalDate.of(2090, 5, 2), LocalDate.of(2090, 5, 3));
+	}
+
+	@Test
+	void multiDayOccurrenceOverlappingWindowStartIsIncluded() {
+		CalendarDetail master = master("FREQ=WEEKLY;INTERVAL=2", LocalDate.of(2025, 1, 6), 2);
+
+		List<CalendarDetail> result = RecurrenceExpander.expand(master, LocalDate.of(2025, 1, 21), LocalDate.of(2025, 1, 31), 1000);
+
+		assertThat(starts(result)).containsExactly(LocalDate.of(2025, 1, 20));
+		assertThat(result.get(0).getEndDate()).isEqualTo(LocalDate.of(2025, 1, 22));
+	}
+
+	@Test
+	void monthlySkipsMissingDaysAndCountSetsSeriesEnd() {
+		RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=3");
+		LocalDate start = LocalDate.of(2025, 1, 31);
+
+		assertThat(rule.occurrences(start, start, LocalDate.of(2025, 12, 31), 10))
+				.containsExactly(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 3, 31), LocalDate.of(2025, 5, 31),
+						LocalDate.of(2025, 7, 31), LocalDate.of(2025, 8, 31), LocalDate.of(2025, 10, 31),
+						LocalDate.of(2025, 12, 31));
+		assertThat(RecurrenceExpander.seriesEndDate(rule, start, start.plusDays(1))).isEqualTo(LocalDate.of(2025, 6, 1));
+
+		CalendarDetail master = master("FREQ=MONTHLY;COUNT=3", start, 1);
+		master.setSeriesEndDate(LocalDate.of(2025, 6, 1));
+		assertThat(starts(RecurrenceExpander.expand(master, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), 1000)))
+				.containsExactly(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 3, 31), LocalDate.of(2025, 5, 31));
+		assertThat(RecurrenceExpander.isOccurrence(master, LocalDate.of(2025, 7, 31))).isFalse();
+		assertThat(RecurrenceExpander.isOccurrence(master, LocalDate.of(2025, 3, 31))).isTrue();
+	}
+
+	@Test
+	void exceptionsCancelAndMoveOccurrences() {
+		CalendarDetail master = master("FREQ=WEEKLY", LocalDate.of(2025, 1, 6), 0);
+		CalendarException cancelled = exception(LocalDate.of(2025, 3, 3));
+		cancelled.setCancelYn("Y");
+		CalendarException renamed = exception(LocalDate.of(2025, 3, 10));
+		renamed.setTitle("장소 변경");
+		// 범위 밖 회차(2/24)를 범위 안(3/14)으로 옮김
+		CalendarException moved = exception(LocalDate.of(2025, 2, 24));
+		moved.setStartDate(LocalDate.of(2025, 3, 14));
+		master.setExceptions(List.of(cancelled, renamed, moved));
+
+		List<CalendarDetail> result = RecurrenceExpander.expand(master, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 20), 1000);
+
+		assertThat(starts(result)).containsExactly(LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 14),
+				LocalDate.of(2025, 3, 17));
+		assertThat(result.get(0).getTitle()).isEqualTo("장소 변경");
+		assertThat(result.get(1).getOccurrenceDate()).isEqualTo(LocalDate.of(2025, 2, 24));
+		assertThat(result.get(2).getTitle()).isEqualTo("주간 회의");
+	}
+
+	private static List<LocalDate> starts(List<CalendarDetail> events) {
+		return events.stream().map(CalendarDetail::getStartDate).toList();
+	}
+
+	private static CalendarDetail master(String rule, LocalDate start, int spanDays) {
+		CalendarDetail master = new CalendarDetail();
+		master.setCalDetailNo(1);
+		master.setTitle("주간 회의");
+		master.setStartDate(start);
+		master.setEndDate(start.plusDays(spanDays));
+		master.setRecurrenceRule(rule);
+		master.setSeriesEndDate(RecurrenceExpander.seriesEndDate(RecurrenceRule.parse(rule), start, start.plusDays(spanDays)));
+		return master;
+	}
+
+	private static CalendarException exception(LocalDate occurrenceDate) {
+		CalendarException exception = new CalendarException();
+		exception.setCalDetailNo(1);
+		exception.setOccurrenceDate(occurrenceDate);
+		exception.setCancelYn("N");
+		return exception;
+	}
+}
@@ -0,0 +1,95 @@
+package com.spec.plun.calendar.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spec.plun.calendar.entity.CalendarDetail;
+
+/**
+ * 한 팀의 일정 수별 한 달 범위 조회 비용 : 주 단위 버킷 인덱스 vs 전체 탐색 (인덱스 없는 DB 조회와 같은 방식)
+ *
+ * 실행 : gradle jmh --args='TeamEventIndexBenchmark'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class TeamEventIndexBenchmark {
+
+	private static final LocalDate BASE = LocalDate.of(2015, 1, 1);
+	private static final int DAYS = 3650; // 10년치
+	private static final int USERS = 30;
+
+	@Param({ "10000", "100000", "1000000" })
+	public int eventsPerTeam;
+
+	private TeamEventIndex index;
+	private CalendarDetail[] events;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(7);
+		index = new TeamEventIndex(5);
+		events = new CalendarDetail[eventsPerTeam];
+		for (int i = 0; i < eventsPerTeam; i++) {
+			LocalDate start = BASE.plusDays(random.nextInt(DAYS));
+			// 대부분 당일~3일, 1% 는 최대 두 달짜리 일정
+			int span = random.nextInt(100) == 0 ? random.nextInt(60) : random.nextInt(4);
+			List<Integer> participants = new ArrayList<>();
+			for (int p = random.nextInt(4); p > 0; p--) {
+				participants.add(1 + random.nextInt(USERS));
+			}
+			CalendarDetail event = new CalendarDetail();
+			event.setCalDetailNo(i + 1);
+			event.setTitle("event-" + i);
+			event.setStartDate(start);
+			event.setEndDate(start.plusDays(span));
+			event.setOwnerUserNo(1 + random.nextInt(USERS));
+			event.setParticipantUserNos(participants);
+			events[i] = event;
+			index.put(event);
+		}
+	}
+
+	@Benchmark
+	public List<CalendarDetail> bucketIndex() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		LocalDate start = BASE.plusDays(random.nextInt(DAYS - 31));
+		return index.query(1 + random.nextInt(USERS), start, start.plusDays(30));
+	}
+
+	@Benchmark
+	public List<CalendarDetail> linearScan() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		LocalDate start = BASE.plusDays(random.nextInt(DAYS - 31));
+		LocalDate end = start.plusDays(30);
+		int userNo = 1 + random.nextInt(USERS);
+		List<CalendarDetail> result = new ArrayList<>();
+		for (CalendarDetail event : events) {
+			if (!event.getStartDate().isAfter(end) && !event.getEndDate().isBefore(start)
+					&& (event.getOwnerUserNo() == userNo || event.getParticipantUserNos().contains(userNo))) {
+				result.add(event);
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,99 @@
+package com.spec.plun.calendar.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.spec.plun.calendar.entity.CalendarDetail;
+
+// 주 단위 버킷 인덱스의 조회 결과가 전체 탐색(DB 쿼리와 같은 조건)과 같은지 확인
+class TeamEventIndexTest {
+
+	private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+	@Test
+	void matchesLinearScan() {
+		Random random = new Random(42);
+		TeamEventIndex index = new TeamEventIndex(2);
+		List<CalendarDetail> all = new ArrayList<>();
+		for (int i = 1; i <= 2000; i++) {
+			// 대부분 짧은 일정, 일부는 maxSpanWeeks 를 넘는 긴 일정
+			int span = random.nextInt(10) == 0 ? random.nextInt(90) : random.nextInt(4);
+			CalendarDetail event = event(i, BASE.plusDays(random.nextInt(365)), span, 1 + random.nextInt(5),
+					List.of(1 + random.nextInt(5)));
+			all.add(event);
+			index.put(event);
+		}
+
+		for (int q = 0; q < 200; q++) {
+			LocalDate start = BASE.minusDays(30).plusDays(random.nextInt(420));
+			LocalDate end = start.plusDays(random.nextInt(60));
+			int userNo = 1 + random.nextInt(5);
+			assertThat(ids(index.query(userNo, start, end))).isEqualTo(ids(linearScan(all, userNo, start, end)));
+		}
+	}
+
+	@Test
+	void updateMovesEventAndRemoveDropsIt() {
+		TeamEventIndex index = new TeamEventIndex(1);
+		index.put(event(1, LocalDate.of(2025, 3, 3), 0, 7, List.of(8)));
+
+		assertThat(ids(index.query(8, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)))).containsExactly(1);
+
+		// 날짜를 옮기고 참가자를 바꾸면 이전 버킷/참가자로는 조회되지 않음
+		index.put(event(1, LocalDate.of(2025, 6, 2), 100, 7, List.of(9)));
+		assertThat(index.query(8, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31))).isEmpty();
+		assertThat(ids(index.query(9, LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31)))).containsExactly(1);
+		assertThat(index.size()).isEqualTo(1);
+
+		index.remove(1);
+		assertThat(index.query(7, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31))).isEmpty();
+		assertThat(index.size()).isZero();
+	}
+
+	@Test
+	void resultIsCopy() {
+		TeamEventIndex index = new TeamEventIndex(1);
+		index.put(event(1, LocalDate.of(2025, 3, 3), 0, 7, List.of(8)));
+
+		CalendarDetail first = index.query(7, LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 3)).get(0);
+		first.setTitle("changed");
+		first.getParticipantUserNos().clear();
+
+		CalendarDetail second = index.query(7, LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 3)).get(0);
+		assertThat(second.getTitle()).isEqualTo("event-1");
+		assertThat(second.getParticipantUserNos()).containsExactly(8);
+	}
+
+	private static List<CalendarDetail> linearScan(List<CalendarDetail> all, int userNo, LocalDate start, LocalDate end) {
+		List<CalendarDetail> result = new ArrayList<>();
+		for (CalendarDetail event : all) {
+			boolean visible = event.getOwnerUserNo() == userNo || event.getParticipantUserNos().contains(userNo);
+			if (!event.getStartDate().isAfter(end) && !event.getEndDate().isBefore(start) && visible) {
+				result.add(event);
+			}
+		}
+		return result;
+	}
+
+	private static List<Integer> ids(List<CalendarDetail> events) {
+		return events.stream().map(CalendarDetail::getCalDetailNo).sorted().toList();
+	}
+
+	private static CalendarDetail event(int calDetailNo, LocalDate start, int spanDays, int ownerUserNo,
+			List<Integer> participants) {
+		CalendarDetail event = new CalendarDetail();
+		event.setCalDetailNo(calDetailNo);
+		event.setTitle("event-" + calDetailNo);
+		event.setStartDate(start);
+		event.setEndDate(start.plusDays(spanDays));
+		event.setOwnerUserNo(ownerUserNo);
+		event.setParticipantUserNos(new ArrayList<>(participants));
+		return event;
+	}
+}
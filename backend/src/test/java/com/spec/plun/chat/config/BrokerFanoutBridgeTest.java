@@ -0,0 +1,128 @@
+package com.spec.plun.chat.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// 두 개의 백엔드 노드(각자 SimpleBroker 보유)를 한 JVM 에 띄우고, 메모리 pub/sub 으로 /topic 전파를 확인
+class BrokerFanoutBridgeTest {
+
+	private final InMemoryBrokerFanout fanout = new InMemoryBrokerFanout();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<Node> nodes = new CopyOnWriteArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		nodes.forEach(node -> node.broker.stop());
+	}
+
+	@Test
+	void convertAndSendOnOneNodeReachesSubscribersOnAllNodes() {
+		Node a = startNode();
+		Node b = startNode();
+		a.subscribe("session-a", "/topic/chat/room/1");
+		b.subscribe("session-b", "/topic/chat/room/1");
+		b.subscribe("session-b2", "/topic/notifications/7");
+
+		a.template.convertAndSend("/topic/chat/room/1", "hello");
+
+		assertThat(a.deliveredPayloads()).containsExactly("hello");
+		assertThat(b.deliveredPayloads()).containsExactly("hello");
+		assertThat(b.delivered).allSatisfy(m -> assertThat(SimpMessageHeaderAccessor.getSessionId(m.getHeaders()))
+				.isEqualTo("session-b"));
+	}
+
+	@Test
+	void relayedMessagesAreNotPublishedAgain() {
+		Node a = startNode();
+		Node b = startNode();
+		Node c = startNode();
+		c.subscribe("session-c", "/topic/calendar/refresh/3");
+
+		b.template.convertAndSend("/topic/calendar/refresh/3", "eventUpdated");
+
+		// 발행한 노드에서 한 번만 전파되므로 c 는 정확히 한 번 수신
+		assertThat(fanout.published).hasSize(1);
+		assertThat(c.deliveredPayloads()).containsExactly("eventUpdated");
+		assertThat(a.deliveredPayloads()).isEmpty();
+	}
+
+	private Node startNode() {
+		Node node = new Node();
+		nodes.add(node);
+		return node;
+	}
+
+	// 백엔드 한 대에 해당하는 브로커 구성
+	private class Node {
+		final ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+		final ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+		final ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+		final SimpleBrokerMessageHandler broker;
+		final SimpMessagingTemplate template;
+		final List<Message<?>> delivered = new CopyOnWriteArrayList<>();
+
+		Node() {
+			brokerChannel.addInterceptor(new BrokerFanoutBridge(fanout, brokerChannel, objectMapper, "/topic"));
+			clientOutbound.subscribe(message -> {
+				if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+					delivered.add(message);
+				}
+			});
+			broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic"));
+			broker.start();
+			template = new SimpMessagingTemplate(brokerChannel);
+			// 실제 설정과 같이 payload 를 byte[] 로 직렬화
+			template.setMessageConverter(new StringMessageConverter());
+		}
+
+		void subscribe(String sessionId, String destination) {
+			SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+			connect.setSessionId(sessionId);
+			clientInbound.send(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+
+			SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+			accessor.setSessionId(sessionId);
+			accessor.setSubscriptionId("sub-" + sessionId);
+			accessor.setDestination(destination);
+			clientInbound.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+		}
+
+		List<String> deliveredPayloads() {
+			return delivered.stream().map(m -> new String((byte[]) m.getPayload(), StandardCharsets.UTF_8)).toList();
+		}
+	}
+
+	// Redis pub/sub 대역 : 발행 즉시 모든 구독자에게 동기 전달
+	private static class InMemoryBrokerFanout implements BrokerFanout {
+		final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+		final List<String> published = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void publish(String envelope) {
+			published.add(envelope);
+			listeners.forEach(listener -> listener.accept(envelope));
+		}
+
+		@Override
+		public void subscribe(Consumer<String> listener) {
+			listeners.add(listener);
+		}
+	}
+}
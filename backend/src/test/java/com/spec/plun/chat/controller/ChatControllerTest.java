@@ -0,0 +1,51 @@
+package com.spec.plun.chat.controller;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.spec.plun.alarm.service.AlarmService;
+import com.spec.plun.chat.entity.ChatMessage;
+import com.spec.plun.chat.service.ChatMessageWriteBehind;
+import com.spec.plun.chat.service.ChatService;
+
+// 컨트롤러는 메시지를 직접 브로드캐스트하지 않고 저장 큐에 넘기는지 확인
+// (큐에 들어가지 못해 저장되지 않을 메시지가 방에 보이지 않도록 브로드캐스트는 ChatMessageWriteBehind 가 담당)
+@ExtendWith(MockitoExtension.class)
+class ChatControllerTest {
+
+	@Mock
+	private ChatService chatService;
+
+	@Mock
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Mock
+	private AlarmService alarmService;
+
+	@Mock
+	private ChatMessageWriteBehind chatMessageWriteBehind;
+
+	@InjectMocks
+	private ChatController chatController;
+
+	@Test
+	void messageIsHandedToWriteBehindWithoutBroadcasting() {
+		ChatMessage message = new ChatMessage();
+		message.setRoomNo(3);
+
+		chatController.sendMessage(message);
+
+		InOrder order = inOrder(chatService, chatMessageWriteBehind);
+		order.verify(chatService).prepareMessage(message);
+		order.verify(chatMessageWriteBehind).enqueue(message);
+		verifyNoInteractions(messagingTemplate);
+	}
+}
@@ -0,0 +1,89 @@
+package com.spec.plun.chat.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.spec.plun.chat.entity.ChatMessage;
+import com.spec.plun.chat.entity.ChatReadCursor;
+import com.spec.plun.chat.entity.ChatRoom;
+import com.spec.plun.chat.entity.MessageType;
+import com.spec.plun.common.util.GeneratedKeys;
+
+// write-behind 배치 저장(insertMessages + GeneratedKeys.requireAll)을 실제 MariaDB + Connector/J 로 확인
+// 방별 안 읽은 수 쿼리(상관 서브쿼리 LIMIT ? OFFSET ?)가 MariaDB 문법으로 도는지도 확인
+// (H2 는 드라이버 설정과 관계없이 모든 키를 돌려주므로 ChatMapperTest 로는 확인할 수 없음, Docker 가 없으면 건너뜀)
+@MybatisTest
+@ActiveProfiles("mariadb")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Sql(scripts = "/sql/fixture.sql", config = @SqlConfig(encoding = "UTF-8"))
+class ChatMapperMariaDbTest {
+
+	@Container
+	@ServiceConnection
+	static final MariaDBContainer<?> MARIADB = new MariaDBContainer<>("mariadb:11.4");
+
+	@Autowired
+	private ChatDAO chatDAO;
+
+	@Test
+	void multiRowInsertReturnsEveryGeneratedKey() {
+		List<ChatMessage> batch = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			ChatMessage message = new ChatMessage();
+			message.setRoomNo(1);
+			message.setUserNo(2);
+			message.setContent("batch " + i);
+			message.setCreateDate(LocalDateTime.now());
+			message.setMessageType(MessageType.TALK);
+			batch.add(message);
+		}
+
+		chatDAO.insertMessages(batch);
+		GeneratedKeys.requireAll("insertMessages", batch, ChatMessage::getMessageNo);
+
+		assertThat(batch).extracting(ChatMessage::getMessageNo).doesNotHaveDuplicates();
+		List<ChatMessage> stored = chatDAO.getChatMessagesBefore(1, null, 10);
+		for (ChatMessage message : batch) {
+			assertThat(stored).filteredOn(m -> m.getMessageNo().equals(message.getMessageNo()))
+					.singleElement().extracting(ChatMessage::getContent).isEqualTo(message.getContent());
+		}
+	}
+
+	@Test
+	void unreadCountsForManyRoomsAreCappedPerRoom() {
+		List<ChatMessage> batch = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			ChatMessage message = new ChatMessage();
+			message.setRoomNo(i < 6 ? 1 : 2);
+			message.setUserNo(2);
+			message.setContent("unread " + i);
+			message.setCreateDate(LocalDateTime.now());
+			message.setMessageType(MessageType.TALK);
+			batch.add(message);
+		}
+		chatDAO.insertMessages(batch);
+
+		List<ChatRoom> counts = chatDAO.countMessagesAfterByRoom(
+				List.of(new ChatReadCursor(1, 1, 0), new ChatReadCursor(2, 1, 0)), 4);
+
+		assertThat(counts).extracting(ChatRoom::getRoomNo, ChatRoom::getUnreadCount)
+				.containsExactlyInAnyOrder(tuple(1, 4), tuple(2, 2));
+	}
+}
@@ -0,0 +1,126 @@
+package com.spec.plun.chat.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+
+import com.spec.plun.chat.entity.ChatMessage;
+import com.spec.plun.chat.entity.ChatReadCursor;
+import com.spec.plun.chat.entity.ChatRoom;
+import com.spec.plun.chat.entity.MessageType;
+
+// 메시지 조회 SQL 을 운영 스키마(H2 MariaDB 모드)에 직접 실행해 확인
+// (H2 는 multi-row INSERT 키를 항상 모두 돌려주므로 드라이버 동작은 ChatMapperMariaDbTest 에서 확인)
+@MybatisTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = "/sql/fixture.sql", config = @SqlConfig(encoding = "UTF-8"))
+class ChatMapperTest {
+
+	@Autowired
+	private ChatDAO chatDAO;
+
+	@Test
+	void keysetPagesWalkWholeHistoryWithoutGapsOrOverlap() {
+		List<Integer> saved = insertMessages(1, 120);
+		insertMessages(2, 10); // 다른 방 메시지는 섞이지 않아야 함
+
+		List<Integer> seen = new ArrayList<>();
+		Integer before = null;
+		while (true) {
+			List<ChatMessage> page = chatDAO.getChatMessagesBefore(1, before, 50);
+			if (page.isEmpty()) {
+				break;
+			}
+			assertThat(page).allMatch(m -> m.getRoomNo() == 1);
+			page.forEach(m -> seen.add(m.getMessageNo()));
+			before = page.get(page.size() - 1).getMessageNo();
+		}
+
+		// 최신순으로 50, 50, 20 개씩, 전체가 한 번씩
+		List<Integer> newestFirst = new ArrayList<>(saved);
+		newestFirst.sort((a, b) -> b - a);
+		assertThat(seen).containsExactlyElementsOf(newestFirst);
+	}
+
+	@Test
+	void firstPageIsNewestAndCarriesSenderName() {
+		List<Integer> saved = insertMessages(1, 5);
+
+		List<ChatMessage> page = chatDAO.getChatMessagesBefore(1, null, 3);
+
+		assertThat(page).extracting(ChatMessage::getMessageNo)
+				.containsExactly(saved.get(4), saved.get(3), saved.get(2));
+		assertThat(page.get(0).getName()).isEqualTo("하나");
+	}
+
+	@Test
+	void beforeOldestMessageIsEmpty() {
+		List<Integer> saved = insertMessages(1, 3);
+
+		assertThat(chatDAO.getChatMessagesBefore(1, saved.get(0), 50)).isEmpty();
+	}
+
+	@Test
+	void multiRowInsertReturnsEveryGeneratedKey() {
+		List<ChatMessage> batch = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			ChatMessage message = new ChatMessage();
+			message.setRoomNo(1);
+			message.setUserNo(2);
+			message.setContent("배치 " + i);
+			message.setCreateDate(LocalDateTime.now());
+			message.setMessageType(MessageType.TALK);
+			batch.add(message);
+		}
+
+		chatDAO.insertMessages(batch);
+
+		assertThat(batch).extracting(ChatMessage::getMessageNo).doesNotContainNull().doesNotHaveDuplicates();
+		List<ChatMessage> stored = chatDAO.getChatMessagesBefore(1, null, 10);
+		for (ChatMessage message : batch) {
+			assertThat(stored).filteredOn(m -> m.getMessageNo().equals(message.getMessageNo()))
+					.singleElement().extracting(ChatMessage::getContent).isEqualTo(message.getContent());
+		}
+	}
+
+	@Test
+	void unreadCountsForManyRoomsInOneQueryAreCappedPerRoom() {
+		List<Integer> first = insertMessages(1, 8);
+		insertMessages(2, 3);
+
+		List<ChatRoom> counts = chatDAO.countMessagesAfterByRoom(List.of(
+				new ChatReadCursor(1, 1, first.get(1)),   // 6개 남음 → 5 에서 멈춤
+				new ChatReadCursor(2, 1, 0),              // 3개
+				new ChatReadCursor(3, 1, 0)), 5);         // 메시지 없는 방은 행 없음
+
+		assertThat(counts).extracting(ChatRoom::getRoomNo, ChatRoom::getUnreadCount)
+				.containsExactlyInAnyOrder(tuple(1, 5), tuple(2, 3));
+	}
+
+	private List<Integer> insertMessages(int roomNo, int count) {
+		List<Integer> messageNos = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			ChatMessage message = new ChatMessage();
+			message.setRoomNo(roomNo);
+			message.setUserNo(1);
+			message.setContent("메시지 " + i);
+			message.setCreateDate(LocalDateTime.now());
+			message.setMessageType(MessageType.TALK);
+			chatDAO.insertMessage(message);
+			messageNos.add(message.getMessageNo());
+		}
+		return messageNos;
+	}
+}
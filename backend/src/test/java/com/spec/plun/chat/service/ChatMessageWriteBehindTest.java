@@ -0,0 +1,312 @@
+package com.spec.plun.chat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.spec.plun.chat.dao.ChatDAO;
+import com.spec.plun.chat.entity.ChatMessage;
+
+// 큐 → 배치 저장 → 재시도 → 개별 저장 / 큐 포화 시 동기 저장 경로와 저장 확인(ack) 전송 확인
+// 브로드캐스트는 큐에 들어갔거나 동기 저장된 메시지만
+@ExtendWith(MockitoExtension.class)
+class ChatMessageWriteBehindTest {
+
+	@Mock
+	private ChatDAO chatDAO;
+
+	@Mock
+	private ChatService chatService;
+
+	@Mock
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Mock
+	private ChatReadTracker chatReadTracker;
+
+	@Mock
+	private ChatSearchIndex chatSearchIndex;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@InjectMocks
+	private ChatMessageWriteBehind writeBehind;
+
+	private final AtomicInteger nextMessageNo = new AtomicInteger(1);
+	private final List<Integer> batchSizes = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(writeBehind, "capacity", 1000);
+		ReflectionTestUtils.setField(writeBehind, "batchSize", 10);
+		ReflectionTestUtils.setField(writeBehind, "flushIntervalMs", 200L);
+		ReflectionTestUtils.setField(writeBehind, "offerTimeoutMs", 10L);
+		ReflectionTestUtils.setField(writeBehind, "maxRetries", 2);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		writeBehind.stop();
+	}
+
+	@Test
+	void queuedMessagesAreInsertedInBatchesAndAcknowledged() throws InterruptedException {
+		insertSucceeds();
+		CountDownLatch hold = new CountDownLatch(1);
+		// 첫 배치 저장을 잠시 막아 나머지가 큐에 쌓이게 함
+		doAnswer(inv -> {
+			hold.await(5, TimeUnit.SECONDS);
+			return null;
+		}).when(chatService).notifyMessage(any());
+		writeBehind.start();
+
+		List<ChatMessage> sent = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			sent.add(writeBehind.enqueue(message(i)));
+		}
+		hold.countDown();
+
+		verify(messagingTemplate, timeout(5000).times(25)).convertAndSend(anyString(), any(Map.class));
+		assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(25);
+		assertThat(batchSizes).allMatch(size -> size <= 10);
+		assertThat(batchSizes.size()).isLessThan(25);
+		verify(chatDAO, never()).insertMessage(any());
+
+		// 보낸 순서대로 서로 다른 순번, 확인에는 seq → messageNo
+		assertThat(sent).extracting(ChatMessage::getSeq).doesNotHaveDuplicates().isSorted();
+		List<Map<String, Object>> acks = acks(25);
+		assertThat(acks).allMatch(ack -> "MESSAGE_PERSISTED".equals(ack.get("type")) && ack.get("messageNo") != null);
+		assertThat(acks).extracting(ack -> ack.get("seq")).containsExactlyElementsOf(
+				sent.stream().map(ChatMessage::getSeq).map(Object.class::cast).toList());
+		assertThat(broadcasts()).containsExactlyElementsOf(sent);
+	}
+
+	@Test
+	void failedBatchIsRetriedBeforeAcknowledging() {
+		AtomicInteger calls = new AtomicInteger();
+		doAnswer(inv -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new IllegalStateException("deadlock");
+			}
+			assignKeys(inv.getArgument(0));
+			return null;
+		}).when(chatDAO).insertMessages(anyList());
+		writeBehind.start();
+
+		writeBehind.enqueue(message(0));
+
+		verify(messagingTemplate, timeout(5000)).convertAndSend(anyString(), any(Map.class));
+		verify(chatDAO, times(2)).insertMessages(anyList());
+		verify(chatDAO, never()).insertMessage(any());
+		assertThat(acks(1).get(0).get("type")).isEqualTo("MESSAGE_PERSISTED");
+	}
+
+	@Test
+	void batchThatKeepsFailingIsSavedOneByOne() {
+		doAnswer(inv -> {
+			throw new IllegalStateException("bad row");
+		}).when(chatDAO).insertMessages(anyList());
+		doAnswer(inv -> {
+			ChatMessage message = inv.getArgument(0);
+			if ("poison".equals(message.getContent())) {
+				throw new IllegalStateException("data too long");
+			}
+			message.setMessageNo(nextMessageNo.getAndIncrement());
+			return null;
+		}).when(chatDAO).insertMessage(any());
+		writeBehind.start();
+
+		writeBehind.enqueue(message(0));
+		ChatMessage poison = message(1);
+		poison.setContent("poison");
+		writeBehind.enqueue(poison);
+		writeBehind.enqueue(message(2));
+
+		verify(messagingTemplate, timeout(5000).times(3)).convertAndSend(anyString(), any(Map.class));
+		verify(chatDAO, times(2)).insertMessages(anyList());
+		verify(chatDAO, times(3)).insertMessage(any());
+		assertThat(acks(3)).extracting(ack -> ack.get("type"))
+				.containsExactly("MESSAGE_PERSISTED", "MESSAGE_FAILED", "MESSAGE_PERSISTED");
+		verify(chatService, times(2)).notifyMessage(any());
+	}
+
+	@Test
+	void batchMissingGeneratedKeysIsRolledBackNotGuessed() {
+		// 드라이버가 첫 번째 키만 돌려준 경우 : 나머지를 첫 번째 + i 로 만들지 않고 되돌린 뒤 개별 저장
+		doAnswer(inv -> {
+			List<ChatMessage> batch = inv.getArgument(0);
+			batch.get(0).setMessageNo(nextMessageNo.getAndIncrement());
+			return null;
+		}).when(chatDAO).insertMessages(anyList());
+		doAnswer(inv -> {
+			((ChatMessage) inv.getArgument(0)).setMessageNo(nextMessageNo.getAndIncrement());
+			return null;
+		}).when(chatDAO).insertMessage(any());
+		writeBehind.start();
+
+		writeBehind.enqueue(message(0));
+		writeBehind.enqueue(message(1));
+
+		verify(messagingTemplate, timeout(5000).times(2)).convertAndSend(anyString(), any(Map.class));
+		verify(transactionManager, times(2)).rollback(any());
+		verify(transactionManager, never()).commit(any());
+		verify(chatDAO, times(2)).insertMessage(any());
+		assertThat(acks(2)).allMatch(ack -> "MESSAGE_PERSISTED".equals(ack.get("type")) && ack.get("messageNo") != null);
+	}
+
+	@Test
+	void fullQueueFallsBackToSynchronousInsertOnCaller() throws InterruptedException {
+		ReflectionTestUtils.setField(writeBehind, "capacity", 1);
+		ReflectionTestUtils.setField(writeBehind, "batchSize", 1);
+		CountDownLatch flusherBusy = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<String> insertThreads = new ArrayList<>();
+		doAnswer(inv -> {
+			synchronized (insertThreads) {
+				insertThreads.add(Thread.currentThread().getName());
+			}
+			if (Thread.currentThread().getName().equals("chat-write-behind")) {
+				flusherBusy.countDown();
+				release.await(5, TimeUnit.SECONDS);
+			}
+			assignKeys(inv.getArgument(0));
+			return null;
+		}).when(chatDAO).insertMessages(anyList());
+		writeBehind.start();
+
+		writeBehind.enqueue(message(0));               // 저장 스레드가 잡고 멈춤
+		assertThat(flusherBusy.await(5, TimeUnit.SECONDS)).isTrue();
+		writeBehind.enqueue(message(1));               // 큐 1칸 채움
+		ChatMessage overflow = writeBehind.enqueue(message(2)); // 자리 없음 → 호출 스레드에서 저장
+
+		assertThat(overflow.getMessageNo()).isNotNull();
+		assertThat(insertThreads).contains(Thread.currentThread().getName());
+		assertThat(writeBehind.pending()).isEqualTo(1);
+		release.countDown();
+
+		verify(messagingTemplate, timeout(5000).times(3)).convertAndSend(anyString(), any(Map.class));
+		verify(chatReadTracker, atLeastOnce()).onPersisted(anyList());
+		assertThat(broadcasts()).hasSize(3).filteredOn(m -> m == overflow).singleElement()
+				.extracting(ChatMessage::getMessageNo).isNotNull();
+	}
+
+	@Test
+	void fullQueueMessageThatCannotBeSavedIsRejectedNotBroadcast() throws InterruptedException {
+		ReflectionTestUtils.setField(writeBehind, "capacity", 1);
+		ReflectionTestUtils.setField(writeBehind, "batchSize", 1);
+		CountDownLatch flusherBusy = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(inv -> {
+			if (!Thread.currentThread().getName().equals("chat-write-behind")) {
+				throw new IllegalStateException("db down");
+			}
+			flusherBusy.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			assignKeys(inv.getArgument(0));
+			return null;
+		}).when(chatDAO).insertMessages(anyList());
+		lenient().doAnswer(inv -> {
+			throw new IllegalStateException("db down");
+		}).when(chatDAO).insertMessage(any());
+		writeBehind.start();
+
+		writeBehind.enqueue(message(0));
+		assertThat(flusherBusy.await(5, TimeUnit.SECONDS)).isTrue();
+		writeBehind.enqueue(message(1));
+		ChatMessage overflow = writeBehind.enqueue(message(2));
+
+		assertThat(overflow.getMessageNo()).isNull();
+		assertThat(broadcasts()).doesNotContain(overflow).hasSize(2);
+		assertThat(acks(2)).extracting(ack -> ack.get("type")).containsExactly("MESSAGE_FAILED", "MESSAGE_REJECTED");
+		assertThat(acks(2).get(1)).containsEntry("userNo", 1).containsEntry("content", "메시지 2");
+		release.countDown();
+	}
+
+	@Test
+	void seqAssignedBeforeBroadcastIsKept() {
+		insertSucceeds();
+		writeBehind.start();
+
+		ChatMessage message = writeBehind.assignSeq(message(0));
+		Long seq = message.getSeq();
+		writeBehind.enqueue(message);
+
+		verify(messagingTemplate, timeout(5000)).convertAndSend(anyString(), any(Map.class));
+		assertThat(message.getSeq()).isEqualTo(seq);
+		assertThat(acks(1).get(0).get("seq")).isEqualTo(seq);
+	}
+
+	private void insertSucceeds() {
+		lenient().doAnswer(inv -> {
+			assignKeys(inv.getArgument(0));
+			return null;
+		}).when(chatDAO).insertMessages(anyList());
+	}
+
+	// 드라이버처럼 모든 행의 생성 키를 채움
+	private void assignKeys(List<ChatMessage> batch) {
+		synchronized (batchSizes) {
+			batchSizes.add(batch.size());
+		}
+		for (ChatMessage message : batch) {
+			message.setMessageNo(nextMessageNo.getAndIncrement());
+		}
+	}
+
+	// 방 토픽으로 보낸 것 중 저장 확인(Map)만, 보낸 순서대로
+	@SuppressWarnings("unchecked")
+	private List<Map<String, Object>> acks(int count) {
+		List<Map<String, Object>> acks = sent().stream().filter(Map.class::isInstance)
+				.map(ack -> (Map<String, Object>) ack).toList();
+		assertThat(acks).hasSize(count);
+		return acks;
+	}
+
+	// 방 토픽으로 브로드캐스트한 메시지, 보낸 순서대로
+	private List<ChatMessage> broadcasts() {
+		return sent().stream().filter(ChatMessage.class::isInstance).map(ChatMessage.class::cast).toList();
+	}
+
+	private List<Object> sent() {
+		ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+		verify(messagingTemplate, atLeast(0)).convertAndSend(anyString(), captor.capture());
+		return captor.getAllValues();
+	}
+
+	private static ChatMessage message(int i) {
+		ChatMessage message = new ChatMessage();
+		message.setRoomNo(1);
+		message.setUserNo(1);
+		message.setContent("메시지 " + i);
+		return message;
+	}
+}
@@ -0,0 +1,137 @@
+package com.spec.plun.chat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.spec.plun.chat.dao.ChatDAO;
+import com.spec.plun.chat.entity.ChatMessage;
+import com.spec.plun.chat.entity.ChatReadCursor;
+import com.spec.plun.chat.entity.ChatRoom;
+
+// 방 목록의 안 읽은 수가 HMGET 한 번으로 채워지고, 읽음 위치는 최댓값만 일괄 저장되는지 확인
+@ExtendWith(MockitoExtension.class)
+class ChatReadTrackerTest {
+
+	@Mock
+	private ChatDAO chatDAO;
+
+	@Mock
+	private StringRedisTemplate redisTemplate;
+
+	@Mock
+	private HashOperations<String, Object, Object> hashOps;
+
+	@InjectMocks
+	private ChatReadTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(tracker, "maxCount", 1000);
+	}
+
+	@Test
+	void unreadCountsComeFromOneHmgetAndMissingRoomsAreBackfilled() {
+		when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOps);
+		when(hashOps.multiGet("chat:unread:10", List.of("1", "2"))).thenReturn(Arrays.asList("3", null));
+		when(chatDAO.countMessagesAfterByRoom(List.of(new ChatReadCursor(2, 10, 5)), 1000)).thenReturn(List.of(counted(2, 7)));
+		when(redisTemplate.execute(any(RedisScript.class), eq(List.of("chat:unread:10")), eq("2"), eq("7")))
+				.thenReturn(List.of("7"));
+
+		List<ChatRoom> rooms = List.of(room(1, 0), room(2, 5));
+		tracker.fillUnreadCounts(10, rooms);
+
+		assertThat(rooms).extracting(ChatRoom::getUnreadCount).containsExactly(3, 7);
+		verify(hashOps, never()).putAll(any(), any());
+		verify(chatDAO).countMessagesAfterByRoom(anyList(), eq(1000));
+		verifyNoMoreInteractions(chatDAO);
+	}
+
+	@Test
+	void backfillKeepsValueWrittenWhileCounting() {
+		when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOps);
+		when(hashOps.multiGet("chat:unread:10", List.of("1", "2"))).thenReturn(Arrays.asList(null, null));
+		// 두 방을 쿼리 한 번으로 셈
+		when(chatDAO.countMessagesAfterByRoom(List.of(new ChatReadCursor(1, 10, 0), new ChatReadCursor(2, 10, 5)), 1000))
+				.thenReturn(List.of(counted(1, 4), counted(2, 7)));
+		// DB 로 세는 사이 2번 방을 읽어 0 이 기록됨 → HSETNX 는 건너뛰고 기존 값 0 을 돌려줌
+		when(redisTemplate.execute(any(RedisScript.class), eq(List.of("chat:unread:10")), eq("1"), eq("4"), eq("2"), eq("7")))
+				.thenReturn(List.of("4", "0"));
+
+		List<ChatRoom> rooms = List.of(room(1, 0), room(2, 5));
+		tracker.fillUnreadCounts(10, rooms);
+
+		assertThat(rooms).extracting(ChatRoom::getUnreadCount).containsExactly(4, 0);
+	}
+
+	@Test
+	void cursorsAreFlushedOnceWithHighestPosition() {
+		tracker.markRead(1, 10, 5);
+		tracker.markRead(1, 10, 9);
+		tracker.markRead(1, 10, 7);
+		tracker.markRead(2, 10, 3);
+
+		tracker.flush();
+		tracker.flush();
+
+		verify(chatDAO, times(1)).advanceReadCursors(List.of(new ChatReadCursor(1, 10, 9), new ChatReadCursor(2, 10, 3)));
+		assertThat(tracker.pendingWrites()).isZero();
+	}
+
+	@Test
+	void roomWithoutMemberSetIsLoadedThenApplied() {
+		when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+				.thenReturn(List.of("1"), 2L, List.of());
+		when(chatDAO.getChatMemberUserNos(1)).thenReturn(List.of(10, 11));
+
+		tracker.onPersisted(List.of(message(100, 1, 10), message(101, 1, 10)));
+
+		verify(chatDAO).getChatMemberUserNos(1);
+		verify(redisTemplate, times(3)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+		// 보낸 사람의 읽음 위치도 앞으로 감
+		tracker.flush();
+		verify(chatDAO).advanceReadCursors(List.of(new ChatReadCursor(1, 10, 101)));
+	}
+
+	private static ChatRoom room(int roomNo, int lastRead) {
+		ChatRoom room = new ChatRoom();
+		room.setRoomNo(roomNo);
+		room.setLastReadMessageNo(lastRead);
+		return room;
+	}
+
+	private static ChatRoom counted(int roomNo, int unread) {
+		ChatRoom room = new ChatRoom();
+		room.setRoomNo(roomNo);
+		room.setUnreadCount(unread);
+		return room;
+	}
+
+	private static ChatMessage message(int messageNo, int roomNo, int userNo) {
+		ChatMessage message = new ChatMessage();
+		message.setMessageNo(messageNo);
+		message.setRoomNo(roomNo);
+		message.setUserNo(userNo);
+		return message;
+	}
+}
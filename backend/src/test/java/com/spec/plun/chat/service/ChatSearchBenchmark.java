@@ -0,0 +1,125 @@
+package com.spec.plun.chat.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spec.plun.chat.entity.ChatMessage;
+
+/**
+ * 메시지 검색 1회 지연 시간 (μs) : 사용자가 참여 중인 방 20개 안에서 최신 50건
+ *
+ * - index : ChatSearchIndex (메모리 디렉터리, 형태소 단위 검색, 메시지 번호까지 - 이후 PK IN 조회 한 번은 제외)
+ * - scan  : LIKE '%검색어%' 와 같은 방식으로 최신 메시지부터 전부 훑어 보는 경우 (DB 왕복 제외, 메모리 안에서만)
+ *
+ * 실행 : gradle jmh --args='ChatSearchBenchmark'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ChatSearchBenchmark {
+
+	private static final String[] WORDS = { "회의", "일정", "배포", "자료", "공유", "점심", "확인", "부탁", "내일", "오늘",
+			"수정", "검토", "고객", "요청", "문서", "테스트", "서버", "로그", "장애", "완료" };
+	private static final String[] PARTICLES = { "를", "에서", "은", "이", "도", "로", "" };
+	private static final int ROOMS = 1000;
+	private static final int LIMIT = 50;
+
+	@Param({ "100000", "1000000" })
+	public int messages;
+
+	// 흔한 단어 조합 / 1000건 중 1건에만 있는 단어
+	@Param({ "배포 완료", "롤백" })
+	public String query;
+
+	private ChatSearchIndex index;
+	private List<ChatMessage> table;
+	private List<Integer> roomNos;
+	private Set<Integer> roomSet;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		Random random = new Random(42);
+		table = new ArrayList<>(messages);
+		for (int i = 1; i <= messages; i++) {
+			StringBuilder content = new StringBuilder();
+			for (int w = 0; w < 6; w++) {
+				content.append(WORDS[random.nextInt(WORDS.length)]).append(PARTICLES[random.nextInt(PARTICLES.length)])
+						.append(' ');
+			}
+			if (random.nextInt(1000) == 0) {
+				content.append("롤백했습니다");
+			}
+			ChatMessage message = new ChatMessage();
+			message.setMessageNo(i);
+			message.setRoomNo(random.nextInt(ROOMS) + 1);
+			message.setUserNo(random.nextInt(100) + 1);
+			message.setContent(content.toString().trim());
+			message.setCreateDate(LocalDateTime.of(2025, 8, 1, 10, 0));
+			table.add(message);
+		}
+		roomNos = new ArrayList<>();
+		for (int room = 1; room <= ROOMS; room += ROOMS / 20) {
+			roomNos.add(room);
+		}
+		roomSet = Set.copyOf(roomNos);
+
+		index = new ChatSearchIndex();
+		index.open(new ByteBuffersDirectory());
+		index.rebuild(table);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		index.close();
+	}
+
+	@Benchmark
+	public List<Integer> index() {
+		return index.search(query, roomNos, null, LIMIT);
+	}
+
+	@Benchmark
+	public List<ChatMessage> scan() {
+		String[] terms = query.split(" ");
+		List<ChatMessage> result = new ArrayList<>(LIMIT);
+		for (int i = table.size() - 1; i >= 0 && result.size() < LIMIT; i--) {
+			ChatMessage message = table.get(i);
+			if (roomSet.contains(message.getRoomNo()) && containsAll(message.getContent(), terms)) {
+				result.add(message);
+			}
+		}
+		return result;
+	}
+
+	private static boolean containsAll(String content, String[] terms) {
+		for (String term : terms) {
+			if (!content.contains(term)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,131 @@
+package com.spec.plun.chat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.spec.plun.chat.entity.ChatMessage;
+
+// 형태소 단위 검색, 방 필터, 커서 페이지, 재색인 확인 (메모리 색인)
+// 확정 지점(commit user data)과 세대 교체는 디스크 색인으로 다시 열어 확인
+class ChatSearchIndexTest {
+
+	private ChatSearchIndex index;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		index = new ChatSearchIndex();
+		index.open(new ByteBuffersDirectory());
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		index.close();
+	}
+
+	@Test
+	void koreanParticlesAreIgnored() throws IOException {
+		index.index(List.of(message(1, 10, "내일 회의를 3시로 옮겼어요"), message(2, 10, "회의에서 말한 자료 공유합니다"),
+				message(3, 10, "점심 뭐 먹을까요"), message(4, 20, "다른 방 회의 일정")));
+		index.refresh();
+
+		assertThat(index.search("회의", List.of(10), null, 50)).containsExactly(2, 1);
+		assertThat(index.search("회의 자료", List.of(10, 20), null, 50)).containsExactly(2);
+		assertThat(index.search("Deploy", List.of(10), null, 50)).isEmpty();
+	}
+
+	@Test
+	void pagesWithBeforeCursor() throws IOException {
+		for (int i = 1; i <= 5; i++) {
+			index.index(List.of(message(i, 10, "배포 " + i + "차 완료")));
+		}
+		index.index(List.of(message(3, 10, "배포 3차 완료 (수정)"))); // 같은 메시지는 덮어씀
+		index.refresh();
+
+		List<Integer> first = index.search("배포", List.of(10), null, 2);
+		List<Integer> second = index.search("배포", List.of(10), first.get(1), 2);
+
+		assertThat(first).containsExactly(5, 4);
+		assertThat(second).containsExactly(3, 2);
+		assertThat(index.indexedCount()).isEqualTo(5);
+	}
+
+	@Test
+	void rebuildReplacesIndex() throws IOException {
+		index.index(List.of(message(1, 10, "지워질 메시지")));
+		index.refresh();
+
+		long count = index.rebuild(List.of(message(7, 10, "release notes"), message(8, 10, "Release 일정")));
+
+		assertThat(count).isEqualTo(2);
+		assertThat(index.search("메시지", List.of(10), null, 50)).isEmpty();
+		assertThat(index.search("RELEASE", List.of(10), null, 50)).containsExactly(8, 7);
+	}
+
+	@Test
+	void messagesIndexedDuringRebuildReachNewIndex() throws IOException {
+		// 재색인 입력을 읽는 도중 저장된 메시지 (평소 경로로 색인)
+		Iterable<ChatMessage> table = () -> {
+			index.index(List.of(message(9, 10, "재색인 중 도착한 공지")));
+			return List.of(message(7, 10, "기존 공지")).iterator();
+		};
+
+		index.rebuild(table);
+
+		assertThat(index.search("공지", List.of(10), null, 50)).containsExactly(9, 7);
+		assertThat(index.committedMaxMessageNo()).isEqualTo(9);
+	}
+
+	@Test
+	void checkpointAndRebuiltGenerationSurviveRestart(@TempDir Path dir) throws Exception {
+		ChatSearchIndex disk = onDisk(dir);
+		assertThat(disk.committedMaxMessageNo()).isNull();
+		disk.index(List.of(message(3, 10, "첫 세대"), message(12, 10, "첫 세대 마지막"), message(5, 10, "늦게 커밋된 메시지")));
+		disk.stop();
+
+		disk = onDisk(dir);
+		assertThat(disk.committedMaxMessageNo()).isEqualTo(12);
+		assertThat(disk.indexedCount()).isEqualTo(3);
+		disk.rebuild(List.of(message(20, 10, "새 세대")));
+		disk.stop();
+		assertThat(dir.resolve("gen-1")).doesNotExist();
+
+		Files.createDirectories(dir.resolve("gen-3")); // 확정되지 못한 재색인
+		disk = onDisk(dir);
+		assertThat(disk.committedMaxMessageNo()).isEqualTo(20);
+		assertThat(disk.search("세대", List.of(10), null, 50)).containsExactly(20);
+		disk.stop();
+		assertThat(dir.resolve("gen-2")).exists();
+		assertThat(dir.resolve("gen-3")).doesNotExist();
+	}
+
+	private static ChatSearchIndex onDisk(Path dir) throws IOException {
+		ChatSearchIndex disk = new ChatSearchIndex();
+		ReflectionTestUtils.setField(disk, "indexDir", dir.toString());
+		ReflectionTestUtils.setField(disk, "refreshIntervalMs", 60_000L);
+		ReflectionTestUtils.setField(disk, "commitIntervalMs", 60_000L);
+		disk.start();
+		return disk;
+	}
+
+	private static ChatMessage message(int messageNo, int roomNo, String content) {
+		ChatMessage message = new ChatMessage();
+		message.setMessageNo(messageNo);
+		message.setRoomNo(roomNo);
+		message.setUserNo(1);
+		message.setContent(content);
+		message.setCreateDate(LocalDateTime.of(2025, 8, 1, 10, 0));
+		return message;
+	}
+}
@@ -0,0 +1,157 @@
+package com.spec.plun.chat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+
+import com.spec.plun.alarm.service.AlarmService;
+import com.spec.plun.attachment.dao.AttachmentDAO;
+import com.spec.plun.attachment.entity.Attachment;
+import com.spec.plun.attachment.service.AttachmentService;
+import com.spec.plun.chat.dao.ChatDAO;
+import com.spec.plun.chat.entity.ChatMessage;
+import com.spec.plun.chat.entity.MessageType;
+import com.spec.plun.member.service.MemberDirectory;
+import com.spec.plun.metrics.MyBatisMetricsInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// 메시지 페이지 조회가 메시지 수와 무관하게 정해진 수의 SQL 로 끝나는지 운영 스키마(H2 MariaDB 모드)에서 확인
+// (실행된 문장 수는 MyBatisMetricsInterceptor 의 mybatis.statement 로 셈)
+@MybatisTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = "/sql/fixture.sql", config = @SqlConfig(encoding = "UTF-8"))
+@Import(ChatService.class)
+class ChatServiceTest {
+
+	@TestConfiguration
+	static class StatementCounterConfig {
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		MyBatisMetricsInterceptor myBatisMetricsInterceptor(MeterRegistry registry) {
+			return new MyBatisMetricsInterceptor(registry);
+		}
+	}
+
+	@Autowired
+	private ChatService chatService;
+
+	@Autowired
+	private ChatDAO chatDAO;
+
+	@Autowired
+	private AttachmentDAO attachmentDAO;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@MockitoBean
+	private AttachmentService attachmentService;
+
+	@MockitoBean
+	private AlarmService alarmService;
+
+	@MockitoBean
+	private MemberDirectory memberDirectory;
+
+	@MockitoBean
+	private ChatReadTracker chatReadTracker;
+
+	@MockitoBean
+	private ChatSearchIndex chatSearchIndex;
+
+	@Test
+	void pageOfMessagesIsLoadedWithSingleStatement() {
+		List<Integer> saved = insertMessages(200);
+		attach(saved.get(199), "a1");
+		attach(saved.get(199), "a2");
+		attach(saved.get(150), "a3");
+		String deleted = attach(saved.get(150), "a4");
+		attachmentDAO.deleteAttachment(deleted);
+
+		long before = executedStatements();
+		List<ChatMessage> page = chatService.getChatMessagesBefore(1, null, 200);
+
+		assertThat(executedStatements() - before).isEqualTo(1);
+		// 첨부파일 조인으로 행이 늘어나도 메시지 200 개, 오래된 순
+		assertThat(page).hasSize(200);
+		assertThat(page.get(0).getMessageNo()).isEqualTo(saved.get(0));
+		assertThat(page.get(199).getAttachments()).extracting(Attachment::getOriginalName).containsExactlyInAnyOrder("a1", "a2");
+		assertThat(page.get(150).getAttachments()).extracting(Attachment::getOriginalName).containsExactly("a3");
+		assertThat(page.get(0).getAttachments()).isEmpty();
+	}
+
+	@Test
+	void attachmentsAreLoadedInOneBatchForWindow() {
+		List<Integer> saved = insertMessages(200);
+		attach(saved.get(99), "a1");
+		attach(saved.get(99), "a2");
+		attach(saved.get(110), "a3");
+
+		long before = executedStatements();
+		List<ChatMessage> window = chatService.getChatMessagesAround(1, saved.get(99), 200);
+
+		// 메시지 창 1 + 첨부파일 IN 1
+		assertThat(executedStatements() - before).isEqualTo(2);
+		ChatMessage withTwo = window.stream().filter(m -> m.getMessageNo().equals(saved.get(99))).findFirst().orElseThrow();
+		ChatMessage withNone = window.stream().filter(m -> m.getMessageNo().equals(saved.get(100))).findFirst().orElseThrow();
+		assertThat(withTwo.getAttachments()).extracting(Attachment::getOriginalName).containsExactlyInAnyOrder("a1", "a2");
+		assertThat(withNone.getAttachments()).isEmpty();
+	}
+
+	private long executedStatements() {
+		return registry.find("mybatis.statement").timers().stream().mapToLong(Timer::count).sum();
+	}
+
+	private List<Integer> insertMessages(int count) {
+		List<Integer> messageNos = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			ChatMessage message = new ChatMessage();
+			message.setRoomNo(1);
+			message.setUserNo(1 + i % 2);
+			message.setContent("메시지 " + i);
+			message.setCreateDate(LocalDateTime.now());
+			message.setMessageType(MessageType.TALK);
+			chatDAO.insertMessage(message);
+			messageNos.add(message.getMessageNo());
+		}
+		return messageNos;
+	}
+
+	private String attach(Integer messageNo, String name) {
+		Attachment attachment = new Attachment();
+		attachment.setAttachmentNo(UUID.randomUUID().toString());
+		attachment.setMessageNo(messageNo);
+		attachment.setOriginalName(name);
+		attachment.setFileName(name);
+		attachment.setPath("/tmp/" + name);
+		attachment.setSize(1L);
+		attachment.setContentType("application/pdf");
+		attachment.setExtension("pdf");
+		attachment.setCreateDate(LocalDateTime.now());
+		attachmentDAO.insertAttachment(attachment);
+		return attachment.getAttachmentNo();
+	}
+}
@@ -0,0 +1,61 @@
+package com.spec.plun.email.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.spec.plun.email.entity.MailOutbox;
+
+// 보낸 메일 본문 비우기 / 보관 기간이 지난 메일 삭제를 운영 스키마(H2 MariaDB 모드)에서 확인
+@MybatisTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MailOutboxMapperTest {
+
+	@Autowired
+	private MailOutboxDAO mailOutboxDAO;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void sentBodyIsClearedAndFinishedMailIsPurged() {
+		Long sent = insert("a@example.com");
+		Long failed = insert("b@example.com");
+		Long sending = insert("c@example.com");
+		assertThat(mailOutboxDAO.claimDue("token", 10)).isEqualTo(3);
+
+		mailOutboxDAO.markSent(List.of(sent));
+		mailOutboxDAO.markFailed(failed, "550 rejected");
+
+		assertThat(body(sent)).isEmpty();
+		assertThat(body(failed)).isEqualTo("<p>123456</p>");
+
+		// 보관 기간 안의 메일은 남기고, 지난 SENT/FAILED 만 삭제 (발송 중인 메일은 그대로)
+		assertThat(mailOutboxDAO.deleteFinished(LocalDateTime.now().minusHours(1), 10)).isZero();
+		assertThat(mailOutboxDAO.deleteFinished(LocalDateTime.now().plusMinutes(1), 10)).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForList("SELECT mail_no FROM TB_MAIL_OUTBOX", Long.class)).containsExactly(sending);
+	}
+
+	private Long insert(String recipient) {
+		MailOutbox mail = new MailOutbox();
+		mail.setRecipient(recipient);
+		mail.setDomain("example.com");
+		mail.setSubject("code");
+		mail.setBody("<p>123456</p>");
+		mailOutboxDAO.insertMail(mail);
+		return mail.getMailNo();
+	}
+
+	private String body(Long mailNo) {
+		return jdbcTemplate.queryForObject("SELECT body FROM TB_MAIL_OUTBOX WHERE mail_no = ?", String.class, mailNo);
+	}
+}
@@ -0,0 +1,227 @@
+package com.spec.plun.email.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.spec.plun.email.dao.MailOutboxDAO;
+import com.spec.plun.email.entity.MailOutbox;
+
+// 프로세스 내부 SMTP 서버를 상대로 묶음 발송 / 수신 거부 / 연결 실패 처리를 확인
+@ExtendWith(MockitoExtension.class)
+class MailDispatcherTest {
+
+	@Mock
+	private MailOutboxDAO mailOutboxDAO;
+
+	private FakeSmtpServer smtp;
+	private MailDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		smtp = new FakeSmtpServer();
+		dispatcher = newDispatcher(smtp.port());
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		smtp.close();
+	}
+
+	@Test
+	void chunkIsSentOverSingleConnection() {
+		dispatcher.deliver(List.of(mail(1L, "a@example.com"), mail(2L, "b@example.com"), mail(3L, "c@example.com")));
+
+		assertThat(smtp.connections.get()).isEqualTo(1);
+		assertThat(smtp.delivered).containsExactly("a@example.com", "b@example.com", "c@example.com");
+		verify(mailOutboxDAO).markSent(List.of(1L, 2L, 3L));
+		verify(mailOutboxDAO, never()).markRetry(any(), any(), anyString());
+	}
+
+	@Test
+	void rejectedRecipientFailsWithoutBlockingOthers() {
+		dispatcher.deliver(List.of(mail(1L, "a@example.com"), mail(2L, "reject@example.com"), mail(3L, "c@example.com")));
+
+		assertThat(smtp.delivered).containsExactly("a@example.com", "c@example.com");
+		verify(mailOutboxDAO).markSent(List.of(1L, 3L));
+		verify(mailOutboxDAO).markFailed(eq(2L), anyString());
+		verify(mailOutboxDAO, never()).markRetry(any(), any(), anyString());
+	}
+
+	@Test
+	void connectionFailureSchedulesRetryWithBackoff() throws IOException {
+		smtp.close();
+		LocalDateTime before = LocalDateTime.now();
+
+		dispatcher.deliver(List.of(mail(1L, "a@example.com"), mail(2L, "b@example.com")));
+
+		ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(mailOutboxDAO).markRetry(eq(1L), next.capture(), anyString());
+		verify(mailOutboxDAO).markRetry(eq(2L), any(), anyString());
+		verify(mailOutboxDAO, never()).markSent(any());
+		assertThat(next.getValue()).isAfterOrEqualTo(before.plusSeconds(2));
+	}
+
+	@Test
+	void lastAttemptMarksFailed() throws IOException {
+		smtp.close();
+		MailOutbox mail = mail(1L, "a@example.com");
+		mail.setAttempts(4);
+
+		dispatcher.deliver(List.of(mail));
+
+		verify(mailOutboxDAO).markFailed(eq(1L), anyString());
+		verify(mailOutboxDAO, never()).markRetry(any(), any(), anyString());
+	}
+
+	@Test
+	void purgeDeletesExpiredMailInBatches() {
+		ReflectionTestUtils.setField(dispatcher, "retentionHours", 24L);
+		when(mailOutboxDAO.deleteFinished(any(), eq(1000))).thenReturn(1000, 1000, 3);
+		LocalDateTime before = LocalDateTime.now().minusHours(24);
+
+		assertThat(dispatcher.purgeFinished()).isEqualTo(2003);
+
+		ArgumentCaptor<LocalDateTime> olderThan = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(mailOutboxDAO, times(3)).deleteFinished(olderThan.capture(), eq(1000));
+		assertThat(olderThan.getValue()).isBetween(before, LocalDateTime.now().minusHours(24));
+	}
+
+	private MailDispatcher newDispatcher(int port) {
+		JavaMailSenderImpl sender = new JavaMailSenderImpl();
+		sender.setHost("127.0.0.1");
+		sender.setPort(port);
+		sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+		sender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+
+		MailDispatcher d = new MailDispatcher();
+		ReflectionTestUtils.setField(d, "mailOutboxDAO", mailOutboxDAO);
+		ReflectionTestUtils.setField(d, "javaMailSender", sender);
+		ReflectionTestUtils.setField(d, "senderEmail", "noreply@plun.test");
+		ReflectionTestUtils.setField(d, "maxAttempts", 5);
+		ReflectionTestUtils.setField(d, "backoffBaseMs", 2000L);
+		ReflectionTestUtils.setField(d, "backoffMaxMs", 600000L);
+		return d;
+	}
+
+	private static MailOutbox mail(Long mailNo, String recipient) {
+		MailOutbox mail = new MailOutbox();
+		mail.setMailNo(mailNo);
+		mail.setRecipient(recipient);
+		mail.setDomain(MailOutboxService.domainOf(recipient));
+		mail.setSubject("Plun 초대");
+		mail.setBody("<h3>test</h3>");
+		return mail;
+	}
+
+	/**
+	 * 테스트용 최소 SMTP 서버
+	 * reject@ 로 시작하는 수신자는 550 으로 거부한다.
+	 */
+	static class FakeSmtpServer implements AutoCloseable {
+
+		final AtomicInteger connections = new AtomicInteger();
+		final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+
+		private final ServerSocket serverSocket;
+		private final Thread acceptor;
+
+		FakeSmtpServer() throws IOException {
+			serverSocket = new ServerSocket(0);
+			acceptor = new Thread(this::acceptLoop, "fake-smtp");
+			acceptor.setDaemon(true);
+			acceptor.start();
+		}
+
+		int port() {
+			return serverSocket.getLocalPort();
+		}
+
+		@Override
+		public void close() throws IOException {
+			serverSocket.close();
+		}
+
+		private void acceptLoop() {
+			while (!serverSocket.isClosed()) {
+				try (Socket socket = serverSocket.accept()) {
+					connections.incrementAndGet();
+					handle(socket);
+				} catch (IOException e) {
+					// 서버 종료
+				}
+			}
+		}
+
+		private void handle(Socket socket) throws IOException {
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+			reply(out, "220 fake-smtp ready");
+
+			String recipient = null;
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = line.toUpperCase();
+				if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+					reply(out, "250 fake-smtp");
+				} else if (command.startsWith("RCPT TO:")) {
+					String address = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+					if (address.startsWith("reject@")) {
+						reply(out, "550 5.1.1 mailbox unavailable");
+					} else {
+						recipient = address;
+						reply(out, "250 OK");
+					}
+				} else if (command.equals("DATA")) {
+					reply(out, "354 end with <CRLF>.<CRLF>");
+					while ((line = in.readLine()) != null && !line.equals(".")) {
+						// 본문은 확인하지 않음
+					}
+					delivered.add(recipient);
+					recipient = null;
+					reply(out, "250 queued");
+				} else if (command.equals("QUIT")) {
+					reply(out, "221 bye");
+					return;
+				} else {
+					// MAIL FROM, RSET, NOOP 등
+					recipient = command.startsWith("RSET") ? null : recipient;
+					reply(out, "250 OK");
+				}
+			}
+		}
+
+		private static void reply(PrintWriter out, String line) {
+			out.print(line + "\r\n");
+			out.flush();
+		}
+	}
+}
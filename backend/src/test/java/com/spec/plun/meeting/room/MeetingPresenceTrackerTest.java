@@ -0,0 +1,102 @@
+package com.spec.plun.meeting.room;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.spec.plun.meeting.dto.PresenceRes;
+
+// 입/퇴장 폭주가 참석 구간 단위의 일괄 저장으로 합쳐지는지 확인 (flush 는 직접 호출)
+@ExtendWith(MockitoExtension.class)
+class MeetingPresenceTrackerTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2025, 8, 1, 10, 0);
+
+	@Mock
+	private MeetingRoomDAO meetingRoomDAO;
+
+	@Mock
+	private SimpMessagingTemplate messagingTemplate;
+
+	@InjectMocks
+	private MeetingPresenceTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(tracker, "rejoinGraceMs", 60_000L);
+	}
+
+	@Test
+	void flappingConnectionIsOneOpenInterval() {
+		for (int i = 0; i < 50; i++) {
+			tracker.enter(7, "ABCD2345", 1, T0.plusSeconds(i));
+			tracker.leave(7, 1, T0.plusSeconds(i));
+		}
+		tracker.enter(7, "ABCD2345", 1, T0.plusSeconds(60));
+		tracker.enter(7, "ABCD2345", 2, T0);
+
+		tracker.flush(false);
+		tracker.flush(false);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<MeetingAttendance>> rows = ArgumentCaptor.forClass(List.class);
+		verify(meetingRoomDAO, times(1)).upsertAttendance(rows.capture());
+		assertThat(rows.getValue()).containsExactlyInAnyOrder(new MeetingAttendance(7, 1, T0, null),
+				new MeetingAttendance(7, 2, T0, null));
+		verify(meetingRoomDAO, times(1)).syncParticipantTimes(7, List.of(1, 2));
+		// 처음 입장만 전송
+		verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(PresenceRes.class));
+		assertThat(tracker.onlineUserNos(7)).containsExactly(1, 2);
+	}
+
+	@Test
+	void leaveIsWrittenAfterGraceAndPublished() {
+		ReflectionTestUtils.setField(tracker, "rejoinGraceMs", 0L);
+		tracker.enter(7, "ABCD2345", 1, T0);
+		tracker.enter(7, "ABCD2345", 1, T0); // 두 번째 연결
+		tracker.leave(7, 1, T0.plusMinutes(5));
+		tracker.flush(false);
+		tracker.leave(7, 1, T0.plusMinutes(30));
+		tracker.flush(false);
+
+		verify(meetingRoomDAO).upsertAttendance(List.of(new MeetingAttendance(7, 1, T0, null)));
+		verify(meetingRoomDAO).upsertAttendance(List.of(new MeetingAttendance(7, 1, T0, T0.plusMinutes(30))));
+		verify(messagingTemplate).convertAndSend("/topic/meeting/ABCD2345/presence",
+				new PresenceRes("ABCD2345", 1, false, List.of()));
+		assertThat(tracker.onlineUserNos(7)).isEmpty();
+
+		// 빈 방은 다음 주기에 정리
+		tracker.flush(false);
+		assertThat(tracker.trackedRooms()).isZero();
+	}
+
+	@Test
+	void forgottenRoomIsNotWritten() {
+		tracker.enter(7, "ABCD2345", 1, T0);
+		tracker.forget(7);
+
+		tracker.flush(true);
+
+		verify(meetingRoomDAO, never()).upsertAttendance(anyList());
+		tracker.leave(7, 1, T0);
+		verifyNoInteractions(meetingRoomDAO);
+	}
+}
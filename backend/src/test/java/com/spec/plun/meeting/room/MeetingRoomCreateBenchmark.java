@@ -0,0 +1,143 @@
+package com.spec.plun.meeting.room;
+
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.spec.plun.calendar.dao.CalendarDAO;
+import com.spec.plun.calendar.entity.CalendarChange;
+import com.spec.plun.calendar.entity.CalendarDetail;
+import com.spec.plun.calendar.service.CalendarChangeLog;
+import com.spec.plun.calendar.service.CalendarEventIndex;
+import com.spec.plun.member.service.MemberDirectory;
+
+/**
+ * 회의 생성 처리량 (초당 생성 수) : DAO 호출마다 DB 왕복 시간(rttMicros)만큼 대기하는 가짜 DAO 로 측정
+ *
+ * - pipeline : 현재 createRoomWithCalendar (팀 달력 캐시 적중)
+ *              INSERT 4번 (달력상세 + 방 + 참여자 + 달력참여자) + 변경 이력 6번 = 10번 왕복
+ * - legacy   : 이전 구현의 순차 문장 (코드 중복 확인 1 + INSERT 방 + 달력 조회 + INSERT 달력상세 + LAST_INSERT_ID
+ *              + UPDATE 방 + INSERT 참여자 2 + INSERT 달력참여자 = 9번) + 같은 변경 이력 6번 = 15번 왕복
+ * - 변경 이력(CalendarChangeLog.record)은 실제 구현을 같은 가짜 DAO 위에서 실행
+ *   (일정 조회 + 버전 INSERT/LAST_INSERT_ID + 이력 INSERT + 참가자 조회 + 팀원 조회)
+ *
+ * 실행 : gradle jmh --args='MeetingRoomCreateBenchmark'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class MeetingRoomCreateBenchmark {
+
+	private static final int LEGACY_STATEMENTS = 9;
+
+	@Param({ "100", "500" })
+	public long rttMicros;
+
+	private MeetingRoomService service;
+	private CalendarChangeLog changeLog;
+	private final AtomicInteger keys = new AtomicInteger();
+	private final AtomicLong versions = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		MeetingRoomDAO dao = (MeetingRoomDAO) Proxy.newProxyInstance(MeetingRoomDAO.class.getClassLoader(),
+				new Class<?>[] { MeetingRoomDAO.class }, (proxy, method, args) -> {
+					roundTrip();
+					switch (method.getName()) {
+					case "insert" -> ((MeetingRoom) args[0]).setRoomNo(keys.incrementAndGet());
+					case "insertCalendarDetail" -> ((CalendarDetail) args[0]).setCalDetailNo(keys.incrementAndGet());
+					case "allocateCodeBlock" -> {
+						RoomCodeAllocator.SequenceBlock block = (RoomCodeAllocator.SequenceBlock) args[0];
+						block.setEnd(keys.addAndGet(block.getSize()));
+					}
+					case "findCalNoByTeamNo" -> {
+						return 1;
+					}
+					default -> {
+					}
+					}
+					return method.getReturnType() == int.class ? 1 : null;
+				});
+		CalendarDAO calendarDAO = (CalendarDAO) Proxy.newProxyInstance(CalendarDAO.class.getClassLoader(),
+				new Class<?>[] { CalendarDAO.class }, (proxy, method, args) -> {
+					roundTrip();
+					switch (method.getName()) {
+					case "getIndexedEvent" -> {
+						CalendarDetail event = new CalendarDetail();
+						event.setCalDetailNo((Integer) args[0]);
+						event.setTeamNo(1);
+						event.setOwnerUserNo(1);
+						event.setDeleteYn("N");
+						return event;
+					}
+					// selectKey 의 SELECT LAST_INSERT_ID() 까지 2번 왕복
+					case "nextVersion" -> {
+						roundTrip();
+						((CalendarChange) args[0]).setVersion(versions.incrementAndGet());
+					}
+					default -> {
+					}
+					}
+					if (method.getReturnType() == List.class) {
+						return List.of();
+					}
+					return method.getReturnType() == int.class ? 1 : null;
+				});
+		changeLog = new CalendarChangeLog();
+		ReflectionTestUtils.setField(changeLog, "calendarDAO", calendarDAO);
+		ReflectionTestUtils.setField(changeLog, "messagingTemplate", mock(SimpMessagingTemplate.class));
+		ReflectionTestUtils.setField(changeLog, "retentionDays", 30);
+
+		RoomCodeAllocator allocator = new RoomCodeAllocator(dao, mock(PlatformTransactionManager.class), 100, "bench");
+		service = new MeetingRoomService(dao, mock(CalendarEventIndex.class), changeLog,
+				mock(MeetingRoomRegistry.class), mock(MeetingPresenceTracker.class), mock(MemberDirectory.class), allocator);
+	}
+
+	@Benchmark
+	public MeetingRoomService.CreateResult pipeline() {
+		MeetingRoom room = new MeetingRoom();
+		room.setTeamNo(1);
+		room.setTitle("주간 회의");
+		room.setScheduledTime(LocalDateTime.of(2025, 8, 1, 10, 0));
+		room.setScheduledEndTime(LocalDateTime.of(2025, 8, 1, 11, 0));
+		return service.createRoomWithCalendar(room, 1, List.of(1, 2, 3, 4, 5));
+	}
+
+	@Benchmark
+	public int legacy() {
+		for (int i = 0; i < LEGACY_STATEMENTS; i++) {
+			roundTrip();
+		}
+		changeLog.record(1, keys.incrementAndGet(), CalendarChangeLog.CREATED, null);
+		return LEGACY_STATEMENTS;
+	}
+
+	private void roundTrip() {
+		LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(rttMicros));
+	}
+}
@@ -0,0 +1,137 @@
+package com.spec.plun.meeting.room;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.spec.plun.meeting.dto.ParticipantRoleDto;
+import com.spec.plun.meeting.room.MeetingRoomRegistry.ActiveRoom;
+
+// 입장 권한 확인이 레지스트리(로컬 → Redis 해시 → DB) 순으로 처리되는지 확인
+@ExtendWith(MockitoExtension.class)
+class MeetingRoomRegistryTest {
+
+	@Mock
+	private MeetingRoomDAO meetingRoomDAO;
+
+	@Mock
+	private StringRedisTemplate redisTemplate;
+
+	@Mock
+	private HashOperations<String, Object, Object> hashOps;
+
+	@Mock
+	private ValueOperations<String, String> valueOps;
+
+	@InjectMocks
+	private MeetingRoomRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(registry, "ttlMinutes", 60L);
+		ReflectionTestUtils.setField(registry, "nearTtlMs", 60_000L);
+		ReflectionTestUtils.setField(registry, "nearMaxSize", 100);
+	}
+
+	@Test
+	void missLoadsFromDatabaseOnceAndPublishesHash() {
+		when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOps);
+		when(redisTemplate.opsForValue()).thenReturn(valueOps);
+		when(hashOps.entries("meeting:room:ABCD2345")).thenReturn(Map.of());
+		when(valueOps.get("meeting:room:gen:ABCD2345")).thenReturn("3");
+		when(meetingRoomDAO.findByCode("ABCD2345")).thenReturn(room());
+		when(meetingRoomDAO.selectParticipantRoles(7)).thenReturn(List.of(role(1, "C001"), role(2, "C002")));
+
+		ActiveRoom first = registry.find("ABCD2345");
+		ActiveRoom second = registry.find("ABCD2345");
+
+		assertThat(first.roleOf(1)).isEqualTo("C001");
+		assertThat(first.roleOf(2)).isEqualTo("C002");
+		assertThat(first.roleOf(3)).isNull();
+		assertThat(first.creatorUserNo()).isEqualTo(1);
+		assertThat(second).isSameAs(first);
+		verify(meetingRoomDAO, times(1)).findByCode("ABCD2345");
+
+		// 읽은 세대(3)를 조건으로 해시 기록
+		ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+		verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("meeting:room:ABCD2345", "meeting:room:gen:ABCD2345")),
+				args.capture());
+		assertThat(args.getValue()).startsWith("3", "3600000").contains("role:1", "C001", "title", "주간 회의");
+	}
+
+	@Test
+	void hashHitSkipsDatabase() {
+		Map<Object, Object> hash = new HashMap<>();
+		hash.put("roomNo", "7");
+		hash.put("title", "주간 회의");
+		hash.put("scheduledTime", "2025-08-01T10:00");
+		hash.put("creatorUserNo", "1");
+		hash.put("role:1", "C001");
+		hash.put("role:2", "C002");
+		when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOps);
+		when(hashOps.entries("meeting:room:ABCD2345")).thenReturn(hash);
+
+		ActiveRoom room = registry.find("ABCD2345");
+
+		assertThat(room.roomNo()).isEqualTo(7);
+		assertThat(room.scheduledTime()).isEqualTo(LocalDateTime.of(2025, 8, 1, 10, 0));
+		assertThat(room.roles()).containsEntry(2, "C002").hasSize(2);
+		verifyNoInteractions(meetingRoomDAO);
+	}
+
+	@Test
+	void evictBumpsGenerationAndDropsLocalCopy() {
+		Map<Object, Object> hash = Map.of("roomNo", "7", "role:1", "C001");
+		when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOps);
+		when(redisTemplate.opsForValue()).thenReturn(valueOps);
+		when(hashOps.entries("meeting:room:ABCD2345")).thenReturn(hash);
+		registry.find("ABCD2345");
+
+		registry.evict("ABCD2345");
+		registry.find("ABCD2345");
+
+		verify(valueOps).increment("meeting:room:gen:ABCD2345");
+		verify(redisTemplate).delete("meeting:room:ABCD2345");
+		verify(hashOps, times(2)).entries("meeting:room:ABCD2345");
+		verify(redisTemplate, times(0)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+	}
+
+	private static MeetingRoom room() {
+		MeetingRoom room = new MeetingRoom();
+		room.setRoomNo(7);
+		room.setRoomCode("ABCD2345");
+		room.setTitle("주간 회의");
+		room.setScheduledTime(LocalDateTime.of(2025, 8, 1, 10, 0));
+		return room;
+	}
+
+	private static ParticipantRoleDto role(int userNo, String roleNo) {
+		ParticipantRoleDto role = new ParticipantRoleDto();
+		role.setUserNo(userNo);
+		role.setRoleNo(roleNo);
+		return role;
+	}
+}
@@ -0,0 +1,79 @@
+package com.spec.plun.meeting.room;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// 코드 순열이 일대일인지, 블록을 다 쓸 때만 순번을 다시 받는지 확인
+class RoomCodeAllocatorTest {
+
+	@Test
+	void permutationHasNoCollisions() {
+		int[] keys = RoomCodeAllocator.roundKeys("test");
+		Set<String> codes = new HashSet<>();
+		for (long seq = 0; seq < 200_000; seq++) {
+			String code = RoomCodeAllocator.encode(RoomCodeAllocator.permute(seq, keys));
+			assertThat(code).hasSize(RoomCodeAllocator.CODE_LENGTH);
+			codes.add(code);
+		}
+		assertThat(codes).hasSize(200_000);
+		// 40비트 범위 끝에서도 일대일
+		assertThat(RoomCodeAllocator.permute((1L << 40) - 1, keys)).isNotEqualTo(RoomCodeAllocator.permute(0, keys));
+		assertThat(RoomCodeAllocator.permute(1, keys)).isBetween(0L, (1L << 40) - 1);
+	}
+
+	@Test
+	void roundKeysAreIndependentPerRoundAndSecret() {
+		int[] keys = RoomCodeAllocator.roundKeys("test");
+		int[] other = RoomCodeAllocator.roundKeys("test2");
+
+		assertThat(keys).doesNotHaveDuplicates();
+		assertThat(keys).isEqualTo(RoomCodeAllocator.roundKeys("test"));
+		assertThat(keys).doesNotContain(other);
+		assertThat(RoomCodeAllocator.permute(1, keys)).isNotEqualTo(RoomCodeAllocator.permute(1, other));
+	}
+
+	@Test
+	void allocatesNewBlockOnlyWhenExhausted() {
+		MeetingRoomDAO dao = mock(MeetingRoomDAO.class);
+		long[] next = { 0 };
+		doAnswer(inv -> {
+			RoomCodeAllocator.SequenceBlock block = inv.getArgument(0);
+			next[0] += block.getSize();
+			block.setEnd(next[0]);
+			return 1;
+		}).when(dao).allocateCodeBlock(any());
+		RoomCodeAllocator allocator = new RoomCodeAllocator(dao, mock(PlatformTransactionManager.class), 10, "test");
+
+		Set<String> codes = new HashSet<>();
+		for (int i = 0; i < 25; i++) {
+			String code = allocator.nextCode();
+			assertThat(code).matches("[" + RoomCodeAllocator.CODE_CHARS + "]{8}");
+			codes.add(code);
+		}
+
+		assertThat(codes).hasSize(25);
+		verify(dao, times(3)).allocateCodeBlock(any());
+	}
+
+	@Test
+	void missingSecretFailsAtStartup() {
+		MeetingRoomDAO dao = mock(MeetingRoomDAO.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+		assertThatThrownBy(() -> new RoomCodeAllocator(dao, transactionManager, 10, ""))
+				.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> new RoomCodeAllocator(dao, transactionManager, 10, null))
+				.isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,55 @@
+package com.spec.plun.member.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IntKeyCacheTest {
+
+	@Test
+	void keepsAtMostMaxSizeEntries() {
+		IntKeyCache<String> cache = new IntKeyCache<>(100);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(i, "user" + i);
+		}
+		assertThat(cache.size()).isEqualTo(100);
+	}
+
+	@Test
+	void recentlyReadEntriesSurviveEviction() {
+		IntKeyCache<String> cache = new IntKeyCache<>(3);
+		cache.put(1, "a");
+		cache.put(2, "b");
+		cache.put(3, "c");
+		cache.get(1);
+
+		cache.put(4, "d");
+
+		assertThat(cache.get(1)).isEqualTo("a");
+		assertThat(cache.get(4)).isEqualTo("d");
+		assertThat(cache.size()).isEqualTo(3);
+	}
+
+	@Test
+	void matchesHashMapUnderRandomPutAndRemove() {
+		IntKeyCache<Integer> cache = new IntKeyCache<>(10_000);
+		Map<Integer, Integer> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int n = 0; n < 50_000; n++) {
+			int key = random.nextInt(5_000) - 2_500;
+			if (random.nextInt(3) == 0) {
+				cache.remove(key);
+				expected.remove(key);
+			} else {
+				cache.put(key, n);
+				expected.put(key, n);
+			}
+		}
+		assertThat(cache.size()).isEqualTo(expected.size());
+		expected.forEach((key, value) -> assertThat(cache.get(key)).isEqualTo(value));
+	}
+}
@@ -0,0 +1,63 @@
+package com.spec.plun.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// 문장별 Timer 와 오류 Counter 가 매퍼.문장 이름으로 쌓이는지 확인
+class MyBatisMetricsInterceptorTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final MyBatisMetricsInterceptor interceptor = new MyBatisMetricsInterceptor(registry);
+
+	@Test
+	void recordsTimerPerStatementAndOutcome() throws Throwable {
+		Executor executor = mock(Executor.class);
+		MappedStatement statement = statement("com.spec.plun.chat.dao.ChatDAO.insertMessage");
+		when(executor.update(statement, "ok")).thenReturn(1);
+		when(executor.update(statement, "dup")).thenThrow(new DataIntegrityViolationException("dup"));
+
+		interceptor.intercept(update(executor, statement, "ok"));
+		interceptor.intercept(update(executor, statement, "ok"));
+		// 리플렉션 예외 그대로 다시 던지고, 벗겨 내는 건 MyBatis Plugin 이 함
+		assertThatThrownBy(() -> interceptor.intercept(update(executor, statement, "dup")))
+				.hasCauseInstanceOf(DataIntegrityViolationException.class);
+
+		assertThat(registry.get("mybatis.statement").tags("statement", "ChatDAO.insertMessage", "command", "INSERT",
+				"outcome", "success").timer().count()).isEqualTo(2);
+		assertThat(registry.get("mybatis.statement").tag("outcome", "error").timer().count()).isEqualTo(1);
+		assertThat(registry.get("mybatis.statement.errors")
+				.tags("statement", "ChatDAO.insertMessage", "exception", "DataIntegrityViolationException").counter()
+				.count()).isEqualTo(1);
+	}
+
+	@Test
+	void statementNameKeepsMapperAndMethod() {
+		assertThat(MyBatisMetricsInterceptor.statementName("com.spec.plun.alarm.dao.AlarmDAO.insertAlarms"))
+				.isEqualTo("AlarmDAO.insertAlarms");
+		assertThat(MyBatisMetricsInterceptor.statementName("insertAlarms")).isEqualTo("insertAlarms");
+	}
+
+	private static MappedStatement statement(String id) {
+		Configuration configuration = new Configuration();
+		return new MappedStatement.Builder(configuration, id, parameter -> null, SqlCommandType.INSERT).build();
+	}
+
+	private static Invocation update(Executor executor, MappedStatement statement, Object parameter) throws Exception {
+		Method update = Executor.class.getMethod("update", MappedStatement.class, Object.class);
+		return new Invocation(executor, update, new Object[] { statement, parameter });
+	}
+}
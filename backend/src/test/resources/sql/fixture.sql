@@ -0,0 +1,11 @@
+-- 매퍼 테스트 공통 데이터 : 사용자 1~3, 팀 1, 채팅방 1~2 (사용자 1, 2 참여)
+INSERT INTO TB_ROLE_CODE (group_no, group_name) VALUES ('R001', 'LEADER'), ('R002', 'MEMBER');
+INSERT INTO TB_MEMBER_LOGIN (login_type_no, login_type_name) VALUES (1, 'EMAIL');
+INSERT INTO TB_TEAM (team_no, team_name) VALUES (1, '테스트팀');
+INSERT INTO TB_MEMBER (user_no, role, email, name, login_type_no) VALUES
+  (1, 'R001', 'one@plun.test', '하나', 1),
+  (2, 'R002', 'two@plun.test', '둘', 1),
+  (3, 'R002', 'three@plun.test', '셋', 1);
+INSERT INTO TB_TEAM_MEMBER (team_no, user_no, role_no) VALUES (1, 1, 'R001'), (1, 2, 'R002'), (1, 3, 'R002');
+INSERT INTO TB_CHAT_ROOM (room_no, room_name, team_no) VALUES (1, '일반', 1), (2, '잡담', 1);
+INSERT INTO TB_CHAT_MEMBER (room_no, user_no) VALUES (1, 1), (1, 2), (2, 1);
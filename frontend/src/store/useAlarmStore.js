@@ -1,17 +1,19 @@
 import { defineStore } from 'pinia'
 import instance from '@/util/interceptors'
 
+const PAGE_SIZE = 50
+
 export const useAlarmStore = defineStore('alarm', {
   state: () => ({
     alarms: [],
     loading: false,
+    unreadTotal: 0,   // 서버 카운터 기준 안 읽은 알림 수 (불러온 페이지 밖의 알림 포함)
+    hasMore: true,
   }),
   getters: {
 
     // 모든 알림 중 읽지 않은 개수
-    unreadCount: (state) => {
-      return state.alarms.filter(alarm => alarm.isRead === 'N').length;
-    },
+    unreadCount: (state) => state.unreadTotal,
     // 멘션 알림만 필터링
     mentionAlarms: (state) => {
       return state.alarms.filter(alarm => alarm.alarmType === 'CHAT_MENTION');
@@ -60,8 +62,12 @@ export const useAlarmStore = defineStore('alarm', {
 
       this.loading = true;
       try {
-        const res = await instance.get(`/alarms/${userNo}`);
+        const [res] = await Promise.all([
+          instance.get(`/alarms/${userNo}`, { params: { limit: PAGE_SIZE } }),
+          this.fetchUnreadCount(userNo),
+        ]);
         this.alarms = res.data;
+        this.hasMore = res.data.length === PAGE_SIZE;
         console.log('✅ 알림 불러오기 성공:', res.data);
       } catch (error) {
         console.error('❌ 알림 불러오기 실패:', error);
@@ -70,11 +76,58 @@ export const useAlarmStore = defineStore('alarm', {
       }
     },
 
+    // 이전 알림 이어 불러오기 (목록 마지막 알림의 (lastAlarmDate, alarmNo) 기준)
+    async fetchMoreAlarms(userNo) {
+      if (!userNo || !this.hasMore || this.loading || !this.alarms.length) return;
+      this.loading = true;
+      try {
+        const last = this.alarms[this.alarms.length - 1];
+        const params = { before: last.alarmNo, beforeDate: last.lastAlarmDate, limit: PAGE_SIZE };
+        const res = await instance.get(`/alarms/${userNo}`, { params });
+        // 그 사이 합쳐져 위로 올라온 알림은 이미 목록에 있으므로 제외
+        const loaded = new Set(this.alarms.map(a => a.alarmNo));
+        this.alarms.push(...res.data.filter(a => !loaded.has(a.alarmNo)));
+        this.hasMore = res.data.length === PAGE_SIZE;
+      } catch (error) {
+        console.error('❌ 알림 더 불러오기 실패:', error);
+      } finally {
+        this.loading = false;
+      }
+    },
+
+    async fetchUnreadCount(userNo) {
+      try {
+        const res = await instance.get(`/alarms/${userNo}/unread-count`);
+        this.unreadTotal = res.data.unreadCount;
+      } catch (error) {
+        console.error('❌ 안 읽은 알림 수 불러오기 실패:', error);
+      }
+    },
+
+    // 일괄 읽음 처리 (서버에서 UPDATE 한 번) : params = { upTo, upToDate, referenceNo, alarmTypes }
+    // (서버와 같은 조건으로 반영 : 요청 중에 합쳐져 lastAlarmDate 가 늦어진 알림은 안 읽음으로 남김)
+    async markAllAsRead(userNo, params = {}) {
+      if (!userNo) return;
+      const { data } = await instance.put(`/alarms/${userNo}/read-all`, null, {
+        params,
+        paramsSerializer: { indexes: null },
+      });
+      this.alarms = this.alarms.map(a => {
+        const matches = (params.upTo == null || a.alarmNo <= params.upTo)
+          && (params.upToDate == null || (a.lastAlarmDate != null && a.lastAlarmDate <= params.upToDate))
+          && (params.referenceNo == null || a.referenceNo === params.referenceNo)
+          && (!params.alarmTypes || params.alarmTypes.includes(a.alarmType));
+        return matches ? { ...a, isRead: 'Y' } : a;
+      });
+      this.unreadTotal = data.unreadCount;
+    },
+
     markAsRead(alarmNo) {
       const alarm = this.alarms.find(a => a.alarmNo === alarmNo);
 
       if (alarm && alarm.isRead === 'N') {
         alarm.isRead = 'Y';
+        this.unreadTotal = Math.max(0, this.unreadTotal - 1);
         instance.put(`/alarms/${alarmNo}/read`)
           .then(() => {
             console.log(`✅ 알림 ${alarmNo} 읽음 처리 완료`);
@@ -91,9 +144,15 @@ export const useAlarmStore = defineStore('alarm', {
         return;
       }
 
-      const exists = this.alarms.find(a => a.alarmNo === alarm.alarmNo);
-      if (exists) {
-        console.log('⚠️ 이미 존재하는 알림:', alarm.alarmNo);
+      const index = this.alarms.findIndex(a => a.alarmNo === alarm.alarmNo);
+      if (index !== -1) {
+        // 합쳐진 채팅 알림 갱신 : 개수/마지막 내용을 바꾸고 맨 위로 올림 (안 읽은 수는 그대로)
+        const [exists] = this.alarms.splice(index, 1);
+        exists.content = alarm.content ?? exists.content;
+        exists.senderName = alarm.senderName ?? exists.senderName;
+        exists.coalescedCount = alarm.coalescedCount ?? exists.coalescedCount;
+        exists.lastAlarmDate = alarm.lastAlarmDate ?? exists.lastAlarmDate;
+        this.alarms.unshift(exists);
         return;
       }
 
@@ -109,9 +168,12 @@ export const useAlarmStore = defineStore('alarm', {
         teamNo: alarm.teamNo,
         inviterName: alarm.inviterName,
         userNo: alarm.userNo,
+        coalescedCount: alarm.coalescedCount ?? 1,
+        lastAlarmDate: alarm.lastAlarmDate,
       };
 
       this.alarms.unshift(newAlarm);
+      if (newAlarm.isRead === 'N') this.unreadTotal++;
       console.log(' 새 알림 추가:', newAlarm);
     },
 
@@ -127,21 +189,11 @@ export const useAlarmStore = defineStore('alarm', {
       return messageMap[alarmType] || '새로운 알림이 도착했습니다.';
     },
 
-    async markAlarmsAsReadByRoom(roomNo) {
-      const unreadAlarms = this.alarms.filter(a => a.referenceNo === roomNo && a.isRead === 'N');
-
+    async markAlarmsAsReadByRoom(roomNo, userNo) {
+      const owner = userNo ?? this.alarms.find(a => a.userNo)?.userNo;
+      if (!owner) return;
       try {
-        await Promise.all(
-          unreadAlarms.map(a =>
-            instance.put(`/alarms/${a.alarmNo}/read`)
-              .catch(err => console.error(`❌ 알림 ${a.alarmNo} 읽음 처리 실패`, err))
-          )
-        );
-
-        this.alarms = this.alarms.map(a =>
-          a.referenceNo === roomNo ? { ...a, isRead: 'Y' } : a
-        );
-
+        await this.markAllAsRead(owner, { referenceNo: roomNo, alarmTypes: ['CHAT', 'CHAT_MENTION'] });
         console.log(` 방 ${roomNo}의 알림 모두 읽음 처리 완료`);
       } catch (error) {
         console.error('❌ 알림 일괄 읽음 처리 실패:', error);
@@ -165,6 +217,8 @@ export const useAlarmStore = defineStore('alarm', {
 
     reset() {
       this.alarms = [];
+      this.unreadTotal = 0;
+      this.hasMore = true;
       console.log('알림 스토어 초기화');
     }
   },
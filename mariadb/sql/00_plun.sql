@@ -73,6 +73,7 @@ CREATE TABLE IF NOT EXISTS TB_CHAT_ROOM (
 CREATE TABLE IF NOT EXISTS TB_CHAT_MEMBER (
   room_no INT NOT NULL COMMENT '채팅방 번호 (FK)',
   user_no INT NOT NULL COMMENT '사용자 번호 (FK)',
+  last_read_message_no INT NOT NULL DEFAULT 0 COMMENT '마지막으로 읽은 메시지 번호',
   PRIMARY KEY (room_no, user_no),
   KEY fk_cm_user (user_no),
   CONSTRAINT fk_cm_room FOREIGN KEY (room_no) REFERENCES TB_CHAT_ROOM (room_no),
@@ -87,25 +88,36 @@ CREATE TABLE IF NOT EXISTS TB_CHAT_MESSAGE (
   create_date DATETIME NOT NULL,
   message_type VARCHAR(20) NOT NULL,
   PRIMARY KEY (message_no),
-  KEY fk_msg_room (room_no),
+  KEY idx_msg_room_message (room_no, message_no),
   KEY fk_msg_user (user_no),
   CONSTRAINT fk_msg_room FOREIGN KEY (room_no) REFERENCES TB_CHAT_ROOM (room_no),
   CONSTRAINT fk_msg_user FOREIGN KEY (user_no) REFERENCES TB_MEMBER (user_no)
 );
 
+CREATE TABLE IF NOT EXISTS TB_BLOB (
+  digest      CHAR(64) NOT NULL COMMENT 'SHA-256 (hex)',
+  path        VARCHAR(300) NOT NULL,
+  size        BIGINT NOT NULL,
+  ref_count   INT NOT NULL DEFAULT 0 COMMENT '참조 중인 TB_ATTACHMENT 수',
+  create_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (digest)
+);
+
 CREATE TABLE IF NOT EXISTS TB_ATTACHMENT (
   attachment_no VARCHAR(36) NOT NULL COMMENT 'UUID',
   message_no    INT NOT NULL COMMENT 'FK',
   original_name VARCHAR(100) NOT NULL,
   file_name     VARCHAR(100) NOT NULL,
   path          VARCHAR(300) NOT NULL,
-  size          INT NOT NULL,
+  size          BIGINT NOT NULL,
   content_type  VARCHAR(100) NOT NULL,
   extension     VARCHAR(10)  NOT NULL DEFAULT 'PDF,JPG',
+  digest        CHAR(64) DEFAULT NULL COMMENT 'TB_BLOB (NULL 이면 blob 저장소 이전 파일)',
   create_date   DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
   delete_date   DATETIME DEFAULT NULL,
   PRIMARY KEY (attachment_no),
   KEY fk_att_msg (message_no),
+  KEY idx_att_digest (digest),
   CONSTRAINT fk_att_msg FOREIGN KEY (message_no) REFERENCES TB_CHAT_MESSAGE (message_no)
 );
 
@@ -118,11 +130,27 @@ CREATE TABLE IF NOT EXISTS TB_ALARM (
   is_read   CHAR(1) NOT NULL DEFAULT 'N',
   create_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
   sender_no INT DEFAULT NULL,
+  coalesced_count INT NOT NULL DEFAULT 1 COMMENT '합쳐진 알림 수',
+  update_date DATETIME DEFAULT NULL COMMENT '마지막으로 합쳐진 시각',
+  last_alarm_date DATETIME GENERATED ALWAYS AS (COALESCE(update_date, create_date)) COMMENT '알림함 정렬 기준 (합쳐지면 갱신)',
   PRIMARY KEY (alarm_no),
   KEY fk_alarm_user (user_no),
+  KEY idx_alarm_user_read (user_no, is_read, alarm_no),
+  KEY idx_alarm_user_recent (user_no, last_alarm_date, alarm_no),
   CONSTRAINT fk_alarm_user FOREIGN KEY (user_no) REFERENCES TB_MEMBER (user_no)
 );
 
+-- 사용자별 안 읽은 알림 수 (알림 저장/읽음 처리와 같은 트랜잭션에서 갱신, 행이 없으면 0)
+CREATE TABLE IF NOT EXISTS TB_ALARM_UNREAD (
+  user_no      INT NOT NULL,
+  unread_count INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (user_no),
+  CONSTRAINT fk_alarm_unread_user FOREIGN KEY (user_no) REFERENCES TB_MEMBER (user_no)
+);
+
+INSERT IGNORE INTO TB_ALARM_UNREAD (user_no, unread_count)
+SELECT user_no, COUNT(*) FROM TB_ALARM WHERE is_read = 'N' GROUP BY user_no;
+
 CREATE TABLE IF NOT EXISTS TB_MEETING_ROOM (
   room_no INT NOT NULL AUTO_INCREMENT,
   team_no INT DEFAULT NULL,
@@ -159,6 +187,25 @@ CREATE TABLE IF NOT EXISTS TB_MEETING_PARTICIPANT (
   CONSTRAINT fk_mp_user FOREIGN KEY (user_no) REFERENCES TB_MEMBER (user_no) ON DELETE CASCADE
 );
 
+-- 회의방 코드 순번 (노드가 블록 단위로 받아 Feistel 순열로 코드 생성)
+CREATE TABLE IF NOT EXISTS TB_MEETING_CODE_SEQ (
+  seq_name   VARCHAR(20) NOT NULL,
+  next_value BIGINT NOT NULL,
+  PRIMARY KEY (seq_name)
+);
+
+-- 회의 참석 구간 (입장~퇴장 한 번이 한 행, 접속 중이면 out_time NULL)
+CREATE TABLE IF NOT EXISTS TB_MEETING_ATTENDANCE (
+  room_no   INT NOT NULL,
+  user_no   INT NOT NULL,
+  join_time DATETIME NOT NULL,
+  out_time  DATETIME DEFAULT NULL,
+  PRIMARY KEY (room_no, user_no, join_time),
+  KEY idx_ma_user (user_no),
+  CONSTRAINT fk_ma_room FOREIGN KEY (room_no) REFERENCES TB_MEETING_ROOM (room_no) ON DELETE CASCADE,
+  CONSTRAINT fk_ma_user FOREIGN KEY (user_no) REFERENCES TB_MEMBER (user_no) ON DELETE CASCADE
+);
+
 CREATE TABLE IF NOT EXISTS TB_MEETING_SUMMARY (
   room_no INT NOT NULL,
   summary      LONGTEXT DEFAULT NULL,
@@ -182,7 +229,7 @@ CREATE TABLE IF NOT EXISTS TB_CALENDAR (
   team_no INT NOT NULL,
   user_no INT NOT NULL,
   PRIMARY KEY (cal_no),
-  KEY fk_cal_team (team_no),
+  KEY idx_cal_team_user (team_no, user_no),
   KEY fk_cal_user (user_no),
   CONSTRAINT fk_cal_team FOREIGN KEY (team_no) REFERENCES TB_TEAM (team_no),
   CONSTRAINT fk_cal_user FOREIGN KEY (user_no) REFERENCES TB_MEMBER (user_no)
@@ -202,8 +249,10 @@ CREATE TABLE IF NOT EXISTS TB_CALENDAR_DETAIL (
   update_dt     DATETIME DEFAULT NULL,
   update_user_no INT DEFAULT NULL,
   title         VARCHAR(100) NOT NULL,
+  recurrence_rule VARCHAR(255) DEFAULT NULL,
+  series_end_date DATE NOT NULL,
   PRIMARY KEY (cal_detail_no),
-  KEY fk_cd_cal (cal_no),
+  KEY idx_cd_cal_range (cal_no, delete_yn, start_date, series_end_date),
   KEY fk_cd_reg_user (reg_user_no),
   KEY fk_cd_update_user (update_user_no),
   CONSTRAINT fk_cd_cal FOREIGN KEY (cal_no) REFERENCES TB_CALENDAR (cal_no),
@@ -215,7 +264,60 @@ CREATE TABLE IF NOT EXISTS TB_CALENDAR_DETAIL_PARTICIPANT (
   cal_detail_no INT NOT NULL,
   user_no       INT NOT NULL,
   PRIMARY KEY (cal_detail_no, user_no),
-  KEY idx_cdp_user_no (user_no),
+  KEY idx_cdp_user_no (user_no, cal_detail_no),
   CONSTRAINT fk_cdp_cal_detail FOREIGN KEY (cal_detail_no) REFERENCES TB_CALENDAR_DETAIL (cal_detail_no) ON DELETE CASCADE ON UPDATE CASCADE,
   CONSTRAINT fk_cdp_user       FOREIGN KEY (user_no)       REFERENCES TB_MEMBER (user_no) ON UPDATE CASCADE
 );
+
+CREATE TABLE IF NOT EXISTS TB_CALENDAR_DETAIL_EXCEPTION (
+  cal_detail_no   INT NOT NULL,
+  occurrence_date DATE NOT NULL,
+  cancel_yn       CHAR(1) NOT NULL DEFAULT 'N',
+  title           VARCHAR(100) DEFAULT NULL,
+  contents        TEXT DEFAULT NULL,
+  start_date      DATE DEFAULT NULL,
+  start_time      TIME DEFAULT NULL,
+  end_date        DATE DEFAULT NULL,
+  end_time        TIME DEFAULT NULL,
+  update_dt       DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  update_user_no  INT DEFAULT NULL,
+  PRIMARY KEY (cal_detail_no, occurrence_date),
+  CONSTRAINT fk_cde_cal_detail FOREIGN KEY (cal_detail_no) REFERENCES TB_CALENDAR_DETAIL (cal_detail_no) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+-- 팀 캘린더 변경 버전 (팀별 단조 증가, 변경 트랜잭션이 행 잠금으로 순서대로 발급)
+CREATE TABLE IF NOT EXISTS TB_CALENDAR_VERSION (
+  team_no INT NOT NULL,
+  version BIGINT NOT NULL,
+  PRIMARY KEY (team_no),
+  CONSTRAINT fk_cv_team FOREIGN KEY (team_no) REFERENCES TB_TEAM (team_no)
+);
+
+-- 팀 캘린더 변경 이력 (/calendar/events/changes 따라잡기용, 보관 기간 이후 삭제)
+CREATE TABLE IF NOT EXISTS TB_CALENDAR_CHANGE (
+  team_no       INT NOT NULL,
+  version       BIGINT NOT NULL,
+  cal_detail_no INT NOT NULL,
+  change_type   VARCHAR(10) NOT NULL,
+  create_date   DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (team_no, version)
+);
+
+CREATE TABLE IF NOT EXISTS TB_MAIL_OUTBOX (
+  mail_no         BIGINT NOT NULL AUTO_INCREMENT,
+  recipient       VARCHAR(255) NOT NULL,
+  domain          VARCHAR(255) NOT NULL,
+  subject         VARCHAR(200) NOT NULL,
+  body            TEXT NOT NULL,
+  status          VARCHAR(10) NOT NULL DEFAULT 'PENDING',   -- PENDING / SENDING / SENT / FAILED
+  attempts        INT NOT NULL DEFAULT 0,
+  next_attempt_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  claim_token     CHAR(36) DEFAULT NULL,
+  claimed_at      DATETIME DEFAULT NULL,
+  last_error      VARCHAR(500) DEFAULT NULL,
+  create_date     DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  sent_date       DATETIME DEFAULT NULL,
+  PRIMARY KEY (mail_no),
+  KEY idx_outbox_status_next (status, next_attempt_at),
+  KEY idx_outbox_claim (claim_token)
+);